@@ -1,15 +1,20 @@
 package ai.libs.jaicore.basic.algorithm;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.aeonbits.owner.ConfigFactory;
 import org.api4.java.algorithm.IAlgorithm;
@@ -24,7 +29,9 @@ import org.api4.java.common.event.IRelaxedEventEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
 
 import ai.libs.jaicore.basic.IOwnerBasedAlgorithmConfig;
 import ai.libs.jaicore.interrupt.Interrupter;
@@ -53,7 +60,9 @@ public abstract class AAlgorithm<I, O> implements IAlgorithm<I, O>, ILoggingCust
 	private final Set<Thread> activeThreads = new HashSet<>();
 	private EAlgorithmState state = EAlgorithmState.CREATED;
 	private final EventBus eventBus = new EventBus();
-	private final List<Object> listeners = new ArrayList<>();
+	private final List<Object> listeners = new CopyOnWriteArrayList<>();
+	private final Map<Class<?>, Boolean> eventTypesWithNonSelectiveListeners = new ConcurrentHashMap<>(); // cache for hasListenerFor, reset whenever a listener is registered
+	private static final Map<Class<?>, List<Class<?>>> SUBSCRIBED_EVENT_TYPES = new ConcurrentHashMap<>(); // parameter types of the subscriber methods of listener classes
 
 	private int timeoutPrecautionOffset = 100; // this offset is substracted from the true remaining time whenever a timer is scheduled to ensure that the timeout is respected
 	private static final int MIN_RUNTIME_FOR_OBSERVED_TASK = 50;
@@ -118,6 +127,50 @@ public abstract class AAlgorithm<I, O> implements IAlgorithm<I, O>, ILoggingCust
 	public void registerListener(final Object listener) {
 		this.eventBus.register(listener);
 		this.listeners.add(listener);
+		this.eventTypesWithNonSelectiveListeners.clear();
+	}
+
+	/**
+	 * Determines whether an event of the given type would be received by any listener, i.e., whether some listener has a subscriber method for the type or one of its super types. Listeners implementing
+	 * {@link ISelectiveEventListener} are asked directly.
+	 *
+	 * @param eventType
+	 *            The type of the event
+	 * @return true iff some listener is interested in events of this type
+	 */
+	public boolean hasListenerFor(final Class<?> eventType) {
+		if (this.listeners.isEmpty()) {
+			return false;
+		}
+		if (this.eventTypesWithNonSelectiveListeners.computeIfAbsent(eventType,
+				t -> this.listeners.stream().anyMatch(l -> !(l instanceof ISelectiveEventListener) && getSubscribedEventTypes(l.getClass()).stream().anyMatch(s -> s.isAssignableFrom(t) || s == DeadEvent.class)))) {
+			return true;
+		}
+		for (Object listener : this.listeners) {
+			if (listener instanceof ISelectiveEventListener && ((ISelectiveEventListener) listener).isInterestedIn(eventType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<Class<?>> getSubscribedEventTypes(final Class<?> listenerClass) {
+		return SUBSCRIBED_EVENT_TYPES.computeIfAbsent(listenerClass, c -> {
+			List<Class<?>> types = new ArrayList<>();
+			List<Class<?>> classes = new ArrayList<>();
+			for (Class<?> current = c; current != null; current = current.getSuperclass()) {
+				classes.add(current);
+				Collections.addAll(classes, current.getInterfaces());
+			}
+			for (Class<?> current : classes) {
+				for (Method m : current.getDeclaredMethods()) {
+					if (m.isAnnotationPresent(Subscribe.class) && m.getParameterCount() == 1) {
+						types.add(m.getParameterTypes()[0]);
+					}
+				}
+			}
+			return types;
+		});
 	}
 
 	public List<Object> getListeners() {
@@ -450,6 +503,21 @@ public abstract class AAlgorithm<I, O> implements IAlgorithm<I, O>, ILoggingCust
 		this.eventBus.post(e);
 	}
 
+	/**
+	 * Posts an event on the algorithm's event bus only if some listener is interested in events of the given type (see {@link #hasListenerFor(Class)}). The event is only created in that case, so this should be used for events
+	 * that are emitted at high frequency, e.g., for every node of a search graph.
+	 *
+	 * @param eventType
+	 *            The type of the event
+	 * @param eventFactory
+	 *            Creates the event if it needs to be posted
+	 */
+	protected <E> void post(final Class<E> eventType, final Supplier<? extends E> eventFactory) {
+		if (this.hasListenerFor(eventType)) {
+			this.eventBus.post(eventFactory.get());
+		}
+	}
+
 	@Override
 	public IOwnerBasedAlgorithmConfig getConfig() {
 		return this.config;
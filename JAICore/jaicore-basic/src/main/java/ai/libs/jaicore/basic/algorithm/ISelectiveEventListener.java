@@ -0,0 +1,17 @@
+package ai.libs.jaicore.basic.algorithm;
+
+/**
+ * Listeners that subscribe to general event types but are only interested in some of them can implement this interface. The typical case are listeners that forward the events of an inner algorithm to the event bus of an outer one;
+ * such a listener should only be interested in events for which the outer algorithm has listeners itself.
+ *
+ * This information is used by {@link AAlgorithm#hasListenerFor(Class)}, which lets algorithms skip the creation of events nobody is interested in.
+ */
+public interface ISelectiveEventListener {
+
+	/**
+	 * @param eventType
+	 *            The type of an event that is about to be posted
+	 * @return true if the listener wants to receive events of this type. If unsure, this should return true.
+	 */
+	public boolean isInterestedIn(Class<?> eventType);
+}
@@ -1,5 +1,7 @@
 package ai.libs.jaicore.basic.metric;
 
+import java.util.Arrays;
+
 import org.api4.java.common.metric.IDistanceMetric;
 import org.api4.java.common.metric.IScalarDistance;
 
@@ -20,18 +22,33 @@ import org.api4.java.common.metric.IScalarDistance;
  * <code>delta(i,j) is the point distance between <code>A_i</code> and
  * <code>B_i</code>.
  *
+ * Only two rows of the dynamic programming matrix are kept in memory. The
+ * warping path can be restricted to a Sakoe-Chiba band of width
+ * <code>w</code>, in which case only the cells within the band are computed.
+ * As every warping path crosses each row, the calculation is abandoned as
+ * soon as all cells of a row exceed the best-so-far distance (see
+ * {@link IAbandonable}). Before that, the cascade in
+ * {@link #distance(double[], TimeSeriesEnvelope, double[], double)} tries to
+ * prune a candidate via the cheap lower bounds LB_Kim and LB_Keogh.
+ *
  * @author fischor
  */
-public class DynamicTimeWarping implements IDistanceMetric {
+public class DynamicTimeWarping implements IDistanceMetric, IAbandonable, ILowerBoundedDistance {
 
 	/** Distance measure for scalar points. */
 	private IScalarDistance delta;
 
+	/** Width of the Sakoe-Chiba band, unrestricted by default. */
+	private int window;
+
+	/** Best-so-far distance for early abandoning, see {@link IAbandonable}. */
+	private double bestSoFar = Double.POSITIVE_INFINITY;
+
 	/**
 	 * Creates an instance with absolute distance as point distance.
 	 */
 	public DynamicTimeWarping() {
-		this((x, y) -> Math.abs(x - y));
+		this(ScalarDistanceUtil.getAbsoluteDistance());
 	}
 
 	/**
@@ -40,70 +57,236 @@ public class DynamicTimeWarping implements IDistanceMetric {
 	 * @param delta Scalar distance measure.
 	 */
 	public DynamicTimeWarping(final IScalarDistance delta) {
+		this(delta, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates an instance with a given scalar distance measure whose warping
+	 * path is restricted to a Sakoe-Chiba band.
+	 *
+	 * @param delta  Scalar distance measure.
+	 * @param window Width of the band, i.e. the maximum distance of two matched
+	 *               points in the time dimension.
+	 */
+	public DynamicTimeWarping(final IScalarDistance delta, final int window) {
 		// Parameter checks.
 		if (delta == null) {
 			throw new IllegalArgumentException("Parameter delta must not be null.");
 		}
+		if (window < 0) {
+			throw new IllegalArgumentException("Parameter window must be greater or equal to zero.");
+		}
 
 		this.delta = delta;
+		this.window = window;
 	}
 
 	@Override
 	public double distance(final double[] a, final double[] b) {
+		return this.distanceWithWindow(a, b, this.window, this.bestSoFar);
+	}
+
+	@Override
+	public double distance(final double[] a, final double[] b, final double limit) {
+		return this.distanceWithWindow(a, b, this.window, limit);
+	}
+
+	/**
+	 * Calculates the distance between two time series, but first checks the
+	 * lower bounds LB_Kim and LB_Keogh against the limit. The lower bounds
+	 * require the point distance to be zero for equal points and to grow with
+	 * <code>|x - y|</code>, as the absolute and the squared distance do.
+	 *
+	 * @param a           First time series.
+	 * @param envelopeOfA Envelope of the first time series, or
+	 *                    <code>null</code> to skip LB_Keogh.
+	 * @param b           Second time series.
+	 * @param limit       The limit.
+	 * @return The distance between the time series if it does not exceed the
+	 *         limit, and {@link Double#POSITIVE_INFINITY} if the calculation has
+	 *         been abandoned.
+	 */
+	public double distance(final double[] a, final TimeSeriesEnvelope envelopeOfA, final double[] b, final double limit) {
+		if (this.lowerBound(a, envelopeOfA, b, limit) > limit) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return this.distanceWithWindow(a, b, this.window, limit);
+	}
+
+	public double distanceWithWindow(final double[] a, final double[] b, final int w) {
+		return this.distanceWithWindow(a, b, w, this.bestSoFar);
+	}
+
+	/**
+	 * Calculates the distance between two time series with the warping path
+	 * restricted to a Sakoe-Chiba band, and abandons the calculation once the
+	 * distance is known to exceed the given limit.
+	 *
+	 * @param a     First time series.
+	 * @param b     Second time series.
+	 * @param w     Width of the band. It is widened to the length difference of
+	 *              the time series if necessary.
+	 * @param limit The limit.
+	 * @return The distance between the time series if it does not exceed the
+	 *         limit, and {@link Double#POSITIVE_INFINITY} if the calculation has
+	 *         been abandoned.
+	 */
+	public double distanceWithWindow(final double[] a, final double[] b, int w, final double limit) {
 		// Care in the most algorithm descriptions, the time series are 1-indexed.
 
 		int n = a.length;
 		int m = b.length;
-		double[][] matrix = new double[n + 1][m + 1]; // from 0 to n+1 incl. and 0 to m+1 incl.
+		w = Math.max(w, Math.abs(n - m));
 
-		// Initialize first row and column to infinity (except [0][0]).
-		for (int i = 1; i <= n; i++) {
-			matrix[i][0] = Double.MAX_VALUE;
-		}
-		for (int j = 1; j <= m; j++) {
-			matrix[0][j] = Double.MAX_VALUE;
-		}
-		// Initialize [0][0] with 0.
-		matrix[0][0] = 0d;
+		// Two rows of the matrix, from 0 to m+1 incl.; cells outside of the band are infinite.
+		double[] previous = new double[m + 1];
+		double[] current = new double[m + 1];
+		Arrays.fill(previous, Double.POSITIVE_INFINITY);
+		previous[0] = 0d;
 
 		// Dynamic programming.
 		for (int i = 1; i <= n; i++) {
-			for (int j = 1; j <= m; j++) {
+			int from = Math.max(1, i - w);
+			int to = w >= m - i ? m : i + w;
+			current[from - 1] = Double.POSITIVE_INFINITY;
+			double minimumOfRow = Double.POSITIVE_INFINITY;
+			for (int j = from; j <= to; j++) {
 				double cost = this.delta.distance(a[i - 1], b[j - 1]); // 1 indexed in algo.
-				double mini = Math.min(matrix[i - 1][j], Math.min(matrix[i][j - 1], matrix[i - 1][j - 1]));
-				matrix[i][j] = cost + mini;
+				double mini = Math.min(previous[j], Math.min(current[j - 1], previous[j - 1]));
+				current[j] = cost + mini;
+				minimumOfRow = Math.min(minimumOfRow, current[j]);
+			}
+			if (to < m) {
+				current[to + 1] = Double.POSITIVE_INFINITY;
 			}
+
+			// Early abandon.
+			if (minimumOfRow > limit) {
+				return Double.POSITIVE_INFINITY;
+			}
+
+			double[] swap = previous;
+			previous = current;
+			current = swap;
 		}
 
-		return matrix[n][m];
+		return previous[m] > limit ? Double.POSITIVE_INFINITY : previous[m];
 	}
 
-	public double distanceWithWindow(final double[] a, final double[] b, int w) {
-		int n = a.length;
-		int m = b.length;
-		double[][] matrix = new double[n + 1][m + 1];
+	/**
+	 * Computes the envelope of a time series for the window of this measure,
+	 * which can be reused for the lower bounds against many other time series.
+	 *
+	 * @param series The time series.
+	 * @return The envelope.
+	 */
+	public TimeSeriesEnvelope getEnvelope(final double[] series) {
+		return TimeSeriesEnvelope.of(series, this.window);
+	}
 
-		w = Math.max(w, Math.abs(n - m));
+	/**
+	 * Cascade of the lower bounds LB_Kim and LB_Keogh. The more expensive
+	 * LB_Keogh is only computed if LB_Kim does not exceed the limit, and only if
+	 * the time series have the same length.
+	 *
+	 * @param a           First time series.
+	 * @param envelopeOfA Envelope of the first time series, or
+	 *                    <code>null</code> to skip LB_Keogh.
+	 * @param b           Second time series.
+	 * @param limit       The limit.
+	 * @return A lower bound for the distance between the time series.
+	 */
+	public double lowerBound(final double[] a, final TimeSeriesEnvelope envelopeOfA, final double[] b, final double limit) {
+		double lowerBound = this.lowerBoundKim(a, b);
+		if (lowerBound > limit || envelopeOfA == null || a.length != b.length) {
+			return lowerBound;
+		}
+		return Math.max(lowerBound, this.lowerBoundKeogh(envelopeOfA, b, limit));
+	}
 
-		// Initialize first row and column to infinity (except [0][0]).
-		for (int i = 1; i <= n; i++) {
-			matrix[i][0] = Double.MAX_VALUE;
+	/**
+	 * {@inheritDoc}
+	 *
+	 * This is LB_Kim, see {@link #lowerBoundKim(double[], double[])}.
+	 */
+	@Override
+	public double lowerBound(final double[] a, final double[] b) {
+		return this.lowerBoundKim(a, b);
+	}
+
+	/**
+	 * LB_Kim in the constant-time variant of "Searching and Mining Trillions of
+	 * Time Series Subsequences under Dynamic Time Warping" by Rakthanmanon et
+	 * al.: Every warping path matches the first points and the last points of
+	 * the time series.
+	 *
+	 * @param a First time series.
+	 * @param b Second time series.
+	 * @return A lower bound for the distance between the time series.
+	 */
+	public double lowerBoundKim(final double[] a, final double[] b) {
+		int n = a.length;
+		int m = b.length;
+		if (n == 0 || m == 0) {
+			return 0;
 		}
-		for (int j = 1; j <= m; j++) {
-			matrix[0][j] = Double.MAX_VALUE;
+		double lowerBound = this.delta.distance(a[0], b[0]);
+		if (n > 1 || m > 1) {
+			lowerBound += this.delta.distance(a[n - 1], b[m - 1]);
 		}
-		// Initialize [0][0] with 0.
-		matrix[0][0] = 0d;
+		return lowerBound;
+	}
 
-		for (int i = 1; i <= n; i++) {
-			for (int j = Math.max(1, i - w); j <= Math.min(m, i + w); j++) {
-				double cost = this.delta.distance(a[i - 1], b[j - 1]);
-				double mini = Math.min(matrix[i - 1][j], Math.min(matrix[i][j - 1], matrix[i - 1][j - 1]));
-				matrix[i][j] = cost + mini;
+	/**
+	 * LB_Keogh as published in "Exact indexing of dynamic time warping" by
+	 * Eamonn Keogh: Each point of <code>B</code> is matched with a point of
+	 * <code>A</code> within the window, hence at least with the nearest bound of
+	 * the envelope of <code>A</code>. The envelope must not be narrower than the
+	 * window of this measure, and the time series must have the same length.
+	 *
+	 * @param envelopeOfA Envelope of the first time series.
+	 * @param b           Second time series.
+	 * @param limit       The limit; the summation is abandoned once it exceeds
+	 *                    the limit.
+	 * @return A lower bound for the distance between the time series.
+	 */
+	public double lowerBoundKeogh(final TimeSeriesEnvelope envelopeOfA, final double[] b, final double limit) {
+		if (envelopeOfA.length() != b.length) {
+			throw new IllegalArgumentException("LB_Keogh requires time series of the same length.");
+		}
+		if (envelopeOfA.getWindow() < this.window) {
+			throw new IllegalArgumentException("The envelope must not be narrower than the window of the measure.");
+		}
+		double[] upper = envelopeOfA.getUpper();
+		double[] lower = envelopeOfA.getLower();
+		double lowerBound = 0;
+		for (int i = 0; i < b.length && lowerBound <= limit; i++) {
+			if (b[i] > upper[i]) {
+				lowerBound += this.delta.distance(b[i], upper[i]);
+			} else if (b[i] < lower[i]) {
+				lowerBound += this.delta.distance(b[i], lower[i]);
 			}
 		}
+		return lowerBound;
+	}
 
-		return matrix[n][m];
+	/**
+	 * Getter for the width of the Sakoe-Chiba band.
+	 *
+	 * @return The width of the band, {@link Integer#MAX_VALUE} if unrestricted.
+	 */
+	public int getWindow() {
+		return this.window;
+	}
+
+	@Override
+	public void setBestSoFar(final double limit) {
+		this.bestSoFar = limit;
+	}
+
+	@Override
+	public double getBestSoFar() {
+		return this.bestSoFar;
 	}
 
 }
\ No newline at end of file
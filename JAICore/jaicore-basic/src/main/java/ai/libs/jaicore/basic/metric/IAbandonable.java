@@ -6,6 +6,11 @@ package ai.libs.jaicore.basic.metric;
  * 
  * With Early Abandon the distance calculation will be abandoned once the
  * calculation has exceed a bestSoFar distance.
+ * 
+ * The best-so-far value set via {@link #setBestSoFar(double)} is state of the
+ * measure and applies to all subsequent calculations. Callers that share a
+ * measure among threads should pass the limit to
+ * {@link #distance(double[], double[], double)} instead.
  */
 public interface IAbandonable {
 
@@ -22,4 +27,17 @@ public interface IAbandonable {
      * @return The limit.
      */
     public double getBestSoFar();
+
+    /**
+     * Calculates the distance between two time series, but abandons the
+     * calculation once the distance is known to exceed the given limit.
+     * 
+     * @param a     First time series.
+     * @param b     Second time series.
+     * @param limit The limit.
+     * @return The distance between the time series if it does not exceed the
+     *         limit, and {@link Double#POSITIVE_INFINITY} if the calculation has
+     *         been abandoned.
+     */
+    public double distance(double[] a, double[] b, double limit);
 }
\ No newline at end of file
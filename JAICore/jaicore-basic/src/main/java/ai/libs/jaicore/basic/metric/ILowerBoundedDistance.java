@@ -0,0 +1,22 @@
+package ai.libs.jaicore.basic.metric;
+
+/**
+ * Interface for distance measures that offer a lower bound that is much
+ * cheaper to compute than the distance itself.
+ *
+ * Nearest neighbor searches use the lower bound to visit the candidates in a
+ * promising order and to skip candidates whose lower bound already exceeds the
+ * distance of the k-th nearest neighbor found so far.
+ */
+public interface ILowerBoundedDistance {
+
+	/**
+	 * Calculates a lower bound for the distance between two time series.
+	 *
+	 * @param a First time series.
+	 * @param b Second time series.
+	 * @return A value that is not greater than the distance between the time
+	 *         series.
+	 */
+	public double lowerBound(double[] a, double[] b);
+}
@@ -7,15 +7,44 @@ import org.api4.java.common.metric.IScalarDistance;
  */
 public class ScalarDistanceUtil {
 
+	/**
+	 * The scalar distances are shared instances that compute on primitives. Lambdas would box both arguments in every call via
+	 * {@link IScalarDistance#getDistance(Object, Object)}, and distinct lambda instances would keep the JIT from inlining the calls in the inner loops of the time
+	 * series distances.
+	 */
+	private static final IScalarDistance ABSOLUTE_DISTANCE = new IScalarDistance() {
+		@Override
+		public double distance(final double a, final double b) {
+			return Math.abs(a - b);
+		}
+
+		@Override
+		public double getDistance(final Double a, final Double b) {
+			return this.distance(a.doubleValue(), b.doubleValue());
+		}
+	};
+
+	private static final IScalarDistance SQUARED_DISTANCE = new IScalarDistance() {
+		@Override
+		public double distance(final double a, final double b) {
+			return (a - b) * (a - b);
+		}
+
+		@Override
+		public double getDistance(final Double a, final Double b) {
+			return this.distance(a.doubleValue(), b.doubleValue());
+		}
+	};
+
 	private ScalarDistanceUtil() {
 		/* no instantiation desired */
 	}
 
 	public static IScalarDistance getAbsoluteDistance() {
-		return (x, y) -> Math.abs(x - y);
+		return ABSOLUTE_DISTANCE;
 	}
 
 	public static IScalarDistance getSquaredDistance() {
-		return (x, y) -> (x - y) * (x - y);
+		return SQUARED_DISTANCE;
 	}
 }
\ No newline at end of file
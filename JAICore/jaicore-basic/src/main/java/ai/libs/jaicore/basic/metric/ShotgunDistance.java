@@ -22,10 +22,13 @@ import ai.libs.jaicore.basic.transform.vector.ZTransform;
  * terms of minimizing a distance metric (e.g. Euclidean distance or DTW
  * distance).
  *
+ * As the distances of the disjoint windows add up, the calculation is abandoned
+ * once their sum exceeds the best-so-far distance (see {@link IAbandonable}).
+ *
  * @author fischor
  * @author mwever
  */
-public class ShotgunDistance implements IDistanceMetric {
+public class ShotgunDistance implements IDistanceMetric, IAbandonable {
 
 	/**
 	 * The window length.
@@ -44,6 +47,9 @@ public class ShotgunDistance implements IDistanceMetric {
 	 */
 	private EuclideanDistance euclideanDistance = new EuclideanDistance();
 
+	/** Best-so-far distance for early abandoning, see {@link IAbandonable}. */
+	private double bestSoFar = Double.POSITIVE_INFINITY;
+
 	/**
 	 * Constructor for the Shotgun Distance.
 	 *
@@ -63,6 +69,11 @@ public class ShotgunDistance implements IDistanceMetric {
 
 	@Override
 	public double distance(final double[] a, final double[] b) {
+		return this.distance(a, b, this.bestSoFar);
+	}
+
+	@Override
+	public double distance(final double[] a, final double[] b, final double limit) {
 		// Assure that max(A.length, B.length) <= windowLength, otherwise
 		// the result is undefined.
 
@@ -105,6 +116,11 @@ public class ShotgunDistance implements IDistanceMetric {
 			}
 			// Aggregate the distance for all disjoint windows to the total distance.
 			totalDistance += windowDistance;
+
+			// Early abandon.
+			if (totalDistance > limit) {
+				return Double.POSITIVE_INFINITY;
+			}
 		}
 
 		return totalDistance;
@@ -119,4 +135,14 @@ public class ShotgunDistance implements IDistanceMetric {
 		this.windowLength = windowLength;
 	}
 
+	@Override
+	public void setBestSoFar(final double limit) {
+		this.bestSoFar = limit;
+	}
+
+	@Override
+	public double getBestSoFar() {
+		return this.bestSoFar;
+	}
+
 }
\ No newline at end of file
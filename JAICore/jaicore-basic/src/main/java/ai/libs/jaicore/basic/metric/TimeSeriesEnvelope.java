@@ -0,0 +1,119 @@
+package ai.libs.jaicore.basic.metric;
+
+/**
+ * The envelope of a time series for a given warping window, as used by the LB_Keogh lower bound of "Exact indexing of dynamic time warping" by Eamonn Keogh.
+ *
+ * For a series <code>A</code> and a window <code>w</code>, the upper envelope is <code>U_i = max(A_{i-w}, ..., A_{i+w})</code> and the lower envelope is
+ * <code>L_i = min(A_{i-w}, ..., A_{i+w})</code>. Both are computed in linear time with the streaming min-max algorithm by Daniel Lemire, so that the envelope of
+ * a query can be precomputed once and used for the lower bounds against all candidates.
+ */
+public class TimeSeriesEnvelope {
+
+	/** The upper envelope. */
+	private final double[] upper;
+
+	/** The lower envelope. */
+	private final double[] lower;
+
+	/** The warping window the envelope has been computed for. */
+	private final int window;
+
+	private TimeSeriesEnvelope(final double[] upper, final double[] lower, final int window) {
+		this.upper = upper;
+		this.lower = lower;
+		this.window = window;
+	}
+
+	/**
+	 * Computes the envelope of a time series.
+	 *
+	 * @param series The time series.
+	 * @param window The warping window, i.e. the maximum distance of two matched points in the time dimension.
+	 * @return The envelope of the time series.
+	 */
+	public static TimeSeriesEnvelope of(final double[] series, final int window) {
+		// Parameter checks.
+		if (series == null) {
+			throw new IllegalArgumentException("Parameter series must not be null.");
+		}
+		if (window < 0) {
+			throw new IllegalArgumentException("Parameter window must be greater or equal to zero.");
+		}
+
+		int n = series.length;
+		int w = Math.min(window, n);
+		double[] upper = new double[n];
+		double[] lower = new double[n];
+
+		// Monotonic queues of indices; each index is enqueued once, so arrays of length n suffice.
+		int[] maxQueue = new int[n];
+		int[] minQueue = new int[n];
+		int maxHead = 0;
+		int maxTail = 0;
+		int minHead = 0;
+		int minTail = 0;
+		int next = 0;
+		for (int i = 0; i < n; i++) {
+			// Enqueue the points that enter the window [i - w, i + w].
+			int end = Math.min(n - 1, i + w);
+			for (; next <= end; next++) {
+				while (maxTail > maxHead && series[maxQueue[maxTail - 1]] <= series[next]) {
+					maxTail--;
+				}
+				maxQueue[maxTail++] = next;
+				while (minTail > minHead && series[minQueue[minTail - 1]] >= series[next]) {
+					minTail--;
+				}
+				minQueue[minTail++] = next;
+			}
+
+			// Dequeue the points that have left the window.
+			int start = i - w;
+			while (maxQueue[maxHead] < start) {
+				maxHead++;
+			}
+			while (minQueue[minHead] < start) {
+				minHead++;
+			}
+			upper[i] = series[maxQueue[maxHead]];
+			lower[i] = series[minQueue[minHead]];
+		}
+		return new TimeSeriesEnvelope(upper, lower, window);
+	}
+
+	/**
+	 * Getter for the upper envelope. The array is not copied and must not be modified.
+	 *
+	 * @return The upper envelope.
+	 */
+	public double[] getUpper() {
+		return this.upper;
+	}
+
+	/**
+	 * Getter for the lower envelope. The array is not copied and must not be modified.
+	 *
+	 * @return The lower envelope.
+	 */
+	public double[] getLower() {
+		return this.lower;
+	}
+
+	/**
+	 * Getter for the warping window the envelope has been computed for.
+	 *
+	 * @return The warping window.
+	 */
+	public int getWindow() {
+		return this.window;
+	}
+
+	/**
+	 * Getter for the length of the enveloped time series.
+	 *
+	 * @return The length.
+	 */
+	public int length() {
+		return this.upper.length;
+	}
+}
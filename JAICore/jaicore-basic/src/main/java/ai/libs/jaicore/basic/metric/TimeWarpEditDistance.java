@@ -1,5 +1,7 @@
 package ai.libs.jaicore.basic.metric;
 
+import java.util.Arrays;
+
 import org.api4.java.common.metric.IScalarDistance;
 import org.api4.java.common.metric.ITimeseriesDistanceMetric;
 
@@ -11,9 +13,13 @@ import org.api4.java.common.metric.ITimeseriesDistanceMetric;
  * The similarity between two time series is measured as the minimum cost
  * sequence of edit operations needed to transform one time series into another.
  *
+ * Only two rows of the dynamic programming matrix are kept in memory, and the
+ * calculation is abandoned once all cells of a row exceed the best-so-far
+ * distance (see {@link IAbandonable}).
+ *
  * @author fischor
  */
-public class TimeWarpEditDistance implements ITimeseriesDistanceMetric {
+public class TimeWarpEditDistance implements ITimeseriesDistanceMetric, IAbandonable {
 
 	/**
 	 * Stiffness parameter. Used to parametrize the influence of the time stamp
@@ -29,6 +35,9 @@ public class TimeWarpEditDistance implements ITimeseriesDistanceMetric {
 	 */
 	private IScalarDistance d;
 
+	/** Best-so-far distance for early abandoning, see {@link IAbandonable}. */
+	private double bestSoFar = Double.POSITIVE_INFINITY;
+
 	/**
 	 * Constructor.
 	 *
@@ -67,66 +76,104 @@ public class TimeWarpEditDistance implements ITimeseriesDistanceMetric {
 
 	@Override
 	public double distance(final double[] a, final double[] tA, final double[] b, final double[] tB) {
+		return this.distance(a, tA, b, tB, this.bestSoFar);
+	}
+
+	@Override
+	public double distance(final double[] a, final double[] b, final double limit) {
+		return this.distance(a, getDefaultTimestamps(a.length), b, getDefaultTimestamps(b.length), limit);
+	}
+
+	/**
+	 * Calculates the distance between two time series, but abandons the
+	 * calculation once the distance is known to exceed the given limit.
+	 *
+	 * @param a     First time series.
+	 * @param tA    Timestamps for the first time series.
+	 * @param b     Second time series.
+	 * @param tB    Timestamps for the second times series.
+	 * @param limit The limit.
+	 * @return The distance between the time series if it does not exceed the
+	 *         limit, and {@link Double#POSITIVE_INFINITY} if the calculation has
+	 *         been abandoned.
+	 */
+	public double distance(final double[] a, final double[] tA, final double[] b, final double[] tB, final double limit) {
 		int n = a.length;
 		int m = b.length;
 
-		// DP[0..n, 0..m]
-		double[][] dp = new double[n + 1][m + 1];
-
 		// declare A[0] := 0, tA[0] := 0
 		// declare B[0] := 0, tB[0] := 0
 		// Note: Zero pad A and B, i.e. when referencing A[i] use A[i-1], when
 		// referencing A[i-1] use A[i-2]
 
-		// Dynamic Programming initialization.
-		for (int i = 1; i <= n; i++) {
-			dp[i][0] = Double.MAX_VALUE;
-		}
-		for (int i = 1; i <= m; i++) {
-			dp[0][i] = Double.MAX_VALUE;
+		// Cost for Deletion in B only depends on j, so compute it once.
+		double[] deletionCostsB = new double[m + 1];
+		for (int j = 1; j <= m; j++) {
+			double bPrev = j > 1 ? b[j - 2] : 0;
+			double tBPrev = j > 1 ? tB[j - 2] : 0;
+			deletionCostsB[j] = this.d.distance(bPrev, b[j - 1]) + this.nu * (tB[j - 1] - tBPrev) + this.lambda;
 		}
-		dp[0][0] = 0d;
+
+		// Two rows DP[i-1, 0..m] and DP[i, 0..m]. Dynamic Programming initialization.
+		double[] previous = new double[m + 1];
+		double[] current = new double[m + 1];
+		Arrays.fill(previous, Double.POSITIVE_INFINITY);
+		previous[0] = 0d;
 
 		// Dynamic programming.
 		for (int i = 1; i <= n; i++) {
+			double aPrev = i > 1 ? a[i - 2] : 0;
+			double tAPrev = i > 1 ? tA[i - 2] : 0;
+			// Cost for Deletion in A only depends on i.
+			double deletionCostA = this.d.distance(aPrev, a[i - 1]) + this.nu * (tA[i - 1] - tAPrev) + this.lambda;
+
+			current[0] = Double.POSITIVE_INFINITY;
+			double minimumOfRow = Double.POSITIVE_INFINITY;
 			for (int j = 1; j <= m; j++) {
+				double bPrev = j > 1 ? b[j - 2] : 0;
+				double tBPrev = j > 1 ? tB[j - 2] : 0;
 
 				// Cost for Deletion in A.
-				double c1;
+				double c1 = previous[j] + deletionCostA;
 				// Cost for Deletion in B.
-				double c2;
+				double c2 = current[j - 1] + deletionCostsB[j];
 				// Cost for a match.
-				double c3;
-
-				if (i == 1 && j == 1) {
-					// Substitute A[i-2] with 0 and B[j-2] with 0.
-					c1 = dp[i - 1][j] + this.d.distance(0, a[i - 1]) + this.nu * tA[i - 1] + this.lambda;
-					c2 = dp[i][j - 1] + this.d.distance(0, b[j - 1]) + this.nu * tB[j - 1] + this.lambda;
-					c3 = dp[i - 1][j - 1] + this.d.distance(a[i - 1], b[i - 1]) + this.nu * Math.abs(tA[i - 1] - tB[j - 1]);
-				} else if (i == 1) {
-					// Substitute A[i-2] with 0.
-					c1 = dp[i - 1][j] + this.d.distance(0, a[i - 1]) + this.nu * tA[i - 1] + this.lambda;
-					c2 = dp[i][j - 1] + this.d.distance(b[j - 2], b[j - 1]) + this.nu * (tB[j - 1] - tB[j - 2]) + this.lambda;
-					c3 = dp[i - 1][j - 1] + this.d.distance(a[i - 1], b[i - 1]) + this.d.distance(0, b[j - 2]) + this.nu * (Math.abs(tA[i - 1] - tB[j - 1]) + tB[j - 2]);
-				} else if (j == 1) {
-					// Substitute B[j-2] with 0.
-					c1 = dp[i - 1][j] + this.d.distance(a[i - 2], a[i - 1]) + this.nu * (tA[i - 1] - tA[i - 2]) + this.lambda;
-					c2 = dp[i][j - 1] + this.d.distance(0, b[j - 1]) + this.nu * tB[j - 1] + this.lambda;
-					c3 = dp[i - 1][j - 1] + this.d.distance(a[i - 1], b[i - 1]) + this.d.distance(a[i - 2], 0) + this.nu * (Math.abs(tA[i - 1] - tB[j - 1]) + tA[i - 2]);
-				} else {
-					// No substitution.
-					c1 = dp[i - 1][j] + this.d.distance(a[i - 2], a[i - 1]) + this.nu * (tA[i - 1] - tA[i - 2]) + this.lambda;
-					c2 = dp[i][j - 1] + this.d.distance(b[j - 2], b[j - 1]) + this.nu * (tB[j - 1] - tB[j - 2]) + this.lambda;
-					c3 = dp[i - 1][j - 1] + this.d.distance(a[i - 1], b[i - 1]) + this.d.distance(a[i - 2], b[j - 2]) + this.nu * (Math.abs(tA[i - 1] - tB[j - 1]) + Math.abs(tA[i - 2] - tB[j - 2]));
-				}
+				double c3 = previous[j - 1] + this.d.distance(a[i - 1], b[j - 1]) + this.d.distance(aPrev, bPrev) + this.nu * (Math.abs(tA[i - 1] - tB[j - 1]) + Math.abs(tAPrev - tBPrev));
 
 				// Minimum cost.
-				double minimum = Math.min(c1, Math.min(c2, c3));
-				dp[i][j] = minimum;
+				current[j] = Math.min(c1, Math.min(c2, c3));
+				minimumOfRow = Math.min(minimumOfRow, current[j]);
+			}
+
+			// Early abandon, as each sequence of edit operations passes each row.
+			if (minimumOfRow > limit) {
+				return Double.POSITIVE_INFINITY;
 			}
+
+			double[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+
+		return previous[m] > limit ? Double.POSITIVE_INFINITY : previous[m];
+	}
+
+	private static double[] getDefaultTimestamps(final int length) {
+		double[] timestamps = new double[length];
+		for (int i = 0; i < length; i++) {
+			timestamps[i] = i;
 		}
+		return timestamps;
+	}
 
-		return dp[n][m];
+	@Override
+	public void setBestSoFar(final double limit) {
+		this.bestSoFar = limit;
+	}
+
+	@Override
+	public double getBestSoFar() {
+		return this.bestSoFar;
 	}
 
 }
\ No newline at end of file
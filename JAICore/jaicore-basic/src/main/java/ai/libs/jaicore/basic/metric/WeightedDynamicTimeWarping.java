@@ -1,7 +1,8 @@
 package ai.libs.jaicore.basic.metric;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.api4.java.common.metric.IDistanceMetric;
 import org.api4.java.common.metric.IScalarDistance;
@@ -20,9 +21,13 @@ import org.api4.java.common.metric.IScalarDistance;
  * with higher phase difference between a reference point and a testing point in
  * order to prevent minimum distance distortion caused by outliers.
  *
+ * Only two rows of the dynamic programming matrix are kept in memory, and the
+ * calculation is abandoned once all cells of a row exceed the best-so-far
+ * distance (see {@link IAbandonable}).
+ *
  * @author fischor
  */
-public class WeightedDynamicTimeWarping implements IDistanceMetric {
+public class WeightedDynamicTimeWarping implements IDistanceMetric, IAbandonable, ILowerBoundedDistance {
 
 	/**
 	 * Controls the level of penalization for the points with larger phase
@@ -39,8 +44,11 @@ public class WeightedDynamicTimeWarping implements IDistanceMetric {
 	/** Distance measure for scalar points. */
 	private IScalarDistance d;
 
+	/** Best-so-far distance for early abandoning, see {@link IAbandonable}. */
+	private double bestSoFar = Double.POSITIVE_INFINITY;
+
 	/** Memorizes the calculated weight vectors for a specific length. */
-	private Map<Integer, double[]> weightMemoization = new HashMap<>();
+	private Map<Integer, double[]> weightMemoization = new ConcurrentHashMap<>();
 
 	/**
 	 * Constructor.
@@ -58,31 +66,87 @@ public class WeightedDynamicTimeWarping implements IDistanceMetric {
 
 	@Override
 	public double distance(final double[] a, final double[] b) {
+		return this.distance(a, b, this.bestSoFar);
+	}
+
+	@Override
+	public double distance(final double[] a, final double[] b, final double limit) {
 		int n = a.length;
 		int m = b.length;
-		double[][] matrix = new double[n + 1][m + 1];
 
 		double[] weights = this.calculateWeights(Math.max(n, m));
 
-		// Dynamic Programming initialization.
-		for (int i = 1; i <= n; i++) {
-			matrix[i][0] = Double.MAX_VALUE;
-		}
-		for (int j = 1; j <= m; j++) {
-			matrix[0][j] = Double.MAX_VALUE;
-		}
-		matrix[0][0] = 0d;
+		// Two rows of the matrix. Dynamic Programming initialization.
+		double[] previous = new double[m + 1];
+		double[] current = new double[m + 1];
+		Arrays.fill(previous, Double.POSITIVE_INFINITY);
+		previous[0] = 0d;
 
 		// Dynamic programming.
 		for (int i = 1; i <= n; i++) {
+			current[0] = Double.POSITIVE_INFINITY;
+			double minimumOfRow = Double.POSITIVE_INFINITY;
 			for (int j = 1; j <= m; j++) {
 				// Paper: | w[i-j] (a_i - b_j) |^p
 				double cost = weights[Math.abs(i - j)] * this.d.distance(a[i - 1], b[j - 1]);
-				double minimum = Math.min(matrix[i - 1][j], Math.min(matrix[i][j - 1], matrix[i - 1][j - 1]));
-				matrix[i][j] = cost + minimum;
+				double minimum = Math.min(previous[j], Math.min(current[j - 1], previous[j - 1]));
+				current[j] = cost + minimum;
+				minimumOfRow = Math.min(minimumOfRow, current[j]);
 			}
+
+			// Early abandon, as every warping path crosses each row.
+			if (minimumOfRow > limit) {
+				return Double.POSITIVE_INFINITY;
+			}
+
+			double[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[m] > limit ? Double.POSITIVE_INFINITY : previous[m];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * This is LB_Kim, see {@link #lowerBoundKim(double[], double[])}.
+	 */
+	@Override
+	public double lowerBound(final double[] a, final double[] b) {
+		return this.lowerBoundKim(a, b);
+	}
+
+	/**
+	 * LB_Kim for the weighted DTW: Every warping path matches the first points
+	 * and the last points of the time series, weighted by their phase
+	 * difference.
+	 *
+	 * @param a First time series.
+	 * @param b Second time series.
+	 * @return A lower bound for the distance between the time series.
+	 */
+	public double lowerBoundKim(final double[] a, final double[] b) {
+		int n = a.length;
+		int m = b.length;
+		if (n == 0 || m == 0) {
+			return 0;
 		}
-		return matrix[n][m];
+		double[] weights = this.calculateWeights(Math.max(n, m));
+		double lowerBound = weights[0] * this.d.distance(a[0], b[0]);
+		if (n > 1 || m > 1) {
+			lowerBound += weights[Math.abs(n - m)] * this.d.distance(a[n - 1], b[m - 1]);
+		}
+		return lowerBound;
+	}
+
+	@Override
+	public void setBestSoFar(final double limit) {
+		this.bestSoFar = limit;
+	}
+
+	@Override
+	public double getBestSoFar() {
+		return this.bestSoFar;
 	}
 
 	/**
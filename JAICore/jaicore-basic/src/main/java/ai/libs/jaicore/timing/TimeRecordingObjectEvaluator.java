@@ -2,6 +2,7 @@ package ai.libs.jaicore.timing;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.api4.java.common.attributedobjects.IObjectEvaluator;
 import org.api4.java.common.attributedobjects.ObjectEvaluationFailedException;
@@ -14,7 +15,7 @@ import ai.libs.jaicore.logging.ToJSONStringUtil;
 public class TimeRecordingObjectEvaluator<T, V extends Comparable<V>> implements IObjectEvaluator<T, V>, ILoggingCustomizable{
 	private Logger logger = LoggerFactory.getLogger(TimeRecordingObjectEvaluator.class);
 	private final IObjectEvaluator<T, V> baseEvaluator;
-	private final Map<T, Integer> consumedTimes = new HashMap<>();
+	private final Map<T, Integer> consumedTimes = new ConcurrentHashMap<>();
 
 	public TimeRecordingObjectEvaluator(final IObjectEvaluator<T, V> baseEvaluator) {
 		super();
@@ -33,6 +34,13 @@ public class TimeRecordingObjectEvaluator<T, V extends Comparable<V>> implements
 		return score;
 	}
 
+	/**
+	 * Registers the time of an evaluation of the object that has not been conducted by this evaluator, e.g. one that has been taken from a cache.
+	 */
+	public void registerEvaluationTime(final T object, final int runtime) {
+		this.consumedTimes.put(object, runtime);
+	}
+
 	public boolean hasEvaluationForComponentInstance(final T inst) {
 		return this.consumedTimes.containsKey(inst);
 	}
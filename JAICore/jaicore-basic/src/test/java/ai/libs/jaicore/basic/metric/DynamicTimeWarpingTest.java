@@ -1,6 +1,10 @@
 package ai.libs.jaicore.basic.metric;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -97,4 +101,92 @@ public class DynamicTimeWarpingTest {
 		});
 	}
 
+	/**
+	 * Correctness test. Compares the distance calculation with and without window
+	 * on random time series with the calculation on the full matrix.
+	 */
+	@Test
+	public void testCorrectnessForRandomTimeSeries() {
+		Random random = new Random(0);
+		DynamicTimeWarping dtw = new DynamicTimeWarping();
+		for (int k = 0; k < 100; k++) {
+			double[] timeSeries1 = randomTimeSeries(random, 1 + random.nextInt(30));
+			double[] timeSeries2 = randomTimeSeries(random, 1 + random.nextInt(30));
+			int w = random.nextInt(10);
+
+			assertEquals(referenceDistance(timeSeries1, timeSeries2, Integer.MAX_VALUE), dtw.distance(timeSeries1, timeSeries2), 1.0E-9);
+			assertEquals(referenceDistance(timeSeries1, timeSeries2, w), dtw.distanceWithWindow(timeSeries1, timeSeries2, w), 1.0E-9);
+			assertEquals(referenceDistance(timeSeries1, timeSeries2, w), new DynamicTimeWarping(ScalarDistanceUtil.getAbsoluteDistance(), w).distance(timeSeries1, timeSeries2), 1.0E-9);
+		}
+	}
+
+	/**
+	 * Correctness test. The lower bounds must not exceed the distance, and early
+	 * abandoning must only take place if the distance exceeds the limit.
+	 */
+	@Test
+	public void testLowerBoundsAndEarlyAbandoning() {
+		Random random = new Random(1);
+		for (int k = 0; k < 100; k++) {
+			int length = 1 + random.nextInt(30);
+			double[] timeSeries1 = randomTimeSeries(random, length);
+			double[] timeSeries2 = randomTimeSeries(random, length);
+			DynamicTimeWarping dtw = new DynamicTimeWarping(ScalarDistanceUtil.getSquaredDistance(), random.nextInt(10));
+			TimeSeriesEnvelope envelope = dtw.getEnvelope(timeSeries1);
+			double distance = dtw.distance(timeSeries1, timeSeries2);
+
+			assertTrue(dtw.lowerBoundKim(timeSeries1, timeSeries2) <= distance + 1.0E-9);
+			assertTrue(dtw.lowerBoundKeogh(envelope, timeSeries2, Double.POSITIVE_INFINITY) <= distance + 1.0E-9);
+			assertEquals(distance, dtw.distance(timeSeries1, envelope, timeSeries2, distance), 1.0E-9);
+			assertEquals(Double.POSITIVE_INFINITY, dtw.distance(timeSeries1, envelope, timeSeries2, distance * 0.99), 0);
+			assertEquals(Double.POSITIVE_INFINITY, dtw.distance(timeSeries1, timeSeries2, distance * 0.99), 0);
+
+			dtw.setBestSoFar(distance * 0.99);
+			assertEquals(Double.POSITIVE_INFINITY, dtw.distance(timeSeries1, timeSeries2), 0);
+		}
+	}
+
+	/**
+	 * Correctness test. Tests the envelope calculation based on an defined input
+	 * and expected output.
+	 */
+	@Test
+	public void testCorrectnessForEnvelope() {
+		double[] timeSeries = { 1, 3, 2, 0, 5, 4 };
+		TimeSeriesEnvelope envelope = TimeSeriesEnvelope.of(timeSeries, 1);
+		Assertions.assertArrayEquals(new double[] { 3, 3, 3, 5, 5, 5 }, envelope.getUpper());
+		Assertions.assertArrayEquals(new double[] { 1, 1, 0, 0, 0, 4 }, envelope.getLower());
+	}
+
+	static double[] randomTimeSeries(final Random random, final int length) {
+		double[] timeSeries = new double[length];
+		for (int i = 0; i < length; i++) {
+			timeSeries[i] = random.nextGaussian();
+		}
+		return timeSeries;
+	}
+
+	/**
+	 * DTW with absolute point distance on the full matrix, where the cells outside
+	 * of the window are infinite.
+	 */
+	private static double referenceDistance(final double[] a, final double[] b, final int window) {
+		int n = a.length;
+		int m = b.length;
+		int w = Math.max(window, Math.abs(n - m));
+		double[][] matrix = new double[n + 1][m + 1];
+		for (double[] row : matrix) {
+			Arrays.fill(row, Double.POSITIVE_INFINITY);
+		}
+		matrix[0][0] = 0;
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= m; j++) {
+				if (Math.abs(i - j) <= w) {
+					matrix[i][j] = Math.abs(a[i - 1] - b[j - 1]) + Math.min(matrix[i - 1][j], Math.min(matrix[i][j - 1], matrix[i - 1][j - 1]));
+				}
+			}
+		}
+		return matrix[n][m];
+	}
+
 }
\ No newline at end of file
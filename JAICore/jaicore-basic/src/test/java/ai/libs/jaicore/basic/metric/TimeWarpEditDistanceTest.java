@@ -3,6 +3,8 @@ package ai.libs.jaicore.basic.metric;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Random;
+
 import org.api4.java.common.metric.IScalarDistance;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -125,4 +127,22 @@ public class TimeWarpEditDistanceTest {
 		assertTrue(true); // this part must be reached
 	}
 
+	/**
+	 * Correctness test. Early abandoning must only take place if the distance
+	 * exceeds the limit.
+	 */
+	@Test
+	public void testEarlyAbandoning() {
+		Random random = new Random(0);
+		TimeWarpEditDistance twed = new TimeWarpEditDistance(1.0, 0.001, ABS_DISTANCE);
+		for (int k = 0; k < 100; k++) {
+			double[] timeSeries1 = DynamicTimeWarpingTest.randomTimeSeries(random, 1 + random.nextInt(30));
+			double[] timeSeries2 = DynamicTimeWarpingTest.randomTimeSeries(random, 1 + random.nextInt(30));
+			double distance = twed.distance(timeSeries1, timeSeries2);
+
+			assertEquals(distance, twed.distance(timeSeries1, timeSeries2, distance), 0);
+			assertEquals(Double.POSITIVE_INFINITY, twed.distance(timeSeries1, timeSeries2, distance * 0.99), 0);
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package ai.libs.jaicore.basic.metric;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
 
 import org.api4.java.common.metric.IScalarDistance;
 import org.junit.jupiter.api.Test;
@@ -34,4 +37,23 @@ public class WeightedDynamicTimeWarpingTest {
 		assertEquals(expectation, distance, 1.0E-5);
 	}
 
+	/**
+	 * Correctness test. LB_Kim must not exceed the distance, and early abandoning
+	 * must only take place if the distance exceeds the limit.
+	 */
+	@Test
+	public void testLowerBoundAndEarlyAbandoning() {
+		Random random = new Random(0);
+		WeightedDynamicTimeWarping wdtw = new WeightedDynamicTimeWarping(0.5, 1, ScalarDistanceUtil.getSquaredDistance());
+		for (int k = 0; k < 100; k++) {
+			double[] timeSeries1 = DynamicTimeWarpingTest.randomTimeSeries(random, 1 + random.nextInt(30));
+			double[] timeSeries2 = DynamicTimeWarpingTest.randomTimeSeries(random, 1 + random.nextInt(30));
+			double distance = wdtw.distance(timeSeries1, timeSeries2);
+
+			assertTrue(wdtw.lowerBoundKim(timeSeries1, timeSeries2) <= distance + 1.0E-9);
+			assertEquals(distance, wdtw.distance(timeSeries1, timeSeries2, distance), 1.0E-9);
+			assertEquals(Double.POSITIVE_INFINITY, wdtw.distance(timeSeries1, timeSeries2, distance * 0.99), 0);
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package ai.libs.jaicore.benchmarks.components;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ai.libs.jaicore.components.api.IComponent;
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.api.IComponentRepository;
+import ai.libs.jaicore.components.model.CategoricalParameterDomain;
+import ai.libs.jaicore.components.model.Component;
+import ai.libs.jaicore.components.model.ComponentRepository;
+import ai.libs.jaicore.components.model.ComponentUtil;
+import ai.libs.jaicore.components.model.NumericParameterDomain;
+import ai.libs.jaicore.components.model.Parameter;
+
+/**
+ * Measures the enumeration of component instances via {@link ComponentUtil}.
+ *
+ * The repository mimics the structure of the ML-Plan search spaces: a pipeline consists of a pre-processor and a classifier, and the classifier is either a base learner or a meta learner that requires a base learner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComponentUtilBenchmark {
+
+	private static final String I_PIPELINE = "IPipeline";
+	private static final String I_PREPROCESSOR = "IPreprocessor";
+	private static final String I_CLASSIFIER = "IClassifier";
+	private static final String I_BASE_CLASSIFIER = "IBaseClassifier";
+
+	@Param({ "5", "20" })
+	public int numComponentsPerInterface;
+
+	@Param({ "3" })
+	public int numParametersPerComponent;
+
+	private IComponentRepository repository;
+	private Component pipeline;
+	private IComponent atomicComponent;
+	private Random random;
+
+	@Setup(Level.Trial)
+	public void createRepository() {
+		this.repository = new ComponentRepository();
+		this.pipeline = new Component("pipeline");
+		this.pipeline.addProvidedInterface(I_PIPELINE);
+		this.pipeline.addRequiredInterface("preprocessor", I_PREPROCESSOR);
+		this.pipeline.addRequiredInterface("classifier", I_CLASSIFIER);
+		this.repository.add(this.pipeline);
+		for (int i = 0; i < this.numComponentsPerInterface; i++) {
+			this.repository.add(this.createAtomicComponent("pre" + i, I_PREPROCESSOR));
+			this.repository.add(this.createAtomicComponent("base" + i, I_CLASSIFIER, I_BASE_CLASSIFIER));
+			Component meta = this.createAtomicComponent("meta" + i, I_CLASSIFIER);
+			meta.addRequiredInterface("baseClassifier", I_BASE_CLASSIFIER);
+			this.repository.add(meta);
+		}
+		this.atomicComponent = this.repository.stream().filter(c -> c.getName().equals("base0")).findAny().orElseThrow(IllegalStateException::new);
+		this.random = new Random(0);
+	}
+
+	private Component createAtomicComponent(final String name, final String... providedInterfaces) {
+		Component c = new Component(name);
+		for (String providedInterface : providedInterfaces) {
+			c.addProvidedInterface(providedInterface);
+		}
+		for (int i = 0; i < this.numParametersPerComponent; i++) {
+			if (i % 2 == 0) {
+				c.addParameter(new Parameter("c" + i, new CategoricalParameterDomain(new String[] { "v1", "v2", "v3", "v4" }), "v1"));
+			} else {
+				c.addParameter(new Parameter("n" + i, new NumericParameterDomain(true, 1, 10), 1.0));
+			}
+		}
+		return c;
+	}
+
+	@Benchmark
+	public Collection<IComponentInstance> getAllAlgorithmSelectionInstances() {
+		return ComponentUtil.getAllAlgorithmSelectionInstances(I_PIPELINE, this.repository);
+	}
+
+	@Benchmark
+	public int getNumberOfUnparametrizedCompositions() {
+		return ComponentUtil.getNumberOfUnparametrizedCompositions(this.repository, I_PIPELINE);
+	}
+
+	@Benchmark
+	public Collection<IComponentInstance> getAllInstantiations() {
+		return ComponentUtil.getAllInstantiations(this.atomicComponent);
+	}
+
+	@Benchmark
+	public IComponentInstance getRandomInstantiationOfComponent() {
+		return ComponentUtil.getRandomInstantiationOfComponent(this.pipeline, this.repository, this.random);
+	}
+}
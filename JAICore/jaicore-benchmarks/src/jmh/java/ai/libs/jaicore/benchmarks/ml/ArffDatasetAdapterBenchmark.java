@@ -0,0 +1,59 @@
+package ai.libs.jaicore.benchmarks.ml;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
+
+/**
+ * Measures how long it takes to parse an ARFF file into a dataset, both with the line-based parser and with the streaming parser of the columnar mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ArffDatasetAdapterBenchmark {
+
+	@Param({ "1000", "10000" })
+	public int numInstances;
+
+	@Param({ "10", "100" })
+	public int numAttributes;
+
+	@Param({ "false", "true" })
+	public boolean columnarMode;
+
+	private File arffFile;
+
+	@Setup(Level.Trial)
+	public void createArffFile() throws IOException {
+		this.arffFile = SyntheticDatasetUtil.createArffFile(this.numInstances, this.numAttributes, 0);
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteArffFile() throws IOException {
+		Files.deleteIfExists(this.arffFile.toPath());
+	}
+
+	@Benchmark
+	public ILabeledDataset<ILabeledInstance> readDataset() throws DatasetDeserializationFailedException {
+		ArffDatasetAdapter adapter = new ArffDatasetAdapter();
+		adapter.setColumnarMode(this.columnarMode);
+		return adapter.readDataset(false, this.arffFile, this.numAttributes);
+	}
+}
@@ -0,0 +1,65 @@
+package ai.libs.jaicore.benchmarks.ml;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.common.attributedobjects.ObjectEvaluationFailedException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ai.libs.jaicore.ml.classification.loss.dataset.EAggregatedClassifierMetric;
+import ai.libs.jaicore.ml.classification.singlelabel.learner.MajorityClassifier;
+import ai.libs.jaicore.ml.core.evaluation.evaluator.MonteCarloCrossValidationEvaluator;
+
+/**
+ * Measures the overhead of a Monte Carlo cross-validation, i.e. splitting, training, predicting and aggregating, with the {@link MajorityClassifier} as a learner whose own cost is negligible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MonteCarloCrossValidationBenchmark {
+
+	private static final double TRAIN_PORTION = 0.7;
+
+	@Param({ "1000", "10000" })
+	public int numInstances;
+
+	@Param({ "20" })
+	public int numAttributes;
+
+	@Param({ "10" })
+	public int repeats;
+
+	@Param({ "false", "true" })
+	public boolean useFoldViews;
+
+	@Param({ "1", "4" })
+	public int numThreads;
+
+	private ILabeledDataset<ILabeledInstance> dataset;
+	private long seed;
+
+	@Setup(Level.Trial)
+	public void createDataset() throws IOException, DatasetDeserializationFailedException {
+		this.dataset = SyntheticDatasetUtil.createDataset(this.numInstances, this.numAttributes, 0);
+	}
+
+	@Benchmark
+	public Double evaluateMajorityClassifier() throws InterruptedException, ObjectEvaluationFailedException {
+		MonteCarloCrossValidationEvaluator evaluator = new MonteCarloCrossValidationEvaluator(false, this.useFoldViews, this.dataset, this.repeats, TRAIN_PORTION, new Random(this.seed++),
+				EAggregatedClassifierMetric.MEAN_ERRORRATE);
+		evaluator.setNumThreads(this.numThreads);
+		return evaluator.evaluate(new MajorityClassifier());
+	}
+}
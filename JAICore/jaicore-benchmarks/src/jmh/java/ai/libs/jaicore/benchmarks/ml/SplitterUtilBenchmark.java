@@ -0,0 +1,56 @@
+package ai.libs.jaicore.benchmarks.ml;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.splitter.SplitFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ai.libs.jaicore.ml.core.filter.SplitterUtil;
+
+/**
+ * Measures the creation of train/test folds via {@link SplitterUtil}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SplitterUtilBenchmark {
+
+	private static final double TRAIN_PORTION = 0.7;
+
+	@Param({ "1000", "10000", "100000" })
+	public int numInstances;
+
+	@Param({ "20" })
+	public int numAttributes;
+
+	private ILabeledDataset<ILabeledInstance> dataset;
+	private long seed;
+
+	@Setup(Level.Trial)
+	public void createDataset() throws IOException, DatasetDeserializationFailedException {
+		this.dataset = SyntheticDatasetUtil.createDataset(this.numInstances, this.numAttributes, 0);
+	}
+
+	@Benchmark
+	public List<ILabeledDataset<?>> simpleTrainTestSplit() throws SplitFailedException, InterruptedException {
+		return SplitterUtil.getSimpleTrainTestSplit(this.dataset, this.seed++, TRAIN_PORTION);
+	}
+
+	@Benchmark
+	public List<ILabeledDataset<ILabeledInstance>> labelStratifiedTrainTestSplit() throws SplitFailedException, InterruptedException {
+		return SplitterUtil.getLabelStratifiedTrainTestSplit(this.dataset, this.seed++, TRAIN_PORTION);
+	}
+}
@@ -0,0 +1,65 @@
+package ai.libs.jaicore.benchmarks.ml;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Random;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+
+import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
+
+/**
+ * Creates the datasets used by the benchmarks. The data is generated from a seed instead of being shipped with the module, so that the benchmarks do not depend on any resource files and every run works on the same data.
+ */
+public class SyntheticDatasetUtil {
+
+	private static final String[] LABELS = { "a", "b", "c" };
+
+	private SyntheticDatasetUtil() {
+		/* avoids instantiation */
+	}
+
+	/**
+	 * Writes an ARFF file with the given number of numeric attributes and a nominal class attribute with three values into a temporary file. The class is the last attribute.
+	 */
+	public static File createArffFile(final int numInstances, final int numAttributes, final long seed) throws IOException {
+		File file = File.createTempFile("jaicore-benchmark-", ".arff");
+		file.deleteOnExit();
+		Random random = new Random(seed);
+		try (BufferedWriter bw = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			bw.write("@relation benchmark\n\n");
+			for (int i = 0; i < numAttributes; i++) {
+				bw.write("@attribute x" + i + " numeric\n");
+			}
+			bw.write("@attribute class {" + String.join(",", LABELS) + "}\n\n@data\n");
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < numInstances; i++) {
+				sb.setLength(0);
+				for (int j = 0; j < numAttributes; j++) {
+					sb.append(String.format(Locale.ROOT, "%.4f", random.nextGaussian())).append(',');
+				}
+				sb.append(LABELS[random.nextInt(LABELS.length)]).append('\n');
+				bw.write(sb.toString());
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Creates a labeled dataset with the given number of numeric attributes and a nominal class attribute with three values.
+	 */
+	public static ILabeledDataset<ILabeledInstance> createDataset(final int numInstances, final int numAttributes, final long seed) throws IOException, DatasetDeserializationFailedException {
+		File file = createArffFile(numInstances, numAttributes, seed);
+		try {
+			return new ArffDatasetAdapter().readDataset(false, file, numAttributes);
+		} finally {
+			Files.deleteIfExists(file.toPath());
+		}
+	}
+}
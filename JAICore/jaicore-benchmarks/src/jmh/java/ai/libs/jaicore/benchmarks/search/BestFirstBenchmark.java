@@ -0,0 +1,79 @@
+package ai.libs.jaicore.benchmarks.search;
+
+import java.util.concurrent.TimeUnit;
+
+import org.aeonbits.owner.ConfigFactory;
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ai.libs.jaicore.search.algorithms.standard.bestfirst.IBestFirstConfig;
+import ai.libs.jaicore.search.algorithms.standard.bestfirst.StandardBestFirst;
+import ai.libs.jaicore.search.probleminputs.GraphSearchWithSubpathEvaluationsInput;
+import ai.libs.jaicore.search.problemtransformers.GraphSearchWithPathEvaluationsInputToGraphSearchWithSubpathEvaluationViaUninformedness;
+import ai.libs.jaicore.search.syntheticgraphs.graphmodels.ITransparentTreeNode;
+import ai.libs.jaicore.search.syntheticgraphs.graphmodels.balanced.BalancedGraphSearchWithPathEvaluationsProblem;
+
+/**
+ * Measures the node throughput of {@link StandardBestFirst} on a balanced synthetic graph. Every search is uninformed and exhausts the whole graph, so every node is created, labeled and expanded once.
+ *
+ * Besides the number of searches per second, the number of expanded nodes per second is reported as the secondary result "expandedNodes".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BestFirstBenchmark {
+
+	@Param({ "3" })
+	public int branchingFactor;
+
+	@Param({ "6", "9" })
+	public int depth;
+
+	@Param({ "1", "4" })
+	public int numCPUs;
+
+	@Param({ "false", "true" })
+	public boolean concurrentOpen;
+
+	private GraphSearchWithSubpathEvaluationsInput<ITransparentTreeNode, Integer, Double> problem;
+	private IBestFirstConfig config;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class NodeCounter {
+		public long expandedNodes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.expandedNodes = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void createProblem() {
+		this.problem = new GraphSearchWithPathEvaluationsInputToGraphSearchWithSubpathEvaluationViaUninformedness<ITransparentTreeNode, Integer>()
+				.encodeProblem(new BalancedGraphSearchWithPathEvaluationsProblem(this.branchingFactor, this.depth, 1, 1));
+		this.config = ConfigFactory.create(IBestFirstConfig.class);
+		this.config.setProperty(IBestFirstConfig.K_CONCURRENT_OPEN, String.valueOf(this.concurrentOpen));
+	}
+
+	@Benchmark
+	public int exhaustGraph(final NodeCounter counter) throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+		StandardBestFirst<ITransparentTreeNode, Integer, Double> bf = new StandardBestFirst<>(this.config, this.problem);
+		bf.setNumCPUs(this.numCPUs);
+		bf.call();
+		counter.expandedNodes += bf.getExpandedCounter();
+		return bf.getSolutionQueue().size();
+	}
+}
@@ -0,0 +1,62 @@
+package ai.libs.jaicore.components.cache;
+
+/**
+ * The outcome of the evaluation of a component instance as stored in a {@link PersistentComponentInstanceEvaluationCache}. An evaluation either has a score or it has failed with some message.
+ *
+ * @param <V>
+ *            Type of scores
+ */
+public class CachedComponentInstanceEvaluation<V> {
+
+	private final V score;
+	private final String failureMessage;
+	private final int runtime;
+
+	private CachedComponentInstanceEvaluation(final V score, final String failureMessage, final int runtime) {
+		super();
+		this.score = score;
+		this.failureMessage = failureMessage;
+		this.runtime = runtime;
+	}
+
+	public static <V> CachedComponentInstanceEvaluation<V> ofScore(final V score, final int runtime) {
+		if (score == null) {
+			throw new IllegalArgumentException("Cannot create an evaluation with score NULL.");
+		}
+		return new CachedComponentInstanceEvaluation<>(score, null, runtime);
+	}
+
+	public static <V> CachedComponentInstanceEvaluation<V> ofFailure(final String failureMessage, final int runtime) {
+		return new CachedComponentInstanceEvaluation<>(null, String.valueOf(failureMessage), runtime);
+	}
+
+	public boolean isFailed() {
+		return this.score == null;
+	}
+
+	/**
+	 * @return The score of the evaluation or NULL if the evaluation has failed.
+	 */
+	public V getScore() {
+		return this.score;
+	}
+
+	/**
+	 * @return The message of the exception that has made the evaluation fail or NULL if the evaluation has not failed.
+	 */
+	public String getFailureMessage() {
+		return this.failureMessage;
+	}
+
+	/**
+	 * @return The time in milliseconds that the original evaluation took.
+	 */
+	public int getRuntime() {
+		return this.runtime;
+	}
+
+	@Override
+	public String toString() {
+		return this.isFailed() ? ("failed after " + this.runtime + "ms: " + this.failureMessage) : (this.score + " after " + this.runtime + "ms");
+	}
+}
@@ -0,0 +1,373 @@
+package ai.libs.jaicore.components.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.api4.java.common.control.ILoggingCustomizable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.model.ComponentInstanceUtil;
+
+/**
+ * An on-disk cache for evaluations of component instances that survives the JVM and can be shared by several JVMs on the same host.
+ *
+ * Entries are content-addressed: the key of a component instance is the SHA-256 hash of the dataset fingerprint, the evaluator configuration, and the canonical string of the instance (see
+ * {@link ComponentInstanceUtil#getCanonicalComponentInstanceString(IComponentInstance)}). Hence, caches for different datasets or evaluator configurations can live in the same directory. Each entry is a small file
+ * that is written to a temporary file first and then atomically moved into place, so readers never see partially written entries.
+ *
+ * The number of entries is bounded. The cache objects of a JVM that share a directory also share an in-memory index of its entries in the order of their last access, and after each insertion the least recently
+ * accessed entries beyond the bound are deleted. The index is built from the directory once and re-built after every n insertions for a bound of n entries, so that entries written or deleted by other JVMs are taken
+ * into account at constant amortized cost. The modification time of an entry file is its last access time, which determines the order of the entries when the index is built. Among JVMs, the bound is hence only
+ * enforced approximately.
+ *
+ * The cache never makes an evaluation fail: I/O problems are logged and treated as cache misses.
+ *
+ * @param <V>
+ *            Type of scores
+ */
+public class PersistentComponentInstanceEvaluationCache<V> implements ILoggingCustomizable {
+
+	private static final String ENTRY_SUFFIX = ".eval";
+
+	private static final String FIELD_CONTEXT = "context";
+	private static final String FIELD_INSTANCE = "instance";
+	private static final String FIELD_SCORE = "score";
+	private static final String FIELD_FAILURE = "failure";
+	private static final String FIELD_RUNTIME = "runtime";
+
+	private static final Map<Path, EntryIndex> INDICES = new HashMap<>();
+
+	/**
+	 * The keys of the entries in a directory in the order of their last access. Accesses are synchronized on the object.
+	 */
+	private static class EntryIndex {
+		private final Map<String, Boolean> keys = new LinkedHashMap<>(16, 0.75f, true);
+		private int insertionsSinceLastBuild;
+		private boolean built;
+	}
+
+	private Logger logger = LoggerFactory.getLogger(PersistentComponentInstanceEvaluationCache.class);
+
+	private final Path directory;
+	private final String context;
+	private final int maxNumberOfEntries;
+	private final Function<V, String> scoreEncoder;
+	private final Function<String, V> scoreDecoder;
+	private final EntryIndex index;
+
+	private final AtomicInteger numberOfHits = new AtomicInteger();
+	private final AtomicInteger numberOfMisses = new AtomicInteger();
+
+	/**
+	 * @param directory
+	 *            The directory in which the entries are stored. It is created if it does not exist.
+	 * @param datasetFingerprint
+	 *            An identifier of the data on which the component instances are evaluated.
+	 * @param evaluatorConfiguration
+	 *            An identifier of the configuration of the evaluator (e.g. performance measure, validation technique, and timeouts). Evaluations are only reused under an identical configuration.
+	 * @param maxNumberOfEntries
+	 *            The maximum number of entries in the directory.
+	 * @param scoreEncoder
+	 *            Maps scores to strings.
+	 * @param scoreDecoder
+	 *            Maps strings produced by the encoder back to scores.
+	 * @throws IOException
+	 *             if the directory cannot be created.
+	 */
+	public PersistentComponentInstanceEvaluationCache(final File directory, final String datasetFingerprint, final String evaluatorConfiguration, final int maxNumberOfEntries, final Function<V, String> scoreEncoder,
+			final Function<String, V> scoreDecoder) throws IOException {
+		super();
+		if (maxNumberOfEntries < 1) {
+			throw new IllegalArgumentException("The maximum number of entries must be positive but is " + maxNumberOfEntries);
+		}
+		this.directory = directory.toPath();
+		this.context = Objects.requireNonNull(datasetFingerprint) + "\n" + Objects.requireNonNull(evaluatorConfiguration);
+		this.maxNumberOfEntries = maxNumberOfEntries;
+		this.scoreEncoder = Objects.requireNonNull(scoreEncoder);
+		this.scoreDecoder = Objects.requireNonNull(scoreDecoder);
+		Files.createDirectories(this.directory);
+		synchronized (INDICES) {
+			this.index = INDICES.computeIfAbsent(this.directory.toAbsolutePath().normalize(), d -> new EntryIndex());
+		}
+		synchronized (this.index) {
+			if (!this.index.built) {
+				this.buildIndex();
+			}
+		}
+	}
+
+	public static PersistentComponentInstanceEvaluationCache<Double> forDoubleScores(final File directory, final String datasetFingerprint, final String evaluatorConfiguration, final int maxNumberOfEntries) throws IOException {
+		return new PersistentComponentInstanceEvaluationCache<>(directory, datasetFingerprint, evaluatorConfiguration, maxNumberOfEntries, String::valueOf, Double::valueOf);
+	}
+
+	/**
+	 * @return The key under which the evaluation of the component instance is stored.
+	 */
+	public String getKey(final IComponentInstance instance) {
+		return this.getKey(ComponentInstanceUtil.getCanonicalComponentInstanceString(instance));
+	}
+
+	private String getKey(final String canonicalInstance) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest((this.context + "\n" + canonicalInstance).getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder(2 * hash.length);
+			for (byte b : hash) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by this JVM.", e); // every JVM is required to support SHA-256
+		}
+	}
+
+	private Path getEntryFile(final String key) {
+		return this.directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+	}
+
+	/**
+	 * Looks up the evaluation of the component instance. A hit counts as an access of the entry.
+	 *
+	 * @param instance
+	 *            The component instance.
+	 * @return The evaluation of the instance if it is in the cache.
+	 */
+	public Optional<CachedComponentInstanceEvaluation<V>> get(final IComponentInstance instance) {
+		String canonicalInstance = ComponentInstanceUtil.getCanonicalComponentInstanceString(instance);
+		String key = this.getKey(canonicalInstance);
+		Path file = this.getEntryFile(key);
+		Optional<CachedComponentInstanceEvaluation<V>> evaluation = this.readEntry(file, canonicalInstance);
+		if (evaluation.isPresent()) {
+			this.numberOfHits.incrementAndGet();
+			synchronized (this.index) {
+				this.index.keys.put(key, Boolean.TRUE);
+			}
+			try {
+				Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+			} catch (IOException e) {
+				this.logger.debug("Could not update access time of cache entry {}.", file, e); // the entry may have been evicted in the meantime
+			}
+			this.logger.debug("Cache hit for {}: {}", canonicalInstance, evaluation.get());
+		} else {
+			this.numberOfMisses.incrementAndGet();
+			this.logger.debug("Cache miss for {}", canonicalInstance);
+		}
+		return evaluation;
+	}
+
+	private Optional<CachedComponentInstanceEvaluation<V>> readEntry(final Path file, final String canonicalInstance) {
+		if (!Files.exists(file)) {
+			return Optional.empty();
+		}
+		Properties entry = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			entry.load(in);
+		} catch (NoSuchFileException e) {
+			return Optional.empty(); // evicted between the check and the read
+		} catch (IOException e) {
+			this.logger.warn("Could not read cache entry {}. Treating it as a miss.", file, e);
+			return Optional.empty();
+		}
+
+		/* make sure that the entry does really belong to the instance (and not to a colliding one) */
+		if (!this.context.equals(entry.getProperty(FIELD_CONTEXT)) || !canonicalInstance.equals(entry.getProperty(FIELD_INSTANCE))) {
+			this.logger.warn("Cache entry {} belongs to another instance or context. Treating it as a miss.", file);
+			return Optional.empty();
+		}
+		try {
+			int runtime = Integer.parseInt(entry.getProperty(FIELD_RUNTIME));
+			if (entry.containsKey(FIELD_FAILURE)) {
+				return Optional.of(CachedComponentInstanceEvaluation.ofFailure(entry.getProperty(FIELD_FAILURE), runtime));
+			}
+			return Optional.of(CachedComponentInstanceEvaluation.ofScore(this.scoreDecoder.apply(entry.getProperty(FIELD_SCORE)), runtime));
+		} catch (RuntimeException e) {
+			this.logger.warn("Could not decode cache entry {}. Treating it as a miss.", file, e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Stores (or replaces) the evaluation of the component instance and evicts the least recently accessed entries if the cache has grown beyond its bound.
+	 *
+	 * @param instance
+	 *            The component instance.
+	 * @param evaluation
+	 *            The evaluation of the instance.
+	 */
+	public void put(final IComponentInstance instance, final CachedComponentInstanceEvaluation<V> evaluation) {
+		String canonicalInstance = ComponentInstanceUtil.getCanonicalComponentInstanceString(instance);
+		String key = this.getKey(canonicalInstance);
+		Path file = this.getEntryFile(key);
+		Properties entry = new Properties();
+		entry.setProperty(FIELD_CONTEXT, this.context);
+		entry.setProperty(FIELD_INSTANCE, canonicalInstance);
+		entry.setProperty(FIELD_RUNTIME, String.valueOf(evaluation.getRuntime()));
+		if (evaluation.isFailed()) {
+			entry.setProperty(FIELD_FAILURE, evaluation.getFailureMessage());
+		} else {
+			entry.setProperty(FIELD_SCORE, this.scoreEncoder.apply(evaluation.getScore()));
+		}
+		Path tmpFile = null;
+		try {
+			Files.createDirectories(file.getParent());
+			tmpFile = Files.createTempFile(file.getParent(), "entry", ".tmp");
+			try (OutputStream out = Files.newOutputStream(tmpFile)) {
+				entry.store(out, null);
+			}
+			Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			this.logger.debug("Stored evaluation {} of {} in {}", evaluation, canonicalInstance, file);
+		} catch (IOException e) {
+			this.logger.warn("Could not store evaluation of {} in the cache.", canonicalInstance, e);
+			this.deleteQuietly(tmpFile);
+			return;
+		}
+		this.registerInsertion(key);
+	}
+
+	/**
+	 * Adds the key to the index and evicts the least recently accessed entries beyond the bound.
+	 */
+	private void registerInsertion(final String key) {
+		synchronized (this.index) {
+			this.index.keys.put(key, Boolean.TRUE);
+			if (++this.index.insertionsSinceLastBuild >= this.maxNumberOfEntries) {
+				try {
+					this.buildIndex();
+				} catch (IOException e) {
+					this.logger.warn("Could not re-build the index of the cache in {}. Continuing with the current one.", this.directory, e);
+				}
+			}
+			int numberOfEvictedEntries = 0;
+			Iterator<String> iterator = this.index.keys.keySet().iterator();
+			while (this.index.keys.size() > this.maxNumberOfEntries && iterator.hasNext()) {
+				String keyToEvict = iterator.next();
+				iterator.remove();
+				this.deleteQuietly(this.getEntryFile(keyToEvict));
+				numberOfEvictedEntries++;
+			}
+			if (numberOfEvictedEntries > 0) {
+				this.logger.debug("Evicted {} entries from the cache.", numberOfEvictedEntries);
+			}
+		}
+	}
+
+	/**
+	 * Re-builds the index from the entries in the directory, ordered by their modification time. Must be called while holding the lock on the index.
+	 */
+	private void buildIndex() throws IOException {
+		Map<String, Long> accessTimes = new HashMap<>();
+		for (Path entry : this.getEntryFiles()) {
+			try {
+				String fileName = entry.getFileName().toString();
+				accessTimes.put(fileName.substring(0, fileName.length() - ENTRY_SUFFIX.length()), Files.getLastModifiedTime(entry).toMillis());
+			} catch (NoSuchFileException e) {
+				// the entry has been evicted by another JVM in the meantime
+			}
+		}
+		List<String> keys = new ArrayList<>(accessTimes.keySet());
+		keys.sort(Comparator.comparingLong(accessTimes::get));
+		this.index.keys.clear();
+		for (String key : keys) {
+			this.index.keys.put(key, Boolean.TRUE);
+		}
+		this.index.insertionsSinceLastBuild = 0;
+		this.index.built = true;
+		this.logger.debug("Built index of the cache in {} with {} entries.", this.directory, keys.size());
+	}
+
+	private List<Path> getEntryFiles() throws IOException {
+		try (Stream<Path> files = Files.walk(this.directory, 2)) {
+			return files.filter(f -> f.getFileName().toString().endsWith(ENTRY_SUFFIX)).collect(Collectors.toCollection(ArrayList::new));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void deleteQuietly(final Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			this.logger.warn("Could not delete file {}.", file, e);
+		}
+	}
+
+	/**
+	 * @return The number of entries in the cache directory, including those of other datasets and evaluator configurations.
+	 */
+	public int size() throws IOException {
+		return this.getEntryFiles().size();
+	}
+
+	/**
+	 * Removes all entries from the cache directory, including those of other datasets and evaluator configurations.
+	 */
+	public void clear() throws IOException {
+		synchronized (this.index) {
+			for (Path entry : this.getEntryFiles()) {
+				Files.deleteIfExists(entry);
+			}
+			this.index.keys.clear();
+		}
+	}
+
+	public File getDirectory() {
+		return this.directory.toFile();
+	}
+
+	public int getMaxNumberOfEntries() {
+		return this.maxNumberOfEntries;
+	}
+
+	/**
+	 * @return The number of lookups of this object that found an entry.
+	 */
+	public int getNumberOfHits() {
+		return this.numberOfHits.get();
+	}
+
+	/**
+	 * @return The number of lookups of this object that did not find an entry.
+	 */
+	public int getNumberOfMisses() {
+		return this.numberOfMisses.get();
+	}
+
+	@Override
+	public String getLoggerName() {
+		return this.logger.getName();
+	}
+
+	@Override
+	public void setLoggerName(final String name) {
+		this.logger = LoggerFactory.getLogger(name);
+	}
+}
@@ -0,0 +1,332 @@
+package ai.libs.jaicore.components.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.MapMaker;
+
+import ai.libs.jaicore.components.api.IComponent;
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.api.IParameter;
+import ai.libs.jaicore.components.api.IRequiredInterfaceDefinition;
+import ai.libs.jaicore.logging.ToJSONStringUtil;
+
+/**
+ * An immutable and interned variant of {@link ComponentInstance}. Instances are obtained via {@link #of(IComponentInstance)}, which returns the same object for structurally equal component instances (as long as
+ * that object is referenced somewhere).
+ *
+ * The parameter values are held in a primitive array indexed by the order of the parameters in the component: categorical values are encoded by their index in the domain and numeric values by the number
+ * itself. Values that cannot be restored from such an encoding without loss (e.g. numbers in an uncommon format) are kept as strings. The providers of the required interfaces are held in an array indexed by the
+ * order of the required interfaces in the component. The structural hash is computed once at construction, so hashing does not depend on the size of the instance, and equality checks mostly reduce to a
+ * comparison of references.
+ *
+ * The maps returned by {@link #getParameterValues()} and {@link #getSatisfactionOfRequiredInterfaces()} are unmodifiable views created on demand. Compact instances cannot carry annotations. They are never equal
+ * to a {@link ComponentInstance}; use {@link ComponentInstanceUtil#toComponentInstance(IComponentInstance)} to get a mutable copy.
+ */
+public final class CompactComponentInstance implements IComponentInstance {
+
+	private static final long serialVersionUID = -2403612410519394066L;
+
+	private static final Interner<CompactComponentInstance> INTERNER = Interners.newWeakInterner();
+	private static final ConcurrentMap<IComponent, ComponentIndex> INDICES = new MapMaker().weakKeys().makeMap(); // weak keys are compared by identity
+
+	/**
+	 * Positions of the parameters and required interfaces of a component as well as the information needed to encode and decode parameter values. The index is shared by all instances of the component.
+	 */
+	private static class ComponentIndex {
+		private final IParameter[] parameters;
+		private final Map<String, Integer> positionOfParameter = new HashMap<>();
+		private final String[][] categoricalValues; // null for numeric parameters
+		private final boolean[] isInteger;
+		private final String[] requiredInterfaces;
+		private final Map<String, Integer> positionOfRequiredInterface = new HashMap<>();
+
+		private ComponentIndex(final IComponent component) {
+			this.parameters = component.getParameters().toArray(new IParameter[0]);
+			this.categoricalValues = new String[this.parameters.length][];
+			this.isInteger = new boolean[this.parameters.length];
+			for (int i = 0; i < this.parameters.length; i++) {
+				IParameter param = this.parameters[i];
+				this.positionOfParameter.put(param.getName(), i);
+				if (param.getDefaultDomain() instanceof CategoricalParameterDomain) {
+					this.categoricalValues[i] = ((CategoricalParameterDomain) param.getDefaultDomain()).getValues();
+				} else if (param.getDefaultDomain() instanceof NumericParameterDomain) {
+					this.isInteger[i] = ((NumericParameterDomain) param.getDefaultDomain()).isInteger();
+				}
+			}
+			List<String> ids = component.getRequiredInterfaces().stream().map(IRequiredInterfaceDefinition::getId).collect(Collectors.toList());
+			this.requiredInterfaces = ids.toArray(new String[0]);
+			for (int i = 0; i < this.requiredInterfaces.length; i++) {
+				this.positionOfRequiredInterface.put(this.requiredInterfaces[i], i);
+			}
+		}
+
+		private int getPositionOfParameter(final String name) {
+			Integer pos = this.positionOfParameter.get(name);
+			return pos != null ? pos : -1;
+		}
+
+		private int getPositionOfRequiredInterface(final String id) {
+			Integer pos = this.positionOfRequiredInterface.get(id);
+			return pos != null ? pos : -1;
+		}
+
+		/**
+		 * @return The encoding of the value or NaN if the value has no lossless encoding.
+		 */
+		private double encode(final int pos, final String value) {
+			if (this.categoricalValues[pos] != null) {
+				String[] values = this.categoricalValues[pos];
+				for (int i = 0; i < values.length; i++) {
+					if (values[i].equals(value)) {
+						return i;
+					}
+				}
+				return Double.NaN;
+			}
+			try {
+				double encodedValue = Double.parseDouble(value);
+				return !Double.isNaN(encodedValue) && value.equals(this.decode(pos, encodedValue)) ? encodedValue : Double.NaN;
+			} catch (NumberFormatException e) {
+				return Double.NaN;
+			}
+		}
+
+		private String decode(final int pos, final double encodedValue) {
+			if (this.categoricalValues[pos] != null) {
+				return this.categoricalValues[pos][(int) encodedValue];
+			}
+			if (this.isInteger[pos] && encodedValue == Math.rint(encodedValue) && !Double.isInfinite(encodedValue)) {
+				return String.valueOf((long) encodedValue);
+			}
+			return String.valueOf(encodedValue);
+		}
+	}
+
+	private final IComponent component;
+	private final double[] values; // NaN for parameters that are not set or whose value is held in rawValues
+	private final String[] rawValues; // null if all values are encoded
+	private final CompactComponentInstance[][] providers; // null entries for required interfaces that are not contained in the satisfaction map
+
+	private final transient ComponentIndex index;
+	private final transient int hash;
+
+	private CompactComponentInstance(final IComponent component, final double[] values, final String[] rawValues, final CompactComponentInstance[][] providers) {
+		this.component = component;
+		this.values = values;
+		this.rawValues = rawValues;
+		this.providers = providers;
+		this.index = getIndex(component);
+		int result = component.getName().hashCode();
+		result = 31 * result + Arrays.hashCode(values);
+		result = 31 * result + Arrays.hashCode(rawValues);
+		for (CompactComponentInstance[] providersOfInterface : providers) {
+			result = 31 * result + (providersOfInterface != null ? Arrays.hashCode(providersOfInterface) : -1);
+		}
+		this.hash = result;
+	}
+
+	private static ComponentIndex getIndex(final IComponent component) {
+		return INDICES.computeIfAbsent(component, ComponentIndex::new);
+	}
+
+	/**
+	 * Returns the interned compact representation of a component instance.
+	 *
+	 * @param instance
+	 *            The component instance; its parameter values must only refer to parameters of its component, and its required interfaces must be required interfaces of the component.
+	 * @return The compact instance that is structurally equal to the given instance.
+	 */
+	public static CompactComponentInstance of(final IComponentInstance instance) {
+		if (instance instanceof CompactComponentInstance) {
+			return (CompactComponentInstance) instance;
+		}
+		IComponent component = instance.getComponent();
+		ComponentIndex index = getIndex(component);
+
+		/* encode parameter values */
+		double[] values = new double[index.parameters.length];
+		Arrays.fill(values, Double.NaN);
+		String[] rawValues = null;
+		for (Entry<String, String> parameterValue : instance.getParameterValues().entrySet()) {
+			int pos = index.getPositionOfParameter(parameterValue.getKey());
+			if (pos < 0) {
+				throw new IllegalArgumentException("Component " + component.getName() + " has no parameter " + parameterValue.getKey());
+			}
+			if (parameterValue.getValue() == null) {
+				continue;
+			}
+			values[pos] = index.encode(pos, parameterValue.getValue());
+			if (Double.isNaN(values[pos])) {
+				if (rawValues == null) {
+					rawValues = new String[values.length];
+				}
+				rawValues[pos] = parameterValue.getValue();
+			}
+		}
+
+		/* recursively intern the providers of the required interfaces */
+		CompactComponentInstance[][] providers = new CompactComponentInstance[index.requiredInterfaces.length][];
+		for (Entry<String, List<IComponentInstance>> satisfaction : instance.getSatisfactionOfRequiredInterfaces().entrySet()) {
+			int pos = index.getPositionOfRequiredInterface(satisfaction.getKey());
+			if (pos < 0) {
+				throw new IllegalArgumentException("Component " + component.getName() + " has no required interface " + satisfaction.getKey());
+			}
+			List<IComponentInstance> providersOfInterface = satisfaction.getValue();
+			providers[pos] = new CompactComponentInstance[providersOfInterface.size()];
+			for (int i = 0; i < providers[pos].length; i++) {
+				providers[pos][i] = of(providersOfInterface.get(i));
+			}
+		}
+		return INTERNER.intern(new CompactComponentInstance(component, values, rawValues, providers));
+	}
+
+	private Object readResolve() {
+		return INTERNER.intern(new CompactComponentInstance(this.component, this.values, this.rawValues, this.providers));
+	}
+
+	@Override
+	public IComponent getComponent() {
+		return this.component;
+	}
+
+	private boolean isSet(final int pos) {
+		return !Double.isNaN(this.values[pos]) || (this.rawValues != null && this.rawValues[pos] != null);
+	}
+
+	private String getValue(final int pos) {
+		if (!Double.isNaN(this.values[pos])) {
+			return this.index.decode(pos, this.values[pos]);
+		}
+		return this.rawValues != null ? this.rawValues[pos] : null;
+	}
+
+	/**
+	 * @return An unmodifiable map of the parameters that have been set to their values, ordered like the parameters of the component.
+	 */
+	@Override
+	public Map<String, String> getParameterValues() {
+		Map<String, String> parameterValues = new LinkedHashMap<>();
+		for (int i = 0; i < this.values.length; i++) {
+			if (this.isSet(i)) {
+				parameterValues.put(this.index.parameters[i].getName(), this.getValue(i));
+			}
+		}
+		return Collections.unmodifiableMap(parameterValues);
+	}
+
+	@Override
+	public Collection<IParameter> getParametersThatHaveBeenSetExplicitly() {
+		List<IParameter> parameters = new ArrayList<>();
+		for (int i = 0; i < this.values.length; i++) {
+			if (this.isSet(i)) {
+				parameters.add(this.index.parameters[i]);
+			}
+		}
+		return parameters;
+	}
+
+	@Override
+	public Collection<IParameter> getParametersThatHaveNotBeenSetExplicitly() {
+		List<IParameter> parameters = new ArrayList<>();
+		for (int i = 0; i < this.values.length; i++) {
+			if (!this.isSet(i)) {
+				parameters.add(this.index.parameters[i]);
+			}
+		}
+		return parameters;
+	}
+
+	@Override
+	public String getParameterValue(final IParameter param) {
+		return this.getParameterValue(param.getName());
+	}
+
+	@Override
+	public String getParameterValue(final String paramName) {
+		int pos = this.index.getPositionOfParameter(paramName);
+		return pos >= 0 ? this.getValue(pos) : null;
+	}
+
+	/**
+	 * @return An unmodifiable map of the required interfaces to their providers, ordered like the required interfaces of the component.
+	 */
+	@Override
+	public Map<String, List<IComponentInstance>> getSatisfactionOfRequiredInterfaces() {
+		Map<String, List<IComponentInstance>> satisfaction = new LinkedHashMap<>();
+		for (int i = 0; i < this.providers.length; i++) {
+			if (this.providers[i] != null) {
+				satisfaction.put(this.index.requiredInterfaces[i], Collections.unmodifiableList(Arrays.asList(this.providers[i])));
+			}
+		}
+		return Collections.unmodifiableMap(satisfaction);
+	}
+
+	@Override
+	public List<IComponentInstance> getSatisfactionOfRequiredInterface(final String idOfRequiredInterface) {
+		int pos = this.index.getPositionOfRequiredInterface(idOfRequiredInterface);
+		if (pos < 0) {
+			throw new IllegalArgumentException("\"" + idOfRequiredInterface + "\" is not a valid required interface id of component " + this.component.getName() + ". Valid ids are: "
+					+ Arrays.stream(this.index.requiredInterfaces).map(id -> "\n\t- " + id).collect(Collectors.joining()));
+		}
+		return this.providers[pos] != null ? Collections.unmodifiableList(Arrays.asList(this.providers[pos])) : null;
+	}
+
+	@Override
+	public void putAnnotation(final String key, final String annotation) {
+		throw new UnsupportedOperationException("Compact component instances are immutable and cannot be annotated.");
+	}
+
+	@Override
+	public String getAnnotation(final String key) {
+		return null;
+	}
+
+	@Override
+	public void appendAnnotation(final String key, final String annotation) {
+		throw new UnsupportedOperationException("Compact component instances are immutable and cannot be annotated.");
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hash;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || this.getClass() != obj.getClass()) {
+			return false;
+		}
+		CompactComponentInstance other = (CompactComponentInstance) obj;
+		if (this.hash != other.hash) {
+			return false;
+		}
+		if (this.component != other.component && !this.component.equals(other.component)) {
+			return false;
+		}
+		return Arrays.equals(this.values, other.values) && Arrays.equals(this.rawValues, other.rawValues) && Arrays.deepEquals(this.providers, other.providers); // providers are interned, so they are mostly compared by reference
+	}
+
+	@Override
+	public String toString() {
+		Map<String, Object> fields = new HashMap<>();
+		fields.put("component", this.component);
+		fields.put("parameterValues", this.getParameterValues());
+		fields.put("satisfactionOfRequiredInterfaces", this.getSatisfactionOfRequiredInterfaces());
+		return ToJSONStringUtil.toJSONString(this.getClass().getSimpleName(), fields);
+	}
+}
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -266,6 +267,81 @@ public class ComponentInstanceUtil {
 		return sb.toString();
 	}
 
+	/**
+	 * @param ci The component instance.
+	 * @return The interned, immutable representation of the component instance.
+	 */
+	public static CompactComponentInstance toCompactComponentInstance(final IComponentInstance ci) {
+		return CompactComponentInstance.of(ci);
+	}
+
+	/**
+	 * Creates a mutable deep copy of a component instance of any type (e.g. a {@link CompactComponentInstance}). Annotations are not copied.
+	 *
+	 * @param ci The component instance.
+	 * @return A <code>ComponentInstance</code> that is structurally equal to the given instance.
+	 */
+	public static ComponentInstance toComponentInstance(final IComponentInstance ci) {
+		Map<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new HashMap<>();
+		for (Entry<String, List<IComponentInstance>> satisfiedRequiredInterface : ci.getSatisfactionOfRequiredInterfaces().entrySet()) {
+			satisfactionOfRequiredInterfaces.put(satisfiedRequiredInterface.getKey(), satisfiedRequiredInterface.getValue().stream().map(ComponentInstanceUtil::toComponentInstance).collect(Collectors.toList()));
+		}
+		return new ComponentInstance(ci.getComponent(), new HashMap<>(ci.getParameterValues()), satisfactionOfRequiredInterfaces);
+	}
+
+	/**
+	 * Returns a string representation of the component instance that does not depend on the iteration order of the maps of the instance, i.e., two component instances that are equal have the same canonical string.
+	 * Parameters and required interfaces are ordered by their names; the order of the instances that satisfy a required interface is kept. Separators that occur in names or values are escaped, so different component
+	 * instances never have the same canonical string.
+	 *
+	 * @param ci The component instance.
+	 * @return The canonical string of the component instance.
+	 */
+	public static String getCanonicalComponentInstanceString(final IComponentInstance ci) {
+		StringBuilder sb = new StringBuilder();
+		appendCanonicalComponentInstanceString(ci, sb);
+		return sb.toString();
+	}
+
+	private static void appendCanonicalComponentInstanceString(final IComponentInstance ci, final StringBuilder sb) {
+		sb.append(escapeCanonicalString(ci.getComponent().getName())).append("{");
+		sb.append(new TreeMap<>(ci.getParameterValues()).entrySet().stream().map(x -> escapeCanonicalString(x.getKey()) + "=" + escapeCanonicalString(x.getValue())).collect(Collectors.joining(",")));
+		sb.append("}[");
+		boolean first = true;
+		for (Entry<String, List<IComponentInstance>> satisfiedRequiredInterface : new TreeMap<>(ci.getSatisfactionOfRequiredInterfaces()).entrySet()) {
+			if (!first) {
+				sb.append(",");
+			}
+			first = false;
+			sb.append(escapeCanonicalString(satisfiedRequiredInterface.getKey())).append("=(");
+			for (int i = 0; i < satisfiedRequiredInterface.getValue().size(); i++) {
+				if (i > 0) {
+					sb.append(",");
+				}
+				appendCanonicalComponentInstanceString(satisfiedRequiredInterface.getValue().get(i), sb);
+			}
+			sb.append(")");
+		}
+		sb.append("]");
+	}
+
+	/**
+	 * Escapes the separators of canonical strings by a backslash. NULL is encoded as "\0", which cannot be the result of escaping a string.
+	 */
+	private static String escapeCanonicalString(final String str) {
+		if (str == null) {
+			return "\\0";
+		}
+		StringBuilder sb = new StringBuilder(str.length());
+		for (char c : str.toCharArray()) {
+			if ("\\{}[](),=".indexOf(c) >= 0) {
+				sb.append('\\');
+			}
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
 	private static String satisfiedRequiredInterfaceToString(final Entry<String, List<IComponentInstance>> satisfiedRequiredInterface) {
 		return satisfiedRequiredInterface.getKey() + "=[" + satisfiedRequiredInterface.getValue().stream().map(ComponentInstanceUtil::getComponentInstanceString).collect(Collectors.joining(",")) + "]";
 	}
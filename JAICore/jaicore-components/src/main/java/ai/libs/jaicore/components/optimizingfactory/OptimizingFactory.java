@@ -17,6 +17,7 @@ import com.google.common.eventbus.Subscribe;
 import ai.libs.jaicore.basic.algorithm.AAlgorithm;
 import ai.libs.jaicore.basic.algorithm.AlgorithmFinishedEvent;
 import ai.libs.jaicore.basic.algorithm.AlgorithmInitializedEvent;
+import ai.libs.jaicore.basic.algorithm.ISelectiveEventListener;
 import ai.libs.jaicore.components.api.IComponentInstance;
 import ai.libs.jaicore.components.api.IEvaluatedSoftwareConfigurationSolution;
 import ai.libs.jaicore.components.exceptions.ComponentInstantiationFailedException;
@@ -39,7 +40,13 @@ public class OptimizingFactory<P extends SoftwareConfigurationProblem<V>, T, C e
 		super(problem);
 		this.factoryForOptimizationAlgorithm = factoryForOptimizationAlgorithm;
 		this.optimizer = this.factoryForOptimizationAlgorithm.getAlgorithm(this.getInput().getConfigurationProblem());
-		this.optimizer.registerListener(new Object() {
+		this.optimizer.registerListener(new ISelectiveEventListener() {
+
+			@Override
+			public boolean isInterestedIn(final Class<?> eventType) {
+				return OptimizingFactory.this.hasListenerFor(eventType);
+			}
+
 			@Subscribe
 			public void receiveAlgorithmEvent(final IAlgorithmEvent event) {
 				if (!(event instanceof AlgorithmInitializedEvent || event instanceof AlgorithmFinishedEvent)) {
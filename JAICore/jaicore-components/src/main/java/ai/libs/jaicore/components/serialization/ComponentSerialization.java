@@ -43,7 +43,9 @@ import ai.libs.jaicore.components.api.IParameterDomain;
 import ai.libs.jaicore.components.api.IRequiredInterfaceDefinition;
 import ai.libs.jaicore.components.model.BooleanParameterDomain;
 import ai.libs.jaicore.components.model.CategoricalParameterDomain;
+import ai.libs.jaicore.components.model.CompactComponentInstance;
 import ai.libs.jaicore.components.model.Component;
+import ai.libs.jaicore.components.model.ComponentInstance;
 import ai.libs.jaicore.components.model.ComponentInstanceConstraint;
 import ai.libs.jaicore.components.model.ComponentRepository;
 import ai.libs.jaicore.components.model.Dependency;
@@ -166,6 +168,55 @@ public class ComponentSerialization implements ILoggingCustomizable {
 		return on;
 	}
 
+	/**
+	 * Restores a component instance from the format produced by {@link #serialize(IComponentInstance)}.
+	 *
+	 * @param components
+	 *            The components that may occur in the instance.
+	 * @param instance
+	 *            The serialized instance.
+	 * @return The component instance.
+	 */
+	public ComponentInstance deserializeComponentInstance(final Collection<? extends IComponent> components, final JsonNode instance) {
+		Map<String, IComponent> componentsByName = new HashMap<>();
+		components.forEach(c -> componentsByName.put(c.getName(), c));
+		return this.deserializeComponentInstance(componentsByName, instance);
+	}
+
+	private ComponentInstance deserializeComponentInstance(final Map<String, IComponent> componentsByName, final JsonNode instance) {
+		String componentName = instance.get(FIELD_COMPONENTS).asText();
+		IComponent component = componentsByName.get(componentName);
+		if (component == null) {
+			throw new IllegalArgumentException("Component instance refers to unknown component \"" + componentName + "\"");
+		}
+		Map<String, String> parameterValues = new HashMap<>();
+		if (instance.has("params")) {
+			instance.get("params").fields().forEachRemaining(e -> parameterValues.put(e.getKey(), e.getValue().isNull() ? null : e.getValue().asText()));
+		}
+		Map<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new HashMap<>();
+		if (instance.has("requiredInterfaces")) {
+			instance.get("requiredInterfaces").fields().forEachRemaining(e -> {
+				List<IComponentInstance> providers = new ArrayList<>();
+				e.getValue().forEach(provider -> providers.add(this.deserializeComponentInstance(componentsByName, provider)));
+				satisfactionOfRequiredInterfaces.put(e.getKey(), providers);
+			});
+		}
+		return new ComponentInstance(component, parameterValues, satisfactionOfRequiredInterfaces);
+	}
+
+	/**
+	 * Restores the compact representation of a component instance from the format produced by {@link #serialize(IComponentInstance)}.
+	 *
+	 * @param components
+	 *            The components that may occur in the instance.
+	 * @param instance
+	 *            The serialized instance.
+	 * @return The interned compact component instance.
+	 */
+	public CompactComponentInstance deserializeCompactComponentInstance(final Collection<? extends IComponent> components, final JsonNode instance) {
+		return CompactComponentInstance.of(this.deserializeComponentInstance(components, instance));
+	}
+
 	public JsonNode readRepositoryFile(final File jsonFile) throws IOException {
 		return this.readRepositoryFile(jsonFile, new HashMap<>());
 	}
@@ -0,0 +1,153 @@
+package ai.libs.softwareconfiguration.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.cache.CachedComponentInstanceEvaluation;
+import ai.libs.jaicore.components.cache.PersistentComponentInstanceEvaluationCache;
+import ai.libs.jaicore.components.model.Component;
+import ai.libs.jaicore.components.model.ComponentInstance;
+
+public class PersistentComponentInstanceEvaluationCacheTest {
+
+	private static final String DATASET = "iris";
+	private static final String EVALUATOR = "5-fold CV, error rate";
+
+	private ComponentInstance getInstance(final String name, final int value) {
+		Map<String, String> params = new HashMap<>();
+		params.put("p", String.valueOf(value));
+		params.put("q", name);
+		return new ComponentInstance(new Component(name), params, new HashMap<>());
+	}
+
+	@Test
+	public void testThatEvaluationsAreRestoredByAnotherCacheObject(@TempDir final Path dir) throws IOException {
+		PersistentComponentInstanceEvaluationCache<Double> cache = PersistentComponentInstanceEvaluationCache.forDoubleScores(dir.toFile(), DATASET, EVALUATOR, 10);
+		ComponentInstance instance = this.getInstance("A", 1);
+		assertFalse(cache.get(instance).isPresent());
+		cache.put(instance, CachedComponentInstanceEvaluation.ofScore(0.25, 42));
+		cache.put(this.getInstance("A", 2), CachedComponentInstanceEvaluation.ofFailure("does not work", 7));
+
+		PersistentComponentInstanceEvaluationCache<Double> otherCache = PersistentComponentInstanceEvaluationCache.forDoubleScores(dir.toFile(), DATASET, EVALUATOR, 10);
+		Optional<CachedComponentInstanceEvaluation<Double>> evaluation = otherCache.get(this.getInstance("A", 1));
+		assertTrue(evaluation.isPresent());
+		assertFalse(evaluation.get().isFailed());
+		assertEquals(0.25, evaluation.get().getScore(), 0.0);
+		assertEquals(42, evaluation.get().getRuntime());
+		Optional<CachedComponentInstanceEvaluation<Double>> failedEvaluation = otherCache.get(this.getInstance("A", 2));
+		assertTrue(failedEvaluation.isPresent());
+		assertTrue(failedEvaluation.get().isFailed());
+		assertEquals("does not work", failedEvaluation.get().getFailureMessage());
+		assertEquals(2, otherCache.getNumberOfHits());
+	}
+
+	@Test
+	public void testThatKeysAreIndependentOfMapOrder(@TempDir final Path dir) throws IOException {
+		PersistentComponentInstanceEvaluationCache<Double> cache = PersistentComponentInstanceEvaluationCache.forDoubleScores(dir.toFile(), DATASET, EVALUATOR, 10);
+		Map<String, String> params1 = new LinkedHashMap<>();
+		params1.put("x", "1");
+		params1.put("y", "2");
+		Map<String, String> params2 = new LinkedHashMap<>();
+		params2.put("y", "2");
+		params2.put("x", "1");
+		Map<String, List<IComponentInstance>> provisions1 = new LinkedHashMap<>();
+		provisions1.put("first", new ArrayList<>(Arrays.asList(this.getInstance("B", 1))));
+		provisions1.put("second", new ArrayList<>(Arrays.asList(this.getInstance("C", 1))));
+		Map<String, List<IComponentInstance>> provisions2 = new LinkedHashMap<>();
+		provisions2.put("second", new ArrayList<>(Arrays.asList(this.getInstance("C", 1))));
+		provisions2.put("first", new ArrayList<>(Arrays.asList(this.getInstance("B", 1))));
+		ComponentInstance ci1 = new ComponentInstance(new Component("A"), params1, provisions1);
+		ComponentInstance ci2 = new ComponentInstance(new Component("A"), params2, provisions2);
+		assertEquals(cache.getKey(ci1), cache.getKey(ci2));
+		assertFalse(cache.getKey(ci1).equals(cache.getKey(this.getInstance("A", 1))));
+
+		/* the same instance has another key on another dataset */
+		PersistentComponentInstanceEvaluationCache<Double> cacheOfOtherDataset = PersistentComponentInstanceEvaluationCache.forDoubleScores(dir.toFile(), "wine", EVALUATOR, 10);
+		assertFalse(cache.getKey(ci1).equals(cacheOfOtherDataset.getKey(ci1)));
+		cache.put(ci1, CachedComponentInstanceEvaluation.ofScore(0.1, 1));
+		assertTrue(cache.get(ci2).isPresent());
+		assertFalse(cacheOfOtherDataset.get(ci2).isPresent());
+	}
+
+	@Test
+	public void testThatSeparatorsInValuesDoNotMakeKeysCollide(@TempDir final Path dir) throws IOException {
+		PersistentComponentInstanceEvaluationCache<Double> cache = PersistentComponentInstanceEvaluationCache.forDoubleScores(dir.toFile(), DATASET, EVALUATOR, 10);
+		Map<String, String> params1 = new HashMap<>();
+		params1.put("x", "1,y=2");
+		Map<String, String> params2 = new HashMap<>();
+		params2.put("x", "1");
+		params2.put("y", "2");
+		ComponentInstance ci1 = new ComponentInstance(new Component("A"), params1, new HashMap<>());
+		ComponentInstance ci2 = new ComponentInstance(new Component("A"), params2, new HashMap<>());
+		assertFalse(cache.getKey(ci1).equals(cache.getKey(ci2)));
+		cache.put(ci1, CachedComponentInstanceEvaluation.ofScore(0.1, 1));
+		assertFalse(cache.get(ci2).isPresent());
+	}
+
+	@Test
+	public void testThatLeastRecentlyAccessedEntriesAreEvicted(@TempDir final Path dir) throws IOException, InterruptedException {
+		final int maxEntries = 5;
+		PersistentComponentInstanceEvaluationCache<Double> cache = PersistentComponentInstanceEvaluationCache.forDoubleScores(dir.toFile(), DATASET, EVALUATOR, maxEntries);
+		for (int i = 0; i < maxEntries; i++) {
+			cache.put(this.getInstance("A", i), CachedComponentInstanceEvaluation.ofScore((double) i, i));
+			Thread.sleep(1000); // the access times of files may only have a resolution of seconds
+		}
+
+		/* touch the oldest entry, so that the second oldest one is evicted next */
+		assertTrue(cache.get(this.getInstance("A", 0)).isPresent());
+		cache.put(this.getInstance("A", maxEntries), CachedComponentInstanceEvaluation.ofScore(1.0, 1));
+		assertEquals(maxEntries, cache.size());
+		assertTrue(cache.get(this.getInstance("A", 0)).isPresent());
+		assertFalse(cache.get(this.getInstance("A", 1)).isPresent());
+		assertTrue(cache.get(this.getInstance("A", maxEntries)).isPresent());
+	}
+
+	@Test
+	public void testConcurrentAccess(@TempDir final Path dir) throws Exception {
+		final int numThreads = 8;
+		final int numInstancesPerThread = 50;
+		final int maxEntries = 100;
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < numThreads; t++) {
+				final int thread = t;
+				futures.add(pool.submit(() -> {
+
+					/* each thread works with its own cache object on the same directory */
+					PersistentComponentInstanceEvaluationCache<Double> cache = PersistentComponentInstanceEvaluationCache.forDoubleScores(dir.toFile(), DATASET, EVALUATOR, maxEntries);
+					for (int i = 0; i < numInstancesPerThread; i++) {
+						ComponentInstance instance = this.getInstance("A", (thread * numInstancesPerThread + i) % (maxEntries * 2));
+						cache.put(instance, CachedComponentInstanceEvaluation.ofScore((double) i, i));
+						cache.get(instance);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertTrue(PersistentComponentInstanceEvaluationCache.forDoubleScores(dir.toFile(), DATASET, EVALUATOR, maxEntries).size() <= maxEntries);
+	}
+}
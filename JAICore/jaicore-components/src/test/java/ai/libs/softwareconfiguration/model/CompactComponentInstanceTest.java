@@ -0,0 +1,119 @@
+package ai.libs.softwareconfiguration.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import ai.libs.jaicore.components.api.IComponent;
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.api.IParameter;
+import ai.libs.jaicore.components.model.CompactComponentInstance;
+import ai.libs.jaicore.components.model.ComponentInstance;
+import ai.libs.jaicore.components.model.ComponentInstanceUtil;
+import ai.libs.jaicore.components.model.ComponentUtil;
+import ai.libs.jaicore.components.model.NumericParameterDomain;
+import ai.libs.jaicore.components.serialization.ComponentSerialization;
+
+public class CompactComponentInstanceTest {
+
+	private static final int NUM_SAMPLES = 100;
+
+	public static Stream<Arguments> getRepositories() {
+		return Stream.of(Arguments.of("testrsc/difficultproblem.json"), Arguments.of("testrsc/mediumrecursiveproblem.json"));
+	}
+
+	private static void assertStructurallyEqual(final IComponentInstance expected, final IComponentInstance actual) {
+		assertEquals(expected.getComponent(), actual.getComponent());
+		assertEquals(expected.getParameterValues(), actual.getParameterValues());
+		for (IParameter param : expected.getComponent().getParameters()) {
+			assertEquals(expected.getParameterValue(param), actual.getParameterValue(param));
+		}
+		assertEquals(expected.getSatisfactionOfRequiredInterfaces().keySet(), actual.getSatisfactionOfRequiredInterfaces().keySet());
+		for (String requiredInterface : expected.getSatisfactionOfRequiredInterfaces().keySet()) {
+			int n = expected.getSatisfactionOfRequiredInterface(requiredInterface).size();
+			assertEquals(n, actual.getSatisfactionOfRequiredInterface(requiredInterface).size());
+			for (int i = 0; i < n; i++) {
+				assertStructurallyEqual(expected.getSatisfactionOfRequiredInterface(requiredInterface).get(i), actual.getSatisfactionOfRequiredInterface(requiredInterface).get(i));
+			}
+		}
+	}
+
+	@ParameterizedTest(name = "Conversion of random instances of {0}")
+	@MethodSource("getRepositories")
+	public void testConversion(final String repositoryFile) throws IOException, ClassNotFoundException {
+		ComponentSerialization serializer = new ComponentSerialization();
+		ArrayList<IComponent> components = new ArrayList<>(serializer.deserializeRepository(new File(repositoryFile)));
+		Random random = new Random(0);
+		for (int i = 0; i < NUM_SAMPLES; i++) {
+			ComponentInstance ci = ComponentInstanceUtil.sampleRandomComponentInstance("IFace", components, random);
+			CompactComponentInstance compactInstance = ComponentInstanceUtil.toCompactComponentInstance(ci);
+			assertStructurallyEqual(ci, compactInstance);
+
+			/* equal instances are interned to the same object */
+			assertSame(compactInstance, CompactComponentInstance.of(new ComponentInstance(ci)));
+			assertSame(compactInstance, CompactComponentInstance.of(compactInstance));
+
+			/* the conversion back yields an equal component instance */
+			assertEquals(ci, ComponentInstanceUtil.toComponentInstance(compactInstance));
+
+			/* serialization to and from JSON */
+			assertSame(compactInstance, serializer.deserializeCompactComponentInstance(components, serializer.serialize(compactInstance)));
+			assertEquals(ci, serializer.deserializeComponentInstance(components, serializer.serialize(ci)));
+
+			/* Java serialization restores the interned object */
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+				out.writeObject(compactInstance);
+			}
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+				assertSame(compactInstance, in.readObject());
+			}
+		}
+	}
+
+	@Test
+	public void testThatUnusualNumberFormatsArePreserved() throws IOException {
+		IComponent component = new ComponentSerialization().deserializeRepository(new File("testrsc/difficultproblem.json")).stream().filter(c -> c.getParameters().stream().anyMatch(p -> p.isNumeric())).findFirst().get();
+		IParameter numericParam = component.getParameters().stream().filter(IParameter::isNumeric).findFirst().get();
+		ComponentInstance ci = ComponentUtil.getDefaultParameterizationOfComponent(component);
+		String unusualValue = ((NumericParameterDomain) numericParam.getDefaultDomain()).isInteger() ? "1.0" : "1";
+		ci.getParameterValues().put(numericParam.getName(), unusualValue);
+		CompactComponentInstance compactInstance = CompactComponentInstance.of(ci);
+		assertEquals(unusualValue, compactInstance.getParameterValue(numericParam));
+		assertEquals(ci, ComponentInstanceUtil.toComponentInstance(compactInstance));
+
+		/* another value yields another instance */
+		ci.getParameterValues().put(numericParam.getName(), "2");
+		assertNotEquals(compactInstance, CompactComponentInstance.of(ci));
+	}
+
+	@Test
+	public void testImmutability() throws IOException {
+		IComponent component = new ComponentSerialization().deserializeRepository(new File("testrsc/difficultproblem.json")).iterator().next();
+		CompactComponentInstance compactInstance = CompactComponentInstance.of(ComponentUtil.getDefaultParameterizationOfComponent(component));
+		Map<String, String> parameterValues = compactInstance.getParameterValues();
+		assertThrows(UnsupportedOperationException.class, () -> parameterValues.put("x", "y"));
+		assertThrows(UnsupportedOperationException.class, () -> compactInstance.putAnnotation("x", "y"));
+		Map<String, String> valuesOfUndefinedParameter = new HashMap<>();
+		valuesOfUndefinedParameter.put("undefinedParameter", "1");
+		assertThrows(IllegalArgumentException.class, () -> CompactComponentInstance.of(new ComponentInstance(component, valuesOfUndefinedParameter, new HashMap<>())));
+	}
+}
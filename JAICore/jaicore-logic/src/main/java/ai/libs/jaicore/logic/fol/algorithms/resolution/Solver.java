@@ -258,7 +258,7 @@ public abstract class Solver {
 		 */
 		for (Literal l1 : c1) {
 			for (Literal l2 : c2) {
-				if ((l1.getPropertyName().equals(l2.getPropertyName()) && l1.isPositive() != l2.isPositive())) {
+				if ((l1.getPropertyNameId() == l2.getPropertyNameId() && l1.isPositive() != l2.isPositive())) {
 					pairs.add(new ResolutionPair(c1, c2, l1, l2));
 				}
 			}
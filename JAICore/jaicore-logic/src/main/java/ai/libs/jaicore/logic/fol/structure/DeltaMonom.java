@@ -0,0 +1,301 @@
+package ai.libs.jaicore.logic.fol.structure;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A monom that shares its literals with the monom it has been derived from.
+ *
+ * Instead of copying all literals of its parent, a derived monom only stores the literals that have been added or removed relative to that parent. Deriving a
+ * successor state and applying the effects of an action hence costs O(|effects|) instead of O(|state|), and the literals common to a sequence of states are
+ * stored only once. To keep look-ups cheap, a derived monom becomes a self-contained copy whenever its chain of parents would exceed {@link #MAX_DEPTH}.
+ *
+ * A monom from which another monom has been derived is frozen, i.e., each attempt to modify it causes an {@link UnsupportedOperationException}. Literals are
+ * shared and not cloned, and Java serialization writes a plain {@link Monom}.
+ */
+public class DeltaMonom extends Monom {
+
+	private static final long serialVersionUID = -4437263719573286520L;
+
+	/**
+	 * The maximum number of parents a derived monom may have before it is flattened into a self-contained copy.
+	 */
+	public static final int MAX_DEPTH = 16;
+
+	private DeltaMonom parent; // null if the literals are stored in this set itself
+	private Set<Literal> added;
+	private Set<Literal> removed;
+	private int depth;
+	private int size;
+	private int hashCode; // maintained incrementally, because the hash code of a set is the sum of the hash codes of its elements
+	private boolean frozen;
+
+	/**
+	 * Creates a self-contained monom with the given literals. The literals themselves are not cloned.
+	 *
+	 * @param literals
+	 *            The literals of the monom.
+	 */
+	public DeltaMonom(final Collection<Literal> literals) {
+		super();
+		super.addAll(literals);
+	}
+
+	private DeltaMonom(final DeltaMonom parent) {
+		super();
+		parent.frozen = true;
+		this.parent = parent;
+		this.added = new HashSet<>();
+		this.removed = new HashSet<>();
+		this.depth = parent.depth + 1;
+		this.size = parent.size();
+		this.hashCode = parent.hashCode();
+	}
+
+	/**
+	 * Derives a modifiable monom with the same literals as the given state. If the state is itself a {@link DeltaMonom}, the returned monom only records the
+	 * changes relative to it, and the state gets frozen.
+	 *
+	 * @param state
+	 *            The state to derive a new monom from.
+	 * @return A monom equal to the given state.
+	 */
+	public static DeltaMonom derive(final Monom state) {
+		if (state instanceof DeltaMonom && ((DeltaMonom) state).depth < MAX_DEPTH) {
+			return new DeltaMonom((DeltaMonom) state);
+		}
+		return new DeltaMonom(state);
+	}
+
+	/**
+	 * @return The number of parents this monom shares its literals with; 0 if the monom is self-contained.
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+
+	private boolean isSelfContained() {
+		return this.parent == null;
+	}
+
+	private void checkModifiable() {
+		if (this.frozen) {
+			throw new UnsupportedOperationException("Cannot modify a monom from which other monoms have been derived.");
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.isSelfContained() ? super.size() : this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+
+	@Override
+	public boolean contains(final Object o) {
+		if (this.isSelfContained()) {
+			return super.contains(o);
+		}
+		return this.added.contains(o) || (!this.removed.contains(o) && this.parent.contains(o));
+	}
+
+	@Override
+	public boolean add(final Literal l) {
+		this.checkModifiable();
+		if (this.isSelfContained()) {
+			return super.add(l);
+		}
+		if (this.removed.remove(l)) {
+			this.size++;
+			this.hashCode += l.hashCode();
+			return true;
+		}
+		if (this.added.contains(l) || this.parent.contains(l)) {
+			return false;
+		}
+		this.added.add(l);
+		this.size++;
+		this.hashCode += l.hashCode();
+		return true;
+	}
+
+	@Override
+	public boolean remove(final Object o) {
+		this.checkModifiable();
+		if (this.isSelfContained()) {
+			return super.remove(o);
+		}
+		if (this.added.remove(o)) {
+			this.size--;
+			this.hashCode -= o.hashCode();
+			return true;
+		}
+		if (!(o instanceof Literal) || this.removed.contains(o) || !this.parent.contains(o)) {
+			return false;
+		}
+		this.removed.add((Literal) o);
+		this.size--;
+		this.hashCode -= o.hashCode();
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		this.checkModifiable();
+		this.parent = null;
+		this.added = null;
+		this.removed = null;
+		this.depth = 0;
+		super.clear();
+	}
+
+	@Override
+	public int hashCode() {
+		return this.isSelfContained() ? super.hashCode() : this.hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		return super.equals(o);
+	}
+
+	@Override
+	public Iterator<Literal> iterator() {
+		return this.isSelfContained() ? new SelfContainedIterator() : new DeltaIterator();
+	}
+
+	@Override
+	public Spliterator<Literal> spliterator() {
+		return Spliterators.spliterator(this, Spliterator.DISTINCT);
+	}
+
+	/*
+	 * The array conversions are also used for bulk copies, e.g. by ArrayList.addAll. They must be based on the iterator, because HashSet may implement them
+	 * directly on its internal map, which is empty for derived monoms.
+	 */
+	@Override
+	public Object[] toArray() {
+		if (this.isSelfContained()) {
+			return super.toArray();
+		}
+		return this.copyInto(new Object[this.size()]);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(final T[] a) {
+		if (this.isSelfContained()) {
+			return super.toArray(a);
+		}
+		int n = this.size();
+		T[] array = a.length >= n ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), n);
+		this.copyInto(array);
+		if (array.length > n) {
+			array[n] = null;
+		}
+		return array;
+	}
+
+	private <T> T[] copyInto(final T[] array) {
+		int i = 0;
+		for (Literal l : this) {
+			((Object[]) array)[i++] = l;
+		}
+		return array;
+	}
+
+	/**
+	 * @return A self-contained copy of this monom.
+	 */
+	@Override
+	public Object clone() {
+		return new DeltaMonom((Collection<Literal>) this);
+	}
+
+	private Object writeReplace() {
+		return new Monom(this, false);
+	}
+
+	private class SelfContainedIterator implements Iterator<Literal> {
+		private final Iterator<Literal> it = DeltaMonom.super.iterator();
+
+		@Override
+		public boolean hasNext() {
+			return this.it.hasNext();
+		}
+
+		@Override
+		public Literal next() {
+			return this.it.next();
+		}
+
+		@Override
+		public void remove() {
+			DeltaMonom.this.checkModifiable();
+			this.it.remove();
+		}
+	}
+
+	/**
+	 * Iterates over the added literals and then over the literals of the parent that have not been removed. The added literals are copied, because they may be
+	 * removed via the iterator; the parent cannot be modified anyway.
+	 */
+	private class DeltaIterator implements Iterator<Literal> {
+		private final Iterator<Literal> addedIterator = new ArrayList<>(DeltaMonom.this.added).iterator();
+		private final Iterator<Literal> parentIterator = DeltaMonom.this.parent.iterator();
+		private Literal next;
+		private Literal last;
+
+		@Override
+		public boolean hasNext() {
+			if (this.next != null) {
+				return true;
+			}
+			if (this.addedIterator.hasNext()) {
+				this.next = this.addedIterator.next();
+				return true;
+			}
+			while (this.parentIterator.hasNext()) {
+				Literal l = this.parentIterator.next();
+				if (!DeltaMonom.this.removed.contains(l)) {
+					this.next = l;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Literal next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			this.last = this.next;
+			this.next = null;
+			return this.last;
+		}
+
+		@Override
+		public void remove() {
+			if (this.last == null) {
+				throw new IllegalStateException();
+			}
+			DeltaMonom.this.remove(this.last);
+			this.last = null;
+		}
+	}
+}
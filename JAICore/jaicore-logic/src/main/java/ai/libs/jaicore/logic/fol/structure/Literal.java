@@ -1,5 +1,8 @@
 package ai.libs.jaicore.logic.fol.structure;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,11 +28,24 @@ import ai.libs.jaicore.logic.fol.util.LogicUtil;
 public class Literal implements Serializable, Comparable<Literal> {
 
 	private static Logger logger = LoggerFactory.getLogger(Literal.class);
-	private String property;
+
+	/* ids of the property (including a possible negation sign) and of the property name in the symbol table; they coincide for positive literals */
+	private transient int propertyId;
+	private transient int propertyNameId;
 	private List<LiteralParam> parameters;
 
+	private Literal(final int propertyId, final int propertyNameId, final List<LiteralParam> parameters) {
+		super();
+		this.propertyId = propertyId;
+		this.propertyNameId = propertyNameId;
+		this.parameters = new ArrayList<>(parameters);
+	}
+
 	public Literal(final Literal l, final Map<? extends LiteralParam, ? extends LiteralParam> map) {
-		this(l.getProperty());
+		super();
+		this.propertyId = l.propertyId;
+		this.propertyNameId = l.propertyNameId;
+		this.parameters = new ArrayList<>(l.parameters.size());
 		for (LiteralParam p : l.getParameters()) {
 			this.parameters.add(map.containsKey(p) ? map.get(p) : p);
 		}
@@ -67,12 +83,13 @@ public class Literal implements Serializable, Comparable<Literal> {
 	public Literal(final String pPropertyWithParams) {
 		super();
 		this.parameters = new ArrayList<>();
+		String property = null;
 
 		/* detect special predicates = or != */
 		if (pPropertyWithParams.contains("=")) {
 			String[] params = StringUtil.explode(pPropertyWithParams, "=");
 			boolean isNegated = params.length > 0 && params[0].endsWith("!");
-			this.property = isNegated ? "!=" : "=";
+			property = isNegated ? "!=" : "=";
 			if (params.length == 2) {
 				int p1Length = isNegated ? params[0].length() - 1 : params[0].length();
 				this.parameters.add(LogicUtil.parseParamName(params[0].substring(0, p1Length).trim()));
@@ -95,21 +112,27 @@ public class Literal implements Serializable, Comparable<Literal> {
 			if (propertyWithParams.contains("(")) {
 				if (propertyWithParams.contains(")")) {
 					int index = propertyWithParams.indexOf('(');
-					this.property = propertyWithParams.substring(0, index);
+					property = propertyWithParams.substring(0, index);
 					if (index < propertyWithParams.length() - 2) {
 						this.parameters.addAll(Arrays.asList(StringUtil.explode(propertyWithParams.substring(index + 1, propertyWithParams.length() - 1), ",")).stream().map(s -> LogicUtil.parseParamName(s.trim())).collect(Collectors.toList()));
 					}
 				}
 			} else {
-				this.property = propertyWithParams;
+				property = propertyWithParams;
 			}
 			if (!isPositive) {
-				this.property = "!" + this.property;
+				property = "!" + property;
 			}
 		}
-		if (this.property == null) {
+		if (property == null) {
 			throw new IllegalArgumentException("Given string \"" + pPropertyWithParams + "\" causes a NULL property!");
 		}
+		this.setProperty(property);
+	}
+
+	private void setProperty(final String property) {
+		this.propertyId = SymbolTable.getId(property);
+		this.propertyNameId = property.startsWith("!") ? SymbolTable.getId(property.substring(1)) : this.propertyId;
 	}
 
 	public Literal(final String property2, final boolean isPositive) {
@@ -130,14 +153,28 @@ public class Literal implements Serializable, Comparable<Literal> {
 	 * Returns a String representation of the property stated by this literal.
 	 */
 	public final String getProperty() {
-		return (this.isNegated() ? "!" : "") + this.getPropertyName();
+		return SymbolTable.getSymbol(this.propertyId);
 	}
 
 	/**
 	 * Returns only the property name of this literal.
 	 */
 	public final String getPropertyName() {
-		return this.isNegated() ? this.property.substring(1) : this.property;
+		return SymbolTable.getSymbol(this.propertyNameId);
+	}
+
+	/**
+	 * @return The id of the property (including a possible negation sign) in the {@link SymbolTable}.
+	 */
+	public final int getPropertyId() {
+		return this.propertyId;
+	}
+
+	/**
+	 * @return The id of the property name in the {@link SymbolTable}.
+	 */
+	public final int getPropertyNameId() {
+		return this.propertyNameId;
 	}
 
 	/**
@@ -148,11 +185,15 @@ public class Literal implements Serializable, Comparable<Literal> {
 	}
 
 	public final boolean isNegated() {
-		return this.property.startsWith("!");
+		return this.propertyId != this.propertyNameId;
 	}
 
 	public Literal toggleNegation() {
-		this.property = this.isNegated() ? this.getPropertyName() : "!" + this.getPropertyName();
+		if (this.isNegated()) {
+			this.propertyId = this.propertyNameId;
+		} else {
+			this.propertyId = SymbolTable.getId("!" + this.getPropertyName());
+		}
 		return this;
 	}
 
@@ -184,7 +225,7 @@ public class Literal implements Serializable, Comparable<Literal> {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((this.parameters == null) ? 0 : this.parameters.hashCode());
-		result = prime * result + ((this.property == null) ? 0 : this.property.hashCode());
+		result = prime * result + this.getProperty().hashCode(); // not the id, so that hash codes (and hence iteration orders) do not depend on the order in which symbols have been interned
 		return result;
 	}
 
@@ -200,6 +241,9 @@ public class Literal implements Serializable, Comparable<Literal> {
 			return false;
 		}
 		Literal other = (Literal) obj;
+		if (this.propertyId != other.propertyId) {
+			return false;
+		}
 		if (this.parameters == null) {
 			if (other.parameters != null) {
 				return false;
@@ -207,19 +251,12 @@ public class Literal implements Serializable, Comparable<Literal> {
 		} else if (!this.parameters.equals(other.parameters)) {
 			return false;
 		}
-		if (this.property == null) {
-			if (other.property != null) {
-				return false;
-			}
-		} else if (!this.property.equals(other.property)) {
-			return false;
-		}
 		return true;
 	}
 
 	@Override
 	public Literal clone() {
-		return new Literal(this.property, this.parameters);
+		return new Literal(this.propertyId, this.propertyNameId, this.parameters);
 	}
 
 	/**
@@ -231,7 +268,7 @@ public class Literal implements Serializable, Comparable<Literal> {
 	 */
 	public Literal clone(final Map<? extends VariableParam, ? extends LiteralParam> mapping) {
 		logger.debug("start cloning");
-		Literal clone = new Literal(this.property);
+		Literal clone = new Literal(this.propertyId, this.propertyNameId, Collections.emptyList());
 
 		// add parameters corresponding to mapping
 		for (LiteralParam v : this.getParameters()) {
@@ -258,7 +295,7 @@ public class Literal implements Serializable, Comparable<Literal> {
 	public String toString(final boolean printTypesOfParams) {
 
 		StringBuilder sb = new StringBuilder();
-		sb.append(this.property + "(");
+		sb.append(this.getProperty() + "(");
 
 		// iterate through parameter list
 		int params = this.parameters.size();
@@ -276,7 +313,7 @@ public class Literal implements Serializable, Comparable<Literal> {
 	}
 
 	public boolean isNegationOf(final Literal l) {
-		return l.getPropertyName().equals(this.getPropertyName()) && l.getParameters().equals(this.parameters) && l.isNegated() != this.isNegated();
+		return l.propertyNameId == this.propertyNameId && l.isNegated() != this.isNegated() && l.parameters.equals(this.parameters);
 	}
 
 	public boolean isPositive() {
@@ -293,6 +330,17 @@ public class Literal implements Serializable, Comparable<Literal> {
 
 	@Override
 	public int compareTo(final Literal l) {
-		return this.property.compareTo(l.property);
+		return this.getProperty().compareTo(l.getProperty());
+	}
+
+	/* symbol ids are only valid in the current JVM, so the property is serialized instead */
+	private void writeObject(final ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeObject(this.getProperty());
+	}
+
+	private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.setProperty((String) in.readObject());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package ai.libs.jaicore.logic.fol.structure;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the properties of literals (with and without negation sign) to ints.
+ *
+ * Literals only store the ids of their properties, so that equality checks and negation checks work on ints instead of strings, and each property is held in
+ * memory only once. The ids are only valid within the running JVM; whenever literals leave it (serialization, I/O), the symbols must be used instead. Hash codes
+ * are computed from the symbols rather than the ids, so that they do not depend on the order in which the symbols have been interned.
+ *
+ * The table never shrinks. Therefore, only properties are interned, which stem from the planning domain. The names of literal parameters are not interned,
+ * because constants may be created during the search, e.g. the intervals to which HASCO refines numeric parameters.
+ */
+public final class SymbolTable {
+
+	/**
+	 * The id of the null symbol.
+	 */
+	public static final int NULL_ID = -1;
+
+	private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+	private static volatile String[] symbols = new String[1024];
+	private static int numberOfSymbols = 0;
+
+	private SymbolTable() {
+		/* avoid instantiation */
+	}
+
+	/**
+	 * @param symbol
+	 *            The symbol to look up.
+	 * @return The id of the symbol; a new id is assigned if the symbol has not been seen before.
+	 */
+	public static int getId(final String symbol) {
+		if (symbol == null) {
+			return NULL_ID;
+		}
+		Integer id = IDS.get(symbol);
+		if (id != null) {
+			return id;
+		}
+		synchronized (SymbolTable.class) {
+			id = IDS.get(symbol);
+			if (id != null) {
+				return id;
+			}
+			int newId = numberOfSymbols++;
+			String[] currentSymbols = symbols.length > newId ? symbols : Arrays.copyOf(symbols, 2 * symbols.length);
+			currentSymbols[newId] = symbol;
+			symbols = currentSymbols; // publishes the new symbol to readers of the array
+			IDS.put(symbol, newId);
+			return newId;
+		}
+	}
+
+	/**
+	 * @param id
+	 *            The id of a symbol as returned by {@link #getId(String)}.
+	 * @return The symbol with that id.
+	 */
+	public static String getSymbol(final int id) {
+		return id == NULL_ID ? null : symbols[id];
+	}
+
+	/**
+	 * @return The number of symbols that have been interned so far.
+	 */
+	public static synchronized int size() {
+		return numberOfSymbols;
+	}
+}
@@ -2,6 +2,7 @@ package ai.libs.jaicore.logic.fol.util;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,7 @@ public class ForwardChainer extends AAlgorithm<ForwardChainingProblem, Collectio
 	private Monom conclusion;
 	private Monom cwaRelevantNegativeLiterals; // contains the negative part of the conclusion IF CWA is active!
 	private Monom factbase;
+	private IndexedFactBase indexedFactbase;
 
 	private Literal chosenLiteral;
 	private List<Map<VariableParam, LiteralParam>> possibleChoicesForLocalLiteral;
@@ -65,6 +67,7 @@ public class ForwardChainer extends AAlgorithm<ForwardChainingProblem, Collectio
 			this.conclusion = this.getInput().getConclusion();
 			assert !this.conclusion.isEmpty() : "The algorithm should not be invoked with an empty conclusion";
 			this.factbase = this.getInput().getFactbase();
+			this.indexedFactbase = this.getInput().getIndexedFactbase();
 			this.logger.info("Computing substitution for {}-conclusion that enable forward chaining from factbase of size {}. Enable trace for more detailed output.", this.conclusion.size(), this.factbase.size());
 			this.logger.trace("Conclusion is {}", this.conclusion);
 			this.logger.trace("Factbase is {}", this.factbase);
@@ -86,14 +89,26 @@ public class ForwardChainer extends AAlgorithm<ForwardChainingProblem, Collectio
 				this.cwaRelevantNegativeLiterals = negativeLiterals;
 			}
 
-			/* select the literal that has the least options to be ground */
+			/*
+			 * select the literal that has the least options to be ground. The index yields an upper bound for the number of options of each literal, so we consider the
+			 * literals in ascending order of these bounds and stop as soon as no remaining literal can have fewer options than the best one found so far
+			 */
 			int currentlyFewestOptions = Integer.MAX_VALUE;
 			long timeToPrepareCWAVersion = System.currentTimeMillis();
-			for (Literal nextLitealCandidate : this.conclusion) {
+			Map<Literal, Integer> upperBoundsForOptions = new HashMap<>();
+			for (Literal l : this.conclusion) {
+				upperBoundsForOptions.put(l, l.getVariableParams().isEmpty() ? 1 : this.indexedFactbase.getNumberOfCandidateFacts(l));
+			}
+			List<Literal> literalsOrderedByUpperBounds = new ArrayList<>(this.conclusion);
+			literalsOrderedByUpperBounds.sort(Comparator.comparingInt(upperBoundsForOptions::get));
+			for (Literal nextLitealCandidate : literalsOrderedByUpperBounds) {
 				this.checkAndConductTermination();
+				if (upperBoundsForOptions.get(nextLitealCandidate) >= currentlyFewestOptions) {
+					break;
+				}
 				this.logger.debug("Considering {} as next literal for grounding.", nextLitealCandidate);
 				long candidateGroundingStart = System.currentTimeMillis();
-				List<Map<VariableParam, LiteralParam>> choicesTmp = this.getGroundingsUnderWhichALiteralAppearsInFactBase(this.factbase, nextLitealCandidate, currentlyFewestOptions);
+				List<Map<VariableParam, LiteralParam>> choicesTmp = this.getGroundingsUnderWhichALiteralAppearsInFactBase(this.indexedFactbase, nextLitealCandidate, currentlyFewestOptions);
 				this.logger.debug("Computation of {} groundings took {}ms.", choicesTmp.size(), System.currentTimeMillis() - candidateGroundingStart);
 				if (choicesTmp.size() < currentlyFewestOptions) {
 					this.chosenLiteral = nextLitealCandidate;
@@ -174,7 +189,7 @@ public class ForwardChainer extends AAlgorithm<ForwardChainingProblem, Collectio
 				return new NextBindingFoundEvent(this, this.currentGroundingOfLocalLiteral);
 			} else {
 				this.logger.debug("Recurse to {}-conclusion", this.currentGroundRemainingConclusion.size());
-				ForwardChainingProblem subProblem = new ForwardChainingProblem(this.factbase, this.currentGroundRemainingConclusion, this.getInput().isCwa());
+				ForwardChainingProblem subProblem = new ForwardChainingProblem(this.factbase, this.indexedFactbase, this.currentGroundRemainingConclusion, this.getInput().isCwa());
 				long startRecursiveCall = System.currentTimeMillis();
 				this.logger.debug("Finished recursion of {}-conclusion. Computation took {}ms", this.currentGroundRemainingConclusion.size(), System.currentTimeMillis() - startRecursiveCall);
 				this.currentlyActiveSubFC = new ForwardChainer(subProblem);
@@ -247,6 +262,10 @@ public class ForwardChainer extends AAlgorithm<ForwardChainingProblem, Collectio
 	}
 
 	public List<Map<VariableParam, LiteralParam>> getGroundingsUnderWhichALiteralAppearsInFactBase(final Collection<Literal> factbase, final Literal l, final int maxSubstitutions) {
+		return this.getGroundingsUnderWhichALiteralAppearsInFactBase(new IndexedFactBase(factbase instanceof Monom ? (Monom) factbase : new Monom(factbase, false)), l, maxSubstitutions);
+	}
+
+	public List<Map<VariableParam, LiteralParam>> getGroundingsUnderWhichALiteralAppearsInFactBase(final IndexedFactBase factbase, final Literal l, final int maxSubstitutions) {
 
 		List<VariableParam> openParams = l.getVariableParams();
 
@@ -266,10 +285,7 @@ public class ForwardChainer extends AAlgorithm<ForwardChainingProblem, Collectio
 		 * unification
 		 */
 		else {
-			for (Literal fact : factbase) {
-				if (!fact.getPropertyName().equals(l.getPropertyName()) || fact.isPositive() != l.isPositive()) {
-					continue;
-				}
+			for (Literal fact : factbase.getCandidateFacts(l)) {
 				this.logger.trace("Considering known literal {} as a literal that can be used for grounding", fact);
 				List<LiteralParam> factParams = fact.getParameters(); // should only contain constant params
 				List<LiteralParam> nextLiteralParams = l.getParameters();
@@ -279,7 +295,11 @@ public class ForwardChainer extends AAlgorithm<ForwardChainingProblem, Collectio
 				boolean paramsCanBeMatched = true;
 				for (int i = 0; i < factParams.size(); i++) {
 					if (nextLiteralParams.get(i) instanceof VariableParam) {
-						submap.put((VariableParam) nextLiteralParams.get(i), factParams.get(i));
+						LiteralParam previousValue = submap.put((VariableParam) nextLiteralParams.get(i), factParams.get(i));
+						if (previousValue != null && !previousValue.equals(factParams.get(i))) {
+							paramsCanBeMatched = false;
+							break;
+						}
 					} else if (!nextLiteralParams.get(i).equals(factParams.get(i))) {
 						paramsCanBeMatched = false;
 						break;
@@ -4,12 +4,28 @@ import ai.libs.jaicore.logic.fol.structure.Monom;
 
 public class ForwardChainingProblem {
 	private final Monom factbase;
+	private IndexedFactBase indexedFactbase;
 	private final Monom conclusion;
 	private final boolean cwa;
 
 	public ForwardChainingProblem(Monom factbase, Monom conclusion, boolean cwa) {
+		this(factbase, null, conclusion, cwa);
+	}
+
+	/**
+	 * @param factbase
+	 *            The facts from which the conclusion should follow.
+	 * @param indexedFactbase
+	 *            An index over exactly these facts, which may be shared by several problems; if null, the index is created on demand.
+	 * @param conclusion
+	 *            The conclusion to be ground.
+	 * @param cwa
+	 *            Whether the closed world assumption is active.
+	 */
+	public ForwardChainingProblem(Monom factbase, IndexedFactBase indexedFactbase, Monom conclusion, boolean cwa) {
 		super();
 		this.factbase = factbase;
+		this.indexedFactbase = indexedFactbase;
 		this.conclusion = conclusion;
 		this.cwa = cwa;
 	}
@@ -18,6 +34,13 @@ public class ForwardChainingProblem {
 		return factbase;
 	}
 
+	public IndexedFactBase getIndexedFactbase() {
+		if (indexedFactbase == null) {
+			indexedFactbase = new IndexedFactBase(factbase);
+		}
+		return indexedFactbase;
+	}
+
 	public Monom getConclusion() {
 		return conclusion;
 	}
@@ -0,0 +1,111 @@
+package ai.libs.jaicore.logic.fol.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ai.libs.jaicore.logic.fol.structure.ConstantParam;
+import ai.libs.jaicore.logic.fol.structure.Literal;
+import ai.libs.jaicore.logic.fol.structure.LiteralParam;
+import ai.libs.jaicore.logic.fol.structure.Monom;
+import ai.libs.jaicore.logic.fol.structure.VariableParam;
+
+/**
+ * An index over a fact base that retrieves the facts that may match a literal without scanning the whole fact base.
+ *
+ * Facts are indexed by their property (including the negation sign) and, for each argument position, by the parameter at that position. The index is built in
+ * O(|facts|) and reflects the fact base at that time, so it must not be used anymore once the fact base has been modified.
+ */
+public class IndexedFactBase {
+
+	private final Monom factbase;
+	private final Map<String, List<Literal>> factsByProperty = new HashMap<>();
+	private final Map<String, List<Map<LiteralParam, List<Literal>>>> factsByPropertyAndArgument = new HashMap<>();
+	private Set<ConstantParam> constantParams;
+
+	public IndexedFactBase(final Monom factbase) {
+		this.factbase = factbase;
+		for (Literal fact : factbase) {
+			String property = fact.getProperty();
+			this.factsByProperty.computeIfAbsent(property, p -> new ArrayList<>()).add(fact);
+			List<Map<LiteralParam, List<Literal>>> argumentIndices = this.factsByPropertyAndArgument.computeIfAbsent(property, p -> new ArrayList<>());
+			List<LiteralParam> params = fact.getParameters();
+			for (int i = 0; i < params.size(); i++) {
+				if (argumentIndices.size() <= i) {
+					argumentIndices.add(new HashMap<>());
+				}
+				argumentIndices.get(i).computeIfAbsent(params.get(i), p -> new ArrayList<>()).add(fact);
+			}
+		}
+	}
+
+	public Monom getFactbase() {
+		return this.factbase;
+	}
+
+	public int size() {
+		return this.factbase.size();
+	}
+
+	public boolean contains(final Literal literal) {
+		return this.factbase.contains(literal);
+	}
+
+	/**
+	 * @return All constants occurring in the facts. The set is computed only once and must not be modified.
+	 */
+	public Set<ConstantParam> getConstantParams() {
+		if (this.constantParams == null) {
+			this.constantParams = this.factbase.getConstantParams();
+		}
+		return this.constantParams;
+	}
+
+	private List<Literal> getCandidateList(final Literal literal) {
+		String property = literal.getProperty();
+		List<Literal> candidates = this.factsByProperty.get(property);
+		if (candidates == null) {
+			return Collections.emptyList();
+		}
+		List<Map<LiteralParam, List<Literal>>> argumentIndices = this.factsByPropertyAndArgument.get(property);
+		List<LiteralParam> params = literal.getParameters();
+		for (int i = 0; i < params.size() && i < argumentIndices.size(); i++) {
+			LiteralParam param = params.get(i);
+			if (param instanceof VariableParam) {
+				continue;
+			}
+			List<Literal> factsWithParam = argumentIndices.get(i).get(param);
+			if (factsWithParam == null) {
+				return Collections.emptyList();
+			}
+			if (factsWithParam.size() < candidates.size()) {
+				candidates = factsWithParam;
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Determines the facts that may be unified with the given literal. These are the facts that have the same property as the literal and that coincide with it in
+	 * the most selective of its non-variable arguments. The other arguments of the candidates still need to be checked.
+	 *
+	 * @param literal
+	 *            The literal for which candidate facts are sought.
+	 * @return An unmodifiable list of the candidate facts.
+	 */
+	public List<Literal> getCandidateFacts(final Literal literal) {
+		return Collections.unmodifiableList(this.getCandidateList(literal));
+	}
+
+	/**
+	 * @param literal
+	 *            The literal for which candidate facts are sought.
+	 * @return An upper bound for the number of facts that can be unified with the given literal.
+	 */
+	public int getNumberOfCandidateFacts(final Literal literal) {
+		return this.getCandidateList(literal).size();
+	}
+}
@@ -107,7 +107,7 @@ public class LogicUtil {
 	}
 
 	public static boolean areLiteralsUnifiable(final Literal l1, final Literal l2) {
-		if (!l1.getPropertyName().equals(l2.getPropertyName())) {
+		if (l1.getPropertyNameId() != l2.getPropertyNameId()) {
 			return false;
 		}
 		List<LiteralParam> paramsOfL1 = l1.getParameters();
@@ -0,0 +1,153 @@
+package ai.libs.jaicore.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import ai.libs.jaicore.logic.fol.structure.DeltaMonom;
+import ai.libs.jaicore.logic.fol.structure.Literal;
+import ai.libs.jaicore.logic.fol.structure.Monom;
+
+public class DeltaMonomTest {
+
+	private static final int NUM_LITERALS = 50;
+	private static final int NUM_STEPS = 200;
+
+	private Literal getLiteral(final int i) {
+		return new Literal("p(c" + i + ")");
+	}
+
+	private void assertSameLiterals(final Monom expected, final Monom actual) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, actual);
+		assertEquals(actual, expected);
+		assertEquals(expected.hashCode(), actual.hashCode());
+		List<Literal> iteratedLiterals = new ArrayList<>(actual);
+		assertEquals(expected.size(), iteratedLiterals.size());
+		assertTrue(expected.containsAll(iteratedLiterals));
+		assertEquals(expected.size(), actual.stream().collect(Collectors.toSet()).size());
+		for (int i = 0; i < NUM_LITERALS; i++) {
+			assertEquals(expected.contains(this.getLiteral(i)), actual.contains(this.getLiteral(i)));
+		}
+	}
+
+	@Test
+	public void testThatDerivedStatesCanBeCopiedInBulk() {
+		Monom init = new Monom();
+		for (int i = 0; i < NUM_LITERALS; i += 2) {
+			init.add(this.getLiteral(i));
+		}
+		DeltaMonom derived = DeltaMonom.derive(DeltaMonom.derive(init));
+		derived.add(this.getLiteral(1));
+		derived.remove(this.getLiteral(0));
+		Monom expected = new Monom(init);
+		expected.add(this.getLiteral(1));
+		expected.remove(this.getLiteral(0));
+
+		Object[] array = derived.toArray();
+		assertEquals(expected.size(), array.length);
+		assertEquals(expected, new HashSet<>(Arrays.asList(array)));
+		Literal[] typedArray = derived.toArray(new Literal[0]);
+		assertEquals(expected, new HashSet<>(Arrays.asList(typedArray)));
+		Literal[] largeArray = derived.toArray(new Literal[expected.size() + 2]);
+		assertEquals(expected, new HashSet<>(Arrays.asList(largeArray).subList(0, expected.size())));
+		assertEquals(null, largeArray[expected.size()]);
+
+		List<Literal> list = new ArrayList<>(derived);
+		assertEquals(expected.size(), list.size());
+		assertEquals(expected, new HashSet<>(list));
+		List<Literal> otherList = new ArrayList<>();
+		otherList.addAll(derived);
+		assertEquals(expected, new HashSet<>(otherList));
+		Monom copy = new Monom();
+		copy.addAll(derived);
+		assertEquals(expected, copy);
+	}
+
+	@Test
+	public void testThatDerivedStatesBehaveLikeCopies() {
+		Random random = new Random(0);
+		Monom init = new Monom();
+		for (int i = 0; i < NUM_LITERALS; i += 2) {
+			init.add(this.getLiteral(i));
+		}
+		List<Monom> expectedStates = new ArrayList<>();
+		List<DeltaMonom> states = new ArrayList<>();
+		Monom expectedState = new Monom(init);
+		Monom state = init;
+		for (int step = 0; step < NUM_STEPS; step++) {
+			Monom expectedSuccessor = new Monom(expectedState);
+			DeltaMonom successor = DeltaMonom.derive(state);
+			for (int j = 0; j < 3; j++) {
+				Literal l = this.getLiteral(random.nextInt(NUM_LITERALS));
+				if (random.nextBoolean()) {
+					assertEquals(expectedSuccessor.add(l), successor.add(l));
+				} else {
+					assertEquals(expectedSuccessor.remove(l), successor.remove(l));
+				}
+			}
+			assertTrue(successor.getDepth() <= DeltaMonom.MAX_DEPTH);
+			this.assertSameLiterals(expectedSuccessor, successor);
+			expectedStates.add(expectedSuccessor);
+			states.add(successor);
+
+			/* continue from a random earlier state from time to time in order to produce a tree of states */
+			int next = random.nextInt(5) == 0 ? random.nextInt(states.size()) : states.size() - 1;
+			expectedState = expectedStates.get(next);
+			state = states.get(next);
+		}
+
+		/* deriving successors must not have changed any of the states */
+		for (int i = 0; i < states.size(); i++) {
+			this.assertSameLiterals(expectedStates.get(i), states.get(i));
+		}
+	}
+
+	@Test
+	public void testThatParentsAreFrozen() {
+		DeltaMonom parent = new DeltaMonom(new Monom("p(a) & p(b)"));
+		DeltaMonom child = DeltaMonom.derive(parent);
+		assertTrue(parent.isFrozen());
+		assertFalse(child.isFrozen());
+		assertThrows(UnsupportedOperationException.class, () -> parent.add(this.getLiteral(0)));
+		assertThrows(UnsupportedOperationException.class, () -> parent.remove(new Literal("p(a)")));
+		assertThrows(UnsupportedOperationException.class, () -> parent.clear());
+
+		/* removal via the iterator of the child does not affect the parent */
+		Iterator<Literal> it = child.iterator();
+		it.next();
+		it.remove();
+		assertEquals(1, child.size());
+		assertEquals(2, parent.size());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		DeltaMonom child = DeltaMonom.derive(new DeltaMonom(new Monom("p(a) & p(b)")));
+		child.remove(new Literal("p(a)"));
+		child.add(new Literal("p(c)"));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+			out.writeObject(child);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			assertEquals(new Monom("p(b) & p(c)"), in.readObject());
+		}
+	}
+}
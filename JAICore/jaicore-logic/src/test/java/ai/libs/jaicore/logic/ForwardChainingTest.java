@@ -4,7 +4,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import org.api4.java.algorithm.IAlgorithm;
@@ -15,7 +19,10 @@ import org.junit.jupiter.params.provider.Arguments;
 
 import ai.libs.jaicore.basic.algorithm.GeneralAlgorithmTester;
 import ai.libs.jaicore.basic.algorithm.IAlgorithmTestProblemSet;
+import ai.libs.jaicore.logic.fol.structure.Literal;
+import ai.libs.jaicore.logic.fol.structure.LiteralParam;
 import ai.libs.jaicore.logic.fol.structure.Monom;
+import ai.libs.jaicore.logic.fol.structure.VariableParam;
 import ai.libs.jaicore.logic.fol.util.ForwardChainer;
 import ai.libs.jaicore.logic.fol.util.ForwardChainingProblem;
 import ai.libs.jaicore.logic.problems.ForwardChainingProblemSet;
@@ -66,6 +73,46 @@ public class ForwardChainingTest extends GeneralAlgorithmTester {
 		assertEquals(2, fc.call().size()); // <x,y,z> = <a,b,c>/<b,c,a>
 	}
 
+	@Test
+	public void testRepeatedVariable() throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException {
+		Monom factbase = new Monom("P('a', 'b') & P('b', 'b') & P('c', 'c') & Q('c')");
+		Monom conclusion = new Monom("P(x, x)");
+		assertEquals(2, new ForwardChainer(new ForwardChainingProblem(factbase, conclusion, false)).call().size());
+		assertEquals(1, new ForwardChainer(new ForwardChainingProblem(factbase, new Monom("P(x, x) & Q(x)"), false)).call().size());
+	}
+
+	@Test
+	public void testPathsInLargeFactbase() throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException {
+		final int numNodes = 40;
+		Random random = new Random(0);
+		boolean[][] edges = new boolean[numNodes][numNodes];
+		Monom factbase = new Monom();
+		for (int i = 0; i < numNodes; i++) {
+			factbase.add(new Literal("Node('n" + i + "')"));
+			for (int j = 0; j < numNodes; j++) {
+				if (random.nextInt(10) == 0) {
+					edges[i][j] = true;
+					factbase.add(new Literal("E('n" + i + "', 'n" + j + "')"));
+				}
+			}
+		}
+		long expectedNumberOfNonReversiblePaths = 0;
+		for (int i = 0; i < numNodes; i++) {
+			for (int j = 0; j < numNodes; j++) {
+				for (int k = 0; k < numNodes; k++) {
+					if (edges[i][j] && edges[j][k] && !edges[k][i]) {
+						expectedNumberOfNonReversiblePaths++;
+					}
+				}
+			}
+		}
+		assertTrue(expectedNumberOfNonReversiblePaths > 0);
+		Monom conclusion = new Monom("Node(x) & E(x, y) & E(y, z) & !E(z, x)");
+		Collection<Map<VariableParam, LiteralParam>> groundings = new ForwardChainer(new ForwardChainingProblem(factbase, conclusion, true)).call();
+		assertEquals(expectedNumberOfNonReversiblePaths, groundings.size());
+		assertEquals(expectedNumberOfNonReversiblePaths, new HashSet<>(groundings).size());
+	}
+
 	@Override
 	public void testInterrupt(final IAlgorithmTestProblemSet<?> problemSet) {
 		// can't produce difficult enough problems
@@ -3,6 +3,13 @@ package ai.libs.jaicore.logic;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -10,8 +17,11 @@ import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
+import ai.libs.jaicore.logic.fol.structure.ConstantParam;
 import ai.libs.jaicore.logic.fol.structure.Literal;
 import ai.libs.jaicore.logic.fol.structure.LiteralParam;
+import ai.libs.jaicore.logic.fol.structure.Monom;
+import ai.libs.jaicore.logic.fol.structure.SymbolTable;
 import ai.libs.jaicore.logic.fol.structure.Type;
 import ai.libs.jaicore.logic.fol.structure.TypeModule;
 import ai.libs.jaicore.logic.fol.structure.VariableParam;
@@ -52,4 +62,65 @@ public class LiteralTest {
 		assertTrue("Mapped version does not contain unmapped parameter!", mappedOrig.getParameters().contains(new VariableParam("v2", dummyType)));
 		assertTrue("Mapped version contains the substituted parameter!", !mappedOrig.getParameters().contains(new VariableParam("v1", dummyType)));
 	}
+
+	/**
+	 * Tests that the symbol encoding of literals is consistent with their string representation.
+	 */
+	@Test
+	public void testSymbolEncoding() {
+		Literal positive = new Literal("p('a', x)");
+		Literal negative = new Literal("!p('a', x)");
+		assertEquals("p", negative.getPropertyName());
+		assertEquals("!p", negative.getProperty());
+		assertEquals(positive.getPropertyNameId(), negative.getPropertyNameId());
+		assertTrue(positive.getPropertyId() != negative.getPropertyId());
+		assertEquals(SymbolTable.getId("!p"), negative.getPropertyId());
+		assertTrue(negative.isNegationOf(positive));
+		assertEquals(positive, negative.clone().toggleNegation());
+		assertEquals(positive.hashCode(), negative.clone().toggleNegation().hashCode());
+		assertEquals(new ConstantParam("a"), positive.getParameters().get(0));
+		assertEquals("a", positive.getParameters().get(0).getName());
+
+		/* the special equality predicates */
+		Literal inequality = new Literal("x != y");
+		assertTrue(inequality.isNegated());
+		assertEquals("=", inequality.getPropertyName());
+		assertEquals(new Literal("x = y"), inequality.clone().toggleNegation());
+	}
+
+	/**
+	 * Tests that constants created during the search do not grow the symbol table and that hash codes only depend on the symbols, so that they are the same in every JVM.
+	 */
+	@Test
+	public void testThatConstantsAreNotInterned() {
+		new Literal("parameterContainer('A', 'p', 'c1', 'x')");
+		int numberOfSymbols = SymbolTable.size();
+		for (int i = 0; i < 100; i++) {
+			Literal l = new Literal("parameterContainer", Arrays.asList(new ConstantParam("A"), new ConstantParam("p"), new ConstantParam("c1"), new ConstantParam("[" + i + ", " + (i + 1) + "]")));
+			assertEquals("[" + i + ", " + (i + 1) + "]", l.getParameters().get(3).getName());
+		}
+		assertEquals(numberOfSymbols, SymbolTable.size());
+
+		Literal literal = new Literal("p('a', x)");
+		assertEquals(31 * (31 + Arrays.asList(new ConstantParam("a"), new VariableParam("x")).hashCode()) + "p".hashCode(), literal.hashCode());
+	}
+
+	/**
+	 * Tests that literals are serialized by their symbols rather than their JVM-specific ids.
+	 */
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		Monom monom = new Monom("p('a', x) & !q(x) & x != 'b'");
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+			out.writeObject(monom);
+		}
+		String serialization = new String(bos.toByteArray(), StandardCharsets.ISO_8859_1);
+		assertTrue(serialization.contains("!q"));
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			Monom deserializedMonom = (Monom) in.readObject();
+			assertEquals(monom, deserializedMonom);
+			assertEquals(monom.hashCode(), deserializedMonom.hashCode());
+		}
+	}
 }
@@ -0,0 +1,66 @@
+"""
+Reader for datasets written by the BinaryColumnarDatasetAdapter of jaicore-ml. The module is deployed next to the sklearn
+scripts and the worker such that all of them share this single implementation.
+"""
+import json
+
+import numpy as np
+
+
+BINARY_MAGIC = b'JAICOLV1'
+
+
+def is_binary_columnar_file(data_path):
+    with open(data_path, 'rb') as file:
+        return file.read(len(BINARY_MAGIC)) == BINARY_MAGIC
+
+
+class BinaryColumnarData:
+    """ Memory-maps a dataset written by the BinaryColumnarDatasetAdapter of jaicore-ml instead of parsing it.
+    The file consists of a magic string, the length of a JSON header, the header itself, and the columns as consecutive
+    little-endian doubles. Categorical values are given as indices into their domain and missing values as NaN.
+    Instance Attributes:
+        input_matrix: the values of all attributes except the label; categorical attributes are one-hot encoded with
+        respect to their full domain if requested.
+        output_matrix: a matrix with a single column holding the labels. Categorical labels are indices.
+        labels_encoded: true iff the labels are indices of a categorical domain.
+    """
+
+    def __init__(self, data_path, one_hot_encode, label=None):
+        with open(data_path, 'rb') as file:
+            file.read(len(BINARY_MAGIC))
+            header_length = int.from_bytes(file.read(4), byteorder='little')
+            header = json.loads(file.read(header_length).decode('utf-8'))
+        columns = header['columns']
+        if label is None:
+            label = header['label']
+        rows = header['rows']
+        if rows > 0:
+            offset = len(BINARY_MAGIC) + 4 + header_length
+            matrix = np.memmap(data_path, dtype='<f8', mode='r', offset=offset, shape=(rows, len(columns)), order='F')
+        else:
+            matrix = np.zeros((0, len(columns)))
+
+        input_columns = [c for i, c in enumerate(columns) if i != label]
+        inputs = np.delete(matrix, label, axis=1) if label != len(columns) - 1 else matrix[:, :label]
+        if one_hot_encode and any(c['type'] == 'categorical' for c in input_columns):
+            inputs = self.one_hot_encode(inputs, input_columns)
+        elif np.isnan(inputs).any():
+            inputs = np.nan_to_num(inputs)
+        self.input_matrix = inputs
+        self.output_matrix = matrix[:, label:label + 1]
+        self.labels_encoded = columns[label]['type'] == 'categorical'
+
+    @staticmethod
+    def one_hot_encode(inputs, columns):
+        blocks = []
+        for j, column in enumerate(columns):
+            values = inputs[:, j]
+            if column['type'] == 'categorical':
+                block = np.zeros((inputs.shape[0], len(column['values'])))
+                present = ~np.isnan(values)
+                block[np.nonzero(present)[0], values[present].astype(int)] = 1
+                blocks.append(block)
+            else:
+                blocks.append(np.nan_to_num(values).reshape(-1, 1))
+        return np.hstack(blocks)
@@ -28,6 +28,8 @@ import pandas
 
 from joblib import dump, load
 import numpy as np
+
+from binary_columnar_data import BinaryColumnarData, is_binary_columnar_file
 from python_connection.datastructure.datastructure import parse_raw, PandasDataFrameWrapper
 
 from sklearn.pipeline import make_pipeline, make_union
@@ -223,6 +225,8 @@ class SingleTargetLearningModel:
             self.predict(pipeline, test_data)
 
     def read_data(self, data_path):
+        if is_binary_columnar_file(data_path):
+            return BinaryColumnarData(data_path, problem_type is ProblemType.CLASSIFICATION)
         if problem_type is ProblemType.CLASSIFICATION:
             return ArffData(data_path, False)
         if problem_type is ProblemType.REGRESSION:
@@ -230,10 +234,13 @@ class SingleTargetLearningModel:
 
     def fit(self, pipeline, train_data):
         print('\tStart training ...')
+        labels_encoded = getattr(train_data, 'labels_encoded', False)
         train_data, train_targets = train_data.input_matrix, train_data.output_matrix
         if train_targets.shape[1] != 1:
             raise RuntimeError("Can currently only work with single targets.")
-        if problem_type == ProblemType.CLASSIFICATION:
+        if problem_type == ProblemType.CLASSIFICATION and labels_encoded:
+            train_targets = train_targets[:, 0].astype(int)
+        elif problem_type == ProblemType.CLASSIFICATION:
             train_targets = train_targets[:, 0].astype("str")
         else:
             train_targets = train_targets[:, 0]
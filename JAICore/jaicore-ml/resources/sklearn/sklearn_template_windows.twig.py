@@ -25,6 +25,8 @@ from scipy.io import arff as scipy_arff
 import pandas
 import numpy as np
 
+from binary_columnar_data import BinaryColumnarData, is_binary_columnar_file
+
 from sklearn.preprocessing import OneHotEncoder
 {{import}}
 
@@ -125,6 +127,8 @@ class SingleTargetLearningModel:
         self.predict(pipeline, test_data)
 
     def read_data(self, data_path):
+        if is_binary_columnar_file(data_path):
+            return BinaryColumnarData(data_path, False)
         if problem_type is ProblemType.CLASSIFICATION:
             return ArffData(data_path, False)
         if problem_type is ProblemType.REGRESSION:
@@ -132,10 +136,13 @@ class SingleTargetLearningModel:
 
     def fit(self, pipeline, train_data):
         print('\tStart training ...')
+        labels_encoded = getattr(train_data, 'labels_encoded', False)
         train_data, train_targets = train_data.input_matrix, train_data.output_matrix
         if train_targets.shape[1] != 1:
             raise RuntimeError("Can currently only work with single targets.")
-        if problem_type == ProblemType.CLASSIFICATION:
+        if problem_type == ProblemType.CLASSIFICATION and labels_encoded:
+            train_targets = train_targets[:, 0].astype(int)
+        elif problem_type == ProblemType.CLASSIFICATION:
             train_targets = train_targets[:, 0].astype("str")
         else:
             train_targets = train_targets[:, 0]
@@ -0,0 +1,267 @@
+"""
+Long-running worker process for the scikit-learn wrapper.
+
+In contrast to the sklearn template, which is rendered and started for every single fit or predict call, this worker is started once and
+then keeps the interpreter (with sklearn, pandas and numpy already imported) alive. Commands are received as one JSON object per line on
+stdin, and each command is answered by exactly one JSON object per line on stdout. Everything else that is printed (e.g. by the pipelines)
+is redirected to stderr, so that stdout only carries the protocol.
+
+Datasets are identified by their path and parsed (or, for binary columnar files, memory-mapped) only once. Fitted pipelines are kept in memory (and dumped to the model file if one is
+given), so that a predict command directly following a fit command does not need to load the model from disk.
+"""
+
+
+def warn(*args, **kwargs):
+    pass
+
+
+import warnings
+
+warnings.warn = warn
+
+import os
+
+os.environ['OMP_NUM_THREADS'] = '1'
+os.environ['OPENBLAS_NUM_THREADS'] = '1'
+os.environ['MKL_NUM_THREADS'] = '1'
+os.environ['VECLIB_MAXIMUM_THREADS'] = '1'
+os.environ['NUMEXPR_NUM_THREADS'] = '1'
+
+import json
+import sys
+import traceback
+from collections import OrderedDict
+
+import arff
+import numpy as np
+import pandas
+from joblib import dump, load
+from scipy.io import arff as scipy_arff
+from sklearn.pipeline import make_pipeline, make_union
+
+from binary_columnar_data import BinaryColumnarData, is_binary_columnar_file
+
+MAX_CACHED_DATASETS = 8
+MAX_CACHED_MODELS = 4
+
+CLASSIFICATION = 'classification'
+REGRESSION = 'regression'
+
+MODE_FIT = 'fit'
+MODE_PREDICT = 'predict'
+MODE_FIT_AND_PREDICT = 'fitAndPredict'
+MODE_RELEASE = 'release'
+MODE_PING = 'ping'
+MODE_SHUTDOWN = 'shutdown'
+
+
+class LRUCache:
+
+    def __init__(self, capacity):
+        self.capacity = capacity
+        self.entries = OrderedDict()
+
+    def get(self, key):
+        if key not in self.entries:
+            return None
+        self.entries.move_to_end(key)
+        return self.entries[key]
+
+    def put(self, key, value):
+        self.entries[key] = value
+        self.entries.move_to_end(key)
+        while len(self.entries) > self.capacity:
+            self.entries.popitem(last=False)
+
+    def remove(self, key):
+        self.entries.pop(key, None)
+
+
+class Data:
+    """ Input and output matrix of a dataset, computed in the same way as in the sklearn template. """
+
+    def __init__(self, df, class_attribute, assume_numeric_targets):
+        input_df = df.drop(columns=[class_attribute])
+        if not assume_numeric_targets:
+            input_df = pandas.get_dummies(input_df)
+        self.input_matrix = input_df.values
+        self.output_matrix = df[[class_attribute]].values
+        self.labels_encoded = False
+
+
+def parse_arff(data_path, target_index=None):
+    seen_data = False
+    dense_mode = True
+    with open(data_path, 'r') as file:
+        for x in file:
+            if x.isspace():
+                continue
+            if "@data" in x:
+                seen_data = True
+                continue
+            if not seen_data:
+                continue
+            dense_mode = not ("{" in x and "}" in x)
+            break
+
+    with open(data_path, 'r') as file:
+        if dense_mode:
+            df_arff = pandas.DataFrame(scipy_arff.loadarff(file)[0])
+        else:
+            arff_parsed = arff.load(file, return_type=arff.LOD, encode_nominal=True)
+            list_attributes = arff_parsed["attributes"]
+            list_data = arff_parsed["data"]
+            rows = np.zeros((len(list_data), len(list_attributes)))
+            for i, entry in enumerate(list_data):
+                for attr_index in entry:
+                    rows[i][attr_index] = entry[attr_index]
+            df_arff = pandas.DataFrame(rows, columns=[a[0] for a in list_attributes])
+
+    if target_index is not None:
+        return df_arff.fillna(0), df_arff.columns[target_index]
+    class_attribute = None
+    for a in df_arff.columns:
+        if a.lower() == "class":
+            class_attribute = a
+    if class_attribute is None:
+        class_attribute = df_arff.columns[-1]
+    return df_arff.fillna(0), class_attribute
+
+
+def serialize_prediction(prediction, output_file):
+    prediction = prediction.tolist()
+    if isinstance(prediction[0], int):
+        prediction = [float(i) for i in prediction]
+    if not isinstance(prediction[0], list):
+        prediction = [prediction]
+    with open(output_file, 'w') as file:
+        file.write(json.dumps(prediction))
+
+
+class Worker:
+
+    def __init__(self):
+        self.datasets = LRUCache(MAX_CACHED_DATASETS)
+        self.models = LRUCache(MAX_CACHED_MODELS)
+
+    @staticmethod
+    def get_target_index(command):
+        """ The index of the target column if given by the command, None to use the default target column. """
+        targets = command.get('targets')
+        if not targets:
+            return None
+        if len(targets) != 1:
+            raise RuntimeError("Can currently only work with single targets.")
+        return int(targets[0])
+
+    def get_data(self, path, command):
+        problem = command['problem']
+        target_index = self.get_target_index(command)
+        assume_numeric_targets = problem == REGRESSION
+        key = (path, assume_numeric_targets, target_index)
+        data = self.datasets.get(key)
+        if data is None:
+            if is_binary_columnar_file(path):
+                data = BinaryColumnarData(path, not assume_numeric_targets, target_index)
+            else:
+                df, class_attribute = parse_arff(path, target_index)
+                data = Data(df, class_attribute, assume_numeric_targets)
+            self.datasets.put(key, data)
+        return data
+
+    @staticmethod
+    def get_pipeline(command):
+        namespace = {'make_pipeline': make_pipeline, 'make_union': make_union, 'np': np}
+        imports = command.get('imports')
+        if imports:
+            exec(imports, namespace)
+        return eval(command['pipeline'], namespace)
+
+    def fit(self, command):
+        problem = command['problem']
+        if command.get('seed') is not None:
+            np.random.seed(int(command['seed']))
+        data = self.get_data(command['fit'], command)
+        targets = data.output_matrix
+        if targets.shape[1] != 1:
+            raise RuntimeError("Can currently only work with single targets.")
+        if problem == CLASSIFICATION and data.labels_encoded:
+            targets = targets[:, 0].astype(int)
+        elif problem == CLASSIFICATION:
+            targets = targets[:, 0].astype("str")
+        else:
+            targets = targets[:, 0]
+        pipeline = self.get_pipeline(command)
+        pipeline.fit(X=data.input_matrix, y=targets)
+        model_file = command.get('model')
+        if model_file is not None:
+            dump(pipeline, model_file)
+            self.models.put(model_file, pipeline)
+        return pipeline
+
+    def predict(self, command, pipeline=None):
+        problem = command['problem']
+        if pipeline is None:
+            model_file = command['model']
+            pipeline = self.models.get(model_file)
+            if pipeline is None:
+                pipeline = load(model_file)
+                self.models.put(model_file, pipeline)
+        data = self.get_data(command['predict'], command)
+        if problem == CLASSIFICATION:
+            predictions = pipeline.predict_proba(data.input_matrix)
+        else:
+            predictions = pipeline.predict(data.input_matrix)
+        serialize_prediction(predictions, command['predictOutput'])
+
+    def handle(self, command):
+        mode = command['mode']
+        if mode == MODE_FIT:
+            self.fit(command)
+        elif mode == MODE_PREDICT:
+            self.predict(command)
+        elif mode == MODE_FIT_AND_PREDICT:
+            self.predict(command, self.fit(command))
+        elif mode == MODE_RELEASE:
+            for key in list(self.datasets.entries.keys()):
+                if key[0] == command['data']:
+                    self.datasets.remove(key)
+        elif mode != MODE_PING:
+            raise RuntimeError("Unsupported mode: " + mode)
+
+
+def limit_memory(maxsize):
+    try:
+        import resource
+        soft, hard = resource.getrlimit(resource.RLIMIT_AS)
+        resource.setrlimit(resource.RLIMIT_AS, (maxsize, hard))
+    except (ImportError, ValueError):
+        pass
+
+
+def main():
+    protocol_out = sys.stdout
+    sys.stdout = sys.stderr
+    worker = Worker()
+    while True:
+        line = sys.stdin.readline()
+        if not line:
+            break
+        line = line.strip()
+        if not line:
+            continue
+        try:
+            command = json.loads(line)
+            if command.get('mode') == MODE_SHUTDOWN:
+                break
+            worker.handle(command)
+            response = {'status': 'ok'}
+        except Exception as e:
+            response = {'status': 'error', 'message': repr(e), 'trace': traceback.format_exc()}
+        protocol_out.write(json.dumps(response) + "\n")
+        protocol_out.flush()
+
+
+if __name__ == "__main__":
+    limit_memory(4294967296)  # 4GB RAM
+    main()
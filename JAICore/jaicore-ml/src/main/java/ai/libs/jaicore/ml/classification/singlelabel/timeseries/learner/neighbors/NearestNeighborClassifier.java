@@ -26,6 +26,10 @@ import ai.libs.jaicore.ml.classification.singlelabel.timeseries.learner.ASimplif
  * <code>d(S, T) >= max_{T' in NN} d(S, T')</code>.
  * </p>
  * From the labels of the instances in <code>NN</code> the label for <code>T</code> is aggregated, e.g. via majority vote.
+ * <p>
+ * The nearest neighbors are determined by a {@link NearestNeighborSearch}, which prunes candidates via lower bounds and early abandoning if the distance measure
+ * supports it, and which processes the instances of a dataset in parallel if the classifier is allowed to use multiple CPUs.
+ * </p>
  *
  * @author fischor
  */
@@ -75,6 +79,9 @@ public class NearestNeighborClassifier extends ASimplifiedTSClassifier<Integer>
 	/** Type of the voting. */
 	private VoteType voteType;
 
+	/** Number of CPUs used to predict on a dataset. */
+	private int numCPUs = 1;
+
 	/** Value matrix containing the time series instances. Set by algorithm. */
 	protected double[][] values;
 
@@ -160,10 +167,19 @@ public class NearestNeighborClassifier extends ASimplifiedTSClassifier<Integer>
 	public List<Integer> predict(final TimeSeriesDataset2 dataset) throws PredictionException {
 		double[][] testInstances = this.checkWhetherPredictionIsPossible(dataset);
 
+		// Determine the nearest neighbors of all test instances in parallel.
+		NeighborHeap[] nearestNeighbors;
+		try {
+			nearestNeighbors = this.getNearestNeighborSearch().search(testInstances);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PredictionException("Interrupted while searching for the nearest neighbors.", e);
+		}
+
 		// Calculate predictions.
 		ArrayList<Integer> predictions = new ArrayList<>(dataset.getNumberOfInstances());
-		for (double[] testInstance : testInstances) {
-			int prediction = this.calculatePrediction(testInstance);
+		for (NeighborHeap neighbors : nearestNeighbors) {
+			int prediction = this.vote(this.toQueue(neighbors));
 			predictions.add(prediction);
 		}
 		return predictions;
@@ -191,20 +207,31 @@ public class NearestNeighborClassifier extends ASimplifiedTSClassifier<Integer>
 	 * @return Queue of the k nearest neighbors as pairs (class, distance).
 	 */
 	protected PriorityQueue<Pair<Integer, Double>> calculateNearestNeigbors(final double[] testInstance) {
-		int numberOfTrainInstances = this.values.length;
+		return this.toQueue(this.getNearestNeighborSearch().search(testInstance));
+	}
+
+	/**
+	 * Creates the search for the nearest neighbors among the training instances.
+	 *
+	 * @return The search.
+	 */
+	protected NearestNeighborSearch getNearestNeighborSearch() {
+		return new NearestNeighborSearch(this.values, this.distanceMeasure, this.k, this.numCPUs);
+	}
+
+	/**
+	 * Converts the nearest neighbors found by the search into the queue of (class, distance)-pairs used for the vote.
+	 *
+	 * @param neighbors
+	 *            The nearest neighbors found.
+	 * @return Queue of the nearest neighbors as pairs (class, distance).
+	 */
+	private PriorityQueue<Pair<Integer, Double>> toQueue(final NeighborHeap neighbors) {
 		// Priority queue of (class, distance)-pairs for nearest neigbors, sorted by
 		// distance ascending.
 		PriorityQueue<Pair<Integer, Double>> nearestNeighbors = new PriorityQueue<>(nearestNeighborComparator);
-
-		// Calculate the k nearest neighbors.
-		for (int i = 0; i < numberOfTrainInstances; i++) {
-			double d = this.distanceMeasure.distance(testInstance, this.values[i]);
-
-			Pair<Integer, Double> neighbor = new Pair<>(this.targets[i], d);
-			nearestNeighbors.add(neighbor);
-			if (nearestNeighbors.size() > this.k) {
-				nearestNeighbors.poll();
-			}
+		for (int i = 0; i < neighbors.size(); i++) {
+			nearestNeighbors.add(new Pair<>(this.targets[neighbors.getIndex(i)], neighbors.getDistance(i)));
 		}
 		return nearestNeighbors;
 	}
@@ -382,6 +409,28 @@ public class NearestNeighborClassifier extends ASimplifiedTSClassifier<Integer>
 		return this.voteType;
 	}
 
+	/**
+	 * Getter for the number of CPUs used to predict on a dataset. @see #numCPUs.
+	 *
+	 * @return The number of CPUs.
+	 */
+	public int getNumCPUs() {
+		return this.numCPUs;
+	}
+
+	/**
+	 * Sets the number of CPUs used to predict on a dataset. The distance measure must be thread-safe if more than one CPU is used.
+	 *
+	 * @param numberOfCPUs
+	 *            The number of CPUs.
+	 */
+	public void setNumCPUs(final int numberOfCPUs) {
+		if (numberOfCPUs < 1) {
+			throw new IllegalArgumentException("The number of CPUs must be at least 1.");
+		}
+		this.numCPUs = numberOfCPUs;
+	}
+
 	/**
 	 * Getter for the distance measure. @see #distanceMeasure.
 	 *
@@ -0,0 +1,207 @@
+package ai.libs.jaicore.ml.classification.singlelabel.timeseries.learner.neighbors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.api4.java.common.metric.IDistanceMetric;
+
+import ai.libs.jaicore.basic.metric.DynamicTimeWarping;
+import ai.libs.jaicore.basic.metric.IAbandonable;
+import ai.libs.jaicore.basic.metric.ILowerBoundedDistance;
+import ai.libs.jaicore.basic.metric.TimeSeriesEnvelope;
+
+/**
+ * Exact k nearest neighbor search over a set of time series.
+ *
+ * The search avoids full distance calculations where the distance measure permits:
+ * <ul>
+ * <li>If the measure is an {@link ILowerBoundedDistance}, the candidates are visited in ascending order of their lower bounds, and the search stops as soon as
+ * the lower bound of the next candidate exceeds the distance of the k-th nearest neighbor found so far.</li>
+ * <li>If the measure is {@link IAbandonable}, the distance of the k-th nearest neighbor is passed as limit to each calculation. For
+ * {@link DynamicTimeWarping}, the envelope of the query is computed once, so that each calculation is preceded by the LB_Keogh check.</li>
+ * </ul>
+ * The neighbors are collected in a {@link NeighborHeap}, so the result is the same as for an exhaustive search. Multiple queries are processed in parallel,
+ * which requires the distance measure to be thread-safe; the measures of this library are, as long as they are not reconfigured during a search.
+ */
+public class NearestNeighborSearch {
+
+	/** The time series to search in. */
+	private final double[][] values;
+
+	/** Distance measure. */
+	private final IDistanceMetric distanceMeasure;
+
+	/** Number of neighbors. */
+	private final int k;
+
+	/** Number of threads used to process multiple queries. */
+	private final int numCPUs;
+
+	/**
+	 * Creates a search over the given time series.
+	 *
+	 * @param values
+	 *            The time series to search in.
+	 * @param distanceMeasure
+	 *            Distance measure.
+	 * @param k
+	 *            The number of neighbors to search for.
+	 * @param numCPUs
+	 *            The number of threads used to process multiple queries.
+	 */
+	public NearestNeighborSearch(final double[][] values, final IDistanceMetric distanceMeasure, final int k, final int numCPUs) {
+		// Parameter checks.
+		if (values == null) {
+			throw new IllegalArgumentException("Values must not be null");
+		}
+		if (distanceMeasure == null) {
+			throw new IllegalArgumentException("Distance measure must not be null");
+		}
+		if (k < 1) {
+			throw new IllegalArgumentException("The number of neighbors k must be at least 1.");
+		}
+
+		this.values = values;
+		this.distanceMeasure = distanceMeasure;
+		this.k = k;
+		this.numCPUs = Math.max(1, numCPUs);
+	}
+
+	/**
+	 * Determines the k nearest neighbors of a query.
+	 *
+	 * @param query
+	 *            The time series to determine the nearest neighbors for.
+	 * @return The nearest neighbors.
+	 */
+	public NeighborHeap search(final double[] query) {
+		return this.search(query, -1);
+	}
+
+	/**
+	 * Determines the k nearest neighbors of a query, excluding one of the time series searched in.
+	 *
+	 * @param query
+	 *            The time series to determine the nearest neighbors for.
+	 * @param excludedIndex
+	 *            The index of the time series to exclude, e.g. the query itself for leave-one-out; -1 to exclude none.
+	 * @return The nearest neighbors.
+	 */
+	public NeighborHeap search(final double[] query, final int excludedIndex) {
+		NeighborHeap neighbors = new NeighborHeap(this.k);
+		int[] candidates = IntStream.range(0, this.values.length).filter(i -> i != excludedIndex).toArray();
+
+		// Order the candidates by their lower bounds.
+		double[] lowerBounds = null;
+		if (this.distanceMeasure instanceof ILowerBoundedDistance) {
+			ILowerBoundedDistance lowerBoundedDistance = (ILowerBoundedDistance) this.distanceMeasure;
+			double[] bounds = new double[this.values.length];
+			for (int candidate : candidates) {
+				bounds[candidate] = lowerBoundedDistance.lowerBound(query, this.values[candidate]);
+			}
+			candidates = IntStream.of(candidates).boxed().sorted((i, j) -> Double.compare(bounds[i], bounds[j])).mapToInt(Integer::intValue).toArray();
+			lowerBounds = bounds;
+		}
+
+		// The envelope of the query is shared by all LB_Keogh checks.
+		TimeSeriesEnvelope envelope = null;
+		if (this.distanceMeasure instanceof DynamicTimeWarping) {
+			envelope = ((DynamicTimeWarping) this.distanceMeasure).getEnvelope(query);
+		}
+
+		for (int candidate : candidates) {
+			double limit = neighbors.getLimit();
+			if (lowerBounds != null && lowerBounds[candidate] > limit) {
+				break; // the remaining candidates have even greater lower bounds
+			}
+			double distance;
+			if (envelope != null) {
+				distance = ((DynamicTimeWarping) this.distanceMeasure).distance(query, envelope, this.values[candidate], limit);
+			} else if (this.distanceMeasure instanceof IAbandonable) {
+				distance = ((IAbandonable) this.distanceMeasure).distance(query, this.values[candidate], limit);
+			} else {
+				distance = this.distanceMeasure.distance(query, this.values[candidate]);
+			}
+			if (distance <= limit) {
+				neighbors.offer(candidate, distance);
+			}
+		}
+		return neighbors;
+	}
+
+	/**
+	 * Determines the k nearest neighbors for each of the given queries in parallel.
+	 *
+	 * @param queries
+	 *            The time series to determine the nearest neighbors for.
+	 * @return The nearest neighbors for each query.
+	 * @throws InterruptedException
+	 *             Thrown if the thread is interrupted while waiting for the search to complete.
+	 */
+	public NeighborHeap[] search(final double[][] queries) throws InterruptedException {
+		return this.searchInParallel(queries.length, i -> this.search(queries[i]));
+	}
+
+	/**
+	 * Determines the k nearest neighbors of each of the time series searched in among the other ones (leave-one-out) in parallel.
+	 *
+	 * @return The nearest neighbors for each of the time series.
+	 * @throws InterruptedException
+	 *             Thrown if the thread is interrupted while waiting for the search to complete.
+	 */
+	public NeighborHeap[] searchLeaveOneOut() throws InterruptedException {
+		return this.searchInParallel(this.values.length, i -> this.search(this.values[i], i));
+	}
+
+	private NeighborHeap[] searchInParallel(final int numberOfQueries, final IntFunction<NeighborHeap> search) throws InterruptedException {
+		NeighborHeap[] result = new NeighborHeap[numberOfQueries];
+		int numberOfThreads = Math.min(this.numCPUs, numberOfQueries);
+		if (numberOfThreads <= 1) {
+			for (int i = 0; i < numberOfQueries; i++) {
+				result[i] = search.apply(i);
+			}
+			return result;
+		}
+
+		/* each thread processes every numberOfThreads-th query, so that the expensive queries are spread evenly */
+		ExecutorService pool = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			List<Future<?>> futures = new ArrayList<>(numberOfThreads);
+			for (int t = 0; t < numberOfThreads; t++) {
+				int firstQuery = t;
+				futures.add(pool.submit(() -> {
+					for (int i = firstQuery; i < numberOfQueries && !Thread.currentThread().isInterrupted(); i += numberOfThreads) {
+						result[i] = search.apply(i);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException("Nearest neighbor search failed.", cause);
+		} finally {
+			pool.shutdownNow();
+		}
+		return result;
+	}
+
+	/**
+	 * Getter for the number of neighbors.
+	 *
+	 * @return k
+	 */
+	public int getK() {
+		return this.k;
+	}
+}
@@ -0,0 +1,139 @@
+package ai.libs.jaicore.ml.classification.singlelabel.timeseries.learner.neighbors;
+
+/**
+ * Bounded max-heap on primitive arrays that holds the k nearest neighbors found so far as pairs of (instance index, distance).
+ *
+ * Neighbors are ordered by distance and, for equal distances, by index. Hence, the heap ends up with the same neighbors no matter in which order the candidates
+ * are offered, which allows nearest neighbor searches to visit the candidates in any order.
+ */
+public class NeighborHeap {
+
+	/** Indices of the neighbors, in heap order with the farthest neighbor at the root. */
+	private final int[] indices;
+
+	/** Distances of the neighbors, in the same order as {@link #indices}. */
+	private final double[] distances;
+
+	/** Current number of neighbors. */
+	private int size;
+
+	/**
+	 * Creates an empty heap.
+	 *
+	 * @param k
+	 *            The maximum number of neighbors.
+	 */
+	public NeighborHeap(final int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("Parameter k must be at least 1.");
+		}
+		this.indices = new int[k];
+		this.distances = new double[k];
+	}
+
+	/**
+	 * Offers a candidate to the heap. It is added if the heap is not full yet or if it is nearer than the farthest neighbor, which is dropped then.
+	 *
+	 * @param index
+	 *            The index of the candidate.
+	 * @param distance
+	 *            The distance of the candidate.
+	 * @return true if the candidate has been added.
+	 */
+	public boolean offer(final int index, final double distance) {
+		if (this.size < this.indices.length) {
+			int i = this.size++;
+			while (i > 0) {
+				int parent = (i - 1) / 2;
+				if (!this.isFarther(index, distance, parent)) {
+					break;
+				}
+				this.indices[i] = this.indices[parent];
+				this.distances[i] = this.distances[parent];
+				i = parent;
+			}
+			this.indices[i] = index;
+			this.distances[i] = distance;
+			return true;
+		}
+		if (!this.isFarther(this.indices[0], this.distances[0], index, distance)) {
+			return false;
+		}
+
+		// Replace the root and sift down.
+		int i = 0;
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= this.size) {
+				break;
+			}
+			if (child + 1 < this.size && this.isFarther(this.indices[child + 1], this.distances[child + 1], child)) {
+				child++;
+			}
+			if (!this.isFarther(this.indices[child], this.distances[child], index, distance)) {
+				break;
+			}
+			this.indices[i] = this.indices[child];
+			this.distances[i] = this.distances[child];
+			i = child;
+		}
+		this.indices[i] = index;
+		this.distances[i] = distance;
+		return true;
+	}
+
+	private boolean isFarther(final int index, final double distance, final int position) {
+		return this.isFarther(index, distance, this.indices[position], this.distances[position]);
+	}
+
+	private boolean isFarther(final int index1, final double distance1, final int index2, final double distance2) {
+		int comparison = Double.compare(distance1, distance2);
+		return comparison > 0 || (comparison == 0 && index1 > index2);
+	}
+
+	/**
+	 * @return The distance of the k-th nearest neighbor, or {@link Double#POSITIVE_INFINITY} if less than k neighbors have been found. Candidates with a greater
+	 *         distance cannot enter the heap anymore.
+	 */
+	public double getLimit() {
+		return this.size < this.indices.length ? Double.POSITIVE_INFINITY : this.distances[0];
+	}
+
+	/**
+	 * @return The current number of neighbors.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return true if no neighbor has been found.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @param i
+	 *            Position in the heap, between 0 and {@link #size()} (excl.).
+	 * @return The index of the neighbor at the given position. The positions are in heap order, position 0 holding the farthest neighbor.
+	 */
+	public int getIndex(final int i) {
+		if (i >= this.size) {
+			throw new IndexOutOfBoundsException("Position " + i + " is out of bounds for " + this.size + " neighbors.");
+		}
+		return this.indices[i];
+	}
+
+	/**
+	 * @param i
+	 *            Position in the heap, between 0 and {@link #size()} (excl.).
+	 * @return The distance of the neighbor at the given position.
+	 */
+	public double getDistance(final int i) {
+		if (i >= this.size) {
+			throw new IndexOutOfBoundsException("Position " + i + " is out of bounds for " + this.size + " neighbors.");
+		}
+		return this.distances[i];
+	}
+}
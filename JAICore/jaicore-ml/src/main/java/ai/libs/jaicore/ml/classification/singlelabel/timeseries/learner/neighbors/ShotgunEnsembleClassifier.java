@@ -10,6 +10,7 @@ import org.aeonbits.owner.ConfigCache;
 import org.api4.java.ai.ml.core.exception.PredictionException;
 import org.api4.java.common.metric.IDistanceMetric;
 
+import ai.libs.jaicore.basic.IOwnerBasedAlgorithmConfig;
 import ai.libs.jaicore.basic.metric.ShotgunDistance;
 import ai.libs.jaicore.basic.sets.Pair;
 import ai.libs.jaicore.ml.classification.singlelabel.timeseries.dataset.TimeSeriesDataset2;
@@ -277,6 +278,22 @@ public class ShotgunEnsembleClassifier extends ASimplifiedTSClassifier<Integer>
 		this.bestScore = tBestScore;
 	}
 
+	/**
+	 * Sets the number of CPUs used for the leave-one-out predictions in the
+	 * training phase and for the predictions on datasets.
+	 *
+	 * @param numberOfCPUs The number of CPUs.
+	 */
+	public void setNumCPUs(final int numberOfCPUs) {
+		if (numberOfCPUs < 1) {
+			throw new IllegalArgumentException("The number of CPUs must be at least 1.");
+		}
+		this.config.setProperty(IOwnerBasedAlgorithmConfig.K_CPUS, "" + numberOfCPUs);
+		if (this.nearestNeighborClassifier != null) {
+			this.nearestNeighborClassifier.setNumCPUs(numberOfCPUs);
+		}
+	}
+
 	/**
 	 * Sets the nearest neighbor classifier, {@link #nearestNeighborClassifier}.
 	 *
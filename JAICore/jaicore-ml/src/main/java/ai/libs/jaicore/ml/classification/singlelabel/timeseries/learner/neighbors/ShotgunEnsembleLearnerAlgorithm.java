@@ -10,6 +10,7 @@ import ai.libs.jaicore.basic.metric.ShotgunDistance;
 import ai.libs.jaicore.basic.sets.Pair;
 import ai.libs.jaicore.ml.classification.singlelabel.timeseries.dataset.TimeSeriesDataset2;
 import ai.libs.jaicore.ml.classification.singlelabel.timeseries.learner.ASimplifiedTSCLearningAlgorithm;
+import ai.libs.jaicore.ml.classification.singlelabel.timeseries.util.DistanceMatrixCache;
 
 /**
  * Implementation of Shotgun Ensemble Algorihm as published in "Towards Time
@@ -21,6 +22,12 @@ import ai.libs.jaicore.ml.classification.singlelabel.timeseries.learner.ASimplif
  * downto <code>minWindowLength</code> the number of correct predicitions on the
  * training data using the leave-one-out technique.
  *
+ * The leave-one-out predictions are computed by a
+ * {@link NearestNeighborSearch} that uses the configured number of CPUs. If
+ * the distance matrix cache is enabled, the nearest neighbors of each window
+ * length are kept in the {@link DistanceMatrixCache}, so that they are
+ * computed only once for repeated trainings on data with the same values.
+ *
  * @author fischor
  */
 public class ShotgunEnsembleLearnerAlgorithm extends ASimplifiedTSCLearningAlgorithm<Integer, ShotgunEnsembleClassifier> {
@@ -30,6 +37,7 @@ public class ShotgunEnsembleLearnerAlgorithm extends ASimplifiedTSCLearningAlgor
 		public static final String K_WINDOWLENGTH_MIN = "windowlength.min";
 		public static final String K_WINDOWLENGTH_MAX = "windowlength.max";
 		public static final String K_MEANNORMALIZATION = "meannormalization";
+		public static final String K_DISTANCEMATRIXCACHE = "distancematrixcache";
 
 		@Key(K_WINDOWLENGTH_MIN)
 		public int windowSizeMin();
@@ -40,6 +48,10 @@ public class ShotgunEnsembleLearnerAlgorithm extends ASimplifiedTSCLearningAlgor
 		@Key(K_MEANNORMALIZATION)
 		@DefaultValue("false")
 		public boolean meanNormalization();
+
+		@Key(K_DISTANCEMATRIXCACHE)
+		@DefaultValue("false")
+		public boolean useDistanceMatrixCache();
 	}
 
 	public ShotgunEnsembleLearnerAlgorithm(final IShotgunEnsembleLearnerConfig config, final ShotgunEnsembleClassifier classifier, final TimeSeriesDataset2 dataset) {
@@ -77,6 +89,8 @@ public class ShotgunEnsembleLearnerAlgorithm extends ASimplifiedTSCLearningAlgor
 			throw new AlgorithmException("Empty targets.");
 		}
 
+		String datasetId = this.getConfig().useDistanceMatrixCache() ? DistanceMatrixCache.getFingerprint(values) : null;
+
 		// Holds pairs of (number of correct predictions, window length).
 		ArrayList<Pair<Integer, Integer>> scores = new ArrayList<>();
 
@@ -85,21 +99,21 @@ public class ShotgunEnsembleLearnerAlgorithm extends ASimplifiedTSCLearningAlgor
 
 			// 1-NN with Leave-One-Out CV.
 			ShotgunDistance shotgunDistance = new ShotgunDistance(windowLength, this.getConfig().meanNormalization());
-			for (int i = 0; i < values.length; i++) {
-				// Predict for i-th instance.
-				double minDistance = Double.MAX_VALUE;
-				int instanceThatMinimizesDistance = -1;
-				for (int j = 0; j < values.length; j++) {
-					if (i != j) {
-						double distance = shotgunDistance.distance(values[i], values[j]);
-						if (distance < minDistance) {
-							minDistance = distance;
-							instanceThatMinimizesDistance = j;
-						}
-					}
+			int[] nearestNeighbors;
+			try {
+				if (datasetId != null) {
+					String key = "shotgun;windowLength=" + windowLength + ";meanNormalization=" + this.getConfig().meanNormalization();
+					nearestNeighbors = DistanceMatrixCache.getInstance().getLeaveOneOutNearestNeighbors(datasetId, key, () -> this.getLeaveOneOutNearestNeighbors(values, shotgunDistance));
+				} else {
+					nearestNeighbors = this.getLeaveOneOutNearestNeighbors(values, shotgunDistance);
 				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AlgorithmException("Interrupted while computing the leave-one-out predictions.", e);
+			}
+			for (int i = 0; i < values.length; i++) {
 				// Check, if Leave-One-Out prediction for i-th was correct.
-				if (targets[i] == targets[instanceThatMinimizesDistance]) {
+				if (nearestNeighbors[i] >= 0 && targets[i] == targets[nearestNeighbors[i]]) {
 					correct++;
 				}
 			}
@@ -109,6 +123,7 @@ public class ShotgunEnsembleLearnerAlgorithm extends ASimplifiedTSCLearningAlgor
 
 		// Update model.
 		NearestNeighborClassifier nearestNeighborClassifier = new NearestNeighborClassifier(new ShotgunDistance(this.getConfig().windowSizeMax(), this.getConfig().meanNormalization()));
+		nearestNeighborClassifier.setNumCPUs(Math.max(1, this.getConfig().cpus()));
 		try {
 			nearestNeighborClassifier.train(dataset);
 		} catch (Exception e) {
@@ -120,4 +135,19 @@ public class ShotgunEnsembleLearnerAlgorithm extends ASimplifiedTSCLearningAlgor
 		model.setNearestNeighborClassifier(nearestNeighborClassifier);
 		return model;
 	}
+
+	/**
+	 * Determines the nearest neighbor of each instance among the other instances.
+	 *
+	 * @return For each instance the index of its nearest neighbor, or -1 if there
+	 *         is no other instance.
+	 */
+	private int[] getLeaveOneOutNearestNeighbors(final double[][] values, final ShotgunDistance shotgunDistance) throws InterruptedException {
+		NeighborHeap[] neighbors = new NearestNeighborSearch(values, shotgunDistance, 1, this.getConfig().cpus()).searchLeaveOneOut();
+		int[] nearestNeighbors = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			nearestNeighbors[i] = neighbors[i].isEmpty() ? -1 : neighbors[i].getIndex(0);
+		}
+		return nearestNeighbors;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,393 @@
+package ai.libs.jaicore.ml.classification.singlelabel.timeseries.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import org.api4.java.common.metric.IDistanceMetric;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the pairwise distance matrices of time series datasets, shared among all learners in the JVM.
+ *
+ * A matrix is identified by a dataset id and a key that describes the distance measure and its parameters, e.g.
+ * <code>"shotgun;windowLength=8;meanNormalization=true"</code>. The dataset id is either given explicitly or the fingerprint of the values of the dataset (see
+ * {@link #getFingerprint(double[][])}), so that a dataset that is created again, e.g. the same fold of a cross-validation, hits the cache. Besides matrices,
+ * the cache holds the leave-one-out nearest neighbors of datasets, which learners that only need those compute with a pruned search in linear memory.
+ *
+ * The cache holds at most {@link #getMaxNumberOfBytes()} bytes; the least recently requested results are evicted first, and the files of evicted memory-mapped
+ * matrices are deleted. Each result is computed only once, even if it is requested by several threads at the same time, and the computations run outside the
+ * lock of the cache.
+ */
+public class DistanceMatrixCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(DistanceMatrixCache.class);
+
+	private static final DistanceMatrixCache instance = new DistanceMatrixCache();
+
+	private static final String PREFIX_MATRIX = "matrix;";
+	private static final String PREFIX_NEIGHBORS = "loo-neighbors;";
+
+	/** The results in the order of their last request. Accesses are synchronized on the map. */
+	private final Map<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** The number of bytes occupied by the completed results. Guarded by the lock on the entries. */
+	private long numberOfBytes = 0;
+
+	/** The maximum number of bytes of all results in the cache. */
+	private volatile long maxNumberOfBytes = Runtime.getRuntime().maxMemory() / 4;
+
+	/** The maximum number of bytes a matrix may occupy on the heap. */
+	private volatile long heapBudget = Runtime.getRuntime().maxMemory() / 4;
+
+	/** Whether the distances are stored as floats. */
+	private volatile boolean singlePrecision = false;
+
+	/** The number of threads used to compute a matrix. */
+	private volatile int numCPUs = Runtime.getRuntime().availableProcessors();
+
+	private DistanceMatrixCache() {
+		/* singleton */
+	}
+
+	public static DistanceMatrixCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Computes an id of a dataset from its values. Datasets with the same values have the same id.
+	 *
+	 * @param values
+	 *            The value matrix of the dataset.
+	 * @return The hex string of the SHA-256 hash of the values.
+	 */
+	public static String getFingerprint(final double[][] values) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by this JVM.", e); // every JVM is required to support SHA-256
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+		digest.update(buffer.putInt(values.length).array());
+		for (double[] row : values) {
+			ByteBuffer rowBuffer = ByteBuffer.allocate(Integer.BYTES + row.length * Double.BYTES);
+			rowBuffer.putInt(row.length);
+			for (double value : row) {
+				rowBuffer.putLong(Double.doubleToLongBits(value));
+			}
+			digest.update(rowBuffer.array());
+		}
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the matrix of the distances between all pairs of time series of a dataset, computing it if it is not cached yet. The dataset is identified by the
+	 * fingerprint of its values.
+	 *
+	 * @see #getDistanceMatrix(String, double[][], IDistanceMetric, String, boolean)
+	 */
+	public PairwiseDistanceMatrix getDistanceMatrix(final double[][] values, final IDistanceMetric distanceMeasure, final String distanceMeasureKey, final boolean symmetric)
+			throws IOException, InterruptedException {
+		return this.getDistanceMatrix(getFingerprint(values), values, distanceMeasure, distanceMeasureKey, symmetric);
+	}
+
+	/**
+	 * Returns the matrix of the distances between all pairs of time series of a dataset, computing it if it is not cached yet.
+	 *
+	 * @param datasetId
+	 *            An id of the dataset, which must be different for datasets with different values.
+	 * @param values
+	 *            The value matrix of the dataset.
+	 * @param distanceMeasure
+	 *            The distance measure, which must be thread-safe.
+	 * @param distanceMeasureKey
+	 *            A key that identifies the distance measure and its parameters.
+	 * @param symmetric
+	 *            Whether the distance measure is symmetric.
+	 * @return The distance matrix.
+	 * @throws IOException
+	 *             Thrown if the matrix exceeds the heap budget and the file for it cannot be created.
+	 * @throws InterruptedException
+	 *             Thrown if the thread is interrupted while waiting for the computation to complete.
+	 */
+	public PairwiseDistanceMatrix getDistanceMatrix(final String datasetId, final double[][] values, final IDistanceMetric distanceMeasure, final String distanceMeasureKey,
+			final boolean symmetric) throws IOException, InterruptedException {
+		CacheKey key = new CacheKey(datasetId, PREFIX_MATRIX + distanceMeasureKey + (symmetric ? ";symmetric" : ""));
+		boolean useSinglePrecision = this.singlePrecision;
+		long budget = this.heapBudget;
+		int cpus = this.numCPUs;
+		return this.get(key, () -> PairwiseDistanceMatrix.compute(values, distanceMeasure, symmetric, useSinglePrecision, budget, cpus), PairwiseDistanceMatrix::getNumberOfBytes,
+				PairwiseDistanceMatrix::deleteFile);
+	}
+
+	/**
+	 * Returns the leave-one-out nearest neighbors of the time series of a dataset, computing them if they are not cached yet. The returned array is shared and must
+	 * not be modified.
+	 *
+	 * @param datasetId
+	 *            An id of the dataset, which must be different for datasets with different values.
+	 * @param distanceMeasureKey
+	 *            A key that identifies the distance measure and its parameters.
+	 * @param computation
+	 *            Computes for each time series the index of its nearest neighbor among the other time series.
+	 * @return For each time series, the index of its nearest neighbor.
+	 * @throws InterruptedException
+	 *             Thrown if the thread is interrupted while waiting for the computation to complete.
+	 */
+	public int[] getLeaveOneOutNearestNeighbors(final String datasetId, final String distanceMeasureKey, final Callable<int[]> computation) throws InterruptedException {
+		try {
+			return this.get(new CacheKey(datasetId, PREFIX_NEIGHBORS + distanceMeasureKey), computation, neighbors -> (long) neighbors.length * Integer.BYTES, neighbors -> {});
+		} catch (IOException e) {
+			throw new IllegalStateException("Computation of the nearest neighbors failed.", e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T get(final CacheKey key, final Callable<T> computation, final ToLongFunction<T> size, final Consumer<T> release) throws IOException, InterruptedException {
+		while (true) {
+			CacheEntry entry;
+			boolean computing = false;
+			synchronized (this.entries) {
+				entry = this.entries.get(key);
+				if (entry == null) {
+					entry = new CacheEntry(new FutureTask<>(computation::call));
+					this.entries.put(key, entry);
+					computing = true;
+				}
+			}
+			if (computing) {
+				logger.debug("Computing {} of dataset {}.", key.key, key.datasetId);
+				entry.task.run();
+			}
+			try {
+				T result = (T) entry.task.get();
+				if (computing) {
+					this.register(key, entry, size.applyAsLong(result), () -> release.accept(result));
+				}
+				return result;
+			} catch (ExecutionException e) {
+				synchronized (this.entries) {
+					this.entries.remove(key, entry);
+				}
+				Throwable cause = e.getCause();
+				if (cause instanceof InterruptedException && !computing) {
+					continue; // the thread that has computed the result has been interrupted, so compute it in this thread
+				}
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if (cause instanceof InterruptedException) {
+					throw (InterruptedException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException("Computation of " + key.key + " failed.", cause);
+			}
+		}
+	}
+
+	/**
+	 * Accounts for the bytes of a completed result and evicts the least recently requested results if the cache exceeds its budget, which may also be the result
+	 * itself.
+	 */
+	private void register(final CacheKey key, final CacheEntry entry, final long bytes, final Runnable release) {
+		synchronized (this.entries) {
+			if (this.entries.get(key) != entry) {
+				return; // removed while it was computed
+			}
+			entry.bytes = bytes;
+			entry.release = release;
+			this.numberOfBytes += bytes;
+			this.evict();
+		}
+	}
+
+	/**
+	 * Evicts the least recently requested completed results until the cache does not exceed its budget. Must be called while holding the lock on the entries.
+	 */
+	private void evict() {
+		Iterator<CacheEntry> iterator = this.entries.values().iterator();
+		while (this.numberOfBytes > this.maxNumberOfBytes && iterator.hasNext()) {
+			CacheEntry entry = iterator.next();
+			if (entry.isCompleted()) {
+				iterator.remove();
+				this.release(entry);
+			}
+		}
+	}
+
+	private void release(final CacheEntry entry) {
+		if (entry.isCompleted()) {
+			this.numberOfBytes -= entry.bytes;
+			entry.release.run();
+		}
+	}
+
+	/**
+	 * Removes all matrices and nearest neighbors of a dataset that is identified by its fingerprint from the cache.
+	 *
+	 * @param values
+	 *            The value matrix of the dataset.
+	 */
+	public void remove(final double[][] values) {
+		this.remove(getFingerprint(values));
+	}
+
+	/**
+	 * Removes all matrices and nearest neighbors of a dataset from the cache.
+	 *
+	 * @param datasetId
+	 *            The id of the dataset.
+	 */
+	public void remove(final String datasetId) {
+		synchronized (this.entries) {
+			Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = this.entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<CacheKey, CacheEntry> entry = iterator.next();
+				if (entry.getKey().datasetId.equals(datasetId)) {
+					iterator.remove();
+					this.release(entry.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all matrices and nearest neighbors from the cache.
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.values().forEach(this::release);
+			this.entries.clear();
+		}
+	}
+
+	/**
+	 * @return The number of bytes occupied by the results in the cache.
+	 */
+	public long getNumberOfBytes() {
+		synchronized (this.entries) {
+			return this.numberOfBytes;
+		}
+	}
+
+	public long getMaxNumberOfBytes() {
+		return this.maxNumberOfBytes;
+	}
+
+	/**
+	 * Sets the maximum number of bytes of all matrices and nearest neighbors in the cache, no matter whether they are stored on the heap or in memory-mapped files.
+	 *
+	 * @param maxNumberOfBytes
+	 *            The budget of the cache in bytes.
+	 */
+	public void setMaxNumberOfBytes(final long maxNumberOfBytes) {
+		synchronized (this.entries) {
+			this.maxNumberOfBytes = maxNumberOfBytes;
+			this.evict();
+		}
+	}
+
+	public long getHeapBudget() {
+		return this.heapBudget;
+	}
+
+	/**
+	 * Sets the maximum number of bytes a matrix may occupy on the heap. Larger matrices are stored in memory-mapped files.
+	 *
+	 * @param heapBudget
+	 *            The heap budget in bytes.
+	 */
+	public void setHeapBudget(final long heapBudget) {
+		this.heapBudget = heapBudget;
+	}
+
+	public boolean isSinglePrecision() {
+		return this.singlePrecision;
+	}
+
+	/**
+	 * Sets whether matrices computed from now on store the distances as floats, which halves their memory.
+	 *
+	 * @param singlePrecision
+	 *            Whether to store the distances as floats.
+	 */
+	public void setSinglePrecision(final boolean singlePrecision) {
+		this.singlePrecision = singlePrecision;
+	}
+
+	public int getNumCPUs() {
+		return this.numCPUs;
+	}
+
+	public void setNumCPUs(final int numberOfCPUs) {
+		if (numberOfCPUs < 1) {
+			throw new IllegalArgumentException("The number of CPUs must be at least 1.");
+		}
+		this.numCPUs = numberOfCPUs;
+	}
+
+	private static class CacheKey {
+		private final String datasetId;
+		private final String key;
+
+		private CacheKey(final String datasetId, final String key) {
+			this.datasetId = Objects.requireNonNull(datasetId);
+			this.key = key;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.datasetId.hashCode() + this.key.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return this.datasetId.equals(other.datasetId) && this.key.equals(other.key);
+		}
+	}
+
+	/**
+	 * A result that is computed or has been computed. The size and the release action are only set once the result is completed.
+	 */
+	private static class CacheEntry {
+		private final FutureTask<?> task;
+		private long bytes = -1;
+		private Runnable release;
+
+		private CacheEntry(final FutureTask<?> task) {
+			this.task = task;
+		}
+
+		private boolean isCompleted() {
+			return this.bytes >= 0;
+		}
+	}
+}
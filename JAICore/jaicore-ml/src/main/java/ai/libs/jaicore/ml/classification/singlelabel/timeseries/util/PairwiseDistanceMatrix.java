@@ -0,0 +1,235 @@
+package ai.libs.jaicore.ml.classification.singlelabel.timeseries.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.api4.java.common.metric.IDistanceMetric;
+
+/**
+ * The distances between all pairs of a set of time series.
+ *
+ * For a symmetric distance measure, only the lower triangle including the diagonal is stored, i.e. <code>n(n+1)/2</code> entries for <code>n</code> time
+ * series; otherwise all <code>n^2</code> entries are stored. The entries are stored as doubles or, to halve the memory, as floats. Matrices that exceed the heap
+ * budget are stored in a memory-mapped temporary file, which is deleted by {@link #deleteFile()} or, at the latest, when the JVM exits.
+ */
+public class PairwiseDistanceMatrix {
+
+	/** Maximum number of entries per buffer, such that a buffer of doubles stays below the 2GB limit of a single buffer. */
+	private static final int SEGMENT_SIZE = 1 << 27;
+
+	/** Number of time series. */
+	private final int size;
+
+	/** Whether only the lower triangle is stored. */
+	private final boolean symmetric;
+
+	/** The segments of the matrix if stored as doubles, null otherwise. */
+	private final DoubleBuffer[] doubleSegments;
+
+	/** The segments of the matrix if stored as floats, null otherwise. */
+	private final FloatBuffer[] floatSegments;
+
+	/** The file the matrix is mapped to, or null if the matrix is stored on the heap. */
+	private final File file;
+
+	/** The number of bytes occupied by the entries. */
+	private final long numberOfBytes;
+
+	private PairwiseDistanceMatrix(final int size, final boolean symmetric, final boolean singlePrecision, final long heapBudget) throws IOException {
+		this.size = size;
+		this.symmetric = symmetric;
+		long numberOfEntries = symmetric ? (long) size * (size + 1) / 2 : (long) size * size;
+		int entrySize = singlePrecision ? Float.BYTES : Double.BYTES;
+		int numberOfSegments = (int) ((numberOfEntries + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+		ByteBuffer[] segments = new ByteBuffer[numberOfSegments];
+		this.numberOfBytes = numberOfEntries * entrySize;
+		if (this.numberOfBytes <= heapBudget) {
+			this.file = null;
+			for (int s = 0; s < numberOfSegments; s++) {
+				segments[s] = ByteBuffer.allocate(this.getSegmentSize(s, numberOfEntries) * entrySize);
+			}
+		} else {
+			this.file = File.createTempFile("distances", ".bin");
+			this.file.deleteOnExit();
+			try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				for (int s = 0; s < numberOfSegments; s++) {
+					segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, (long) s * SEGMENT_SIZE * entrySize, (long) this.getSegmentSize(s, numberOfEntries) * entrySize);
+				}
+			}
+		}
+		if (singlePrecision) {
+			this.floatSegments = new FloatBuffer[numberOfSegments];
+			this.doubleSegments = null;
+			for (int s = 0; s < numberOfSegments; s++) {
+				this.floatSegments[s] = segments[s].order(ByteOrder.nativeOrder()).asFloatBuffer();
+			}
+		} else {
+			this.doubleSegments = new DoubleBuffer[numberOfSegments];
+			this.floatSegments = null;
+			for (int s = 0; s < numberOfSegments; s++) {
+				this.doubleSegments[s] = segments[s].order(ByteOrder.nativeOrder()).asDoubleBuffer();
+			}
+		}
+	}
+
+	private int getSegmentSize(final int segment, final long numberOfEntries) {
+		return (int) Math.min(SEGMENT_SIZE, numberOfEntries - (long) segment * SEGMENT_SIZE);
+	}
+
+	/**
+	 * Computes the distances between all pairs of the given time series.
+	 *
+	 * @param values
+	 *            The time series.
+	 * @param distanceMeasure
+	 *            The distance measure, which must be thread-safe if more than one CPU is used.
+	 * @param symmetric
+	 *            Whether the distance measure is symmetric, in which case only one distance per pair is computed.
+	 * @param singlePrecision
+	 *            Whether to store the distances as floats instead of doubles.
+	 * @param heapBudget
+	 *            The maximum number of bytes the matrix may occupy on the heap; larger matrices are memory-mapped.
+	 * @param numCPUs
+	 *            The number of threads used to compute the distances.
+	 * @return The matrix of the distances.
+	 * @throws IOException
+	 *             Thrown if the matrix exceeds the heap budget and the file for it cannot be created.
+	 * @throws InterruptedException
+	 *             Thrown if the thread is interrupted while waiting for the computation to complete.
+	 */
+	public static PairwiseDistanceMatrix compute(final double[][] values, final IDistanceMetric distanceMeasure, final boolean symmetric, final boolean singlePrecision, final long heapBudget,
+			final int numCPUs) throws IOException, InterruptedException {
+		PairwiseDistanceMatrix matrix = new PairwiseDistanceMatrix(values.length, symmetric, singlePrecision, heapBudget);
+		int n = values.length;
+		int numberOfThreads = Math.max(1, Math.min(numCPUs, n));
+		if (numberOfThreads == 1) {
+			for (int i = 0; i < n; i++) {
+				matrix.computeRow(values, distanceMeasure, i);
+			}
+			return matrix;
+		}
+
+		/* each thread computes every numberOfThreads-th row, so that the rows of the triangle are spread evenly */
+		ExecutorService pool = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			List<Future<?>> futures = new ArrayList<>(numberOfThreads);
+			for (int t = 0; t < numberOfThreads; t++) {
+				int firstRow = t;
+				futures.add(pool.submit(() -> {
+					for (int i = firstRow; i < n && !Thread.currentThread().isInterrupted(); i += numberOfThreads) {
+						matrix.computeRow(values, distanceMeasure, i);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException("Computation of the distance matrix failed.", cause);
+		} finally {
+			pool.shutdownNow();
+		}
+		return matrix;
+	}
+
+	private void computeRow(final double[][] values, final IDistanceMetric distanceMeasure, final int i) {
+		int end = this.symmetric ? i : this.size - 1;
+		for (int j = 0; j <= end; j++) {
+			this.set(this.getPosition(i, j), distanceMeasure.distance(values[i], values[j]));
+		}
+	}
+
+	private long getPosition(final int i, final int j) {
+		if (!this.symmetric) {
+			return (long) i * this.size + j;
+		}
+		return i >= j ? (long) i * (i + 1) / 2 + j : (long) j * (j + 1) / 2 + i;
+	}
+
+	private void set(final long position, final double distance) {
+		int segment = (int) (position / SEGMENT_SIZE);
+		int offset = (int) (position % SEGMENT_SIZE);
+		if (this.doubleSegments != null) {
+			this.doubleSegments[segment].put(offset, distance);
+		} else {
+			this.floatSegments[segment].put(offset, (float) distance);
+		}
+	}
+
+	/**
+	 * @param i
+	 *            Index of the first time series.
+	 * @param j
+	 *            Index of the second time series.
+	 * @return The distance between the time series.
+	 */
+	public double get(final int i, final int j) {
+		if (i < 0 || j < 0 || i >= this.size || j >= this.size) {
+			throw new IndexOutOfBoundsException("Cannot access distance (" + i + ", " + j + ") in a matrix of " + this.size + " time series.");
+		}
+		long position = this.getPosition(i, j);
+		int segment = (int) (position / SEGMENT_SIZE);
+		int offset = (int) (position % SEGMENT_SIZE);
+		return this.doubleSegments != null ? this.doubleSegments[segment].get(offset) : this.floatSegments[segment].get(offset);
+	}
+
+	/**
+	 * @return The number of time series.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return Whether only one distance per pair is stored.
+	 */
+	public boolean isSymmetric() {
+		return this.symmetric;
+	}
+
+	/**
+	 * @return Whether the distances are stored as floats.
+	 */
+	public boolean isSinglePrecision() {
+		return this.floatSegments != null;
+	}
+
+	/**
+	 * @return Whether the matrix is stored in a memory-mapped file rather than on the heap.
+	 */
+	public boolean isMemoryMapped() {
+		return this.file != null;
+	}
+
+	/**
+	 * @return The number of bytes occupied by the distances, on the heap or in the file.
+	 */
+	public long getNumberOfBytes() {
+		return this.numberOfBytes;
+	}
+
+	/**
+	 * Deletes the file the matrix is mapped to. The matrix must not be accessed anymore afterwards.
+	 *
+	 * @return Whether the file has been deleted; false if the matrix is stored on the heap or the file cannot be deleted while it is mapped.
+	 */
+	public boolean deleteFile() {
+		return this.file != null && this.file.delete();
+	}
+}
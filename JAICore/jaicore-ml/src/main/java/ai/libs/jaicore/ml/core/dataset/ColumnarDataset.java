@@ -0,0 +1,664 @@
+package ai.libs.jaicore.ml.core.dataset;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.api4.java.ai.ml.core.dataset.schema.ILabeledInstanceSchema;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.IAttribute;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.ICategoricalAttribute;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.ICategoricalAttributeValue;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.INumericAttribute;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.INumericAttributeValue;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.ai.ml.core.exception.DatasetCreationException;
+import org.api4.java.common.reconstruction.IReconstructible;
+import org.api4.java.common.reconstruction.IReconstructionInstruction;
+import org.api4.java.common.reconstruction.IReconstructionPlan;
+
+import ai.libs.jaicore.basic.reconstruction.ReconstructionInstruction;
+import ai.libs.jaicore.basic.reconstruction.ReconstructionPlan;
+
+/**
+ * A labeled dataset that stores its values column-wise in primitive arrays instead of one object per instance.
+ *
+ * Numeric attributes are stored in a double[] (NaN encodes a missing value), categorical attributes in an int[] holding the index of the category (-1 encodes a missing value), and all other attribute types fall back to an Object[]
+ * column. The same holds for the label.
+ *
+ * The instances returned by {@link #get(int)} or the iterator are flyweight views ({@link ColumnarInstance}) on one row of the columns. They do not hold any values themselves, and modifications on them write through to the dataset.
+ * Instances added to the dataset are copied into the columns, i.e. later modifications of the added object are not reflected in the dataset.
+ */
+public class ColumnarDataset extends AbstractList<ILabeledInstance> implements ILabeledDataset<ILabeledInstance>, IReconstructible {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	private final List<ReconstructionInstruction> instructions = new ArrayList<>();
+	private final ILabeledInstanceSchema schema;
+	private final List<AColumn> columns;
+	private final AColumn labelColumn;
+	private int size = 0;
+	private int capacity;
+
+	public ColumnarDataset(final ILabeledInstanceSchema schema) {
+		this(schema, DEFAULT_INITIAL_CAPACITY);
+	}
+
+	public ColumnarDataset(final ILabeledInstanceSchema schema, final int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Initial capacity must not be negative but is " + initialCapacity);
+		}
+		this.schema = schema;
+		this.capacity = initialCapacity;
+		this.columns = new ArrayList<>(schema.getNumAttributes());
+		for (IAttribute att : schema.getAttributeList()) {
+			this.columns.add(createColumn(att, initialCapacity));
+		}
+		this.labelColumn = createColumn(schema.getLabelAttribute(), initialCapacity);
+	}
+
+	public ColumnarDataset(final ILabeledInstanceSchema schema, final Collection<? extends ILabeledInstance> instances) {
+		this(schema, instances.size());
+		this.addAll(instances);
+	}
+
+	private ColumnarDataset(final ColumnarDataset other) {
+		this.schema = other.schema.getCopy();
+		this.size = other.size;
+		this.capacity = other.size;
+		this.columns = new ArrayList<>(other.columns.size());
+		for (AColumn column : other.columns) {
+			this.columns.add(column.copy(other.size));
+		}
+		this.labelColumn = other.labelColumn.copy(other.size);
+	}
+
+	private ColumnarDataset(final ILabeledInstanceSchema schema, final int size, final List<AColumn> columns, final AColumn labelColumn) {
+		this.schema = schema;
+		this.size = size;
+		this.capacity = size;
+		this.columns = columns;
+		this.labelColumn = labelColumn;
+	}
+
+	/**
+	 * Creates a dataset that uses the given arrays as its columns without copying them. This is meant for readers that fill primitive arrays directly.
+	 *
+	 * @param schema The schema of the dataset.
+	 * @param size The number of rows; all arrays must have exactly this length.
+	 * @param columns For every attribute of the schema (in that order), a double[] if the attribute is numeric (NaN for missing values), an int[] holding category indices if it is categorical (-1 for missing values), and an
+	 *            Object[] otherwise.
+	 * @param labelColumn The labels in the same representation.
+	 * @return The dataset backed by the given arrays.
+	 */
+	public static ColumnarDataset ofColumns(final ILabeledInstanceSchema schema, final int size, final List<?> columns, final Object labelColumn) {
+		if (columns.size() != schema.getNumAttributes()) {
+			throw new IllegalArgumentException("Got " + columns.size() + " columns for " + schema.getNumAttributes() + " attributes.");
+		}
+		List<AColumn> wrappedColumns = new ArrayList<>(columns.size());
+		for (int j = 0; j < columns.size(); j++) {
+			wrappedColumns.add(wrapColumn(schema.getAttribute(j), size, columns.get(j)));
+		}
+		return new ColumnarDataset(schema, size, wrappedColumns, wrapColumn(schema.getLabelAttribute(), size, labelColumn));
+	}
+
+	private static AColumn wrapColumn(final IAttribute attribute, final int size, final Object values) {
+		AColumn column;
+		int length;
+		if (attribute instanceof ICategoricalAttribute && values instanceof int[]) {
+			column = new CategoricalColumn(attribute, (int[]) values);
+			length = ((int[]) values).length;
+		} else if (attribute instanceof INumericAttribute && values instanceof double[]) {
+			column = new NumericColumn(attribute, (double[]) values);
+			length = ((double[]) values).length;
+		} else if (!(attribute instanceof ICategoricalAttribute) && !(attribute instanceof INumericAttribute) && values instanceof Object[]) {
+			column = new ObjectColumn(attribute, (Object[]) values);
+			length = ((Object[]) values).length;
+		} else {
+			throw new IllegalArgumentException("The column " + (values != null ? values.getClass().getSimpleName() : null) + " does not match the type of attribute " + attribute.getName());
+		}
+		if (length != size) {
+			throw new IllegalArgumentException("The column of attribute " + attribute.getName() + " has " + length + " rows but " + size + " are required.");
+		}
+		return column;
+	}
+
+	private static AColumn createColumn(final IAttribute attribute, final int capacity) {
+		if (attribute instanceof ICategoricalAttribute) {
+			return new CategoricalColumn((ICategoricalAttribute) attribute, capacity);
+		}
+		if (attribute instanceof INumericAttribute) {
+			return new NumericColumn(attribute, capacity);
+		}
+		return new ObjectColumn(attribute, capacity);
+	}
+
+	@Override
+	public ILabeledInstanceSchema getInstanceSchema() {
+		return this.schema;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public ColumnarInstance get(final int index) {
+		this.checkIndex(index, this.size);
+		return new ColumnarInstance(this, index);
+	}
+
+	@Override
+	public ILabeledInstance set(final int index, final ILabeledInstance instance) {
+		this.checkIndex(index, this.size);
+		this.checkNumberOfAttributes(instance);
+		ILabeledInstance previous = this.getDetachedCopy(index);
+		this.writeRow(index, instance);
+		return previous;
+	}
+
+	@Override
+	public void add(final int index, final ILabeledInstance instance) {
+		this.checkIndex(index, this.size + 1);
+		this.checkNumberOfAttributes(instance);
+		ILabeledInstance instanceToAdd = instance;
+		if (index < this.size && instance instanceof ColumnarInstance && ((ColumnarInstance) instance).getDataset() == this) {
+			instanceToAdd = this.getDetachedCopy(((ColumnarInstance) instance).getRow()); // the view would be moved by the shift
+		}
+		this.ensureCapacity(this.size + 1);
+		if (index < this.size) {
+			for (AColumn column : this.columns) {
+				column.shift(index, this.size, 1);
+			}
+			this.labelColumn.shift(index, this.size, 1);
+		}
+		this.size++;
+		this.modCount++;
+		this.writeRow(index, instanceToAdd);
+	}
+
+	@Override
+	public ILabeledInstance remove(final int index) {
+		this.checkIndex(index, this.size);
+		ILabeledInstance previous = this.getDetachedCopy(index);
+		for (AColumn column : this.columns) {
+			column.shift(index + 1, this.size, -1);
+			column.clear(this.size - 1);
+		}
+		this.labelColumn.shift(index + 1, this.size, -1);
+		this.labelColumn.clear(this.size - 1);
+		this.size--;
+		this.modCount++;
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < this.size; i++) {
+			for (AColumn column : this.columns) {
+				column.clear(i);
+			}
+			this.labelColumn.clear(i);
+		}
+		this.size = 0;
+		this.modCount++;
+	}
+
+	/**
+	 * Makes sure that the columns can hold at least the given number of rows without being resized.
+	 *
+	 * @param minCapacity The number of rows that must fit into the columns.
+	 */
+	public void ensureCapacity(final int minCapacity) {
+		if (minCapacity <= this.capacity) {
+			return;
+		}
+		int newCapacity = Math.max(minCapacity, this.capacity + (this.capacity >> 1) + 1);
+		for (AColumn column : this.columns) {
+			column.resize(newCapacity);
+		}
+		this.labelColumn.resize(newCapacity);
+		this.capacity = newCapacity;
+	}
+
+	/**
+	 * Releases the memory of unused rows at the end of the columns.
+	 */
+	public void trimToSize() {
+		if (this.capacity == this.size) {
+			return;
+		}
+		for (AColumn column : this.columns) {
+			column.resize(this.size);
+		}
+		this.labelColumn.resize(this.size);
+		this.capacity = this.size;
+	}
+
+	private void checkIndex(final int index, final int bound) {
+		if (index < 0 || index >= bound) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+	}
+
+	private void checkNumberOfAttributes(final ILabeledInstance instance) {
+		if (instance.getNumAttributes() != this.columns.size()) {
+			throw new IllegalArgumentException("Instance has " + instance.getNumAttributes() + " attributes, but the dataset defines " + this.columns.size() + " attributes.");
+		}
+	}
+
+	private void writeRow(final int row, final ILabeledInstance instance) {
+		int numAttributes = this.columns.size();
+		if (instance instanceof ColumnarInstance) {
+			ColumnarInstance other = (ColumnarInstance) instance;
+			for (int j = 0; j < numAttributes; j++) {
+				this.columns.get(j).set(row, other.getAttributeValue(j));
+			}
+		} else {
+			Object[] values = instance.getAttributes();
+			for (int j = 0; j < numAttributes; j++) {
+				this.columns.get(j).set(row, values[j]);
+			}
+		}
+		this.labelColumn.set(row, instance.getLabel());
+	}
+
+	private ILabeledInstance getDetachedCopy(final int row) {
+		return new DenseInstance(this.getAttributeValues(row), this.getLabel(row));
+	}
+
+	Object getAttributeValue(final int row, final int column) {
+		return this.columns.get(column).get(row);
+	}
+
+	Object[] getAttributeValues(final int row) {
+		int numAttributes = this.columns.size();
+		Object[] values = new Object[numAttributes];
+		for (int j = 0; j < numAttributes; j++) {
+			values[j] = this.columns.get(j).get(row);
+		}
+		return values;
+	}
+
+	void setAttributeValue(final int row, final int column, final Object value) {
+		this.columns.get(column).set(row, value);
+	}
+
+	Object getLabel(final int row) {
+		return this.labelColumn.get(row);
+	}
+
+	void setLabel(final int row, final Object label) {
+		this.labelColumn.set(row, label);
+	}
+
+	/**
+	 * Returns the numeric representation of a value without boxing it. Missing values are represented by 0 in order to be consistent with {@link DenseInstance#getPoint()}.
+	 *
+	 * @param row The index of the instance.
+	 * @param column The index of the attribute.
+	 * @return The value of the attribute in the given row as a double.
+	 */
+	public double getPointValue(final int row, final int column) {
+		this.checkIndex(row, this.size);
+		return this.columns.get(column).getAsDouble(row);
+	}
+
+	/**
+	 * Returns the numeric representation of a value without boxing it. In contrast to {@link #getPointValue(int, int)}, missing values are represented by NaN.
+	 *
+	 * @param row The index of the instance.
+	 * @param column The index of the attribute or the number of attributes for the label.
+	 * @return The value of the attribute in the given row as a double or NaN if the value is missing.
+	 */
+	public double getValueOrNaN(final int row, final int column) {
+		this.checkIndex(row, this.size);
+		return (column == this.columns.size() ? this.labelColumn : this.columns.get(column)).getAsDoubleOrNaN(row);
+	}
+
+	double[] getPoint(final int row) {
+		int numAttributes = this.columns.size();
+		double[] point = new double[numAttributes];
+		for (int j = 0; j < numAttributes; j++) {
+			point[j] = this.columns.get(j).getAsDouble(row);
+		}
+		return point;
+	}
+
+	@Override
+	public ColumnarDataset createEmptyCopy() throws DatasetCreationException, InterruptedException {
+		return new ColumnarDataset(this.schema);
+	}
+
+	/**
+	 * Creates a deep copy of this dataset. Other than instances of {@link Dataset}, the copy does not share instance objects with this dataset (since there are none) but copies the columns. The schema is copied as well, so
+	 * that columns can be removed from the copy without affecting this dataset.
+	 */
+	@Override
+	public ColumnarDataset createCopy() throws DatasetCreationException, InterruptedException {
+		return new ColumnarDataset(this);
+	}
+
+	@Override
+	public Object[][] getFeatureMatrix() {
+		Object[][] featureMatrix = new Object[this.size][];
+		for (int i = 0; i < this.size; i++) {
+			featureMatrix[i] = this.getAttributeValues(i);
+		}
+		return featureMatrix;
+	}
+
+	@Override
+	public Object[] getLabelVector() {
+		Object[] labels = new Object[this.size];
+		for (int i = 0; i < this.size; i++) {
+			labels[i] = this.labelColumn.get(i);
+		}
+		return labels;
+	}
+
+	@Override
+	public void removeColumn(final int columnPos) {
+		this.schema.removeAttribute(columnPos);
+		this.columns.remove(columnPos);
+	}
+
+	@Override
+	public void removeColumn(final String columnName) {
+		Optional<IAttribute> att = this.schema.getAttributeList().stream().filter(x -> x.getName().equals(columnName)).findFirst();
+		if (att.isPresent()) {
+			this.removeColumn(this.schema.getAttributeList().indexOf(att.get()));
+		} else {
+			throw new IllegalArgumentException("There is no such attribute with name " + columnName + " to remove.");
+		}
+	}
+
+	@Override
+	public void removeColumn(final IAttribute attribute) {
+		int index = this.schema.getAttributeList().indexOf(attribute);
+		if (index >= 0) {
+			this.removeColumn(index);
+		} else {
+			throw new IllegalArgumentException("There is no such attribute with name " + attribute.getName() + " to remove.");
+		}
+	}
+
+	@Override
+	public IReconstructionPlan getConstructionPlan() {
+		return new ReconstructionPlan(this.instructions);
+	}
+
+	@Override
+	public void addInstruction(final IReconstructionInstruction instruction) {
+		this.instructions.add((ReconstructionInstruction) instruction);
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + ((this.schema == null) ? 0 : this.schema.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		if (this.getClass() != obj.getClass()) {
+			return false;
+		}
+		ColumnarDataset other = (ColumnarDataset) obj;
+		if (this.schema == null) {
+			if (other.schema != null) {
+				return false;
+			}
+		} else if (!this.schema.equals(other.schema)) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Storage of the values of a single attribute for all rows.
+	 */
+	private abstract static class AColumn {
+
+		protected final IAttribute attribute;
+
+		protected AColumn(final IAttribute attribute) {
+			this.attribute = attribute;
+		}
+
+		public abstract Object get(int row);
+
+		public abstract double getAsDouble(int row);
+
+		public abstract double getAsDoubleOrNaN(int row);
+
+		public abstract void set(int row, Object value);
+
+		public abstract void clear(int row);
+
+		public abstract void resize(int capacity);
+
+		/**
+		 * Moves the values in rows [from, to) by offset rows.
+		 */
+		public abstract void shift(int from, int to, int offset);
+
+		public abstract AColumn copy(int length);
+	}
+
+	private static class NumericColumn extends AColumn {
+
+		private double[] values;
+
+		public NumericColumn(final IAttribute attribute, final int capacity) {
+			super(attribute);
+			this.values = new double[capacity];
+		}
+
+		private NumericColumn(final IAttribute attribute, final double[] values) {
+			super(attribute);
+			this.values = values;
+		}
+
+		@Override
+		public Object get(final int row) {
+			double value = this.values[row];
+			return Double.isNaN(value) ? null : value;
+		}
+
+		@Override
+		public double getAsDouble(final int row) {
+			double value = this.values[row];
+			return Double.isNaN(value) ? 0.0 : value;
+		}
+
+		@Override
+		public double getAsDoubleOrNaN(final int row) {
+			return this.values[row];
+		}
+
+		@Override
+		public void set(final int row, final Object value) {
+			if (value == null) {
+				this.values[row] = Double.NaN;
+			} else if (value instanceof Number) {
+				this.values[row] = ((Number) value).doubleValue();
+			} else if (value instanceof INumericAttributeValue) {
+				this.values[row] = ((INumericAttributeValue) value).getValue();
+			} else if (value instanceof Boolean) {
+				this.values[row] = ((boolean) value) ? 1.0 : 0.0;
+			} else {
+				throw new IllegalArgumentException("Value " + value + " of type " + value.getClass().getName() + " cannot be stored for numeric attribute " + this.attribute.getName());
+			}
+		}
+
+		@Override
+		public void clear(final int row) {
+			this.values[row] = Double.NaN;
+		}
+
+		@Override
+		public void resize(final int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		public void shift(final int from, final int to, final int offset) {
+			System.arraycopy(this.values, from, this.values, from + offset, to - from);
+		}
+
+		@Override
+		public AColumn copy(final int length) {
+			return new NumericColumn(this.attribute, Arrays.copyOf(this.values, length));
+		}
+	}
+
+	private static class CategoricalColumn extends AColumn {
+
+		private static final int MISSING = -1;
+
+		private int[] values;
+
+		public CategoricalColumn(final ICategoricalAttribute attribute, final int capacity) {
+			super(attribute);
+			this.values = new int[capacity];
+		}
+
+		private CategoricalColumn(final IAttribute attribute, final int[] values) {
+			super(attribute);
+			this.values = values;
+		}
+
+		@Override
+		public Object get(final int row) {
+			int value = this.values[row];
+			return value == MISSING ? null : value;
+		}
+
+		@Override
+		public double getAsDouble(final int row) {
+			int value = this.values[row];
+			return value == MISSING ? 0.0 : value;
+		}
+
+		@Override
+		public double getAsDoubleOrNaN(final int row) {
+			int value = this.values[row];
+			return value == MISSING ? Double.NaN : value;
+		}
+
+		@Override
+		public void set(final int row, final Object value) {
+			if (value == null) {
+				this.values[row] = MISSING;
+			} else if (value instanceof Number) {
+				this.values[row] = ((Number) value).intValue();
+			} else if (value instanceof ICategoricalAttributeValue) {
+				this.values[row] = ((ICategoricalAttributeValue) value).getValue();
+			} else if (value instanceof String) {
+				Object decoded = this.attribute.deserializeAttributeValue((String) value);
+				this.values[row] = decoded == null ? MISSING : (int) decoded;
+			} else {
+				throw new IllegalArgumentException("Value " + value + " of type " + value.getClass().getName() + " cannot be stored for categorical attribute " + this.attribute.getName());
+			}
+		}
+
+		@Override
+		public void clear(final int row) {
+			this.values[row] = MISSING;
+		}
+
+		@Override
+		public void resize(final int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		public void shift(final int from, final int to, final int offset) {
+			System.arraycopy(this.values, from, this.values, from + offset, to - from);
+		}
+
+		@Override
+		public AColumn copy(final int length) {
+			return new CategoricalColumn(this.attribute, Arrays.copyOf(this.values, length));
+		}
+	}
+
+	private static class ObjectColumn extends AColumn {
+
+		private Object[] values;
+
+		public ObjectColumn(final IAttribute attribute, final int capacity) {
+			super(attribute);
+			this.values = new Object[capacity];
+		}
+
+		private ObjectColumn(final IAttribute attribute, final Object[] values) {
+			super(attribute);
+			this.values = values;
+		}
+
+		@Override
+		public Object get(final int row) {
+			return this.values[row];
+		}
+
+		@Override
+		public double getAsDouble(final int row) {
+			Object value = this.values[row];
+			if (value == null) {
+				return 0.0;
+			}
+			if (value instanceof Number) {
+				return ((Number) value).doubleValue();
+			}
+			if (value instanceof Boolean) {
+				return ((boolean) value) ? 1.0 : 0.0;
+			}
+			throw new UnsupportedOperationException("The value " + value + " of attribute " + this.attribute.getName() + " cannot be cast to a point value.");
+		}
+
+		@Override
+		public double getAsDoubleOrNaN(final int row) {
+			Object value = this.values[row];
+			return value == null ? Double.NaN : this.attribute.toDouble(value);
+		}
+
+		@Override
+		public void set(final int row, final Object value) {
+			this.values[row] = value;
+		}
+
+		@Override
+		public void clear(final int row) {
+			this.values[row] = null;
+		}
+
+		@Override
+		public void resize(final int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		public void shift(final int from, final int to, final int offset) {
+			System.arraycopy(this.values, from, this.values, from + offset, to - from);
+		}
+
+		@Override
+		public AColumn copy(final int length) {
+			return new ObjectColumn(this.attribute, Arrays.copyOf(this.values, length));
+		}
+	}
+}
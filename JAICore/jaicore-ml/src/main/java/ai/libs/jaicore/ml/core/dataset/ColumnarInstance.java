@@ -0,0 +1,117 @@
+package ai.libs.jaicore.ml.core.dataset;
+
+import java.util.Arrays;
+
+import ai.libs.jaicore.ml.core.filter.sampling.IClusterableInstance;
+
+/**
+ * A flyweight view on a single row of a {@link ColumnarDataset}. The instance does not hold any values itself, so reading values is delegated to the columns of the dataset and writing values changes the dataset.
+ *
+ * Since the view is bound to the row index, it refers to a different instance if rows in front of it are inserted into or removed from the dataset.
+ */
+public class ColumnarInstance implements IClusterableInstance {
+
+	private final ColumnarDataset dataset;
+	private final int row;
+
+	ColumnarInstance(final ColumnarDataset dataset, final int row) {
+		this.dataset = dataset;
+		this.row = row;
+	}
+
+	public ColumnarDataset getDataset() {
+		return this.dataset;
+	}
+
+	public int getRow() {
+		return this.row;
+	}
+
+	@Override
+	public Object getAttributeValue(final int pos) {
+		return this.dataset.getAttributeValue(this.row, pos);
+	}
+
+	@Override
+	public void setAttributeValue(final int pos, final Object value) {
+		this.dataset.setAttributeValue(this.row, pos, value);
+	}
+
+	@Override
+	public Object[] getAttributes() {
+		return this.dataset.getAttributeValues(this.row);
+	}
+
+	@Override
+	public int getNumAttributes() {
+		return this.dataset.getNumAttributes();
+	}
+
+	@Override
+	public double[] getPoint() {
+		return this.dataset.getPoint(this.row);
+	}
+
+	@Override
+	public double getPointValue(final int pos) {
+		return this.dataset.getPointValue(this.row, pos);
+	}
+
+	@Override
+	public Object getLabel() {
+		return this.dataset.getLabel(this.row);
+	}
+
+	@Override
+	public void setLabel(final Object label) {
+		this.dataset.setLabel(this.row, label);
+	}
+
+	@Override
+	public boolean isLabelPresent() {
+		return this.getLabel() != null;
+	}
+
+	@Override
+	public void removeColumn(final int columnPos) {
+		throw new UnsupportedOperationException("Columns of a columnar dataset can only be removed via the dataset itself.");
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(this.getAttributes());
+		Object label = this.getLabel();
+		result = prime * result + ((label == null) ? 0 : label.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (this.getClass() != obj.getClass()) {
+			return false;
+		}
+		ColumnarInstance other = (ColumnarInstance) obj;
+		if (this.dataset == other.dataset && this.row == other.row) {
+			return true;
+		}
+		if (!Arrays.equals(this.getAttributes(), other.getAttributes())) {
+			return false;
+		}
+		Object label = this.getLabel();
+		Object otherLabel = other.getLabel();
+		return label == null ? otherLabel == null : label.equals(otherLabel);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(this.getAttributes()) + "->" + this.getLabel();
+	}
+}
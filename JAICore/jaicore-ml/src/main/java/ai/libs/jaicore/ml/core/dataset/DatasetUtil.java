@@ -65,7 +65,7 @@ public class DatasetUtil {
 		int numAttributes = dataset.getNumAttributes();
 		for (ILabeledInstance i : dataset) {
 			ILabeledInstance ci;
-			if (i instanceof DenseInstance) {
+			if (i instanceof DenseInstance || i instanceof ColumnarInstance) {
 				ci = new DenseInstance(i.getAttributes(), conversionMap.get(i.getLabel()));
 			} else if (i instanceof SparseInstance) {
 				ci = new SparseInstance(numAttributes, ((SparseInstance) i).getAttributeMap(), conversionMap.get(i.getLabel()));
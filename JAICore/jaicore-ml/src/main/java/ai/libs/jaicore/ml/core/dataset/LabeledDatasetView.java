@@ -0,0 +1,183 @@
+package ai.libs.jaicore.ml.core.dataset;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.api4.java.ai.ml.core.dataset.schema.ILabeledInstanceSchema;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.IAttribute;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.ai.ml.core.exception.DatasetCreationException;
+import org.api4.java.common.reconstruction.IReconstructible;
+import org.api4.java.common.reconstruction.IReconstructionInstruction;
+import org.api4.java.common.reconstruction.IReconstructionPlan;
+
+import ai.libs.jaicore.basic.reconstruction.ReconstructionInstruction;
+import ai.libs.jaicore.basic.reconstruction.ReconstructionPlan;
+
+/**
+ * A read-only view on a subset of the instances of another dataset. The view only stores the indices of its instances in the parent dataset, so creating it costs one int per instance and no instance is copied.
+ *
+ * The view must not be used anymore once the parent dataset has been modified. Since the view is read-only, all modifying operations throw an {@link UnsupportedOperationException}. Modifiable datasets can be obtained via
+ * {@link #createCopy()}, which materializes the view into a dataset of the type of the parent, and {@link #createEmptyCopy()}.
+ *
+ * @param <I> The type of instances in the dataset
+ */
+public class LabeledDatasetView<I extends ILabeledInstance> extends AbstractList<I> implements ILabeledDataset<I>, IReconstructible {
+
+	private final List<ReconstructionInstruction> instructions = new ArrayList<>();
+	private final ILabeledDataset<? extends I> parent;
+	private final int[] indices;
+
+	/**
+	 * Creates a view on the instances with the given indices in the parent dataset. If the parent itself is a view, the new view refers directly to the dataset underlying the parent view.
+	 *
+	 * @param parent The dataset to create the view on.
+	 * @param indices The indices of the instances in the parent dataset. The array is not copied and must not be modified afterwards.
+	 */
+	@SuppressWarnings("unchecked")
+	public LabeledDatasetView(final ILabeledDataset<? extends I> parent, final int[] indices) {
+		if (parent instanceof LabeledDatasetView) {
+			LabeledDatasetView<? extends I> parentView = (LabeledDatasetView<? extends I>) parent;
+			this.parent = parentView.parent;
+			this.indices = new int[indices.length];
+			for (int i = 0; i < indices.length; i++) {
+				this.indices[i] = parentView.indices[indices[i]];
+			}
+		} else {
+			this.parent = parent;
+			this.indices = indices;
+		}
+		int n = this.parent.size();
+		for (int index : this.indices) {
+			if (index < 0 || index >= n) {
+				throw new IndexOutOfBoundsException("Index " + index + " is not a valid index for the parent dataset of size " + n);
+			}
+		}
+	}
+
+	public ILabeledDataset<? extends I> getParent() {
+		return this.parent;
+	}
+
+	/**
+	 * @return A copy of the indices of the instances of this view in the parent dataset
+	 */
+	public int[] getIndicesInParent() {
+		return Arrays.copyOf(this.indices, this.indices.length);
+	}
+
+	public int getIndexInParent(final int index) {
+		return this.indices[index];
+	}
+
+	@Override
+	public I get(final int index) {
+		return this.parent.get(this.indices[index]);
+	}
+
+	@Override
+	public int size() {
+		return this.indices.length;
+	}
+
+	@Override
+	public ILabeledInstanceSchema getInstanceSchema() {
+		return this.parent.getInstanceSchema();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public ILabeledDataset<I> createEmptyCopy() throws DatasetCreationException, InterruptedException {
+		return (ILabeledDataset<I>) this.parent.createEmptyCopy();
+	}
+
+	@Override
+	public ILabeledDataset<I> createCopy() throws DatasetCreationException, InterruptedException {
+		ILabeledDataset<I> copy = this.createEmptyCopy();
+		for (int index : this.indices) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException("Interrupted while materializing dataset view.");
+			}
+			copy.add(this.parent.get(index));
+		}
+		return copy;
+	}
+
+	@Override
+	public Object[][] getFeatureMatrix() {
+		Object[][] featureMatrix = new Object[this.indices.length][];
+		for (int i = 0; i < this.indices.length; i++) {
+			featureMatrix[i] = this.get(i).getAttributes();
+		}
+		return featureMatrix;
+	}
+
+	@Override
+	public Object[] getLabelVector() {
+		Object[] labels = new Object[this.indices.length];
+		for (int i = 0; i < this.indices.length; i++) {
+			labels[i] = this.get(i).getLabel();
+		}
+		return labels;
+	}
+
+	@Override
+	public void removeColumn(final int columnPos) {
+		throw new UnsupportedOperationException("Cannot remove columns from a dataset view.");
+	}
+
+	@Override
+	public void removeColumn(final String columnName) {
+		throw new UnsupportedOperationException("Cannot remove columns from a dataset view.");
+	}
+
+	@Override
+	public void removeColumn(final IAttribute attribute) {
+		throw new UnsupportedOperationException("Cannot remove columns from a dataset view.");
+	}
+
+	@Override
+	public IReconstructionPlan getConstructionPlan() {
+		return new ReconstructionPlan(this.instructions);
+	}
+
+	@Override
+	public void addInstruction(final IReconstructionInstruction instruction) {
+		this.instructions.add((ReconstructionInstruction) instruction);
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		ILabeledInstanceSchema schema = this.getInstanceSchema();
+		result = prime * result + ((schema == null) ? 0 : schema.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		if (this.getClass() != obj.getClass()) {
+			return false;
+		}
+		LabeledDatasetView<?> other = (LabeledDatasetView<?>) obj;
+		ILabeledInstanceSchema schema = this.getInstanceSchema();
+		if (schema == null) {
+			if (other.getInstanceSchema() != null) {
+				return false;
+			}
+		} else if (!schema.equals(other.getInstanceSchema())) {
+			return false;
+		}
+		return true;
+	}
+}
@@ -127,7 +127,7 @@ public class IntBasedCategoricalAttribute extends AAttribute implements ICategor
 		if (!(value instanceof Integer)) {
 			throw new IllegalArgumentException();
 		}
-		return (double)value;
+		return ((Integer) value).doubleValue();
 	}
 
 	@Override
@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import ai.libs.jaicore.basic.OptionsParser;
 import ai.libs.jaicore.basic.kvstore.KVStore;
+import ai.libs.jaicore.ml.core.dataset.ColumnarDataset;
 import ai.libs.jaicore.ml.core.dataset.Dataset;
 import ai.libs.jaicore.ml.core.dataset.DenseInstance;
 import ai.libs.jaicore.ml.core.dataset.SparseInstance;
@@ -71,6 +72,7 @@ public class ArffDatasetAdapter implements IDatasetDeserializer<ILabeledDataset<
 
 	private final boolean sparseMode;
 	private IDatasetDescriptor datasetDescriptor = null;
+	private boolean columnarMode = false;
 
 	public ArffDatasetAdapter(final boolean sparseMode, final IDatasetDescriptor datasetDescriptor) {
 		this(sparseMode);
@@ -85,6 +87,19 @@ public class ArffDatasetAdapter implements IDatasetDeserializer<ILabeledDataset<
 		this(false);
 	}
 
+	/**
+	 * If set to true, the datasets read by this adapter are {@link ColumnarDataset}s that store the values in primitive arrays instead of one object per instance. Files are then read by the {@link StreamingArffDatasetReader}.
+	 *
+	 * @param columnarMode Whether datasets are read into a columnar representation.
+	 */
+	public void setColumnarMode(final boolean columnarMode) {
+		this.columnarMode = columnarMode;
+	}
+
+	public boolean isColumnarMode() {
+		return this.columnarMode;
+	}
+
 	public IAttribute getAttributeWithName(final IFileDatasetDescriptor datasetFile, final String nameOfAttribute) throws DatasetDeserializationFailedException {
 		try (BufferedReader br = Files.newBufferedReader(datasetFile.getDatasetDescription().toPath())) {
 			String line;
@@ -345,6 +360,9 @@ public class ArffDatasetAdapter implements IDatasetDeserializer<ILabeledDataset<
 		List<IAttribute> attributeList = new ArrayList<>(attributes);
 		IAttribute labelAttribute = attributeList.remove((int) relationMetaData.getAsInt(K_CLASS_INDEX));
 		ILabeledInstanceSchema schema = new LabeledInstanceSchema(relationMetaData.getAsString(K_RELATION_NAME), attributeList, labelAttribute);
+		if (this.columnarMode) {
+			return new ColumnarDataset(schema);
+		}
 		return new Dataset(schema);
 	}
 
@@ -365,6 +383,16 @@ public class ArffDatasetAdapter implements IDatasetDeserializer<ILabeledDataset<
 	 * @throws DatasetDeserializationFailedException
 	 */
 	public ILabeledDataset<ILabeledInstance> readDataset(final boolean sparseMode, final File datasetFile, final int columnWithClassIndex) throws DatasetDeserializationFailedException {
+		if (this.columnarMode) {
+			StreamingArffDatasetReader reader = new StreamingArffDatasetReader();
+			reader.setLoggerName(this.getLoggerName() + ".reader");
+			try {
+				return reader.readDataset(datasetFile, columnWithClassIndex);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DatasetDeserializationFailedException("Interrupted while reading dataset " + datasetFile, e);
+			}
+		}
 		long timeStart = System.currentTimeMillis();
 		this.logger.info("Reading in dataset {} considering class index {}. Sparse Mode: {}", datasetFile, columnWithClassIndex, sparseMode);
 		String line = null;
@@ -436,6 +464,9 @@ public class ArffDatasetAdapter implements IDatasetDeserializer<ILabeledDataset<
 				}
 			}
 			Objects.requireNonNull(dataset, "Dataset is null, which must not happen!");
+			if (dataset instanceof ColumnarDataset) {
+				((ColumnarDataset) dataset).trimToSize();
+			}
 			long timeEnd = System.currentTimeMillis();
 			this.logger.info("Dataset of size {}x{} read completely. Runtime was {}ms", dataset.size(), dataset.getNumAttributes(), timeEnd - timeStart);
 			return dataset;
@@ -0,0 +1,232 @@
+package ai.libs.jaicore.ml.core.dataset.serialization;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.api4.java.ai.ml.core.dataset.descriptor.IDatasetDescriptor;
+import org.api4.java.ai.ml.core.dataset.descriptor.IFileDatasetDescriptor;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.IAttribute;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.ICategoricalAttribute;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.INumericAttribute;
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.serialization.IDatasetDeserializer;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import ai.libs.jaicore.ml.core.dataset.ColumnarDataset;
+import ai.libs.jaicore.ml.core.dataset.DenseInstance;
+import ai.libs.jaicore.ml.core.dataset.schema.LabeledInstanceSchema;
+import ai.libs.jaicore.ml.core.dataset.schema.attribute.IntBasedCategoricalAttribute;
+import ai.libs.jaicore.ml.core.dataset.schema.attribute.NumericAttribute;
+
+/**
+ * Handles datasets in a binary, column-major format that can be memory-mapped by numpy without any parsing. It is meant for handing datasets over to other processes, in particular python, not as a storage format.
+ *
+ * A file consists of
+ * <ol>
+ * <li>the 8 byte magic string {@value #MAGIC},</li>
+ * <li>the length of the header as an unsigned 4 byte little-endian integer,</li>
+ * <li>the header, which is a UTF-8 encoded JSON object describing the relation name, the number of rows, and the name, type, and (for categorical attributes) the values of every column. It is padded with spaces such that the
+ * payload starts at a multiple of {@value #ALIGNMENT} bytes,</li>
+ * <li>the payload, which are the columns one after another as little-endian doubles. The label is the last column. Categorical values are stored as the index of the value in the domain, and missing values as NaN.</li>
+ * </ol>
+ * In python, the payload can hence be accessed via {@code np.memmap(path, dtype='<f8', mode='r', offset=offset, shape=(rows, columns), order='F')}.
+ *
+ * Only numeric and categorical attributes are supported. Whether a dataset can be written in this format can be checked via {@link #isSerializable(ILabeledDataset)}; otherwise, the {@link ArffDatasetAdapter} has to be used.
+ */
+public class BinaryColumnarDatasetAdapter implements IDatasetDeserializer<ILabeledDataset<ILabeledInstance>> {
+
+	public static final String MAGIC = "JAICOLV1";
+	public static final String FILE_EXTENSION = ".bin";
+	public static final int ALIGNMENT = 64;
+
+	public static final String K_RELATION_NAME = "relation";
+	public static final String K_ROWS = "rows";
+	public static final String K_COLUMNS = "columns";
+	public static final String K_LABEL_COLUMN = "label";
+	public static final String K_NAME = "name";
+	public static final String K_TYPE = "type";
+	public static final String K_VALUES = "values";
+	public static final String V_NUMERIC = "numeric";
+	public static final String V_CATEGORICAL = "categorical";
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	/**
+	 * @param data The dataset to be checked.
+	 * @return true iff all attributes and the label of the dataset are numeric or categorical.
+	 */
+	public static boolean isSerializable(final ILabeledDataset<? extends ILabeledInstance> data) {
+		if (!isSupportedAttribute(data.getLabelAttribute())) {
+			return false;
+		}
+		return data.getInstanceSchema().getAttributeList().stream().allMatch(BinaryColumnarDatasetAdapter::isSupportedAttribute);
+	}
+
+	private static boolean isSupportedAttribute(final IAttribute att) {
+		return att instanceof INumericAttribute || att instanceof ICategoricalAttribute;
+	}
+
+	public void serializeDataset(final File outputFile, final ILabeledDataset<? extends ILabeledInstance> data) throws IOException {
+		if (!isSerializable(data)) {
+			throw new IllegalArgumentException("Only datasets with numeric and categorical attributes can be serialized into the binary columnar format.");
+		}
+		List<IAttribute> attributes = new ArrayList<>(data.getInstanceSchema().getAttributeList());
+		attributes.add(data.getLabelAttribute());
+		int numRows = data.size();
+
+		try (FileChannel channel = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			write(channel, ByteBuffer.wrap(this.getHeader(data.getRelationName(), numRows, attributes)));
+			int numColumns = attributes.size();
+			for (int j = 0; j < numColumns; j++) {
+				IAttribute att = attributes.get(j);
+				boolean isLabel = j == numColumns - 1;
+				for (int i = 0; i < numRows; i++) {
+					if (!buffer.hasRemaining()) {
+						buffer.flip();
+						write(channel, buffer);
+						buffer.clear();
+					}
+					buffer.putDouble(getValue(data, att, i, j, isLabel));
+				}
+			}
+			buffer.flip();
+			write(channel, buffer);
+		}
+	}
+
+	/**
+	 * Columnar datasets hand out their primitive values directly; for all other datasets, the value is taken from the instance.
+	 */
+	private static double getValue(final ILabeledDataset<? extends ILabeledInstance> data, final IAttribute att, final int row, final int column, final boolean isLabel) {
+		if (data instanceof ColumnarDataset) {
+			return ((ColumnarDataset) data).getValueOrNaN(row, column);
+		}
+		ILabeledInstance instance = data.get(row);
+		Object value = isLabel ? instance.getLabel() : instance.getAttributeValue(column);
+		return value != null ? att.toDouble(value) : Double.NaN;
+	}
+
+	private static void write(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private byte[] getHeader(final String relationName, final int numRows, final List<IAttribute> attributes) throws IOException {
+		ObjectNode header = MAPPER.createObjectNode();
+		header.put(K_RELATION_NAME, relationName);
+		header.put(K_ROWS, numRows);
+		header.put(K_LABEL_COLUMN, attributes.size() - 1);
+		ArrayNode columns = header.putArray(K_COLUMNS);
+		for (IAttribute att : attributes) {
+			ObjectNode column = columns.addObject();
+			column.put(K_NAME, att.getName());
+			if (att instanceof ICategoricalAttribute) {
+				column.put(K_TYPE, V_CATEGORICAL);
+				ArrayNode values = column.putArray(K_VALUES);
+				((ICategoricalAttribute) att).getLabels().forEach(values::add);
+			} else {
+				column.put(K_TYPE, V_NUMERIC);
+			}
+		}
+		byte[] json = MAPPER.writeValueAsBytes(header);
+
+		/* pad the header with spaces such that the payload is aligned */
+		int prefixLength = MAGIC.length() + Integer.BYTES;
+		int headerLength = json.length + (ALIGNMENT - (prefixLength + json.length) % ALIGNMENT) % ALIGNMENT;
+		ByteBuffer bytes = ByteBuffer.allocate(prefixLength + headerLength).order(ByteOrder.LITTLE_ENDIAN);
+		bytes.put(MAGIC.getBytes(StandardCharsets.US_ASCII));
+		bytes.putInt(headerLength);
+		bytes.put(json);
+		while (bytes.hasRemaining()) {
+			bytes.put((byte) ' ');
+		}
+		return bytes.array();
+	}
+
+	@Override
+	public ILabeledDataset<ILabeledInstance> deserializeDataset(final IDatasetDescriptor datasetDescriptor) throws DatasetDeserializationFailedException, InterruptedException {
+		if (!(datasetDescriptor instanceof IFileDatasetDescriptor)) {
+			throw new DatasetDeserializationFailedException("Cannot handle dataset descriptor of type " + datasetDescriptor.getClass().getName());
+		}
+		return this.deserializeDataset(((IFileDatasetDescriptor) datasetDescriptor).getDatasetDescription());
+	}
+
+	public ILabeledDataset<ILabeledInstance> deserializeDataset(final File file) throws DatasetDeserializationFailedException, InterruptedException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new DatasetDeserializationFailedException("Reading binary columnar files larger than 2GB is not supported.");
+			}
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			mapped.order(ByteOrder.LITTLE_ENDIAN);
+			byte[] magic = new byte[MAGIC.length()];
+			mapped.get(magic);
+			if (!Arrays.equals(magic, MAGIC.getBytes(StandardCharsets.US_ASCII))) {
+				throw new DatasetDeserializationFailedException("File " + file + " is not in the binary columnar format.");
+			}
+			byte[] json = new byte[mapped.getInt()];
+			mapped.get(json);
+			JsonNode header = MAPPER.readTree(json);
+
+			int numRows = header.get(K_ROWS).asInt();
+			List<IAttribute> attributes = new ArrayList<>();
+			for (JsonNode column : header.get(K_COLUMNS)) {
+				String name = column.get(K_NAME).asText();
+				if (V_CATEGORICAL.equals(column.get(K_TYPE).asText())) {
+					List<String> values = new ArrayList<>();
+					column.get(K_VALUES).forEach(v -> values.add(v.asText()));
+					attributes.add(new IntBasedCategoricalAttribute(name, values));
+				} else {
+					attributes.add(new NumericAttribute(name));
+				}
+			}
+			int numColumns = attributes.size();
+			int labelColumn = header.get(K_LABEL_COLUMN).asInt();
+			if (labelColumn != numColumns - 1) {
+				throw new DatasetDeserializationFailedException("The label has to be the last column but is column " + labelColumn);
+			}
+			IAttribute labelAttribute = attributes.remove(labelColumn);
+
+			/* read the payload column by column into a row-wise representation */
+			Object[][] rows = new Object[numRows][numColumns];
+			int offset = mapped.position();
+			for (int j = 0; j < numColumns; j++) {
+				boolean categorical = j == labelColumn ? labelAttribute instanceof ICategoricalAttribute : attributes.get(j) instanceof ICategoricalAttribute;
+				for (int i = 0; i < numRows; i++) {
+					double value = mapped.getDouble(offset + (j * numRows + i) * Double.BYTES);
+					if (!Double.isNaN(value)) {
+						rows[i][j] = categorical ? (Object) (int) value : (Object) value;
+					}
+				}
+				if (Thread.interrupted()) {
+					throw new InterruptedException("Interrupted while reading the binary columnar dataset.");
+				}
+			}
+
+			ColumnarDataset dataset = new ColumnarDataset(new LabeledInstanceSchema(header.get(K_RELATION_NAME).asText(), attributes, labelAttribute), numRows);
+			for (Object[] row : rows) {
+				dataset.add(new DenseInstance(Arrays.copyOf(row, numColumns - 1), row[numColumns - 1]));
+			}
+			return dataset;
+		} catch (IOException | RuntimeException e) {
+			throw new DatasetDeserializationFailedException(e);
+		}
+	}
+}
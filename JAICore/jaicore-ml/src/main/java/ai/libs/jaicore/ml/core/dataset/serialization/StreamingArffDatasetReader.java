@@ -0,0 +1,754 @@
+package ai.libs.jaicore.ml.core.dataset.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.api4.java.ai.ml.core.dataset.schema.ILabeledInstanceSchema;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.IAttribute;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.ICategoricalAttribute;
+import org.api4.java.ai.ml.core.dataset.schema.attribute.INumericAttribute;
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.serialization.UnsupportedAttributeTypeException;
+import org.api4.java.common.control.ILoggingCustomizable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.libs.jaicore.basic.kvstore.KVStore;
+import ai.libs.jaicore.ml.core.dataset.ColumnarDataset;
+import ai.libs.jaicore.ml.core.dataset.schema.LabeledInstanceSchema;
+import ai.libs.jaicore.ml.core.dataset.serialization.arff.EArffItem;
+
+/**
+ * Reads ARFF files into a {@link ColumnarDataset} with a hand-written tokenizer that works on the raw bytes of the file.
+ *
+ * In contrast to the {@link ArffDatasetAdapter}, lines are neither decoded into strings nor split by regular expressions, and numeric and categorical values are written directly into primitive column buffers. Only values of
+ * other attribute types (e.g. strings) are decoded and deserialized by their attribute.
+ *
+ * The data section can be read through a {@link FileChannel} with a fixed-size buffer (default) or memory-mapped. Large files can be split into chunks at line boundaries that are parsed in parallel and concatenated afterwards.
+ */
+public class StreamingArffDatasetReader implements ILoggingCustomizable {
+
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+	private static final long MIN_PARALLEL_CHUNK_SIZE = 1L << 22;
+	private static final long MAX_MAPPED_CHUNK_SIZE = 1L << 30;
+	private static final int INTERRUPT_CHECK_INTERVAL = 0xFFFF;
+
+	private static final byte TYPE_NUMERIC = 0;
+	private static final byte TYPE_CATEGORICAL = 1;
+	private static final byte TYPE_OBJECT = 2;
+
+	private static final int MISSING_CATEGORY = -1;
+	private static final int INITIAL_CELLS = 1 << 22; // upper bound for the cells initially allocated per chunk
+	private static final int MAX_FAST_PATH_DIGITS = 15;
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private Logger logger = LoggerFactory.getLogger(StreamingArffDatasetReader.class);
+	private final ArffDatasetAdapter headerParser = new ArffDatasetAdapter();
+
+	private int numThreads = 1;
+	private boolean memoryMapped = false;
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	/**
+	 * @param numThreads The number of threads used to parse the data section. Files are only split into chunks of at least 4MB, so small files are always parsed by a single thread.
+	 */
+	public void setNumThreads(final int numThreads) {
+		if (numThreads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive but is " + numThreads);
+		}
+		this.numThreads = numThreads;
+	}
+
+	public int getNumThreads() {
+		return this.numThreads;
+	}
+
+	/**
+	 * @param memoryMapped If true, the data section is memory-mapped (in chunks of at most 1GB) instead of being read into a buffer.
+	 */
+	public void setMemoryMapped(final boolean memoryMapped) {
+		this.memoryMapped = memoryMapped;
+	}
+
+	public boolean isMemoryMapped() {
+		return this.memoryMapped;
+	}
+
+	public void setBufferSize(final int bufferSize) {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("The buffer size must be positive but is " + bufferSize);
+		}
+		this.bufferSize = bufferSize;
+	}
+
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	public ColumnarDataset readDataset(final File datasetFile) throws DatasetDeserializationFailedException, InterruptedException {
+		return this.readDataset(datasetFile, -1);
+	}
+
+	/**
+	 * @param datasetFile The ARFF file to read.
+	 * @param columnWithClassIndex The index of the column holding the label. If negative, the class index given in the relation name is used and the last column if there is none.
+	 * @return The dataset.
+	 */
+	public ColumnarDataset readDataset(final File datasetFile, final int columnWithClassIndex) throws DatasetDeserializationFailedException, InterruptedException {
+		long timeStart = System.currentTimeMillis();
+		try (FileChannel channel = FileChannel.open(datasetFile.toPath(), StandardOpenOption.READ)) {
+			Header header = this.readHeader(channel, columnWithClassIndex);
+			List<long[]> chunks = this.getChunks(channel, header.dataOffset, channel.size());
+			this.logger.debug("Parsing data section of {} in {} chunk(s). Memory-mapped: {}", datasetFile, chunks.size(), this.memoryMapped);
+			List<ChunkParser> parsedChunks = this.parseChunks(channel, header, chunks);
+			ColumnarDataset dataset = this.merge(header, parsedChunks);
+			long runtime = Math.max(1, System.currentTimeMillis() - timeStart);
+			this.logger.info("Dataset of size {}x{} read completely. Runtime was {}ms ({} MB/s)", dataset.size(), dataset.getNumAttributes(), runtime, String.format("%.2f", channel.size() / 1024.0 / 1024.0 / (runtime / 1000.0)));
+			return dataset;
+		} catch (IOException | UnsupportedAttributeTypeException | RuntimeException e) {
+			throw new DatasetDeserializationFailedException("Could not deserialize dataset from ARFF file " + datasetFile, e);
+		}
+	}
+
+	private Header readHeader(final FileChannel channel, final int columnWithClassIndex) throws IOException, UnsupportedAttributeTypeException, DatasetDeserializationFailedException {
+		ByteBuffer buffer = ByteBuffer.allocate(Math.min(this.bufferSize, 1 << 16));
+		ByteArrayOutputStream lineBytes = new ByteArrayOutputStream();
+		KVStore relationMetaData = new KVStore();
+		List<IAttribute> attributes = new ArrayList<>();
+		long position = 0;
+		long size = channel.size();
+		while (position <= size) {
+			buffer.clear();
+			int read = position < size ? channel.read(buffer, position) : -1;
+			int end = Math.max(read, 0);
+			for (int i = 0; i <= end; i++) {
+				boolean endOfLine = i < end ? buffer.get(i) == '\n' : read < 0;
+				if (!endOfLine) {
+					if (i < end) {
+						lineBytes.write(buffer.get(i));
+					}
+					continue;
+				}
+				String line = new String(lineBytes.toByteArray(), StandardCharsets.UTF_8).trim();
+				lineBytes.reset();
+				String lowerCaseLine = line.toLowerCase();
+				if (line.isEmpty() || line.startsWith("%")) {
+					continue;
+				}
+				if (lowerCaseLine.startsWith(EArffItem.RELATION.getValue())) {
+					relationMetaData = this.headerParser.parseRelation(line);
+				} else if (lowerCaseLine.startsWith(EArffItem.ATTRIBUTE.getValue())) {
+					attributes.add(this.headerParser.parseAttribute(line));
+				} else if (lowerCaseLine.startsWith(EArffItem.DATA.getValue())) {
+					if (!lowerCaseLine.equals(EArffItem.DATA.getValue())) {
+						throw new IllegalArgumentException("There is more in the line than just the data declaration " + EArffItem.DATA.getValue() + ", which is not supported");
+					}
+					return new Header(relationMetaData, attributes, columnWithClassIndex, Math.min(position + i + 1, size));
+				}
+			}
+			if (read < 0) {
+				break;
+			}
+			position += read;
+		}
+		throw new DatasetDeserializationFailedException("The file does not contain a " + EArffItem.DATA.getValue() + " section.");
+	}
+
+	/**
+	 * Splits the data section into chunks that start at line beginnings.
+	 */
+	private List<long[]> getChunks(final FileChannel channel, final long start, final long end) throws IOException {
+		List<long[]> chunks = new ArrayList<>();
+		long length = end - start;
+		if (length <= 0) {
+			return chunks;
+		}
+		long numChunks = Math.max(1, Math.min(this.numThreads, length / MIN_PARALLEL_CHUNK_SIZE));
+		if (this.memoryMapped) {
+			numChunks = Math.max(numChunks, (length + MAX_MAPPED_CHUNK_SIZE - 1) / MAX_MAPPED_CHUNK_SIZE);
+		}
+		long chunkStart = start;
+		for (long c = 1; c < numChunks && chunkStart < end; c++) {
+			long cut = this.findNextLineStart(channel, Math.max(chunkStart, start + length / numChunks * c), end);
+			if (cut > chunkStart && cut < end) {
+				chunks.add(new long[] { chunkStart, cut });
+				chunkStart = cut;
+			}
+		}
+		chunks.add(new long[] { chunkStart, end });
+		return chunks;
+	}
+
+	private long findNextLineStart(final FileChannel channel, final long position, final long end) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+		long current = position - 1; // if the previous byte is a line break, the position is a line start already
+		while (current < end) {
+			buffer.clear();
+			int read = channel.read(buffer, current);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return current + i + 1;
+				}
+			}
+			current += read;
+		}
+		return end;
+	}
+
+	private List<ChunkParser> parseChunks(final FileChannel channel, final Header header, final List<long[]> chunks) throws IOException, InterruptedException {
+		List<ChunkParser> parsers = new ArrayList<>(chunks.size());
+		for (long[] chunk : chunks) {
+			/* every value takes at least two bytes (including the separator), which bounds the number of rows for dense data */
+			parsers.add(new ChunkParser(header, chunk[0], (int) Math.min(Integer.MAX_VALUE, (chunk[1] - chunk[0]) / (2L * Math.max(1, header.types.length)))));
+		}
+		if (parsers.size() == 1 || this.numThreads == 1) {
+			for (int c = 0; c < parsers.size(); c++) {
+				this.parseChunk(channel, parsers.get(c), chunks.get(c)[1]);
+			}
+			return parsers;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(this.numThreads, parsers.size()));
+		try {
+			List<Future<Void>> futures = new ArrayList<>(parsers.size());
+			for (int c = 0; c < parsers.size(); c++) {
+				ChunkParser parser = parsers.get(c);
+				long chunkEnd = chunks.get(c)[1];
+				futures.add(pool.submit(() -> {
+					this.parseChunk(channel, parser, chunkEnd);
+					return null;
+				}));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+			return parsers;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof InterruptedException) {
+				throw (InterruptedException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private void parseChunk(final FileChannel channel, final ChunkParser parser, final long end) throws IOException, InterruptedException {
+		long start = parser.chunkStart;
+		if (this.memoryMapped) {
+			parser.parseLines(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start), start, 0, (int) (end - start), true);
+			return;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(this.bufferSize, end - start));
+		long position = start;
+		while (position < end) {
+			if (!buffer.hasRemaining()) { // a single line does not fit into the buffer
+				buffer.flip();
+				buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+			}
+			buffer.limit(buffer.position() + (int) Math.min(buffer.remaining(), end - position));
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				break;
+			}
+			position += read;
+			buffer.flip();
+			int consumed = parser.parseLines(buffer, position - buffer.limit(), 0, buffer.limit(), position >= end);
+			buffer.position(consumed);
+			buffer.compact();
+			if (Thread.interrupted()) {
+				throw new InterruptedException("Interrupted while reading ARFF file.");
+			}
+		}
+	}
+
+	private ColumnarDataset merge(final Header header, final List<ChunkParser> parsers) {
+		int numRows = 0;
+		for (ChunkParser parser : parsers) {
+			numRows += parser.numRows;
+		}
+		int numColumns = header.attributes.size();
+		List<Object> columns = new ArrayList<>(numColumns - 1);
+		Object labelColumn = null;
+		for (int col = 0; col < numColumns; col++) {
+			Object merged;
+			if (parsers.size() == 1) {
+				merged = trim(parsers.get(0).columns[col], numRows);
+			} else {
+				merged = allocate(header.types[col], numRows);
+				int offset = 0;
+				for (ChunkParser parser : parsers) {
+					System.arraycopy(parser.columns[col], 0, merged, offset, parser.numRows);
+					offset += parser.numRows;
+				}
+			}
+			if (col == header.classIndex) {
+				labelColumn = merged;
+			} else {
+				columns.add(merged);
+			}
+		}
+		return ColumnarDataset.ofColumns(header.schema, numRows, columns, labelColumn);
+	}
+
+	private static Object allocate(final byte type, final int capacity) {
+		switch (type) {
+		case TYPE_NUMERIC:
+			return new double[capacity];
+		case TYPE_CATEGORICAL:
+			return new int[capacity];
+		default:
+			return new Object[capacity];
+		}
+	}
+
+	private static Object trim(final Object column, final int length) {
+		if (column instanceof double[]) {
+			return ((double[]) column).length == length ? column : Arrays.copyOf((double[]) column, length);
+		}
+		if (column instanceof int[]) {
+			return ((int[]) column).length == length ? column : Arrays.copyOf((int[]) column, length);
+		}
+		return ((Object[]) column).length == length ? column : Arrays.copyOf((Object[]) column, length);
+	}
+
+	private static boolean isWhitespace(final byte b) {
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+
+	/**
+	 * Parses a decimal number with at most 15 significant digits and a decimal exponent of at most 22 exactly (a single correctly rounded multiplication or division). All other numbers are handed to {@link Double#parseDouble(String)}.
+	 */
+	static double parseDouble(final ByteBuffer buffer, final int start, final int end) {
+		int p = start;
+		boolean negative = false;
+		if (p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+			negative = buffer.get(p) == '-';
+			p++;
+		}
+		long mantissa = 0;
+		int significantDigits = 0;
+		int exponent = 0;
+		boolean hasDigits = false;
+		boolean inFraction = false;
+		for (; p < end; p++) {
+			byte c = buffer.get(p);
+			if (c >= '0' && c <= '9') {
+				hasDigits = true;
+				if (mantissa != 0 || c != '0') {
+					significantDigits++;
+				}
+				if (significantDigits <= MAX_FAST_PATH_DIGITS) {
+					mantissa = mantissa * 10 + (c - '0');
+					if (inFraction) {
+						exponent--;
+					}
+				} else if (!inFraction) {
+					exponent++;
+				}
+			} else if (c == '.' && !inFraction) {
+				inFraction = true;
+			} else {
+				break;
+			}
+		}
+		if (hasDigits && p < end && (buffer.get(p) == 'e' || buffer.get(p) == 'E')) {
+			p++;
+			boolean negativeExponent = false;
+			if (p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+				negativeExponent = buffer.get(p) == '-';
+				p++;
+			}
+			int explicitExponent = 0;
+			boolean hasExponentDigits = false;
+			for (; p < end && buffer.get(p) >= '0' && buffer.get(p) <= '9'; p++) {
+				hasExponentDigits = true;
+				explicitExponent = Math.min(explicitExponent * 10 + (buffer.get(p) - '0'), 1000);
+			}
+			if (!hasExponentDigits) {
+				return parseDoubleFallback(buffer, start, end);
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		if (!hasDigits || p != end || significantDigits > MAX_FAST_PATH_DIGITS || exponent < -22 || exponent > 22) {
+			return parseDoubleFallback(buffer, start, end);
+		}
+		double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+		return negative ? -value : value;
+	}
+
+	private static double parseDoubleFallback(final ByteBuffer buffer, final int start, final int end) {
+		String value = decode(buffer, start, end);
+		if (value.equals("null")) {
+			return Double.NaN;
+		}
+		return Double.parseDouble(value);
+	}
+
+	private static String decode(final ByteBuffer buffer, final int start, final int end) {
+		byte[] bytes = new byte[end - start];
+		for (int i = start; i < end; i++) {
+			bytes[i - start] = buffer.get(i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static String unescape(final String value) {
+		StringBuilder sb = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length()) {
+				c = value.charAt(++i);
+			}
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String getLoggerName() {
+		return this.logger.getName();
+	}
+
+	@Override
+	public void setLoggerName(final String name) {
+		this.logger = LoggerFactory.getLogger(name);
+	}
+
+	/**
+	 * The schema of the file and the representation of its columns.
+	 */
+	private static class Header {
+		private final List<IAttribute> attributes;
+		private final int classIndex;
+		private final ILabeledInstanceSchema schema;
+		private final long dataOffset;
+		private final byte[] types;
+		private final CategoryLookup[] lookups;
+
+		public Header(final KVStore relationMetaData, final List<IAttribute> attributes, final int columnWithClassIndex, final long dataOffset) {
+			this.attributes = attributes;
+			if (columnWithClassIndex >= 0) {
+				this.classIndex = columnWithClassIndex;
+			} else if (relationMetaData.containsKey(ArffDatasetAdapter.K_CLASS_INDEX) && relationMetaData.getAsInt(ArffDatasetAdapter.K_CLASS_INDEX) >= 0) {
+				this.classIndex = relationMetaData.getAsInt(ArffDatasetAdapter.K_CLASS_INDEX);
+			} else {
+				this.classIndex = attributes.size() - 1;
+			}
+			if (this.classIndex >= attributes.size()) {
+				throw new IllegalArgumentException("The class index " + this.classIndex + " exceeds the number of attributes " + attributes.size());
+			}
+			List<IAttribute> attributeList = new ArrayList<>(attributes);
+			IAttribute labelAttribute = attributeList.remove(this.classIndex);
+			this.schema = new LabeledInstanceSchema(relationMetaData.getAsString(ArffDatasetAdapter.K_RELATION_NAME), attributeList, labelAttribute);
+			this.dataOffset = dataOffset;
+			this.types = new byte[attributes.size()];
+			this.lookups = new CategoryLookup[attributes.size()];
+			for (int col = 0; col < attributes.size(); col++) {
+				IAttribute att = attributes.get(col);
+				if (att instanceof INumericAttribute) {
+					this.types[col] = TYPE_NUMERIC;
+				} else if (att instanceof ICategoricalAttribute) {
+					this.types[col] = TYPE_CATEGORICAL;
+					this.lookups[col] = new CategoryLookup(((ICategoricalAttribute) att).getLabels());
+				} else {
+					this.types[col] = TYPE_OBJECT;
+				}
+			}
+		}
+	}
+
+	/**
+	 * An open addressing hash table from the UTF-8 bytes of the categories to their index, so that categorical values can be looked up without decoding them into strings.
+	 */
+	private static class CategoryLookup {
+		private final List<String> labels;
+		private final byte[][] values;
+		private final int[] table;
+		private final int mask;
+
+		public CategoryLookup(final List<String> labels) {
+			this.labels = labels;
+			this.values = new byte[labels.size()][];
+			this.mask = Integer.highestOneBit(Math.max(1, labels.size()) * 2) * 2 - 1;
+			this.table = new int[this.mask + 1];
+			for (int i = 0; i < labels.size(); i++) {
+				this.values[i] = labels.get(i).getBytes(StandardCharsets.UTF_8);
+				ByteBuffer wrapped = ByteBuffer.wrap(this.values[i]);
+				int slot = hash(wrapped, 0, this.values[i].length) & this.mask;
+				while (this.table[slot] != 0) {
+					slot = (slot + 1) & this.mask;
+				}
+				this.table[slot] = i + 1;
+			}
+		}
+
+		private static int hash(final ByteBuffer buffer, final int start, final int end) {
+			int h = 1;
+			for (int i = start; i < end; i++) {
+				h = 31 * h + buffer.get(i);
+			}
+			return h ^ (h >>> 16);
+		}
+
+		public int indexOf(final ByteBuffer buffer, final int start, final int end) {
+			int length = end - start;
+			for (int slot = hash(buffer, start, end) & this.mask; this.table[slot] != 0; slot = (slot + 1) & this.mask) {
+				byte[] candidate = this.values[this.table[slot] - 1];
+				if (candidate.length == length && this.matches(candidate, buffer, start)) {
+					return this.table[slot] - 1;
+				}
+			}
+			return MISSING_CATEGORY;
+		}
+
+		private boolean matches(final byte[] candidate, final ByteBuffer buffer, final int start) {
+			for (int i = 0; i < candidate.length; i++) {
+				if (candidate[i] != buffer.get(start + i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public int indexOf(final String value) {
+			int index = this.labels.indexOf(value);
+			return index >= 0 ? index : MISSING_CATEGORY;
+		}
+	}
+
+	/**
+	 * Parses the lines of one chunk of the data section into growing column buffers. Rows are zero-initialized, which makes them correspond to the default values of sparse instances.
+	 */
+	private static class ChunkParser {
+		private final Header header;
+		private final long chunkStart;
+		private final Object[] columns;
+		private int capacity;
+		private int numRows = 0;
+
+		/* position of the current buffer in the file (for error messages) */
+		private long bufferOffset;
+
+		/* bounds of the last token read, excluding quotes */
+		private int tokenStart;
+		private int tokenEnd;
+		private boolean tokenQuoted;
+		private boolean tokenEscaped;
+
+		public ChunkParser(final Header header, final long chunkStart, final int expectedNumRows) {
+			this.header = header;
+			this.chunkStart = chunkStart;
+			this.capacity = Math.max(16, Math.min(expectedNumRows, INITIAL_CELLS / Math.max(1, header.types.length)));
+			this.columns = new Object[header.types.length];
+			for (int col = 0; col < this.columns.length; col++) {
+				this.columns[col] = allocate(header.types[col], this.capacity);
+			}
+		}
+
+		/**
+		 * Parses all complete lines in [from, to) of the buffer, and also the last incomplete one if this is the last buffer.
+		 *
+		 * @return The index of the first byte that has not been consumed.
+		 */
+		public int parseLines(final ByteBuffer buffer, final long bufferOffset, final int from, final int to, final boolean isLast) throws InterruptedException {
+			this.bufferOffset = bufferOffset;
+			int lineStart = from;
+			for (int i = from; i < to; i++) {
+				if (buffer.get(i) == '\n') {
+					this.parseLine(buffer, lineStart, i);
+					lineStart = i + 1;
+				}
+			}
+			if (isLast && lineStart < to) {
+				this.parseLine(buffer, lineStart, to);
+				lineStart = to;
+			}
+			return lineStart;
+		}
+
+		private void parseLine(final ByteBuffer buffer, final int start, final int end) throws InterruptedException {
+			int p = this.skipWhitespace(buffer, start, end);
+			if (p >= end || buffer.get(p) == '%') {
+				return;
+			}
+			if (this.numRows == this.capacity) {
+				this.grow();
+			}
+			if (buffer.get(p) == '{') {
+				this.parseSparseLine(buffer, p + 1, end, start);
+			} else {
+				this.parseDenseLine(buffer, p, end, start);
+			}
+			this.numRows++;
+			if ((this.numRows & INTERRUPT_CHECK_INTERVAL) == 0 && Thread.currentThread().isInterrupted()) {
+				throw new InterruptedException("Interrupted while reading ARFF file.");
+			}
+		}
+
+		private void parseDenseLine(final ByteBuffer buffer, final int start, final int end, final int lineStart) {
+			int numColumns = this.columns.length;
+			int p = start;
+			for (int col = 0; col < numColumns; col++) {
+				p = this.readToken(buffer, this.skipWhitespace(buffer, p, end), end, false, lineStart);
+				this.setValue(buffer, col, lineStart);
+				if (col < numColumns - 1) {
+					if (p >= end || buffer.get(p) != ',') {
+						throw this.error("Expected " + numColumns + " values but found only " + (col + 1), lineStart);
+					}
+					p++;
+				}
+			}
+			p = this.skipWhitespace(buffer, p, end);
+			if (p < end && buffer.get(p) != '%') {
+				throw this.error("Expected " + numColumns + " values but found more", lineStart);
+			}
+		}
+
+		private void parseSparseLine(final ByteBuffer buffer, final int start, final int end, final int lineStart) {
+			int p = this.skipWhitespace(buffer, start, end);
+			while (p < end && buffer.get(p) != '}') {
+				int col = 0;
+				boolean hasDigits = false;
+				for (; p < end && buffer.get(p) >= '0' && buffer.get(p) <= '9'; p++) {
+					col = col * 10 + (buffer.get(p) - '0');
+					hasDigits = true;
+				}
+				if (!hasDigits || col >= this.columns.length) {
+					throw this.error("Invalid attribute index in sparse instance", lineStart);
+				}
+				p = this.readToken(buffer, this.skipWhitespace(buffer, p, end), end, true, lineStart);
+				this.setValue(buffer, col, lineStart);
+				if (p < end && buffer.get(p) == ',') {
+					p = this.skipWhitespace(buffer, p + 1, end);
+				} else if (p >= end || buffer.get(p) != '}') {
+					throw this.error("Expected , or } in sparse instance", lineStart);
+				}
+			}
+		}
+
+		private int skipWhitespace(final ByteBuffer buffer, final int start, final int end) {
+			int p = start;
+			while (p < end && isWhitespace(buffer.get(p))) {
+				p++;
+			}
+			return p;
+		}
+
+		/**
+		 * Reads a (possibly quoted) token starting at the given position.
+		 *
+		 * @return The position of the separator following the token or the end.
+		 */
+		private int readToken(final ByteBuffer buffer, final int start, final int end, final boolean sparse, final int lineStart) {
+			byte first = start < end ? buffer.get(start) : 0;
+			if (first == '\'' || first == '"') {
+				int q = start + 1;
+				boolean escaped = false;
+				while (q < end && buffer.get(q) != first) {
+					if (buffer.get(q) == '\\') {
+						escaped = true;
+						q++;
+					}
+					q++;
+				}
+				if (q >= end) {
+					throw this.error("Unterminated quote", lineStart);
+				}
+				this.tokenStart = start + 1;
+				this.tokenEnd = q;
+				this.tokenQuoted = true;
+				this.tokenEscaped = escaped;
+				return this.skipWhitespace(buffer, q + 1, end);
+			}
+			int q = start;
+			while (q < end) {
+				byte c = buffer.get(q);
+				if (c == ',' || (sparse && c == '}')) {
+					break;
+				}
+				q++;
+			}
+			int tokenEndWithoutWhitespace = q;
+			while (tokenEndWithoutWhitespace > start && isWhitespace(buffer.get(tokenEndWithoutWhitespace - 1))) {
+				tokenEndWithoutWhitespace--;
+			}
+			this.tokenStart = start;
+			this.tokenEnd = tokenEndWithoutWhitespace;
+			this.tokenQuoted = false;
+			this.tokenEscaped = false;
+			return q;
+		}
+
+		private void setValue(final ByteBuffer buffer, final int col, final int lineStart) {
+			boolean missing = !this.tokenQuoted && this.tokenEnd - this.tokenStart == 1 && buffer.get(this.tokenStart) == '?';
+			try {
+				switch (this.header.types[col]) {
+				case TYPE_NUMERIC:
+					((double[]) this.columns[col])[this.numRows] = missing ? Double.NaN : parseDouble(buffer, this.tokenStart, this.tokenEnd);
+					break;
+				case TYPE_CATEGORICAL:
+					int category;
+					if (missing) {
+						category = MISSING_CATEGORY;
+					} else if (this.tokenEscaped) {
+						category = this.header.lookups[col].indexOf(unescape(decode(buffer, this.tokenStart, this.tokenEnd)));
+					} else {
+						category = this.header.lookups[col].indexOf(buffer, this.tokenStart, this.tokenEnd);
+					}
+					((int[]) this.columns[col])[this.numRows] = category;
+					break;
+				default:
+					/* other attribute types receive the raw token (including quotes) as in the ArffDatasetAdapter */
+					int rawStart = this.tokenQuoted ? this.tokenStart - 1 : this.tokenStart;
+					int rawEnd = this.tokenQuoted ? this.tokenEnd + 1 : this.tokenEnd;
+					((Object[]) this.columns[col])[this.numRows] = missing ? null : this.header.attributes.get(col).deserializeAttributeValue(decode(buffer, rawStart, rawEnd));
+					break;
+				}
+			} catch (NumberFormatException e) {
+				throw this.error("Could not parse value " + decode(buffer, this.tokenStart, this.tokenEnd) + " of attribute " + this.header.attributes.get(col).getName(), lineStart);
+			}
+		}
+
+		private void grow() {
+			this.capacity = this.capacity + (this.capacity >> 1) + 1;
+			for (int col = 0; col < this.columns.length; col++) {
+				Object column = this.columns[col];
+				if (column instanceof double[]) {
+					this.columns[col] = Arrays.copyOf((double[]) column, this.capacity);
+				} else if (column instanceof int[]) {
+					this.columns[col] = Arrays.copyOf((int[]) column, this.capacity);
+				} else {
+					this.columns[col] = Arrays.copyOf((Object[]) column, this.capacity);
+				}
+			}
+		}
+
+		private IllegalArgumentException error(final String message, final int lineStart) {
+			return new IllegalArgumentException(message + " in line starting at byte " + (this.bufferOffset + lineStart) + ".");
+		}
+	}
+}
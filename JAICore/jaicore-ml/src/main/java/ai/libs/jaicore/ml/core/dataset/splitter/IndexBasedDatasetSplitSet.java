@@ -0,0 +1,84 @@
+package ai.libs.jaicore.ml.core.dataset.splitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
+
+import ai.libs.jaicore.ml.core.dataset.LabeledDatasetView;
+
+/**
+ * A split set whose folds are read-only {@link LabeledDatasetView}s on one dataset. Each fold is only described by the indices of its instances in the dataset, so no instance is ever copied.
+ *
+ * @param <D> The type of the dataset
+ */
+public class IndexBasedDatasetSplitSet<D extends ILabeledDataset<?>> implements IDatasetSplitSet<D> {
+
+	private final D data;
+	private final List<int[][]> splits = new ArrayList<>();
+	private final List<List<D>> foldsOfSplits = new ArrayList<>();
+
+	public IndexBasedDatasetSplitSet(final D data) {
+		this.data = data;
+	}
+
+	public IndexBasedDatasetSplitSet(final D data, final List<int[][]> splits) {
+		this(data);
+		splits.forEach(this::addSplit);
+	}
+
+	/**
+	 * Adds a split described by the indices of the instances of each fold.
+	 *
+	 * @param foldIndices For each fold, the indices of the instances in the dataset. The arrays are not copied and must not be modified afterwards.
+	 */
+	public synchronized void addSplit(final int[][] foldIndices) {
+		if (!this.splits.isEmpty() && this.splits.get(0).length != foldIndices.length) {
+			throw new IllegalArgumentException("All splits must have the same number of folds. Expected " + this.splits.get(0).length + " but got " + foldIndices.length);
+		}
+		this.splits.add(foldIndices);
+		this.foldsOfSplits.add(null);
+	}
+
+	public D getDataset() {
+		return this.data;
+	}
+
+	@Override
+	public int getNumberOfSplits() {
+		return this.splits.size();
+	}
+
+	@Override
+	public int getNumberOfFoldsPerSplit() {
+		return this.splits.get(0).length;
+	}
+
+	/**
+	 * @return A copy of the indices of the instances of the given fold in the dataset
+	 */
+	public int[] getFoldIndices(final int splitId, final int foldId) {
+		int[] indices = this.splits.get(splitId)[foldId];
+		return Arrays.copyOf(indices, indices.length);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public synchronized List<D> getFolds(final int splitId) {
+		List<D> folds = this.foldsOfSplits.get(splitId);
+		if (folds == null) {
+			int[][] foldIndices = this.splits.get(splitId);
+			folds = new ArrayList<>(foldIndices.length);
+			for (int[] indices : foldIndices) {
+				folds.add((D) new LabeledDatasetView<>((ILabeledDataset<? extends ILabeledInstance>) this.data, indices));
+			}
+			folds = Collections.unmodifiableList(folds);
+			this.foldsOfSplits.set(splitId, folds);
+		}
+		return folds;
+	}
+}
@@ -11,6 +11,7 @@ import org.api4.java.ai.ml.core.dataset.IDataset;
 import org.api4.java.ai.ml.core.dataset.splitter.IFoldSizeConfigurableRandomDatasetSplitter;
 import org.api4.java.ai.ml.core.dataset.splitter.IRandomDatasetSplitter;
 import org.api4.java.ai.ml.core.dataset.splitter.SplitFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
 import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
 import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSetGenerator;
 import org.api4.java.ai.ml.core.exception.DatasetCreationException;
@@ -24,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import ai.libs.jaicore.basic.reconstruction.ReconstructionInstruction;
 import ai.libs.jaicore.basic.reconstruction.ReconstructionUtil;
+import ai.libs.jaicore.ml.core.dataset.LabeledDatasetView;
 import ai.libs.jaicore.ml.core.filter.sampling.inmemory.SimpleRandomSampling;
 
 /**
@@ -37,6 +39,7 @@ public class RandomHoldoutSplitter<D extends IDataset<?>> implements IRandomData
 
 	private final Random rand;
 	private final double[] portions;
+	private final boolean createViews;
 
 	private Logger logger = LoggerFactory.getLogger(RandomHoldoutSplitter.class);
 
@@ -45,6 +48,16 @@ public class RandomHoldoutSplitter<D extends IDataset<?>> implements IRandomData
 	}
 
 	public RandomHoldoutSplitter(final Random rand, final double... portions) {
+		this(rand, false, portions);
+	}
+
+	/**
+	 * @param rand The random source from which the seeds of the splits are drawn
+	 * @param createViews If true, the folds are read-only {@link LabeledDatasetView}s on the split dataset instead of copies. Note that the folds differ from the ones created for the same seed without views.
+	 * @param portions The relative sizes of the folds
+	 */
+	public RandomHoldoutSplitter(final Random rand, final boolean createViews, final double... portions) {
+		this.createViews = createViews;
 		double portionSum = Arrays.stream(portions).sum();
 		if (!(portionSum > 0 && portionSum <= 1.0)) {
 			throw new IllegalArgumentException("The sum of the given portions must not be less or equal 0 or larger than 1. Given portions: " + Arrays.toString(portions));
@@ -126,10 +139,17 @@ public class RandomHoldoutSplitter<D extends IDataset<?>> implements IRandomData
 	}
 
 	private static void addReconstructionInfo(final IDataset<?> data, final IDataset<?> fold, final long seed, final int numFold, final double[] portions) {
+		addReconstructionInfo(data, fold, "getFoldOfSplit", IDataset.class, seed, numFold, portions);
+	}
+
+	/**
+	 * @param dataType The type of the data parameter of the method, which is required to look up the method on reconstruction
+	 */
+	private static void addReconstructionInfo(final IDataset<?> data, final IDataset<?> fold, final String methodName, final Class<?> dataType, final long seed, final int numFold, final double[] portions) {
 		if (data instanceof IReconstructible && ReconstructionUtil.areInstructionsNonEmptyIfReconstructibilityClaimed(data)) { // make data reconstructible, but only if the given data is already reconstructible
 			((IReconstructible) data).getConstructionPlan().getInstructions().forEach(((IReconstructible) fold)::addInstruction);
 			((IReconstructible) fold).addInstruction(
-					new ReconstructionInstruction(RandomHoldoutSplitter.class.getName(), "getFoldOfSplit", new Class<?>[] { IDataset.class, long.class, int.class, double[].class }, new Object[] { "this", seed, numFold, portions }));
+					new ReconstructionInstruction(RandomHoldoutSplitter.class.getName(), methodName, new Class<?>[] { dataType, long.class, int.class, double[].class }, new Object[] { "this", seed, numFold, portions }));
 		}
 	}
 
@@ -137,9 +157,88 @@ public class RandomHoldoutSplitter<D extends IDataset<?>> implements IRandomData
 		return createSplit(data, seed, portions).get(fold);
 	}
 
+	/**
+	 * Computes the indices of the instances of each fold for a random split of a dataset of the given size. The last fold contains all instances not assigned to any of the previous folds.
+	 *
+	 * @param numInstances The number of instances of the dataset to be split
+	 * @param seed The seed for the random permutation of the instances
+	 * @param pPortions The relative sizes of the folds. If they do not sum up to 1, an additional fold for the remaining instances is created.
+	 * @return An array with the indices for each fold
+	 */
+	public static int[][] createSplitIndices(final int numInstances, final long seed, final double... pPortions) {
+		double portionsSum = Arrays.stream(pPortions).sum();
+		if (portionsSum > 1) {
+			throw new IllegalArgumentException("Sum of portions must not be greater than 1.");
+		}
+		final double[] portions;
+		if (portionsSum < 1.0 - 1E-8) {
+			portions = Arrays.copyOf(pPortions, pPortions.length + 1);
+			portions[portions.length - 1] = 1.0 - portionsSum;
+		} else {
+			portions = pPortions;
+		}
+
+		/* shuffle the indices (Fisher-Yates) */
+		int[] permutation = new int[numInstances];
+		for (int i = 0; i < numInstances; i++) {
+			permutation[i] = i;
+		}
+		Random random = new Random(seed);
+		for (int i = numInstances - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = permutation[i];
+			permutation[i] = permutation[j];
+			permutation[j] = tmp;
+		}
+
+		/* cut the permutation into the folds */
+		int[][] folds = new int[portions.length][];
+		int offset = 0;
+		for (int numFold = 0; numFold < portions.length; numFold++) {
+			int foldSize = numFold < portions.length - 1 ? Math.min(numInstances - offset, (int) Math.round(portions[numFold] * numInstances)) : numInstances - offset;
+			folds[numFold] = Arrays.copyOfRange(permutation, offset, offset + foldSize);
+			offset += foldSize;
+		}
+		return folds;
+	}
+
+	/**
+	 * Creates a random split whose folds are read-only {@link LabeledDatasetView}s on the given data. Creating the split costs one int per instance, and no instance is copied.
+	 *
+	 * @param data The data to be split
+	 * @param seed The seed for the random permutation of the instances
+	 * @param portions The relative sizes of the folds
+	 * @return The split set with one split whose folds are views on the data
+	 */
+	public static <D extends ILabeledDataset<?>> IndexBasedDatasetSplitSet<D> createViewSplit(final D data, final long seed, final double... portions) {
+		IndexBasedDatasetSplitSet<D> splitSet = new IndexBasedDatasetSplitSet<>(data);
+		splitSet.addSplit(createSplitIndices(data.size(), seed, portions));
+		List<D> folds = splitSet.getFolds(0);
+		for (int numFold = 0; numFold < folds.size(); numFold++) {
+			addReconstructionInfo(data, folds.get(numFold), "getFoldOfViewSplit", ILabeledDataset.class, seed, numFold, portions);
+		}
+		return splitSet;
+	}
+
+	public static <D extends ILabeledDataset<?>> D getFoldOfViewSplit(final D data, final long seed, final int fold, final double... portions) {
+		return createViewSplit(data, seed, portions).getFolds(0).get(fold);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<D> splitWithSeed(final D data, final long seed, final double... portions) throws SplitFailedException, InterruptedException {
+		if (!this.createViews) {
+			return createSplit(data, seed, this.logger, portions);
+		}
+		if (!(data instanceof ILabeledDataset)) {
+			throw new SplitFailedException("Views can only be created for labeled datasets, but the given data is of type " + data.getClass().getName());
+		}
+		this.logger.info("Creating new view-based split with portions {}.", portions);
+		return (List<D>) createViewSplit((ILabeledDataset<?>) data, seed, portions).getFolds(0);
+	}
+
 	@Override
 	public List<D> split(final D data, final Random random) throws SplitFailedException, InterruptedException {
-		return createSplit(data, this.rand.nextLong(), this.logger, this.portions);
+		return this.splitWithSeed(data, this.rand.nextLong(), this.portions);
 	}
 
 	@Override
@@ -157,8 +256,12 @@ public class RandomHoldoutSplitter<D extends IDataset<?>> implements IRandomData
 		return this.portions.length;
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public IDatasetSplitSet<D> nextSplitSet(final D data) throws InterruptedException, SplitFailedException {
+		if (this.createViews && data instanceof ILabeledDataset) {
+			return (IDatasetSplitSet<D>) createViewSplit((ILabeledDataset<?>) data, this.rand.nextLong(), this.portions);
+		}
 		return new DatasetSplitSet<>(Arrays.asList(this.split(data)));
 	}
 
@@ -174,12 +277,12 @@ public class RandomHoldoutSplitter<D extends IDataset<?>> implements IRandomData
 
 	@Override
 	public String toString() {
-		return "RandomHoldoutSplitter [rand=" + this.rand + ", portions=" + Arrays.toString(this.portions) + "]";
+		return "RandomHoldoutSplitter [rand=" + this.rand + ", portions=" + Arrays.toString(this.portions) + ", createViews=" + this.createViews + "]";
 	}
 
 	@Override
 	public List<D> split(final D data, final Random random, final double... relativeFoldSizes) throws SplitFailedException, InterruptedException {
-		return createSplit(data, random.nextLong(), this.logger, relativeFoldSizes);
+		return this.splitWithSeed(data, random.nextLong(), relativeFoldSizes);
 	}
 
 }
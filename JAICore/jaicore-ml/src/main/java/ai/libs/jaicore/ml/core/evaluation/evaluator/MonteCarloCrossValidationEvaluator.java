@@ -25,7 +25,15 @@ public class MonteCarloCrossValidationEvaluator extends TrainPredictionBasedClas
 
 	public MonteCarloCrossValidationEvaluator(final boolean cacheSplitSets, final ILabeledDataset<? extends ILabeledInstance> data, final int repeats, final double trainingPortion, final Random random,
 			final IAggregatedPredictionPerformanceMeasure<?, ?> metric) {
-		this(cacheSplitSets, data, new RandomHoldoutSplitter<>(trainingPortion), repeats, random, metric);
+		this(cacheSplitSets, false, data, repeats, trainingPortion, random, metric);
+	}
+
+	/**
+	 * @param useFoldViews If true, the train and test folds are read-only views on the given data instead of copies, which avoids copying the data for every repeat. Learners must then not modify their training data.
+	 */
+	public MonteCarloCrossValidationEvaluator(final boolean cacheSplitSets, final boolean useFoldViews, final ILabeledDataset<? extends ILabeledInstance> data, final int repeats, final double trainingPortion, final Random random,
+			final IAggregatedPredictionPerformanceMeasure<?, ?> metric) {
+		this(cacheSplitSets, data, new RandomHoldoutSplitter<>(new Random(), useFoldViews, trainingPortion), repeats, random, metric);
 	}
 
 	public MonteCarloCrossValidationEvaluator(final boolean cacheSplitSets, final ILabeledDataset<? extends ILabeledInstance> data, final IRandomDatasetSplitter<ILabeledDataset<? extends ILabeledInstance>> datasetSplitter,
@@ -1,9 +1,20 @@
 package ai.libs.jaicore.ml.core.evaluation.evaluator;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.api4.java.ai.ml.classification.IClassifierEvaluator;
 import org.api4.java.ai.ml.core.dataset.splitter.SplitFailedException;
@@ -16,6 +27,8 @@ import org.api4.java.ai.ml.core.evaluation.execution.ILearnerRunReport;
 import org.api4.java.ai.ml.core.evaluation.execution.LearnerExecutionFailedException;
 import org.api4.java.ai.ml.core.evaluation.execution.LearnerExecutionInterruptedException;
 import org.api4.java.ai.ml.core.learner.ISupervisedLearner;
+import org.api4.java.algorithm.Timeout;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
 import org.api4.java.common.attributedobjects.ObjectEvaluationFailedException;
 import org.api4.java.common.control.ILoggingCustomizable;
 import org.api4.java.common.event.IEventEmitter;
@@ -24,9 +37,20 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.eventbus.EventBus;
 
+import ai.libs.jaicore.ml.classification.loss.dataset.EAggregatedClassifierMetric;
+import ai.libs.jaicore.ml.core.evaluation.AveragingPredictionPerformanceMeasure;
 import ai.libs.jaicore.ml.core.evaluation.evaluator.events.TrainTestSplitEvaluationCompletedEvent;
 import ai.libs.jaicore.ml.core.evaluation.evaluator.events.TrainTestSplitEvaluationFailedEvent;
+import ai.libs.jaicore.timing.TimedComputation;
 
+/**
+ * Evaluates a learner by training and testing it on each split of a split set and aggregating the losses obtained on the different splits.
+ *
+ * By default, the splits are processed one after the other. If more than one thread is configured, the splits are processed concurrently on copies of the learner, which are obtained via serialization. Learners that are not
+ * serializable are still evaluated sequentially. Optionally, the execution on a single split can be bounded by a timeout, and the evaluation can race against an incumbent score: As soon as the losses of the completed splits
+ * show that the aggregated loss cannot be better than the incumbent score anymore, the remaining splits are canceled and the aggregated loss over the completed splits is returned. Racing is only applied if the aggregated
+ * measure is the mean of non-negative losses.
+ */
 public class TrainPredictionBasedClassifierEvaluator implements IClassifierEvaluator, ILoggingCustomizable, IEventEmitter<Object> {
 
 	private Logger logger = LoggerFactory.getLogger(TrainPredictionBasedClassifierEvaluator.class);
@@ -36,6 +60,10 @@ public class TrainPredictionBasedClassifierEvaluator implements IClassifierEvalu
 	private final EventBus eventBus = new EventBus();
 	private boolean hasListeners;
 
+	private int numThreads = 1;
+	private Timeout foldTimeout;
+	private volatile double incumbentScore = Double.NaN;
+
 	public TrainPredictionBasedClassifierEvaluator(final IFixedDatasetSplitSetGenerator<ILabeledDataset<?>> splitGenerator, final IAggregatedPredictionPerformanceMeasure<?, ?> metric) {
 		super();
 		this.splitGenerator = splitGenerator;
@@ -52,31 +80,29 @@ public class TrainPredictionBasedClassifierEvaluator implements IClassifierEvalu
 				throw new IllegalStateException("Number of folds for each split should be 2 but is " + splitSet.getNumberOfFoldsPerSplit() + "! Split generator: " + this.splitGenerator);
 			}
 			int n = splitSet.getNumberOfSplits();
+			if (this.numThreads > 1 && n > 1) {
+				List<ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>>> learners = this.getLearnerCopies(learner, n);
+				if (learners != null) {
+					return this.evaluateConcurrently(learner, learners, splitSet, evaluationStart);
+				}
+			}
 			List<ILearnerRunReport> reports = new ArrayList<>(n);
 			for (int i = 0; i < n; i++) {
 				List<ILabeledDataset<? extends ILabeledInstance>> folds = splitSet.getFolds(i);
 				this.logger.debug("Executing learner {} on folds of sizes {} (train) and {} (test) using {}.", learner, folds.get(0).size(), folds.get(1).size(), this.executor.getClass().getName());
 				ILearnerRunReport report;
 				try {
-					report = this.executor.execute(learner, folds.get(0), folds.get(1));
+					report = this.executeOnFolds(learner, folds);
 					this.logger.trace("Obtained report. Training times was {}ms, testing time {}ms. Ground truth vector: {}, prediction vector: {}. Pipeline: {}", report.getTrainEndTime() - report.getTrainStartTime(),
 							report.getTestEndTime() - report.getTestStartTime(), report.getPredictionDiffList().getGroundTruthAsList(), report.getPredictionDiffList().getPredictionsAsList(), learner);
 				} catch (LearnerExecutionInterruptedException e) {
 					this.logger.info("Received interrupt of training in iteration #{} after a total evaluation time of {}ms. Sending an event over the bus and forwarding the exception.", i + 1, System.currentTimeMillis() - evaluationStart);
-					ILabeledDataset<?> train = folds.get(0);
-					ILabeledDataset<?> test = folds.get(1);
-					ILearnerRunReport failReport = new LearnerRunReport(train, test, e.getTrainTimeStart(), e.getTrainTimeEnd(), e.getTestTimeStart(), e.getTestTimeEnd(), e);
-					reports.add(failReport);
-					this.eventBus.post(new TrainTestSplitEvaluationFailedEvent<>(learner, reports));
+					this.postFailure(learner, reports, folds, e.getTrainTimeStart(), e.getTrainTimeEnd(), e.getTestTimeStart(), e.getTestTimeEnd(), e);
 					throw e;
 				} catch (LearnerExecutionFailedException e) { // cannot be merged with the above clause, because then the only common supertype is "Exception", which does not have these methods
 					this.logger.info("Catching {} in iteration #{} after a total evaluation time of {}ms. Sending an event over the bus and forwarding the exception.", e.getClass().getName(), i + 1,
 							System.currentTimeMillis() - evaluationStart);
-					ILabeledDataset<?> train = folds.get(0);
-					ILabeledDataset<?> test = folds.get(1);
-					ILearnerRunReport failReport = new LearnerRunReport(train, test, e.getTrainTimeStart(), e.getTrainTimeEnd(), e.getTestTimeStart(), e.getTestTimeEnd(), e);
-					reports.add(failReport);
-					this.eventBus.post(new TrainTestSplitEvaluationFailedEvent<>(learner, reports));
+					this.postFailure(learner, reports, folds, e.getTrainTimeStart(), e.getTrainTimeEnd(), e.getTestTimeStart(), e.getTestTimeEnd(), e);
 					throw e;
 				}
 
@@ -84,17 +110,168 @@ public class TrainPredictionBasedClassifierEvaluator implements IClassifierEvalu
 					this.eventBus.post(new TrainTestSplitEvaluationCompletedEvent<>(learner, report));
 				}
 				reports.add(report);
+				if (i < n - 1 && this.cannotBeatIncumbent(reports, n)) {
+					return this.getEarlyStoppedScore(learner, reports, n);
+				}
 			}
-			this.logger.debug("Compute metric ({}) for the diff of predictions and ground truth.", this.metric.getClass().getName());
-			double score = this.metric.loss(reports.stream().map(ILearnerRunReport::getPredictionDiffList).collect(Collectors.toList()));
-			this.logger.info("Computed value for metric {} of {} executions. Metric value is: {}. Pipeline: {}", this.metric, n, score, learner);
-			return score;
+			return this.getScore(learner, reports);
 		} catch (LearnerExecutionFailedException | SplitFailedException e) {
 			this.logger.debug("Failed to evaluate the learner {}. Exception: {}", learner, ExceptionUtils.getStackTrace(e));
 			throw new ObjectEvaluationFailedException(e);
 		}
 	}
 
+	private Double evaluateConcurrently(final ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> learner,
+			final List<ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>>> learners, final IDatasetSplitSet<ILabeledDataset<? extends ILabeledInstance>> splitSet, final long evaluationStart)
+			throws InterruptedException, LearnerExecutionFailedException, SplitFailedException, ObjectEvaluationFailedException {
+		int n = splitSet.getNumberOfSplits();
+		int poolSize = Math.min(this.numThreads, n);
+		this.logger.debug("Executing learner {} on {} splits using {} threads.", learner, n, poolSize);
+		ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+		try {
+			CompletionService<ILearnerRunReport> completionService = new ExecutorCompletionService<>(pool);
+			Map<Future<ILearnerRunReport>, Integer> splitIndices = new HashMap<>();
+			for (int i = 0; i < n; i++) {
+				ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> learnerForSplit = learners.get(i);
+				List<ILabeledDataset<? extends ILabeledInstance>> folds = splitSet.getFolds(i);
+				splitIndices.put(completionService.submit(() -> this.executeOnFolds(learnerForSplit, folds)), i);
+			}
+
+			/* collect the reports in the order in which the executions finish */
+			ILearnerRunReport[] reportsBySplit = new ILearnerRunReport[n];
+			List<ILearnerRunReport> completedReports = new ArrayList<>(n);
+			for (int numCompleted = 0; numCompleted < n; numCompleted++) {
+				Future<ILearnerRunReport> future = completionService.take();
+				int i = splitIndices.get(future);
+				try {
+					reportsBySplit[i] = future.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					List<ILabeledDataset<? extends ILabeledInstance>> folds = splitSet.getFolds(i);
+					if (cause instanceof LearnerExecutionInterruptedException) {
+						LearnerExecutionInterruptedException ie = (LearnerExecutionInterruptedException) cause;
+						this.logger.info("Received interrupt of training on split #{} after a total evaluation time of {}ms. Sending an event over the bus and forwarding the exception.", i + 1, System.currentTimeMillis() - evaluationStart);
+						this.postFailure(learner, completedReports, folds, ie.getTrainTimeStart(), ie.getTrainTimeEnd(), ie.getTestTimeStart(), ie.getTestTimeEnd(), ie);
+						throw ie;
+					}
+					if (cause instanceof LearnerExecutionFailedException) {
+						LearnerExecutionFailedException fe = (LearnerExecutionFailedException) cause;
+						this.logger.info("Catching {} on split #{} after a total evaluation time of {}ms. Sending an event over the bus and forwarding the exception.", fe.getClass().getName(), i + 1,
+								System.currentTimeMillis() - evaluationStart);
+						this.postFailure(learner, completedReports, folds, fe.getTrainTimeStart(), fe.getTrainTimeEnd(), fe.getTestTimeStart(), fe.getTestTimeEnd(), fe);
+						throw fe;
+					}
+					if (cause instanceof InterruptedException) {
+						throw (InterruptedException) cause;
+					}
+					throw new ObjectEvaluationFailedException("Execution of learner on split #" + (i + 1) + " failed.", cause);
+				}
+				if (this.hasListeners) {
+					this.eventBus.post(new TrainTestSplitEvaluationCompletedEvent<>(learner, reportsBySplit[i]));
+				}
+				completedReports.add(reportsBySplit[i]);
+				if (numCompleted < n - 1 && this.cannotBeatIncumbent(completedReports, n)) {
+					return this.getEarlyStoppedScore(learner, completedReports, n);
+				}
+			}
+			List<ILearnerRunReport> reports = new ArrayList<>(n);
+			for (ILearnerRunReport report : reportsBySplit) {
+				reports.add(report);
+			}
+			return this.getScore(learner, reports);
+		} finally {
+			pool.shutdownNow(); // interrupts all executions that are still running
+		}
+	}
+
+	private ILearnerRunReport executeOnFolds(final ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> learner, final List<ILabeledDataset<? extends ILabeledInstance>> folds)
+			throws LearnerExecutionFailedException, InterruptedException {
+		if (this.foldTimeout == null) {
+			return this.executor.execute(learner, folds.get(0), folds.get(1));
+		}
+		long start = System.currentTimeMillis();
+		try {
+			return TimedComputation.compute(() -> this.executor.execute(learner, folds.get(0), folds.get(1)), this.foldTimeout, "Timeout for the execution of a learner on a split.");
+		} catch (AlgorithmTimeoutedException e) {
+			throw new LearnerExecutionFailedException(start, System.currentTimeMillis(), "Execution of learner on split exceeded the timeout of " + this.foldTimeout.milliseconds() + "ms.", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof LearnerExecutionFailedException) {
+				throw (LearnerExecutionFailedException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new LearnerExecutionFailedException(start, System.currentTimeMillis(), e);
+		}
+	}
+
+	/**
+	 * @return A list with the given learner followed by n - 1 copies of it, or null if the learner cannot be copied
+	 */
+	@SuppressWarnings("unchecked")
+	private List<ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>>> getLearnerCopies(final ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> learner, final int n) {
+		if (!(learner instanceof Serializable)) {
+			this.logger.info("Learner {} is not serializable and cannot be copied, so the splits are evaluated sequentially.", learner.getClass().getName());
+			return null;
+		}
+		List<ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>>> learners = new ArrayList<>(n);
+		learners.add(learner);
+		try {
+			for (int i = 1; i < n; i++) {
+				learners.add((ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>>) SerializationUtils.clone((Serializable) learner));
+			}
+		} catch (SerializationException e) {
+			this.logger.info("Could not copy learner {}, so the splits are evaluated sequentially. Exception: {}", learner.getClass().getName(), e.getMessage());
+			return null;
+		}
+		return learners;
+	}
+
+	private void postFailure(final ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> learner, final List<ILearnerRunReport> reports, final List<ILabeledDataset<? extends ILabeledInstance>> folds,
+			final long trainStart, final long trainEnd, final long testStart, final long testEnd, final Exception e) {
+		ILabeledDataset<?> train = folds.get(0);
+		ILabeledDataset<?> test = folds.get(1);
+		ILearnerRunReport failReport = new LearnerRunReport(train, test, trainStart, trainEnd, testStart, testEnd, e);
+		reports.add(failReport);
+		this.eventBus.post(new TrainTestSplitEvaluationFailedEvent<>(learner, reports));
+	}
+
+	private boolean supportsRacing() {
+		return this.metric instanceof AveragingPredictionPerformanceMeasure || this.metric == EAggregatedClassifierMetric.MEAN_ERRORRATE;
+	}
+
+	/**
+	 * Since the aggregated loss is the mean of non-negative losses, the sum of the losses of the completed splits divided by the total number of splits is a lower bound for the final loss.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean cannotBeatIncumbent(final List<ILearnerRunReport> completedReports, final int numSplits) {
+		double incumbent = this.incumbentScore;
+		if (Double.isNaN(incumbent) || !this.supportsRacing()) {
+			return false;
+		}
+		double sumOfLosses = 0;
+		for (ILearnerRunReport report : completedReports) {
+			sumOfLosses += this.metric.getBaseMeasure().loss(report.getPredictionDiffList());
+		}
+		return sumOfLosses / numSplits >= incumbent;
+	}
+
+	private double getEarlyStoppedScore(final ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> learner, final List<ILearnerRunReport> completedReports, final int numSplits) {
+		double score = this.getScore(learner, completedReports);
+		this.logger.info("Stopping evaluation after {} of {} splits, because the learner cannot beat the incumbent score {} anymore. Returning the score {} of the completed splits.", completedReports.size(), numSplits,
+				this.incumbentScore, score);
+		return score;
+	}
+
+	@SuppressWarnings("unchecked")
+	private double getScore(final ISupervisedLearner<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> learner, final List<ILearnerRunReport> reports) {
+		this.logger.debug("Compute metric ({}) for the diff of predictions and ground truth.", this.metric.getClass().getName());
+		double score = this.metric.loss(reports.stream().map(ILearnerRunReport::getPredictionDiffList).collect(Collectors.toList()));
+		this.logger.info("Computed value for metric {} of {} executions. Metric value is: {}. Pipeline: {}", this.metric, reports.size(), score, learner);
+		return score;
+	}
+
 	public IFixedDatasetSplitSetGenerator<ILabeledDataset<? extends ILabeledInstance>> getSplitGenerator() {
 		return this.splitGenerator;
 	}
@@ -126,4 +303,40 @@ public class TrainPredictionBasedClassifierEvaluator implements IClassifierEvalu
 	public IAggregatedPredictionPerformanceMeasure getMetric() {
 		return this.metric;
 	}
+
+	public int getNumThreads() {
+		return this.numThreads;
+	}
+
+	/**
+	 * @param numThreads The maximum number of splits that are evaluated concurrently.
+	 */
+	public void setNumThreads(final int numThreads) {
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be positive but is " + numThreads);
+		}
+		this.numThreads = numThreads;
+	}
+
+	public Timeout getFoldTimeout() {
+		return this.foldTimeout;
+	}
+
+	/**
+	 * @param foldTimeout The maximum time for training and testing the learner on one split. If null, no timeout is applied.
+	 */
+	public void setFoldTimeout(final Timeout foldTimeout) {
+		this.foldTimeout = foldTimeout;
+	}
+
+	public double getIncumbentScore() {
+		return this.incumbentScore;
+	}
+
+	/**
+	 * @param incumbentScore The score to race against. The evaluation of a learner is stopped early once it cannot beat this score anymore. Double.NaN disables racing.
+	 */
+	public void setIncumbentScore(final double incumbentScore) {
+		this.incumbentScore = incumbentScore;
+	}
 }
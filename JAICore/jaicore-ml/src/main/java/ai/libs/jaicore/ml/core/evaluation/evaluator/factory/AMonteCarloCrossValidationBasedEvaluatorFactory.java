@@ -8,6 +8,7 @@ import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
 import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
 import org.api4.java.ai.ml.core.evaluation.IPredictionPerformanceMetricConfigurable;
 import org.api4.java.ai.ml.core.evaluation.supervised.loss.IDeterministicPredictionPerformanceMeasure;
+import org.api4.java.algorithm.Timeout;
 import org.api4.java.common.control.IRandomConfigurable;
 
 /**
@@ -29,6 +30,9 @@ public abstract class AMonteCarloCrossValidationBasedEvaluatorFactory<F extends
 	private int timeoutForSolutionEvaluation;
 	protected IDeterministicPredictionPerformanceMeasure<?, ?> metric;
 	private boolean cacheSplitSets = false;
+	private boolean foldViews = false;
+	private int numFoldThreads = 1;
+	private Timeout foldTimeout;
 
 	/**
 	 * Standard c'tor.
@@ -189,4 +193,52 @@ public abstract class AMonteCarloCrossValidationBasedEvaluatorFactory<F extends
 	public boolean getCacheSplitSets() {
 		return this.cacheSplitSets;
 	}
+
+	/**
+	 * Configures whether the folds are read-only views on the data instead of copies.
+	 *
+	 * @param foldViews
+	 *            If true, no instances are copied when splitting the data, but the evaluated learners must not modify their training data.
+	 * @return The factory object.
+	 */
+	public F withFoldViews(final boolean foldViews) {
+		this.foldViews = foldViews;
+		return this.getSelf();
+	}
+
+	public boolean getFoldViews() {
+		return this.foldViews;
+	}
+
+	/**
+	 * Configures the number of threads used to evaluate the MCCV iterations concurrently.
+	 *
+	 * @param numFoldThreads
+	 *            The maximum number of iterations executed at the same time.
+	 * @return The factory object.
+	 */
+	public F withNumFoldThreads(final int numFoldThreads) {
+		this.numFoldThreads = numFoldThreads;
+		return this.getSelf();
+	}
+
+	public int getNumFoldThreads() {
+		return this.numFoldThreads;
+	}
+
+	/**
+	 * Configures a timeout for training and testing the learner in a single MCCV iteration.
+	 *
+	 * @param foldTimeout
+	 *            The timeout for a single iteration or null if no timeout should be applied.
+	 * @return The factory object.
+	 */
+	public F withFoldTimeout(final Timeout foldTimeout) {
+		this.foldTimeout = foldTimeout;
+		return this.getSelf();
+	}
+
+	public Timeout getFoldTimeout() {
+		return this.foldTimeout;
+	}
 }
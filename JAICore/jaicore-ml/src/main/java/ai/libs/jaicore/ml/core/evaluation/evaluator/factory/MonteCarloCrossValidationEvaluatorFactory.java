@@ -29,7 +29,10 @@ public class MonteCarloCrossValidationEvaluatorFactory extends AMonteCarloCrossV
 			throw new IllegalStateException("Cannot create MCCV evaluator due to invalid number of repeats " + this.getNumMCIterations() + ". Set number of repeats to a positive value!");
 		}
 		IAggregatedPredictionPerformanceMeasure<?, ?> aggMeasure = new AveragingPredictionPerformanceMeasure<>(this.metric);
-		return new MonteCarloCrossValidationEvaluator(this.getCacheSplitSets(), this.data, this.getNumMCIterations(), this.getTrainFoldSize(), this.random, aggMeasure);
+		MonteCarloCrossValidationEvaluator evaluator = new MonteCarloCrossValidationEvaluator(this.getCacheSplitSets(), this.getFoldViews(), this.data, this.getNumMCIterations(), this.getTrainFoldSize(), this.random, aggMeasure);
+		evaluator.setNumThreads(this.getNumFoldThreads());
+		evaluator.setFoldTimeout(this.getFoldTimeout());
+		return evaluator;
 	}
 
 	@Override
@@ -1,6 +1,6 @@
 package ai.libs.jaicore.ml.core.evaluation.splitsetgenerator;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Random;
 
@@ -8,21 +8,102 @@ import org.api4.java.ai.ml.core.dataset.splitter.IRandomDatasetSplitter;
 import org.api4.java.ai.ml.core.dataset.splitter.SplitFailedException;
 import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
 import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
+import org.api4.java.common.reconstruction.IReconstructible;
 
+import ai.libs.jaicore.basic.reconstruction.ReconstructionUtil;
+
+/**
+ * A MCCV split set generator that only creates one split set per dataset and returns it for every subsequent request for that dataset.
+ *
+ * Datasets are identified by their reconstruction plan if they are {@link IReconstructible} and carry instructions, and by object identity otherwise. In contrast to the hash code of the dataset, neither depends on the number of
+ * instances or attributes, so a cache lookup is constant in the size of the data. Note that, consequently, modifications of a dataset after its first split set has been created are not detected.
+ *
+ * The cache holds at most a configurable number of split sets and evicts the least recently used one if this number is exceeded.
+ *
+ * @param <D> The type of the datasets to be split
+ */
 public class CachingMonteCarloCrossValidationSplitSetGenerator<D extends ILabeledDataset<?>> extends MonteCarloCrossValidationSplitSetGenerator<D> {
 
-	private Map<Integer, IDatasetSplitSet<D>> cache = new HashMap<>();
+	public static final int DEFAULT_CACHE_SIZE = 16;
+
+	private final Map<Object, IDatasetSplitSet<D>> cache;
+	private long cacheHits;
+	private long cacheMisses;
 
 	public CachingMonteCarloCrossValidationSplitSetGenerator(final IRandomDatasetSplitter<D> datasetSplitter, final int repeats, final Random random) {
+		this(datasetSplitter, repeats, random, DEFAULT_CACHE_SIZE);
+	}
+
+	public CachingMonteCarloCrossValidationSplitSetGenerator(final IRandomDatasetSplitter<D> datasetSplitter, final int repeats, final Random random, final int maxCacheSize) {
 		super(datasetSplitter, repeats, random);
+		if (maxCacheSize <= 0) {
+			throw new IllegalArgumentException("The maximum cache size must be positive but is " + maxCacheSize);
+		}
+		this.cache = new LinkedHashMap<Object, IDatasetSplitSet<D>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 6306185838186520813L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Object, IDatasetSplitSet<D>> eldest) {
+				return this.size() > maxCacheSize;
+			}
+		};
 	}
 
 	@Override
 	public synchronized IDatasetSplitSet<D> nextSplitSet(final D data) throws InterruptedException, SplitFailedException {
-		int hashCode = data.hashCode();
-		if (!this.cache.containsKey(hashCode)) {
-			this.cache.put(hashCode, super.nextSplitSet(data));
+		Object key = getCacheKey(data);
+		IDatasetSplitSet<D> splitSet = this.cache.get(key);
+		if (splitSet != null) {
+			this.cacheHits++;
+			return splitSet;
+		}
+		this.cacheMisses++;
+		splitSet = super.nextSplitSet(data);
+		this.cache.put(key, splitSet);
+		return splitSet;
+	}
+
+	private static Object getCacheKey(final Object data) {
+		if (data instanceof IReconstructible && ReconstructionUtil.areInstructionsNonEmptyIfReconstructibilityClaimed(data)) {
+			return ((IReconstructible) data).getConstructionPlan();
+		}
+		return new IdentityKey(data);
+	}
+
+	public synchronized long getCacheHits() {
+		return this.cacheHits;
+	}
+
+	public synchronized long getCacheMisses() {
+		return this.cacheMisses;
+	}
+
+	public synchronized int getCacheSize() {
+		return this.cache.size();
+	}
+
+	public synchronized void clearCache() {
+		this.cache.clear();
+	}
+
+	/**
+	 * Wraps an object such that it is equal only to wrappers of the very same object.
+	 */
+	private static class IdentityKey {
+		private final Object object;
+
+		public IdentityKey(final Object object) {
+			this.object = object;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.object);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof IdentityKey && ((IdentityKey) obj).object == this.object;
 		}
-		return this.cache.get(hashCode);
 	}
 }
@@ -14,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ai.libs.jaicore.basic.reconstruction.ReconstructionInstruction;
+import ai.libs.jaicore.ml.core.dataset.LabeledDatasetView;
 import ai.libs.jaicore.ml.core.dataset.splitter.ReproducibleSplit;
 import ai.libs.jaicore.ml.core.filter.sampling.inmemory.factories.LabelBasedStratifiedSamplingFactory;
 import ai.libs.jaicore.ml.core.filter.sampling.inmemory.factories.SimpleRandomSamplingFactory;
@@ -127,4 +128,19 @@ public class SplitterUtil {
 
 		return split;
 	}
+
+	/**
+	 * Realizes the split specification by read-only views on the given dataset, i.e., without copying any instances.
+	 *
+	 * @param dataset The dataset to create the folds for.
+	 * @param splitSpec For each fold, the indices of the instances of the fold in the dataset.
+	 * @return The folds as views on the dataset.
+	 */
+	public static List<ILabeledDataset<ILabeledInstance>> getViewRealizationOfSplitSpecification(final ILabeledDataset<? extends ILabeledInstance> dataset, final Collection<? extends Collection<Integer>> splitSpec) {
+		List<ILabeledDataset<ILabeledInstance>> split = new ArrayList<>(splitSpec.size());
+		for (Collection<Integer> fold : splitSpec) {
+			split.add(new LabeledDatasetView<>(dataset, fold.stream().mapToInt(Integer::intValue).toArray()));
+		}
+		return split;
+	}
 }
@@ -1,14 +1,26 @@
 package ai.libs.jaicore.ml.hpo.ggp;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -62,6 +74,10 @@ import ai.libs.jaicore.ml.hpo.ggp.GrammarBasedGeneticProgramming.GGPSolutionCand
  * configured, every x generations the algorithm could not find any improvement, the current population is wiped except for the best individuals (defined via the elitism config). Then, the
  * population is filled up with new randomly sampled individuals. Thereby, the algorithm is able to move to other areas of the search space easily (given there are better fitness values).
  *
+ * Steady State:
+ * By default, each generation is evaluated as a whole before the next one is bred, so a single slow evaluation stalls all other cpus. In steady-state mode, a single pool evaluates
+ * individuals continuously: whenever an evaluation completes, the individual replaces the worst one of the population and a new offspring is submitted, so that all cpus stay busy.
+ *
  * @author mwever
  *
  */
@@ -79,7 +95,8 @@ public class GrammarBasedGeneticProgramming extends AOptimizer<SoftwareConfigura
 
 	private AtomicInteger earlyStoppingCounter = new AtomicInteger(0);
 
-	private ConcurrentLinkedQueue<GGPSolutionCandidate> ratedSolutionCandidatesInPopulation;
+	/** The rated candidates of the current population. The reference is replaced rather than the collection being cleared, so readers never see a partial population. */
+	private volatile Collection<GGPSolutionCandidate> ratedSolutionCandidatesInPopulation = Collections.emptyList();
 
 	public class GGPSolutionCandidate implements ScoredItem<Double> {
 
@@ -111,7 +128,6 @@ public class GrammarBasedGeneticProgramming extends AOptimizer<SoftwareConfigura
 		this.rng = new MersenneTwisterFast(seed);
 		this.evaluator = input.getCompositionEvaluator();
 		this.converter = new CFGConverter(input.getComponents(), input.getRequiredInterface());
-		this.ratedSolutionCandidatesInPopulation = new ConcurrentLinkedQueue<>();
 	}
 
 	@Override
@@ -138,6 +154,11 @@ public class GrammarBasedGeneticProgramming extends AOptimizer<SoftwareConfigura
 					// Set initial population list and sort the population
 					List<CandidateProgram> population = new ArrayList<>(initPop.getInitialPopulation());
 
+					if (GrammarBasedGeneticProgramming.this.getConfig().getSteadyState()) {
+						GrammarBasedGeneticProgramming.this.evolveSteadyState(population);
+						return;
+					}
+
 					int g = 0;
 					while (!Thread.currentThread().isInterrupted()
 							&& (GrammarBasedGeneticProgramming.this.getConfig().getNumGenerations() <= 0 || g < GrammarBasedGeneticProgramming.this.getConfig().getNumGenerations())) {
@@ -248,6 +269,192 @@ public class GrammarBasedGeneticProgramming extends AOptimizer<SoftwareConfigura
 		}
 	}
 
+	/**
+	 * Evolves the population in steady-state mode, i.e., on a single pool that is kept busy by submitting a new offspring whenever an evaluation completes.
+	 *
+	 * @param initialPopulation The randomly initialized individuals to evaluate first.
+	 * @throws InterruptedException Thrown if the evolution is interrupted, e.g. due to the timeout.
+	 */
+	private void evolveSteadyState(final List<CandidateProgram> initialPopulation) throws InterruptedException {
+		int populationSize = this.getConfig().getPopulationSize();
+		long maxIndividuals = this.getConfig().getNumGenerations() > 0 ? (long) this.getConfig().getNumGenerations() * populationSize : Long.MAX_VALUE;
+		int cpus = this.getConfig().cpus();
+
+		List<CandidateProgram> population = new ArrayList<>(populationSize);
+		Map<CandidateProgram, GGPSolutionCandidate> ratedCandidates = new IdentityHashMap<>();
+		Deque<CandidateProgram> pending = new ArrayDeque<>(initialPopulation);
+		Map<Future<GGPSolutionCandidate>, CandidateProgram> running = new HashMap<>();
+		Set<String> inFlight = new HashSet<>();
+		long processed = 0;
+		long individualsWithoutImprovement = 0;
+		long individualsSinceRestart = 0;
+		long printedGenerations = 0;
+
+		ExecutorService pool = Executors.newFixedThreadPool(cpus);
+		CompletionService<GGPSolutionCandidate> completionService = new ExecutorCompletionService<>(pool);
+		try {
+			while (processed < maxIndividuals) {
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+
+				// fill up the free cpus, taking individuals from the cache where possible
+				while (running.size() < cpus && processed + running.size() < maxIndividuals) {
+					CandidateProgram individual = this.nextSteadyStateIndividual(pending, population, running.isEmpty());
+					if (individual == null) {
+						break;
+					}
+					String key = individual.toString();
+					if (this.cacheMap.containsKey(key)) {
+						((GRCandidateProgram) individual).setFitnessValue(this.cacheMap.get(key));
+						ratedCandidates.remove(this.insertIntoSteadyStatePopulation(population, individual));
+						processed++;
+						individualsWithoutImprovement++;
+						individualsSinceRestart++;
+					} else if (inFlight.contains(key)) {
+						processed++; // the very same individual is being evaluated already
+						individualsWithoutImprovement++;
+						individualsSinceRestart++;
+					} else {
+						int generation = (int) (processed / populationSize);
+						running.put(completionService.submit(() -> this.evaluateSteadyStateIndividual((GRCandidateProgram) individual, generation)), individual);
+						inFlight.add(key);
+					}
+				}
+
+				// wait for the next evaluation to complete and insert the individual into the population; if all offspring were taken from the cache, there is none
+				if (!running.isEmpty()) {
+					Future<GGPSolutionCandidate> future = completionService.take();
+					CandidateProgram individual = running.remove(future);
+					String key = individual.toString();
+					inFlight.remove(key);
+					this.cacheMap.put(key, ((GRCandidateProgram) individual).getFitnessValue());
+					GGPSolutionCandidate solutionCandidate = future.get();
+					if (solutionCandidate != null && this.updateBestSeenSolution(solutionCandidate)) {
+						individualsWithoutImprovement = 0;
+						individualsSinceRestart = 0;
+					} else {
+						individualsWithoutImprovement++;
+						individualsSinceRestart++;
+					}
+					CandidateProgram removed = this.insertIntoSteadyStatePopulation(population, individual);
+					if (removed != individual && solutionCandidate != null) {
+						ratedCandidates.put(individual, solutionCandidate);
+					}
+					if (removed != null) {
+						ratedCandidates.remove(removed);
+					}
+					processed++;
+				}
+				this.ratedSolutionCandidatesInPopulation = Collections.unmodifiableList(new ArrayList<>(ratedCandidates.values()));
+
+				// print fitness statistics of the current generation equivalent if enabled.
+				if (this.getConfig().getPrintFitnessStats() && processed / populationSize > printedGenerations) {
+					printedGenerations = processed / populationSize;
+					List<Double> fitnessList = population.stream().map(x -> ((GRCandidateProgram) x).getFitnessValue()).collect(Collectors.toList());
+					LOGGER.info("Generation #{} (population size: {}) - min: {} - mean: {} - max: {}", printedGenerations, fitnessList.size(), StatisticsUtil.min(fitnessList),
+							StatisticsUtil.mean(fitnessList), StatisticsUtil.max(fitnessList));
+				}
+
+				// if early termination is activated and the number of individuals without change exceeds the configured generations, stop the evolution
+				if (this.getConfig().getEarlyStopping() >= 1 && individualsWithoutImprovement > (long) this.getConfig().getEarlyStopping() * populationSize) {
+					LOGGER.info("Best candidate did not change for {} generations: Thus, stop early.", this.getConfig().getEarlyStopping());
+					break;
+				}
+
+				// if enabled, perform random restart whenever there was no improvement for x generations
+				if (this.getConfig().getRandomRestart() > 0 && individualsSinceRestart >= (long) this.getConfig().getRandomRestart() * populationSize) {
+					individualsSinceRestart = 0;
+					int elitismSize = Math.min(this.getConfig().getElitismSize(), population.size());
+					LOGGER.debug("It is about time to perform a random restart after {} individuals. Randomly generate {} individuals for restart.", processed, populationSize - elitismSize);
+					population.sort(Comparator.comparingDouble(x -> ((GRCandidateProgram) x).getFitnessValue()));
+					population.subList(elitismSize, population.size()).forEach(ratedCandidates::remove);
+					population.subList(elitismSize, population.size()).clear();
+					pending.clear();
+					pending.addAll(new GrowInitialiser(this.rng, this.grammar, populationSize - elitismSize, this.getConfig().getMaxDepth(), false).getInitialPopulation());
+				}
+			}
+		} catch (ExecutionException e) {
+			LOGGER.warn("Could not evaluate individual.", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return The next individual to evaluate in steady-state mode, which is a pending one or else a new offspring, or null if the population is still too
+	 *         small to breed offspring.
+	 */
+	private CandidateProgram nextSteadyStateIndividual(final Deque<CandidateProgram> pending, final List<CandidateProgram> population, final boolean idle) {
+		if (!pending.isEmpty()) {
+			return pending.poll();
+		}
+		if (population.size() < Math.max(this.getConfig().getTournamentSize(), 1)) {
+			// there is nothing to wait for, so sample new individuals instead of breeding
+			return idle ? new GrowInitialiser(this.rng, this.grammar, 1, this.getConfig().getMaxDepth(), false).getInitialPopulation().get(0) : null;
+		}
+
+		CandidateProgram child1 = this.tournament(population).clone();
+		CandidateProgram child2 = this.tournament(population).clone();
+		if (this.rng.nextDouble() < this.getConfig().getCrossoverRate()) {
+			WhighamCrossover xover = new WhighamCrossover(this.rng);
+			CandidateProgram[] xoverprograms = xover.crossover(child1.clone(), child2.clone());
+			if (xoverprograms != null) {
+				child1 = xoverprograms[0];
+				child2 = xoverprograms[1];
+			}
+		}
+		pending.add(this.mutate(child2));
+		return this.mutate(child1);
+	}
+
+	/**
+	 * Inserts an evaluated individual into the population. If the population is full, the individual replaces the worst one, unless it is even worse.
+	 *
+	 * @return The individual that has been removed from the population, which may be the given one, or null if the population was not full.
+	 */
+	private CandidateProgram insertIntoSteadyStatePopulation(final List<CandidateProgram> population, final CandidateProgram individual) {
+		if (population.size() < this.getConfig().getPopulationSize()) {
+			population.add(individual);
+			return null;
+		}
+		int worst = 0;
+		for (int i = 1; i < population.size(); i++) {
+			if (((GRCandidateProgram) population.get(i)).getFitnessValue() > ((GRCandidateProgram) population.get(worst)).getFitnessValue()) {
+				worst = i;
+			}
+		}
+		CandidateProgram worstIndividual = population.get(worst);
+		if (((GRCandidateProgram) individual).getFitnessValue() >= ((GRCandidateProgram) worstIndividual).getFitnessValue()) {
+			return individual;
+		}
+		population.set(worst, individual);
+		return worstIndividual;
+	}
+
+	/**
+	 * Evaluates an individual in steady-state mode and sets its fitness value.
+	 *
+	 * @return The rated solution candidate or null if the individual could not be evaluated.
+	 */
+	private GGPSolutionCandidate evaluateSteadyStateIndividual(final GRCandidateProgram individual, final int generation) {
+		try {
+			ComponentInstance ci = this.converter.grammarStringToComponentInstance(individual.toString());
+			ci.putAnnotation("generation", generation + ""); // annotate component instance to be an individual of generation $generation$
+			double fitnessValue = this.evaluator.evaluate(ci);
+			individual.setFitnessValue(fitnessValue);
+			return new GGPSolutionCandidate(ci, fitnessValue);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ObjectEvaluationFailedException e) {
+			// the individual is assigned the failed evaluation score below
+		} catch (Exception e) {
+			LOGGER.warn("Could not evaluate individual {}", individual, e);
+		}
+		individual.setFitnessValue(this.getConfig().getFailedEvaluationScore());
+		return null;
+	}
+
 	private CandidateProgram mutate(final CandidateProgram program) {
 		CandidateProgram mutated = program.clone();
 		if (this.rng.nextDouble() < this.getConfig().getMutationRate()) {
@@ -266,7 +473,8 @@ public class GrammarBasedGeneticProgramming extends AOptimizer<SoftwareConfigura
 	}
 
 	private void evaluate(final List<CandidateProgram> population, final int generation) throws InterruptedException {
-		this.ratedSolutionCandidatesInPopulation.clear();
+		Queue<GGPSolutionCandidate> ratedCandidates = new ConcurrentLinkedQueue<>();
+		this.ratedSolutionCandidatesInPopulation = ratedCandidates;
 
 		ExecutorService pool = Executors.newFixedThreadPool(this.getConfig().cpus());
 		AtomicBoolean interrupted = new AtomicBoolean(false);
@@ -290,7 +498,7 @@ public class GrammarBasedGeneticProgramming extends AOptimizer<SoftwareConfigura
 
 							double fitnessValue = GrammarBasedGeneticProgramming.this.evaluator.evaluate(ci);
 							GGPSolutionCandidate solutionCandidate = new GGPSolutionCandidate(ci, fitnessValue);
-							this.ratedSolutionCandidatesInPopulation.add(solutionCandidate);
+							ratedCandidates.add(solutionCandidate);
 							if (GrammarBasedGeneticProgramming.this.updateBestSeenSolution(solutionCandidate)) {
 								GrammarBasedGeneticProgramming.this.earlyStoppingCounter.set(0);
 							}
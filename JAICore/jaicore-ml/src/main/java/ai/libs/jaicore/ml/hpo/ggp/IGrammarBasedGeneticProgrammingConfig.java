@@ -93,4 +93,16 @@ public interface IGrammarBasedGeneticProgrammingConfig extends IOwnerBasedAlgori
 	@DefaultValue("10000")
 	public double getFailedEvaluationScore();
 
+	/**
+	 * In steady-state mode, there are no generations that wait for their slowest individual. Instead, all cpus evaluate individuals on a single pool, and as
+	 * soon as an evaluation completes, the individual replaces the worst one of the population and a new offspring is bred and submitted. Numbers of
+	 * generations (for the maximum, early stopping, and random restarts) then refer to the equivalent number of individuals, i.e., multiples of the
+	 * population size.
+	 *
+	 * @return Whether to run the evolution in steady-state mode.
+	 */
+	@Key("ggp.steady_state")
+	@DefaultValue("false")
+	public boolean getSteadyState();
+
 }
@@ -0,0 +1,176 @@
+package ai.libs.jaicore.ml.hpo.multifidelity.hyperband;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.api4.java.algorithm.events.IAlgorithmEvent;
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.libs.jaicore.components.model.ComponentInstance;
+import ai.libs.jaicore.ml.hpo.multifidelity.MultiFidelitySoftwareConfigurationProblem;
+
+/**
+ * Asynchronous successive halving (ASHA) runs the rungs of the most aggressive HyperBand bracket without synchronization barriers. Rung k evaluates
+ * candidates with the budget r_max * eta^(k - s_max). Whenever a worker becomes available, a candidate of the highest rung possible is promoted to the
+ * next rung if it ranks among the top 1/eta of the candidates completed in its rung so far; if there is no such candidate, a new candidate is sampled
+ * for the lowest rung. Thus, the workers never wait for the slowest candidate of a rung.
+ *
+ * ASHA is configured by the same {@link IHyperbandConfig} as {@link Hyperband} and samples as many candidates as HyperBand does over all its brackets.
+ * The evaluations run on a single pool of {@link IHyperbandConfig#getMaxConcurrency()} threads.
+ *
+ * For more details, refer to the paper by Li et al. from 2020:
+ * A System for Massively Parallel Hyperparameter Tuning. In: Proceedings of Machine Learning and Systems 2 (2020) 230-246
+ *
+ */
+public class AsynchronousSuccessiveHalving extends Hyperband {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AsynchronousSuccessiveHalving.class);
+
+	/** The candidates completed in each rung. */
+	private List<List<HyperbandSolutionCandidate>> rungs;
+
+	/** The candidates of each rung that have already been promoted to the next one. */
+	private List<Set<ComponentInstance>> promoted;
+
+	private int maxConcurrency;
+	private int numberOfCandidatesToSample;
+	private int numberOfSampledCandidates = 0;
+
+	private ExecutorService pool = null;
+
+	public AsynchronousSuccessiveHalving(final IHyperbandConfig config, final MultiFidelitySoftwareConfigurationProblem<Double> problem) {
+		super(config, problem);
+	}
+
+	@Override
+	public IAlgorithmEvent nextWithException() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		switch (this.getState()) {
+		case CREATED:
+			this.initialize();
+			this.rungs = new ArrayList<>(this.getMaxBracket() + 1);
+			this.promoted = new ArrayList<>(this.getMaxBracket() + 1);
+			for (int k = 0; k <= this.getMaxBracket(); k++) {
+				this.rungs.add(new ArrayList<>());
+				this.promoted.add(Collections.newSetFromMap(new IdentityHashMap<>()));
+			}
+			this.numberOfCandidatesToSample = this.getTotalNumberOfCandidates();
+			this.maxConcurrency = this.getConfig().getMaxConcurrency() > 0 ? this.getConfig().getMaxConcurrency() : this.getConfig().cpus();
+			this.pool = Executors.newFixedThreadPool(this.maxConcurrency);
+			LOGGER.info("Initialized ASHA with eta={}, r_max={}, {} rungs, {} candidates and at most {} concurrent evaluations.", this.getEta(), this.getMaxBudget(), this.getMaxBracket() + 1,
+					this.numberOfCandidatesToSample, this.maxConcurrency);
+			return super.activate();
+		case INACTIVE:
+			throw new AlgorithmException("Algorithm has already finished.");
+		default:
+		case ACTIVE:
+			try {
+				this.registerActiveThread();
+				this.run();
+			} finally {
+				this.pool.shutdownNow();
+				this.unregisterActiveThread();
+			}
+			return super.terminate();
+		}
+	}
+
+	private void run() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		CompletionService<HyperbandSolutionCandidate> completionService = new ExecutorCompletionService<>(this.pool);
+		int running = 0;
+		while (true) {
+			this.checkAndConductTermination();
+
+			/* fill up the free workers */
+			while (running < this.maxConcurrency && this.submitNextJob(completionService)) {
+				running++;
+			}
+			if (running == 0) {
+				LOGGER.info("All candidates have been sampled and no candidate can be promoted anymore.");
+				return;
+			}
+
+			/* wait for the next evaluation to complete */
+			HyperbandSolutionCandidate candidate;
+			try {
+				candidate = completionService.take().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				this.checkAndConductTermination(); // throws a timeout or cancel exception if the interrupt was caused by the shutdown
+				throw e;
+			} catch (ExecutionException e) {
+				throw new AlgorithmException("Evaluation of a candidate failed.", e.getCause());
+			}
+			running--;
+			int rung = this.getRung(candidate.getScore().getBudget());
+			this.rungs.get(rung).add(candidate);
+			this.updateBestSeenSolution(candidate);
+			LOGGER.debug("Completed evaluation {} in rung {}.", candidate, rung);
+		}
+	}
+
+	/**
+	 * Submits the promotion of a candidate or, if no candidate can be promoted, the evaluation of a newly sampled one.
+	 *
+	 * @return Whether a job has been submitted.
+	 */
+	private boolean submitNextJob(final CompletionService<HyperbandSolutionCandidate> completionService) {
+		for (int k = this.getMaxBracket() - 1; k >= 0; k--) {
+			ComponentInstance ci = this.getPromotableCandidate(k);
+			if (ci != null) {
+				this.promoted.get(k).add(ci);
+				double budget = this.getBudget(k + 1);
+				completionService.submit(() -> this.evaluate(ci, budget));
+				return true;
+			}
+		}
+		if (this.numberOfSampledCandidates < this.numberOfCandidatesToSample) {
+			this.numberOfSampledCandidates++;
+			ComponentInstance ci = this.sampleCandidate();
+			double budget = this.getBudget(0);
+			completionService.submit(() -> this.evaluate(ci, budget));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return A candidate among the top 1/eta of the given rung that has not been promoted yet, or null if there is no such candidate.
+	 */
+	private ComponentInstance getPromotableCandidate(final int rung) {
+		List<HyperbandSolutionCandidate> completed = this.rungs.get(rung);
+		int k = (int) Math.floor(completed.size() / this.getEta());
+		if (k == 0) {
+			return null;
+		}
+		completed.sort((o1, o2) -> o1.getScore().compareTo(o2.getScore()));
+		Set<ComponentInstance> promotedOfRung = this.promoted.get(rung);
+		for (int i = 0; i < k; i++) {
+			ComponentInstance ci = completed.get(i).getComponentInstance();
+			if (!promotedOfRung.contains(ci)) {
+				return ci;
+			}
+		}
+		return null;
+	}
+
+	private double getBudget(final int rung) {
+		return this.getMaxBudget() * Math.pow(this.getEta(), (double) rung - this.getMaxBracket());
+	}
+
+	private int getRung(final double budget) {
+		return (int) Math.round(this.getMaxBracket() + Math.log(budget / this.getMaxBudget()) / Math.log(this.getEta()));
+	}
+
+}
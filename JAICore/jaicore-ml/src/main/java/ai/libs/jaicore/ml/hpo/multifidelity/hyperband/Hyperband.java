@@ -88,6 +88,20 @@ public class Hyperband extends AOptimizer<MultiFidelitySoftwareConfigurationProb
 			return (Math.abs(this.r - other.r) < 1E-8 && Math.abs(this.score - other.score) < 1E-8);
 		}
 
+		/**
+		 * @return The budget the candidate has been evaluated with.
+		 */
+		public double getBudget() {
+			return this.r;
+		}
+
+		/**
+		 * @return The score the candidate has achieved on the budget.
+		 */
+		public double getScore() {
+			return this.score;
+		}
+
 		@Override
 		public String toString() {
 			return "(" + this.r + ";" + this.score + ")";
@@ -145,17 +159,7 @@ public class Hyperband extends AOptimizer<MultiFidelitySoftwareConfigurationProb
 	public IAlgorithmEvent nextWithException() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
 		switch (this.getState()) {
 		case CREATED:
-			this.eta = this.getConfig().getEta();
-			this.rMax = this.getInput().getCompositionEvaluator().getMaxBudget();
-			this.crashedEvaluationScore = this.getConfig().getCrashScore();
-
-			if (this.getConfig().getIterations().equals("auto")) {
-				this.sMax = (int) Math.floor(MathExt.logBase(this.rMax, this.eta));
-			} else {
-				this.sMax = Integer.parseInt(this.getConfig().getIterations());
-			}
-			this.b = (this.sMax + 1) * this.rMax;
-
+			this.initialize();
 			if (this.getConfig().cpus() > 1) {
 				this.pool = Executors.newFixedThreadPool(this.getConfig().cpus());
 			}
@@ -198,6 +202,53 @@ public class Hyperband extends AOptimizer<MultiFidelitySoftwareConfigurationProb
 		}
 	}
 
+	/**
+	 * Reads eta, the maximum budget, the crash score and the number of iterations from the configuration and the problem.
+	 */
+	protected void initialize() {
+		this.eta = this.getConfig().getEta();
+		this.rMax = this.getInput().getCompositionEvaluator().getMaxBudget();
+		this.crashedEvaluationScore = this.getConfig().getCrashScore();
+
+		if (this.getConfig().getIterations().equals("auto")) {
+			this.sMax = (int) Math.floor(MathExt.logBase(this.rMax, this.eta));
+		} else {
+			this.sMax = Integer.parseInt(this.getConfig().getIterations());
+		}
+		this.b = (this.sMax + 1) * this.rMax;
+	}
+
+	/**
+	 * @return The number of configurations HyperBand samples over all its brackets.
+	 */
+	protected int getTotalNumberOfCandidates() {
+		int total = 0;
+		for (int s = this.sMax; s >= 0; s--) {
+			total += (int) Math.ceil((this.b / this.rMax) * (Math.pow(this.eta, s) / (s + 1)));
+		}
+		return total;
+	}
+
+	/**
+	 * Evaluates a candidate with the given budget, assigning the crash score if the evaluation fails.
+	 *
+	 * @param ci The candidate to evaluate.
+	 * @param budget The budget to evaluate the candidate with.
+	 * @return The evaluated candidate.
+	 */
+	protected HyperbandSolutionCandidate evaluate(final ComponentInstance ci, final double budget) {
+		double score;
+		try {
+			score = this.getInput().getCompositionEvaluator().evaluate(ci, budget);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			score = this.crashedEvaluationScore;
+		} catch (ObjectEvaluationFailedException e) {
+			score = this.crashedEvaluationScore;
+		}
+		return new HyperbandSolutionCandidate(ci, budget, score);
+	}
+
 	private List<HyperbandSolutionCandidate> evaluate(final List<ComponentInstance> t, final double budget) throws InterruptedException {
 		Lock lock = new ReentrantLock();
 		List<HyperbandSolutionCandidate> candidateList = new ArrayList<>(t.size());
@@ -207,19 +258,11 @@ public class Hyperband extends AOptimizer<MultiFidelitySoftwareConfigurationProb
 
 		for (ComponentInstance ci : t) {
 			runnables.add(() -> {
-				double score;
-				try {
-					score = Hyperband.this.getInput().getCompositionEvaluator().evaluate(ci, budget);
-				} catch (InterruptedException e) {
-					Thread.currentThread().interrupt();
-					score = Hyperband.this.crashedEvaluationScore;
-				} catch (ObjectEvaluationFailedException e) {
-					score = Hyperband.this.crashedEvaluationScore;
-				}
+				HyperbandSolutionCandidate candidate = this.evaluate(ci, budget);
 
 				lock.lock();
 				try {
-					candidateList.add(new HyperbandSolutionCandidate(ci, budget, score));
+					candidateList.add(candidate);
 				} finally {
 					lock.unlock();
 					sem.release();
@@ -240,11 +283,30 @@ public class Hyperband extends AOptimizer<MultiFidelitySoftwareConfigurationProb
 	private List<ComponentInstance> getNCandidates(final int n) {
 		List<ComponentInstance> ciList = new ArrayList<>(n);
 		for (int i = 0; i < n; i++) {
-			ciList.add(ComponentInstanceUtil.sampleRandomComponentInstance(this.getInput().getRequiredInterface(), this.getInput().getComponents(), this.rand));
+			ciList.add(this.sampleCandidate());
 		}
 		return ciList;
 	}
 
+	/**
+	 * @return A randomly sampled candidate.
+	 */
+	protected ComponentInstance sampleCandidate() {
+		return ComponentInstanceUtil.sampleRandomComponentInstance(this.getInput().getRequiredInterface(), this.getInput().getComponents(), this.rand);
+	}
+
+	protected double getEta() {
+		return this.eta;
+	}
+
+	protected double getMaxBudget() {
+		return this.rMax;
+	}
+
+	protected int getMaxBracket() {
+		return this.sMax;
+	}
+
 	@Override
 	public IHyperbandConfig getConfig() {
 		return (IHyperbandConfig) super.getConfig();
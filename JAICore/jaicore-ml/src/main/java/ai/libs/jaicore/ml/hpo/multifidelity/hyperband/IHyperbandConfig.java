@@ -9,6 +9,7 @@ public interface IHyperbandConfig extends IOwnerBasedAlgorithmConfig {
 	public static final String K_SEED = NS + "seed";
 	public static final String K_ITERATIONS = NS + "iterations";
 	public static final String K_CRASH_SCORE = NS + "crash_score";
+	public static final String K_MAX_CONCURRENCY = NS + "max_concurrency";
 
 	/**
 	 * The parameter eta defines that after each round eta^-1 many solutions of the current population are preserved for the next stage of a race. The default value (according to the Hyperband paper) is 3.
@@ -41,4 +42,13 @@ public interface IHyperbandConfig extends IOwnerBasedAlgorithmConfig {
 	@DefaultValue(Integer.MAX_VALUE + "")
 	public double getCrashScore();
 
+	/**
+	 * The maximum number of evaluations that asynchronous successive halving runs at the same time. A value smaller than 1 means as many as cpus.
+	 *
+	 * @return The maximum number of concurrent evaluations.
+	 */
+	@Key(K_MAX_CONCURRENCY)
+	@DefaultValue("-1")
+	public int getMaxConcurrency();
+
 }
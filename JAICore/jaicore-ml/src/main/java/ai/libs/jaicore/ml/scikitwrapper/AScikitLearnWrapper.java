@@ -5,6 +5,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -35,6 +37,7 @@ import ai.libs.jaicore.basic.FileUtil;
 import ai.libs.jaicore.basic.ResourceUtil;
 import ai.libs.jaicore.ml.core.EScikitLearnProblemType;
 import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
+import ai.libs.jaicore.ml.core.dataset.serialization.BinaryColumnarDatasetAdapter;
 import ai.libs.jaicore.ml.core.learner.ASupervisedLearner;
 import ai.libs.jaicore.processes.EOperatingSystem;
 import ai.libs.jaicore.processes.ProcessIDNotRetrievableException;
@@ -52,9 +55,18 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 	protected static final String[] PYTHON_OPTIONAL_MODULES = {};
 
 	private static final String SCIKIT_LEARN_TEMPLATE = "sklearn/sklearn_template.twig.py";
+	private static final String[] PYTHON_MODULES = { "sklearn/binary_columnar_data.py" };
 
 	private static final String COULD_NOT_RUN_SCIKIT_LEARN_MODEL = "Could not run scikit-learn model.";
 
+	private static final String WORKER_MODE_FIT = "fit";
+	private static final String WORKER_MODE_PREDICT = "predict";
+	private static final String WORKER_MODE_FIT_AND_PREDICT = "fitAndPredict";
+	private static final String WORKER_FIT_DATA = "fit";
+	private static final String WORKER_PREDICT_DATA = "predict";
+	private static final String WORKER_PREDICT_OUTPUT = "predictOutput";
+	private static final String WORKER_MODEL = "model";
+
 	protected Logger logger = LoggerFactory.getLogger(AScikitLearnWrapper.class);
 	protected IScikitLearnWrapperConfig scikitLearnWrapperConfig;
 	protected IPythonConfig pythonConfig = ConfigFactory.create(IPythonConfig.class);
@@ -93,11 +105,33 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 		this.setPythonTemplate(ResourceUtil.getResourceAsTempFile(SCIKIT_LEARN_TEMPLATE));
 	}
 
+	/**
+	 * Writes the python modules imported by the sklearn scripts into the given directory. Python resolves these imports relative to the directory of the script, so this has to be done for every directory a script is written to.
+	 *
+	 * @param directory The directory the scripts are located in.
+	 * @throws IOException If the modules could not be written.
+	 */
+	public static synchronized void writePythonModules(final File directory) throws IOException {
+		for (String module : PYTHON_MODULES) {
+			byte[] content = ResourceUtil.readResourceFileToString(module).getBytes(StandardCharsets.UTF_8);
+			Path target = new File(directory, new File(module).getName()).toPath();
+			if (target.toFile().exists() && Arrays.equals(content, Files.readAllBytes(target))) {
+				continue;
+			}
+
+			/* write the module to a temporary file first so that concurrently started scripts never see a partially written module */
+			Path tmp = Files.createTempFile(directory.toPath(), "module", ".tmp");
+			Files.write(tmp, content);
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+	}
+
 	@Override
 	public void setPythonTemplate(final String pythonTemplatePath) throws IOException {
 		File scikitTemplate = new File(pythonTemplatePath);
 
 		File scriptFile = this.getSKLearnScriptFile();
+		writePythonModules(scriptFile.getAbsoluteFile().getParentFile());
 		if (!scriptFile.createNewFile()) {
 			this.logger.debug("Script file for configuration UID {} already exists in {}", this.configurationUID, scriptFile.getAbsolutePath());
 		}
@@ -171,11 +205,18 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 			File outputFile = this.getOutputFile(trainingDataName);
 			if (!outputFile.exists()) {
 				this.modelFile = new File(this.scikitLearnWrapperConfig.getModelDumpsDirectory(), this.getModelFileName(trainingDataName));
-				String[] trainCommand = this.constructCommandLineParametersForFitMode(this.modelFile, trainingDataFile).toCommandArray();
-				if (this.logger.isDebugEnabled()) {
-					this.logger.debug("{} run train mode {}", Thread.currentThread().getName(), Arrays.toString(trainCommand));
+				if (this.isWorkerModeApplicable()) {
+					Map<String, Object> workerCommand = this.getWorkerCommand(WORKER_MODE_FIT);
+					workerCommand.put(WORKER_FIT_DATA, trainingDataFile.getAbsolutePath());
+					workerCommand.put(WORKER_MODEL, this.modelFile.getAbsolutePath());
+					this.runInWorker(workerCommand);
+				} else {
+					String[] trainCommand = this.constructCommandLineParametersForFitMode(this.modelFile, trainingDataFile).toCommandArray();
+					if (this.logger.isDebugEnabled()) {
+						this.logger.debug("{} run train mode {}", Thread.currentThread().getName(), Arrays.toString(trainCommand));
+					}
+					this.runProcess(trainCommand);
 				}
-				this.runProcess(trainCommand);
 			}
 		} catch (ScikitLearnWrapperExecutionFailedException e) {
 			throw new TrainingException(COULD_NOT_RUN_SCIKIT_LEARN_MODEL, e);
@@ -204,11 +245,19 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 		try {
 			File outputFile = this.getOutputFile(testingDataName);
 			if (!outputFile.exists()) {
-				String[] testCommand = this.constructCommandLineParametersForPredictMode(this.modelFile, testingDataFile, outputFile).toCommandArray();
-				if (this.logger.isDebugEnabled()) {
-					this.logger.debug("Run test mode with {}", Arrays.toString(testCommand));
+				if (this.isWorkerModeApplicable()) {
+					Map<String, Object> workerCommand = this.getWorkerCommand(WORKER_MODE_PREDICT);
+					workerCommand.put(WORKER_MODEL, this.modelFile.getAbsolutePath());
+					workerCommand.put(WORKER_PREDICT_DATA, testingDataFile.getAbsolutePath());
+					workerCommand.put(WORKER_PREDICT_OUTPUT, outputFile.getAbsolutePath());
+					this.runInWorker(workerCommand);
+				} else {
+					String[] testCommand = this.constructCommandLineParametersForPredictMode(this.modelFile, testingDataFile, outputFile).toCommandArray();
+					if (this.logger.isDebugEnabled()) {
+						this.logger.debug("Run test mode with {}", Arrays.toString(testCommand));
+					}
+					this.runProcess(testCommand);
 				}
-				this.runProcess(testCommand);
 			}
 
 			return this.handleOutput(outputFile);
@@ -261,11 +310,19 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 			File trainingOutputFile = this.getOutputFile(trainingDataName);
 			File testingOutputFile = this.getOutputFile(testingDataName);
 			if (!trainingOutputFile.exists() && !testingOutputFile.exists()) {
-				String[] fitAndPredictCommand = this.constructCommandLineParametersForFitAndPredictMode(trainingDataFile, testingDataFile, testingOutputFile).toCommandArray();
-				if (this.logger.isDebugEnabled()) {
-					this.logger.debug("{} run fitAndPredict mode {}", Thread.currentThread().getName(), Arrays.toString(fitAndPredictCommand));
+				if (this.isWorkerModeApplicable()) {
+					Map<String, Object> workerCommand = this.getWorkerCommand(WORKER_MODE_FIT_AND_PREDICT);
+					workerCommand.put(WORKER_FIT_DATA, trainingDataFile.getAbsolutePath());
+					workerCommand.put(WORKER_PREDICT_DATA, testingDataFile.getAbsolutePath());
+					workerCommand.put(WORKER_PREDICT_OUTPUT, testingOutputFile.getAbsolutePath());
+					this.runInWorker(workerCommand);
+				} else {
+					String[] fitAndPredictCommand = this.constructCommandLineParametersForFitAndPredictMode(trainingDataFile, testingDataFile, testingOutputFile).toCommandArray();
+					if (this.logger.isDebugEnabled()) {
+						this.logger.debug("{} run fitAndPredict mode {}", Thread.currentThread().getName(), Arrays.toString(fitAndPredictCommand));
+					}
+					this.runProcess(fitAndPredictCommand);
 				}
-				this.runProcess(fitAndPredictCommand);
 			}
 
 			return this.handleOutput(testingOutputFile);
@@ -288,7 +345,8 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 	private synchronized File getOrWriteDataFile(final ILabeledDataset<? extends ILabeledInstance> dataset, final String dataFileName) throws ScikitLearnWrapperExecutionFailedException {
 		this.logger.debug("Serializing {}x{} dataset to {}", dataset.size(), dataset.getNumAttributes(), dataFileName);
 
-		File dataFile = this.getDatasetFile(dataFileName);
+		boolean binary = this.isBinaryDataFormatApplicable(dataset);
+		File dataFile = binary ? this.getBinaryDatasetFile(dataFileName) : this.getArffDatasetFile(dataFileName);
 		if (this.scikitLearnWrapperConfig.getDeleteFileOnExit()) {
 			dataFile.deleteOnExit();
 		}
@@ -299,7 +357,11 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 		}
 
 		try {
-			new ArffDatasetAdapter().serializeDataset(dataFile, dataset);
+			if (binary) {
+				new BinaryColumnarDatasetAdapter().serializeDataset(dataFile, dataset);
+			} else {
+				new ArffDatasetAdapter().serializeDataset(dataFile, dataset);
+			}
 		} catch (IOException e1) {
 			throw new ScikitLearnWrapperExecutionFailedException("Could not dump data file for prediction", e1);
 		}
@@ -307,10 +369,30 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 		return dataFile;
 	}
 
+	/**
+	 * Returns the file of a dataset that has already been written, preferring the binary over the ARFF representation if both exist.
+	 */
 	private synchronized File getDatasetFile(final String datasetName) {
+		File binaryFile = this.getBinaryDatasetFile(datasetName);
+		return binaryFile.exists() ? binaryFile : this.getArffDatasetFile(datasetName);
+	}
+
+	private File getArffDatasetFile(final String datasetName) {
 		return new File(this.scikitLearnWrapperConfig.getTempFolder(), datasetName + ".arff");
 	}
 
+	private File getBinaryDatasetFile(final String datasetName) {
+		return new File(this.scikitLearnWrapperConfig.getTempFolder(), datasetName + BinaryColumnarDatasetAdapter.FILE_EXTENSION);
+	}
+
+	/**
+	 * The binary format is only understood by the classification and regression logic of the python scripts. For all other cases, as well as for datasets with other than numeric or categorical attributes, ARFF is used.
+	 */
+	protected boolean isBinaryDataFormatApplicable(final ILabeledDataset<? extends ILabeledInstance> dataset) {
+		return this.scikitLearnWrapperConfig.getUseBinaryDataFormat() && (this.problemType == EScikitLearnProblemType.CLASSIFICATION || this.problemType == EScikitLearnProblemType.REGRESSION)
+				&& BinaryColumnarDatasetAdapter.isSerializable(dataset);
+	}
+
 	protected abstract boolean doLabelsFitToProblemType(final ILabeledDataset<? extends ILabeledInstance> data);
 
 	protected ScikitLearnWrapperCommandBuilder getCommandBuilder() {
@@ -357,6 +439,34 @@ public abstract class AScikitLearnWrapper<P extends IPrediction, B extends IPred
 		return commandBuilder;
 	}
 
+	/**
+	 * Long-running workers are only used for plain classification and regression, because the time series problem types rely on custom script logic.
+	 */
+	protected boolean isWorkerModeApplicable() {
+		return this.scikitLearnWrapperConfig.getUseWorkers() && (this.problemType == EScikitLearnProblemType.CLASSIFICATION || this.problemType == EScikitLearnProblemType.REGRESSION);
+	}
+
+	private Map<String, Object> getWorkerCommand(final String mode) {
+		Map<String, Object> command = new HashMap<>();
+		command.put("mode", mode);
+		command.put("problem", this.problemType.getScikitLearnCommandLineFlag());
+		command.put("imports", this.imports != null ? this.imports : "");
+		command.put("pipeline", this.pipeline);
+		command.put("seed", this.seed);
+		command.put("targets", this.targetIndices);
+		return command;
+	}
+
+	private void runInWorker(final Map<String, Object> command) throws InterruptedException, ScikitLearnWrapperExecutionFailedException {
+		IPythonConfig config = this.pythonConfig != null ? this.pythonConfig : ConfigCache.getOrCreate(IPythonConfig.class);
+		this.logger.debug("Running {} mode of {} in sklearn worker.", command.get("mode"), this.pipeline);
+		try {
+			ScikitLearnWorkerPool.getPool(config, this.scikitLearnWrapperConfig).execute(command, this.timeout, this.logger.getName() + ".python");
+		} catch (IOException e) {
+			throw new ScikitLearnWrapperExecutionFailedException("Could not start sklearn worker.", e);
+		}
+	}
+
 	private void runProcess(final String[] commandLineParameters) throws InterruptedException, ScikitLearnWrapperExecutionFailedException {
 		DefaultProcessListener listener = new DefaultProcessListener(this.listenToPidFromProcess);
 		try {
@@ -37,6 +37,31 @@ public interface IScikitLearnWrapperConfig extends IPythonConfig {
 	@DefaultValue("model_dumps")
 	public String getModelDumpsDirectoryName();
 
+	/**
+	 * If true, classification and regression pipelines are executed in long-running python workers instead of a new python process per call.
+	 */
+	@Key("sklearn.wrapper.worker.enabled")
+	@DefaultValue("false")
+	public boolean getUseWorkers();
+
+	/**
+	 * If true, datasets consisting only of numeric and categorical attributes are handed over to python in the binary columnar format, which numpy can memory-map without parsing. Other datasets are always written as ARFF.
+	 */
+	@Key("sklearn.wrapper.data.binary")
+	@DefaultValue("false")
+	public boolean getUseBinaryDataFormat();
+
+	@Key("sklearn.wrapper.worker.num")
+	@DefaultValue("4")
+	public int getNumWorkers();
+
+	/**
+	 * The time in milliseconds a long-running worker may take for a single command if the wrapper has no timeout of its own. A worker exceeding it is destroyed and replaced by a new one.
+	 */
+	@Key("sklearn.wrapper.worker.timeout")
+	@DefaultValue("3600000")
+	public long getWorkerTimeout();
+
 	default File getModelDumpsDirectory() {
 		return new File(this.getTempFolder(), this.getModelDumpsDirectoryName());
 	}
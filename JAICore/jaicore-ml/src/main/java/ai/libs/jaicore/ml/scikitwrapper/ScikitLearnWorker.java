@@ -0,0 +1,139 @@
+package ai.libs.jaicore.ml.scikitwrapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.api4.java.algorithm.Timeout;
+import org.api4.java.common.control.ILoggingCustomizable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A long-running python process executing the sklearn worker script. Commands are sent as single-line JSON objects to the stdin of the process, and each command is answered by a single-line JSON object on its stdout.
+ *
+ * A worker executes only one command at a time. If a command is interrupted or does not finish within its timeout, the process is destroyed, because it cannot be told apart whether it is still busy with the command.
+ */
+public class ScikitLearnWorker implements ILoggingCustomizable {
+
+	private static final String END_OF_STREAM = "";
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private Logger logger = LoggerFactory.getLogger(ScikitLearnWorker.class);
+	private final Process process;
+	private final BufferedWriter writer;
+	private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+
+	ScikitLearnWorker(final String[] command, final File workingDirectory) throws IOException {
+		this.logger.info("Starting sklearn worker with command {}", Arrays.toString(command));
+		this.process = new ProcessBuilder(command).directory(workingDirectory).start();
+		this.writer = new BufferedWriter(new OutputStreamWriter(this.process.getOutputStream(), StandardCharsets.UTF_8));
+		startDaemon("sklearn-worker-stdout", this.process.getInputStream(), line -> {
+			if (!line.isEmpty()) {
+				this.responses.add(line);
+			}
+		}, () -> this.responses.add(END_OF_STREAM));
+		startDaemon("sklearn-worker-stderr", this.process.getErrorStream(), line -> this.logger.debug("{}", line), () -> {
+			/* nothing to do */
+		});
+	}
+
+	private static void startDaemon(final String name, final InputStream stream, final Consumer<String> lineConsumer, final Runnable onEnd) {
+		Thread thread = new Thread(() -> {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					lineConsumer.accept(line);
+				}
+			} catch (IOException e) {
+				/* the stream has been closed, which is treated as its regular end */
+			} finally {
+				onEnd.run();
+			}
+		}, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Sends a command to the worker and waits for it to be completed.
+	 *
+	 * @param command The command, which is serialized to JSON.
+	 * @param timeout The maximum time to wait for the answer of the worker or null if no timeout should be applied.
+	 * @throws ScikitLearnWrapperExecutionFailedException If the command failed in python, the worker has died, or the timeout has been exceeded.
+	 * @throws InterruptedException If the thread is interrupted while waiting for the answer. The worker is then destroyed.
+	 */
+	public synchronized void execute(final Map<String, Object> command, final Timeout timeout) throws ScikitLearnWrapperExecutionFailedException, InterruptedException {
+		if (!this.isAlive()) {
+			throw new ScikitLearnWrapperExecutionFailedException("The sklearn worker process is not alive anymore.");
+		}
+		String response;
+		try {
+			this.writer.write(MAPPER.writeValueAsString(command));
+			this.writer.newLine();
+			this.writer.flush();
+			if (timeout != null) {
+				response = this.responses.poll(timeout.milliseconds(), TimeUnit.MILLISECONDS);
+			} else {
+				response = this.responses.take();
+			}
+		} catch (IOException e) {
+			this.destroy();
+			throw new ScikitLearnWrapperExecutionFailedException("Could not send command to sklearn worker.", e);
+		} catch (InterruptedException e) {
+			this.logger.info("Interrupted while waiting for the sklearn worker, destroying it.");
+			this.destroy();
+			throw e;
+		}
+		if (response == null) {
+			this.destroy();
+			throw new ScikitLearnWrapperExecutionFailedException("The sklearn worker did not answer within " + timeout.milliseconds() + "ms.");
+		}
+		if (response.equals(END_OF_STREAM)) {
+			throw new ScikitLearnWrapperExecutionFailedException("The sklearn worker process has terminated unexpectedly.");
+		}
+		JsonNode answer;
+		try {
+			answer = MAPPER.readTree(response);
+		} catch (IOException e) {
+			this.destroy();
+			throw new ScikitLearnWrapperExecutionFailedException("Could not parse answer of sklearn worker: " + response, e);
+		}
+		if (!"ok".equals(answer.path("status").asText())) {
+			this.logger.debug("Command failed in sklearn worker. Trace: {}", answer.path("trace").asText());
+			throw new ScikitLearnWrapperExecutionFailedException("Command failed in sklearn worker: " + answer.path("message").asText());
+		}
+	}
+
+	public boolean isAlive() {
+		return this.process.isAlive();
+	}
+
+	public void destroy() {
+		this.process.destroyForcibly();
+	}
+
+	@Override
+	public String getLoggerName() {
+		return this.logger.getName();
+	}
+
+	@Override
+	public void setLoggerName(final String name) {
+		this.logger = LoggerFactory.getLogger(name);
+	}
+}
@@ -0,0 +1,122 @@
+package ai.libs.jaicore.ml.scikitwrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.algorithm.Timeout;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.libs.jaicore.basic.ResourceUtil;
+import ai.libs.python.IPythonConfig;
+import ai.libs.python.PythonUtil;
+
+/**
+ * A bounded pool of {@link ScikitLearnWorker}s that share the same python installation. Workers are started lazily and reused across all wrappers, so that the python interpreter and the imported modules stay warm.
+ *
+ * There is one pool per python installation; pools are obtained via {@link #getPool(IPythonConfig, IScikitLearnWrapperConfig)} and shut down when the JVM terminates.
+ */
+public class ScikitLearnWorkerPool {
+
+	private static final String WORKER_SCRIPT = "sklearn/sklearn_worker.py";
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScikitLearnWorkerPool.class);
+	private static final Map<String, ScikitLearnWorkerPool> POOLS = new HashMap<>();
+	private static String workerScriptFile;
+
+	private final String[] command;
+	private final File workingDirectory;
+	private final Semaphore capacity;
+	private final Timeout defaultTimeout;
+	private final BlockingQueue<ScikitLearnWorker> idleWorkers = new LinkedBlockingQueue<>();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(ScikitLearnWorkerPool::shutdownAll, "sklearn-worker-pool-shutdown"));
+	}
+
+	private ScikitLearnWorkerPool(final String[] command, final File workingDirectory, final int size, final Timeout defaultTimeout) {
+		this.command = command;
+		this.workingDirectory = workingDirectory;
+		this.capacity = new Semaphore(size, true);
+		this.defaultTimeout = defaultTimeout;
+	}
+
+	public static synchronized ScikitLearnWorkerPool getPool(final IPythonConfig pythonConfig, final IScikitLearnWrapperConfig wrapperConfig) throws IOException {
+		if (workerScriptFile == null) {
+			String scriptFile = ResourceUtil.getResourceAsTempFile(WORKER_SCRIPT);
+			AScikitLearnWrapper.writePythonModules(new File(scriptFile).getParentFile());
+			workerScriptFile = scriptFile;
+		}
+		String[] command = new PythonUtil(pythonConfig).getExecutableCommandArray(false, "-u", workerScriptFile);
+		return POOLS.computeIfAbsent(Arrays.toString(command), c -> new ScikitLearnWorkerPool(command, wrapperConfig.getTempFolder(), wrapperConfig.getNumWorkers(),
+				new Timeout(wrapperConfig.getWorkerTimeout(), TimeUnit.MILLISECONDS)));
+	}
+
+	/**
+	 * Acquires a worker exclusively for the current thread, starting a new one if no idle worker is available. Blocks while all workers of the pool are in use.
+	 */
+	public ScikitLearnWorker acquire() throws InterruptedException, IOException {
+		this.capacity.acquire();
+		try {
+			ScikitLearnWorker worker;
+			while ((worker = this.idleWorkers.poll()) != null) {
+				if (worker.isAlive()) {
+					return worker;
+				}
+			}
+			return new ScikitLearnWorker(this.command, this.workingDirectory);
+		} catch (IOException | RuntimeException e) {
+			this.capacity.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Executes a command in a worker of the pool. If the command does not finish within the timeout, the worker is destroyed and replaced by a new one for the next command.
+	 *
+	 * @param command The command, which is serialized to JSON.
+	 * @param timeout The maximum time to wait for the answer of the worker or null to apply the default timeout of the pool.
+	 * @param loggerName The name of the logger of the worker.
+	 */
+	public void execute(final Map<String, Object> command, final Timeout timeout, final String loggerName) throws InterruptedException, IOException, ScikitLearnWrapperExecutionFailedException {
+		ScikitLearnWorker worker = this.acquire();
+		try {
+			worker.setLoggerName(loggerName);
+			worker.execute(command, timeout != null ? timeout : this.defaultTimeout);
+		} finally {
+			this.release(worker);
+		}
+	}
+
+	/**
+	 * Returns a worker obtained via {@link #acquire()} to the pool. Workers that are not alive anymore are dropped.
+	 */
+	public void release(final ScikitLearnWorker worker) {
+		if (worker.isAlive()) {
+			this.idleWorkers.add(worker);
+		}
+		this.capacity.release();
+	}
+
+	/**
+	 * Destroys all idle workers. Workers currently in use terminate by themselves once the JVM has exited, because their stdin is closed then.
+	 */
+	public void shutdown() {
+		ScikitLearnWorker worker;
+		while ((worker = this.idleWorkers.poll()) != null) {
+			worker.destroy();
+		}
+	}
+
+	private static synchronized void shutdownAll() {
+		LOGGER.debug("Shutting down {} sklearn worker pools.", POOLS.size());
+		POOLS.values().forEach(ScikitLearnWorkerPool::shutdown);
+	}
+}
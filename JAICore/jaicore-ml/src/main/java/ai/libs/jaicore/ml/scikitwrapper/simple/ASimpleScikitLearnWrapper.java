@@ -7,7 +7,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.aeonbits.owner.ConfigFactory;
 import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
@@ -23,9 +25,12 @@ import org.slf4j.LoggerFactory;
 
 import ai.libs.jaicore.basic.ResourceUtil;
 import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
+import ai.libs.jaicore.ml.core.dataset.serialization.BinaryColumnarDatasetAdapter;
 import ai.libs.jaicore.ml.core.learner.ASupervisedLearner;
+import ai.libs.jaicore.ml.scikitwrapper.AScikitLearnWrapper;
 import ai.libs.jaicore.ml.scikitwrapper.IScikitLearnWrapper;
 import ai.libs.jaicore.ml.scikitwrapper.IScikitLearnWrapperConfig;
+import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWorkerPool;
 import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapperExecutionFailedException;
 import ai.libs.python.IPythonConfig;
 import ai.libs.python.PythonRequirementDefinition;
@@ -63,6 +68,9 @@ public abstract class ASimpleScikitLearnWrapper<P extends IPrediction, B extends
 	private File executable = null;
 	private File outputFile = null;
 
+	// timeout of a single fit and predict call, which is only applied when running in a worker
+	private Timeout timeout = null;
+
 	// temporary data
 	protected ILabeledDataset<? extends ILabeledInstance> trainingData;
 
@@ -100,7 +108,8 @@ public abstract class ASimpleScikitLearnWrapper<P extends IPrediction, B extends
 	}
 
 	private synchronized File getOrWriteDataFile(final ILabeledDataset<? extends ILabeledInstance> dataset, final String dataFileName) throws ScikitLearnWrapperExecutionFailedException, IOException {
-		File dataFile = this.getDatasetFile(dataFileName);
+		boolean binary = this.sklearnClassifierConfig.getUseBinaryDataFormat() && BinaryColumnarDatasetAdapter.isSerializable(dataset);
+		File dataFile = this.getDatasetFile(dataFileName + (binary ? BinaryColumnarDatasetAdapter.FILE_EXTENSION : ".arff"));
 		if (dataFile.exists()) {
 			this.logger.debug("Reusing dataset: {}", dataFileName);
 			return dataFile;
@@ -111,7 +120,11 @@ public abstract class ASimpleScikitLearnWrapper<P extends IPrediction, B extends
 				dataFile.deleteOnExit();
 			}
 			this.logger.debug("Serializing {}x{} dataset to {}", dataset.size(), dataset.getNumAttributes(), dataFileName);
-			new ArffDatasetAdapter().serializeDataset(dataFile, dataset);
+			if (binary) {
+				new BinaryColumnarDatasetAdapter().serializeDataset(dataFile, dataset);
+			} else {
+				new ArffDatasetAdapter().serializeDataset(dataFile, dataset);
+			}
 		} catch (IOException e1) {
 			throw new ScikitLearnWrapperExecutionFailedException("Could not dump data file for prediction", e1);
 		}
@@ -119,8 +132,8 @@ public abstract class ASimpleScikitLearnWrapper<P extends IPrediction, B extends
 		return dataFile;
 	}
 
-	private synchronized File getDatasetFile(final String datasetName) throws IOException {
-		File datasetFile = new File(getTempDir(), datasetName + ".arff");
+	private synchronized File getDatasetFile(final String datasetFileName) throws IOException {
+		File datasetFile = new File(getTempDir(), datasetFileName);
 		if (this.sklearnClassifierConfig.getDeleteFileOnExit()) {
 			datasetFile.deleteOnExit();
 		}
@@ -136,8 +149,12 @@ public abstract class ASimpleScikitLearnWrapper<P extends IPrediction, B extends
 	}
 
 	protected File executePipeline(final ILabeledDataset<? extends ILabeledInstance> dTest) throws IOException, InterruptedException, ScikitLearnWrapperExecutionFailedException {
+		if (this.sklearnClassifierConfig.getUseWorkers()) {
+			return this.executePipelineInWorker(dTest);
+		}
 		this.executable = Files.createTempFile("sklearn-classifier-", ".py").toFile();
 		this.executable.deleteOnExit();
+		AScikitLearnWrapper.writePythonModules(this.executable.getAbsoluteFile().getParentFile());
 
 		String template = ResourceUtil.readResourceFileToString(this.pathExecutableTemplate);
 		template = template.replace("{{pipeline}}", this.constructorCall);
@@ -170,6 +187,25 @@ public abstract class ASimpleScikitLearnWrapper<P extends IPrediction, B extends
 		return this.outputFile;
 	}
 
+	private File executePipelineInWorker(final ILabeledDataset<? extends ILabeledInstance> dTest) throws IOException, InterruptedException, ScikitLearnWrapperExecutionFailedException {
+		File fitFile = this.getOrWriteDataFile(this.trainingData, this.getDataName(this.trainingData));
+		File predictFile = this.getOrWriteDataFile(dTest, this.getDataName(dTest));
+		this.outputFile = Files.createTempFile("sklearn-predictions", ".json").toFile();
+		this.outputFile.deleteOnExit();
+
+		Map<String, Object> command = new HashMap<>();
+		command.put("mode", "fitAndPredict");
+		command.put("problem", this.problem);
+		command.put("imports", this.imports);
+		command.put("pipeline", this.constructorCall);
+		command.put("fit", fitFile.getCanonicalPath());
+		command.put("predict", predictFile.getCanonicalPath());
+		command.put("predictOutput", this.outputFile.getCanonicalPath());
+
+		ScikitLearnWorkerPool.getPool(this.pythonC, this.sklearnClassifierConfig).execute(command, this.timeout, this.getLoggerName() + ".worker");
+		return this.outputFile;
+	}
+
 	@Override
 	public void setModelPath(final String modelPath) throws IOException {
 		this.logger.debug(LOG_SERIALIZATION_NOT_IMPLEMENTED);
@@ -204,7 +240,10 @@ public abstract class ASimpleScikitLearnWrapper<P extends IPrediction, B extends
 
 	@Override
 	public void setTimeout(final Timeout timeout) {
-		this.logger.debug("The simple scikit-learn classifier wrapper does not support setting a timeout.");
+		if (!this.sklearnClassifierConfig.getUseWorkers()) {
+			this.logger.debug("The simple scikit-learn classifier wrapper only supports a timeout when running in a worker.");
+		}
+		this.timeout = timeout;
 	}
 
 	@Override
@@ -0,0 +1,103 @@
+package ai.libs.jaicore.ml.classification.singlelabel.timeseries.learner.neighbors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.api4.java.common.metric.IDistanceMetric;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import ai.libs.jaicore.basic.metric.DynamicTimeWarping;
+import ai.libs.jaicore.basic.metric.EuclideanDistance;
+import ai.libs.jaicore.basic.metric.ScalarDistanceUtil;
+import ai.libs.jaicore.basic.metric.ShotgunDistance;
+import ai.libs.jaicore.basic.metric.TimeWarpEditDistance;
+import ai.libs.jaicore.basic.metric.WeightedDynamicTimeWarping;
+
+/**
+ * Test suite for the {@link NearestNeighborSearch} implementation. The pruned and parallel search must find the same neighbors as an exhaustive search.
+ */
+public class NearestNeighborSearchTest {
+
+	private static final int NUM_SERIES = 60;
+	private static final int LENGTH = 40;
+
+	public static Stream<Arguments> getDistanceMeasures() {
+		return Stream.of(Arguments.of("DTW", new DynamicTimeWarping()), Arguments.of("DTW with window", new DynamicTimeWarping(ScalarDistanceUtil.getSquaredDistance(), 4)),
+				Arguments.of("WDTW", new WeightedDynamicTimeWarping(0.1, 1, ScalarDistanceUtil.getSquaredDistance())), Arguments.of("TWED", new TimeWarpEditDistance(1.0, 0.001)),
+				Arguments.of("Shotgun", new ShotgunDistance(8, true)), Arguments.of("Euclidean", new EuclideanDistance()));
+	}
+
+	private static double[][] randomTimeSeries(final Random random, final int number) {
+		double[][] series = new double[number][LENGTH];
+		for (double[] s : series) {
+			double value = 0;
+			for (int i = 0; i < LENGTH; i++) {
+				value += random.nextGaussian();
+				s[i] = value;
+			}
+		}
+		return series;
+	}
+
+	/**
+	 * The k nearest neighbors by (distance, index) as found by an exhaustive search.
+	 */
+	private static int[] exhaustiveSearch(final double[][] values, final IDistanceMetric distanceMeasure, final double[] query, final int excludedIndex, final int k) {
+		double[] distances = Arrays.stream(values).mapToDouble(s -> distanceMeasure.distance(query, s)).toArray();
+		return IntStream.range(0, values.length).filter(i -> i != excludedIndex).boxed().sorted(Comparator.<Integer>comparingDouble(i -> distances[i]).thenComparingInt(i -> i)).limit(k)
+				.mapToInt(Integer::intValue).sorted().toArray();
+	}
+
+	private static int[] getSortedIndices(final NeighborHeap neighbors) {
+		return IntStream.range(0, neighbors.size()).map(neighbors::getIndex).sorted().toArray();
+	}
+
+	@ParameterizedTest(name = "Search with {0}")
+	@MethodSource("getDistanceMeasures")
+	public void testThatSearchIsExact(final String name, final IDistanceMetric distanceMeasure) throws InterruptedException {
+		Random random = new Random(0);
+		double[][] values = randomTimeSeries(random, NUM_SERIES);
+		double[][] queries = randomTimeSeries(random, 10);
+		for (int k : new int[] { 1, 5 }) {
+			NeighborHeap[] parallelResult = new NearestNeighborSearch(values, distanceMeasure, k, 4).search(queries);
+			for (int q = 0; q < queries.length; q++) {
+				int[] expected = exhaustiveSearch(values, distanceMeasure, queries[q], -1, k);
+				assertArrayEquals(expected, getSortedIndices(new NearestNeighborSearch(values, distanceMeasure, k, 1).search(queries[q])));
+				assertArrayEquals(expected, getSortedIndices(parallelResult[q]));
+			}
+
+			NeighborHeap[] leaveOneOutResult = new NearestNeighborSearch(values, distanceMeasure, k, 4).searchLeaveOneOut();
+			for (int i = 0; i < values.length; i++) {
+				assertArrayEquals(exhaustiveSearch(values, distanceMeasure, values[i], i, k), getSortedIndices(leaveOneOutResult[i]));
+			}
+		}
+	}
+
+	@Test
+	public void testNeighborHeap() {
+		NeighborHeap heap = new NeighborHeap(3);
+		assertEquals(Double.POSITIVE_INFINITY, heap.getLimit(), 0);
+		double[] distances = { 0.5, 0.1, 0.9, 0.3, 0.1, 0.7 };
+		for (int i = 0; i < distances.length; i++) {
+			heap.offer(i, distances[i]);
+		}
+		assertEquals(3, heap.size());
+		assertEquals(0.3, heap.getLimit(), 0);
+		assertArrayEquals(new int[] { 1, 3, 4 }, getSortedIndices(heap));
+
+		/* ties are broken by the index */
+		heap.offer(2, 0.3);
+		assertArrayEquals(new int[] { 1, 2, 4 }, getSortedIndices(heap));
+		heap.offer(3, 0.3);
+		assertArrayEquals(new int[] { 1, 2, 4 }, getSortedIndices(heap));
+	}
+}
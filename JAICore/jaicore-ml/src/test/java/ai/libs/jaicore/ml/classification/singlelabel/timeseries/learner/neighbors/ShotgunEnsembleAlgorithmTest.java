@@ -5,6 +5,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.api4.java.algorithm.exceptions.AlgorithmException;
 import org.junit.jupiter.api.Assertions;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Test;
 
 import ai.libs.jaicore.basic.sets.Pair;
 import ai.libs.jaicore.ml.classification.singlelabel.timeseries.dataset.TimeSeriesDataset2;
+import ai.libs.jaicore.ml.classification.singlelabel.timeseries.learner.neighbors.ShotgunEnsembleLearnerAlgorithm.IShotgunEnsembleLearnerConfig;
 
 /**
  * Test suite for the
@@ -92,6 +94,22 @@ public class ShotgunEnsembleAlgorithmTest {
 		}
 	}
 
+	@Test
+	public void testThatDistanceMatrixCacheYieldsSameScores() throws AlgorithmException {
+		ShotgunEnsembleClassifier lModel = new ShotgunEnsembleClassifier(2, 4, true, 1);
+		lModel.getLearningAlgorithm(this.dataset).call();
+		List<Pair<Integer, Integer>> windowsWithoutCache = new ArrayList<>(lModel.windows);
+
+		ShotgunEnsembleLearnerAlgorithm lAlgorithm = lModel.getLearningAlgorithm(this.dataset);
+		lAlgorithm.getConfig().setProperty(IShotgunEnsembleLearnerConfig.K_DISTANCEMATRIXCACHE, "true");
+		try {
+			lAlgorithm.call();
+			assertEquals(windowsWithoutCache, lModel.windows);
+		} finally {
+			lAlgorithm.getConfig().setProperty(IShotgunEnsembleLearnerConfig.K_DISTANCEMATRIXCACHE, "false");
+		}
+	}
+
 	@Test
 	public void testRobustnessForConstructorWithInvalidWindowLenghts1() {
 		Assertions.assertThrows(IllegalArgumentException.class, () -> {
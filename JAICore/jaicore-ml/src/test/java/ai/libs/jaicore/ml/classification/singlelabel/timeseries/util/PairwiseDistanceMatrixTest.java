@@ -0,0 +1,123 @@
+package ai.libs.jaicore.ml.classification.singlelabel.timeseries.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.api4.java.common.metric.IDistanceMetric;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import ai.libs.jaicore.basic.metric.DynamicTimeWarping;
+import ai.libs.jaicore.basic.metric.ShotgunDistance;
+
+/**
+ * Test suite for the {@link PairwiseDistanceMatrix} and the {@link DistanceMatrixCache}.
+ */
+public class PairwiseDistanceMatrixTest {
+
+	private static double[][] randomTimeSeries(final int number, final int length) {
+		Random random = new Random(0);
+		double[][] series = new double[number][length];
+		for (double[] s : series) {
+			for (int i = 0; i < length; i++) {
+				s[i] = random.nextGaussian();
+			}
+		}
+		return series;
+	}
+
+	public static Stream<Arguments> getLayouts() {
+		return Stream.of(Arguments.of(true, false, Long.MAX_VALUE, 1), Arguments.of(true, true, Long.MAX_VALUE, 4), Arguments.of(false, false, Long.MAX_VALUE, 4),
+				Arguments.of(true, false, 0L, 4), Arguments.of(false, true, 0L, 1));
+	}
+
+	@ParameterizedTest(name = "symmetric: {0}, floats: {1}, heap budget: {2}, cpus: {3}")
+	@MethodSource("getLayouts")
+	public void testThatMatrixContainsDistances(final boolean symmetric, final boolean singlePrecision, final long heapBudget, final int numCPUs) throws IOException, InterruptedException {
+		double[][] values = randomTimeSeries(30, 20);
+		IDistanceMetric distanceMeasure = symmetric ? new DynamicTimeWarping() : new ShotgunDistance(5, true);
+		PairwiseDistanceMatrix matrix = PairwiseDistanceMatrix.compute(values, distanceMeasure, symmetric, singlePrecision, heapBudget, numCPUs);
+		assertEquals(values.length, matrix.size());
+		assertEquals(heapBudget == 0, matrix.isMemoryMapped());
+		for (int i = 0; i < values.length; i++) {
+			for (int j = 0; j < values.length; j++) {
+				double expected = distanceMeasure.distance(values[i], values[j]);
+				assertEquals(singlePrecision ? (float) expected : expected, matrix.get(i, j), 0);
+			}
+		}
+	}
+
+	@Test
+	public void testThatCacheComputesMatricesOnce() throws IOException, InterruptedException {
+		DistanceMatrixCache cache = DistanceMatrixCache.getInstance();
+		double[][] values = randomTimeSeries(10, 20);
+		PairwiseDistanceMatrix matrix = cache.getDistanceMatrix(values, new DynamicTimeWarping(), "dtw", true);
+		assertTrue(matrix.isSymmetric());
+		assertSame(matrix, cache.getDistanceMatrix(values, new DynamicTimeWarping(), "dtw", true));
+		assertNotSame(matrix, cache.getDistanceMatrix(values, new ShotgunDistance(5, true), "shotgun", false));
+		assertSame(matrix, cache.getDistanceMatrix(randomTimeSeries(10, 20), new DynamicTimeWarping(), "dtw", true));
+		assertNotSame(matrix, cache.getDistanceMatrix(randomTimeSeries(10, 21), new DynamicTimeWarping(), "dtw", true));
+		cache.remove(values);
+		assertNotSame(matrix, cache.getDistanceMatrix(values, new DynamicTimeWarping(), "dtw", true));
+		cache.clear();
+	}
+
+	@Test
+	public void testThatCacheEvictsLeastRecentlyUsedMatricesBeyondBudget() throws IOException, InterruptedException {
+		DistanceMatrixCache cache = DistanceMatrixCache.getInstance();
+		long maxNumberOfBytes = cache.getMaxNumberOfBytes();
+		long heapBudget = cache.getHeapBudget();
+		cache.clear();
+		try {
+			double[][] values = randomTimeSeries(10, 20);
+			long bytesPerMatrix = PairwiseDistanceMatrix.compute(values, new DynamicTimeWarping(), true, false, Long.MAX_VALUE, 1).getNumberOfBytes();
+			cache.setMaxNumberOfBytes(2 * bytesPerMatrix);
+			cache.setHeapBudget(0);
+			PairwiseDistanceMatrix first = cache.getDistanceMatrix(values, new DynamicTimeWarping(), "dtw", true);
+			PairwiseDistanceMatrix second = cache.getDistanceMatrix(values, new ShotgunDistance(5, true), "shotgun", true);
+			assertTrue(first.isMemoryMapped());
+			assertSame(first, cache.getDistanceMatrix(values, new DynamicTimeWarping(), "dtw", true)); // the second matrix is the least recently used one now
+			cache.getDistanceMatrix(values, new ShotgunDistance(3, true), "shotgun3", true);
+			assertEquals(2 * bytesPerMatrix, cache.getNumberOfBytes());
+			assertSame(first, cache.getDistanceMatrix(values, new DynamicTimeWarping(), "dtw", true));
+			assertNotSame(second, cache.getDistanceMatrix(values, new ShotgunDistance(5, true), "shotgun", true));
+
+			/* a matrix that exceeds the budget on its own is returned, but not kept */
+			cache.setMaxNumberOfBytes(bytesPerMatrix - 1);
+			assertEquals(0, cache.getNumberOfBytes());
+			PairwiseDistanceMatrix tooLarge = cache.getDistanceMatrix(values, new DynamicTimeWarping(), "dtw", true);
+			assertEquals(values.length, tooLarge.size());
+			assertEquals(0, cache.getNumberOfBytes());
+			assertNotSame(tooLarge, cache.getDistanceMatrix(values, new DynamicTimeWarping(), "dtw", true));
+		} finally {
+			cache.setMaxNumberOfBytes(maxNumberOfBytes);
+			cache.setHeapBudget(heapBudget);
+			cache.clear();
+		}
+	}
+
+	@Test
+	public void testThatFileOfMemoryMappedMatrixIsDeleted() throws IOException, InterruptedException {
+		PairwiseDistanceMatrix matrix = PairwiseDistanceMatrix.compute(randomTimeSeries(10, 20), new DynamicTimeWarping(), true, false, 0L, 1);
+		assertTrue(matrix.isMemoryMapped());
+		assertTrue(matrix.deleteFile());
+		assertFalse(matrix.deleteFile());
+		assertFalse(PairwiseDistanceMatrix.compute(randomTimeSeries(10, 20), new DynamicTimeWarping(), true, false, Long.MAX_VALUE, 1).deleteFile());
+	}
+
+	@Test
+	public void testThatEqualDatasetsHaveEqualFingerprints() {
+		assertEquals(DistanceMatrixCache.getFingerprint(randomTimeSeries(10, 20)), DistanceMatrixCache.getFingerprint(randomTimeSeries(10, 20)));
+		assertFalse(DistanceMatrixCache.getFingerprint(randomTimeSeries(10, 20)).equals(DistanceMatrixCache.getFingerprint(randomTimeSeries(20, 10))));
+		assertFalse(DistanceMatrixCache.getFingerprint(new double[][] { { 1, 2 }, { 3 } }).equals(DistanceMatrixCache.getFingerprint(new double[][] { { 1 }, { 2, 3 } })));
+	}
+}
@@ -0,0 +1,93 @@
+package ai.libs.jaicore.ml.core.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.splitter.SplitFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.ai.ml.core.exception.DatasetCreationException;
+import org.junit.jupiter.api.Test;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
+import ai.libs.jaicore.ml.core.dataset.splitter.RandomHoldoutSplitter;
+
+public class ColumnarDatasetTest extends ATest {
+
+	private static final File DATASET = new File("testrsc/ml/orig/vowel.arff");
+
+	private ILabeledDataset<ILabeledInstance> read(final boolean columnar) throws DatasetDeserializationFailedException {
+		ArffDatasetAdapter adapter = new ArffDatasetAdapter();
+		adapter.setColumnarMode(columnar);
+		return adapter.readDataset(DATASET);
+	}
+
+	@Test
+	public void testThatColumnarDatasetCoincidesWithDataset() throws DatasetDeserializationFailedException {
+		ILabeledDataset<ILabeledInstance> reference = this.read(false);
+		ILabeledDataset<ILabeledInstance> columnar = this.read(true);
+		assertTrue(columnar instanceof ColumnarDataset);
+		assertEquals(reference.size(), columnar.size());
+		assertEquals(reference.getNumAttributes(), columnar.getNumAttributes());
+		DatasetTestUtil.checkDatasetCoherence(columnar);
+		for (int i = 0; i < reference.size(); i++) {
+			ILabeledInstance expected = reference.get(i);
+			ILabeledInstance actual = columnar.get(i);
+			assertArrayEquals(expected.getAttributes(), actual.getAttributes());
+			assertArrayEquals(expected.getPoint(), actual.getPoint(), 0.0);
+			assertEquals(expected.getLabel(), actual.getLabel());
+		}
+	}
+
+	@Test
+	public void testModificationsWriteThrough() throws DatasetDeserializationFailedException {
+		ILabeledDataset<ILabeledInstance> columnar = this.read(true);
+		ILabeledInstance view = columnar.get(3);
+		view.setAttributeValue(3, 42.0); // numeric attribute
+		view.setAttributeValue(1, 2); // categorical attribute
+		view.setAttributeValue(0, null);
+		assertEquals(42.0, columnar.get(3).getAttributeValue(3));
+		assertEquals(42.0, columnar.get(3).getPointValue(3), 0.0);
+		assertEquals(2, columnar.get(3).getAttributeValue(1));
+		assertNull(columnar.get(3).getAttributeValue(0));
+	}
+
+	@Test
+	public void testAddRemoveAndColumnRemoval() throws DatasetDeserializationFailedException, DatasetCreationException, InterruptedException {
+		ILabeledDataset<ILabeledInstance> reference = this.read(false);
+		ColumnarDataset columnar = (ColumnarDataset) this.read(true);
+		ColumnarDataset copy = columnar.createCopy();
+		ILabeledInstance removed = copy.remove(0);
+		assertArrayEquals(reference.get(0).getAttributes(), removed.getAttributes());
+		assertEquals(reference.size() - 1, copy.size());
+		assertArrayEquals(reference.get(1).getAttributes(), copy.get(0).getAttributes());
+		copy.add(0, reference.get(0));
+		assertEquals(columnar, copy);
+
+		int numAttributesBefore = copy.getNumAttributes();
+		copy.removeColumn(0);
+		assertEquals(numAttributesBefore - 1, copy.getNumAttributes());
+		assertEquals(numAttributesBefore, columnar.getNumAttributes());
+		DatasetTestUtil.checkDatasetCoherence(columnar);
+		DatasetTestUtil.checkDatasetCoherence(copy);
+	}
+
+	@Test
+	public void testSplitting() throws DatasetDeserializationFailedException, SplitFailedException, InterruptedException {
+		ILabeledDataset<ILabeledInstance> columnar = this.read(true);
+		List<ILabeledDataset<ILabeledInstance>> folds = RandomHoldoutSplitter.createSplit(columnar, 0, .7);
+		assertEquals(2, folds.size());
+		assertEquals(columnar.size(), folds.get(0).size() + folds.get(1).size());
+		for (ILabeledDataset<ILabeledInstance> fold : folds) {
+			assertTrue(fold instanceof ColumnarDataset);
+			DatasetTestUtil.checkDatasetCoherence(fold);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package ai.libs.jaicore.ml.core.dataset.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.api4.java.ai.ml.core.dataset.schema.attribute.IAttribute;
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.ai.ml.core.exception.DatasetCreationException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.ml.core.dataset.ColumnarDataset;
+import ai.libs.jaicore.ml.core.dataset.Dataset;
+import ai.libs.jaicore.ml.core.dataset.DenseInstance;
+import ai.libs.jaicore.ml.core.dataset.schema.LabeledInstanceSchema;
+import ai.libs.jaicore.ml.core.dataset.schema.attribute.IntBasedCategoricalAttribute;
+import ai.libs.jaicore.ml.core.dataset.schema.attribute.StringAttribute;
+
+public class BinaryColumnarDatasetAdapterTest extends ATest {
+
+	private static ILabeledDataset<ILabeledInstance> data;
+
+	@BeforeAll
+	public static void setup() throws DatasetDeserializationFailedException, InterruptedException, DatasetCreationException {
+		data = new ArffDatasetAdapter().readDataset(new File("testrsc/ml/orig/vowel.arff"));
+
+		/* introduce missing values for a numeric and a categorical attribute */
+		int numericAttribute = data.getInstanceSchema().getAttributeList().indexOf(data.getInstanceSchema().getAttributeList().stream().filter(a -> !(a instanceof IntBasedCategoricalAttribute)).findFirst().get());
+		data.get(0).setAttributeValue(numericAttribute, null);
+		data.get(1).setAttributeValue(0, null);
+	}
+
+	@Test
+	public void testThatDeserializedDatasetEqualsSerializedDataset() throws IOException, DatasetDeserializationFailedException, InterruptedException {
+		File file = File.createTempFile("binarycolumnar", BinaryColumnarDatasetAdapter.FILE_EXTENSION);
+		file.deleteOnExit();
+		new BinaryColumnarDatasetAdapter().serializeDataset(file, data);
+		ILabeledDataset<ILabeledInstance> read = new BinaryColumnarDatasetAdapter().deserializeDataset(file);
+
+		assertEquals(data.getRelationName(), read.getRelationName());
+		assertEquals(data.size(), read.size());
+		assertEquals(data.getNumAttributes(), read.getNumAttributes());
+		for (int j = 0; j < data.getNumAttributes(); j++) {
+			assertEquals(data.getAttribute(j).getName(), read.getAttribute(j).getName());
+			assertEquals(data.getAttribute(j).getStringDescriptionOfDomain(), read.getAttribute(j).getStringDescriptionOfDomain());
+		}
+		assertEquals(data.getLabelAttribute().getStringDescriptionOfDomain(), read.getLabelAttribute().getStringDescriptionOfDomain());
+		for (int i = 0; i < data.size(); i++) {
+			for (int j = 0; j < data.getNumAttributes(); j++) {
+				Object expected = data.get(i).getAttributeValue(j);
+				Object actual = read.get(i).getAttributeValue(j);
+				if (expected == null) {
+					assertNull(actual);
+				} else {
+					assertEquals(data.getAttribute(j).toDouble(expected), read.getAttribute(j).toDouble(actual), 0.0);
+				}
+			}
+			assertEquals(data.get(i).getLabel(), read.get(i).getLabel());
+		}
+	}
+
+	@Test
+	public void testThatPayloadIsAlignedAndColumnMajor() throws IOException {
+		File file = File.createTempFile("binarycolumnar", BinaryColumnarDatasetAdapter.FILE_EXTENSION);
+		file.deleteOnExit();
+		new BinaryColumnarDatasetAdapter().serializeDataset(file, data);
+		ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+
+		byte[] magic = new byte[BinaryColumnarDatasetAdapter.MAGIC.length()];
+		bytes.get(magic);
+		assertEquals(BinaryColumnarDatasetAdapter.MAGIC, new String(magic, StandardCharsets.US_ASCII));
+		int offset = magic.length + Integer.BYTES + bytes.getInt();
+		assertEquals(0, offset % BinaryColumnarDatasetAdapter.ALIGNMENT);
+
+		int n = data.size();
+		int m = data.getNumAttributes() + 1;
+		assertEquals(offset + (long) n * m * Double.BYTES, file.length());
+		for (int i = 2; i < n; i += 50) {
+			for (int j = 0; j < data.getNumAttributes(); j++) {
+				assertEquals(data.getAttribute(j).toDouble(data.get(i).getAttributeValue(j)), bytes.getDouble(offset + (j * n + i) * Double.BYTES), 0.0);
+			}
+			assertEquals(data.getLabelAttribute().toDouble(data.get(i).getLabel()), bytes.getDouble(offset + ((m - 1) * n + i) * Double.BYTES), 0.0);
+		}
+	}
+
+	@Test
+	public void testThatColumnarDatasetsAreWrittenLikeOtherDatasets() throws IOException {
+		File expected = File.createTempFile("binarycolumnar", BinaryColumnarDatasetAdapter.FILE_EXTENSION);
+		expected.deleteOnExit();
+		new BinaryColumnarDatasetAdapter().serializeDataset(expected, data);
+		File actual = File.createTempFile("binarycolumnar", BinaryColumnarDatasetAdapter.FILE_EXTENSION);
+		actual.deleteOnExit();
+		new BinaryColumnarDatasetAdapter().serializeDataset(actual, new ColumnarDataset(data.getInstanceSchema(), data));
+		assertArrayEquals(Files.readAllBytes(expected.toPath()), Files.readAllBytes(actual.toPath()));
+	}
+
+	@Test
+	public void testThatDatasetsWithStringAttributesAreNotSerializable() {
+		assertTrue(BinaryColumnarDatasetAdapter.isSerializable(data));
+		IAttribute label = new IntBasedCategoricalAttribute("class", Arrays.asList("a", "b"));
+		Dataset withString = new Dataset(new LabeledInstanceSchema("strings", Arrays.asList(new StringAttribute("text")), label));
+		withString.add(new DenseInstance(new Object[] { "some text" }, 0));
+		assertFalse(BinaryColumnarDatasetAdapter.isSerializable(withString));
+	}
+}
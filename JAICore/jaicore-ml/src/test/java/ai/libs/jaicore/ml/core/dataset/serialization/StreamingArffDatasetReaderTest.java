@@ -0,0 +1,167 @@
+package ai.libs.jaicore.ml.core.dataset.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.ml.core.dataset.ColumnarDataset;
+import ai.libs.jaicore.ml.core.dataset.DatasetTestUtil;
+import ai.libs.jaicore.test.LongTest;
+
+public class StreamingArffDatasetReaderTest extends ATest {
+
+	public static Stream<Arguments> getDatasets() {
+		return Stream.of(Arguments.of("testrsc/ml/orig/vowel.arff"), Arguments.of("testrsc/ml/orig/letter.arff"), Arguments.of("testrsc/dataset/arff/krvskp.arff"), Arguments.of("testrsc/dataset/arff/classifier-rank.arff"),
+				Arguments.of("testrsc/dataset/arff/tiny.arff"), Arguments.of("testrsc/dataset/arff/numeric_only_with_classindex.arff"), Arguments.of("testrsc/dataset/arff/dexter.arff"));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("getDatasets")
+	public void testThatDatasetCoincidesWithArffDatasetAdapter(final String path) throws DatasetDeserializationFailedException, InterruptedException {
+		File file = new File(path);
+		ILabeledDataset<ILabeledInstance> expected = new ArffDatasetAdapter().readDataset(file);
+		ColumnarDataset actual = new StreamingArffDatasetReader().readDataset(file);
+		this.assertEqualContents(expected, actual);
+		DatasetTestUtil.checkDatasetCoherence(actual);
+	}
+
+	@Test
+	public void testThatParsedDoublesEqualJavaParsedDoubles() {
+		Random random = new Random(0);
+		String[] fixed = { "0", "-0", "1", "+1", "1.", ".5", "-.5", "1e5", "1E-5", "2.5e+3", "123456789012345", "1234567890123456789", "0.000000000000000000001234", "1e22", "1e23", "4.9e-324", "1.7976931348623157E308", "NaN",
+				"-Infinity", "00012.5000" };
+		for (String value : fixed) {
+			assertEquals(Double.parseDouble(value), this.parse(value), 0.0, value);
+		}
+		for (int i = 0; i < 10000; i++) {
+			double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10);
+			for (String string : new String[] { Double.toString(value), String.format(Locale.ENGLISH, "%." + random.nextInt(10) + "f", value), String.format(Locale.ENGLISH, "%.6e", value) }) {
+				assertEquals(Double.parseDouble(string), this.parse(string), 0.0, string);
+			}
+		}
+	}
+
+	private double parse(final String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+		return StreamingArffDatasetReader.parseDouble(ByteBuffer.wrap(bytes), 0, bytes.length);
+	}
+
+	@Test
+	public void testQuotedValuesMissingValuesAndComments() throws IOException, DatasetDeserializationFailedException, InterruptedException {
+		File file = File.createTempFile("streamingarff", ".arff");
+		file.deleteOnExit();
+		try (BufferedWriter bw = Files.newBufferedWriter(file.toPath())) {
+			bw.write("% a comment\r\n@relation 'quoted'\r\n@attribute 'a b' numeric\r\n@attribute c {'x y', \"z\", w}\r\n@attribute class {yes,no}\r\n\r\n@data\r\n");
+			bw.write("1.5, 'x y', yes\r\n% another comment\r\n?,\"z\",no\r\n-2,w,'no'\r\n3,?,yes");
+		}
+		ILabeledDataset<ILabeledInstance> expected = new ArffDatasetAdapter().readDataset(file);
+		ColumnarDataset actual = new StreamingArffDatasetReader().readDataset(file);
+		assertEquals(4, actual.size());
+		this.assertEqualContents(expected, actual);
+	}
+
+	@Test
+	public void testThatMalformedLinesAreRejected() throws IOException {
+		File file = File.createTempFile("streamingarff", ".arff");
+		file.deleteOnExit();
+		try (BufferedWriter bw = Files.newBufferedWriter(file.toPath())) {
+			bw.write("@relation broken\n@attribute a numeric\n@attribute class {yes,no}\n@data\n1,yes\n2\n");
+		}
+		assertThrows(DatasetDeserializationFailedException.class, () -> new StreamingArffDatasetReader().readDataset(file));
+	}
+
+	@Test
+	public void testThatChunkedModesCoincideWithSequentialMode() throws IOException, DatasetDeserializationFailedException, InterruptedException {
+		File file = this.createSyntheticDataset(100000, 20);
+		ColumnarDataset sequential = new StreamingArffDatasetReader().readDataset(file);
+		StreamingArffDatasetReader smallBufferReader = new StreamingArffDatasetReader();
+		smallBufferReader.setBufferSize(100); // smaller than a line
+		this.assertEqualContents(sequential, smallBufferReader.readDataset(file));
+		for (boolean memoryMapped : new boolean[] { false, true }) {
+			StreamingArffDatasetReader reader = new StreamingArffDatasetReader();
+			reader.setNumThreads(4);
+			reader.setMemoryMapped(memoryMapped);
+			this.assertEqualContents(sequential, reader.readDataset(file));
+		}
+	}
+
+	/**
+	 * Reports the parse throughput of the different modes in comparison to the {@link ArffDatasetAdapter}.
+	 */
+	@Test
+	@LongTest
+	public void benchmarkThroughput() throws IOException, DatasetDeserializationFailedException, InterruptedException {
+		File file = this.createSyntheticDataset(200000, 50);
+		double megabytes = file.length() / 1024.0 / 1024.0;
+
+		long start = System.currentTimeMillis();
+		new ArffDatasetAdapter().readDataset(file);
+		this.logThroughput("ArffDatasetAdapter", megabytes, System.currentTimeMillis() - start);
+		for (int numThreads : new int[] { 1, Runtime.getRuntime().availableProcessors() }) {
+			for (boolean memoryMapped : new boolean[] { false, true }) {
+				StreamingArffDatasetReader reader = new StreamingArffDatasetReader();
+				reader.setNumThreads(numThreads);
+				reader.setMemoryMapped(memoryMapped);
+				start = System.currentTimeMillis();
+				reader.readDataset(file);
+				this.logThroughput("StreamingArffDatasetReader (threads: " + numThreads + ", memory-mapped: " + memoryMapped + ")", megabytes, System.currentTimeMillis() - start);
+			}
+		}
+	}
+
+	private void logThroughput(final String name, final double megabytes, final long runtime) {
+		this.logger.info("{}: {} MB in {}ms, {} MB/s", name, String.format(Locale.ENGLISH, "%.1f", megabytes), runtime, String.format(Locale.ENGLISH, "%.1f", megabytes / Math.max(1, runtime) * 1000));
+	}
+
+	private File createSyntheticDataset(final int numRows, final int numNumericAttributes) throws IOException {
+		File file = File.createTempFile("streamingarff", ".arff");
+		file.deleteOnExit();
+		Random random = new Random(0);
+		try (BufferedWriter bw = Files.newBufferedWriter(file.toPath())) {
+			bw.write("@relation synthetic\n");
+			for (int j = 0; j < numNumericAttributes; j++) {
+				bw.write("@attribute n" + j + " numeric\n");
+			}
+			bw.write("@attribute c {'a','b','c d'}\n@attribute class {pos,neg}\n@data\n");
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < numRows; i++) {
+				sb.setLength(0);
+				for (int j = 0; j < numNumericAttributes; j++) {
+					sb.append(random.nextInt(100) == 0 ? "?" : Double.toString(random.nextGaussian() * 100)).append(',');
+				}
+				sb.append(random.nextBoolean() ? "'c d'" : "a").append(',').append(random.nextBoolean() ? "pos" : "neg").append('\n');
+				bw.write(sb.toString());
+			}
+		}
+		return file;
+	}
+
+	private void assertEqualContents(final ILabeledDataset<? extends ILabeledInstance> expected, final ILabeledDataset<? extends ILabeledInstance> actual) {
+		assertEquals(expected.getRelationName(), actual.getRelationName());
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.getNumAttributes(), actual.getNumAttributes());
+		for (int i = 0; i < expected.size(); i++) {
+			assertArrayEquals(expected.get(i).getPoint(), actual.get(i).getPoint(), 0.0, "Row " + i);
+			assertEquals(expected.get(i).getLabel(), actual.get(i).getLabel(), "Row " + i);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package ai.libs.jaicore.ml.core.dataset.splitter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.splitter.SplitFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
+import org.api4.java.ai.ml.core.exception.DatasetCreationException;
+import org.api4.java.common.reconstruction.IReconstructible;
+import org.api4.java.common.reconstruction.ReconstructionException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.basic.reconstruction.ReconstructionInstruction;
+import ai.libs.jaicore.ml.core.dataset.LabeledDatasetView;
+import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
+
+public class IndexBasedDatasetSplitSetTest extends ATest {
+
+	private static ILabeledDataset<ILabeledInstance> data;
+
+	@BeforeAll
+	public static void setup() throws DatasetDeserializationFailedException {
+		data = new ArffDatasetAdapter().readDataset(new File("testrsc/ml/orig/vowel.arff"));
+	}
+
+	@Test
+	public void testThatSplitIndicesArePartition() {
+		int[][] folds = RandomHoldoutSplitter.createSplitIndices(data.size(), 0, .7);
+		assertEquals(2, folds.length);
+		assertEquals(Math.round(.7 * data.size()), folds[0].length);
+		int[] all = new int[data.size()];
+		System.arraycopy(folds[0], 0, all, 0, folds[0].length);
+		System.arraycopy(folds[1], 0, all, folds[0].length, folds[1].length);
+		Arrays.sort(all);
+		for (int i = 0; i < all.length; i++) {
+			assertEquals(i, all[i]);
+		}
+		assertArrayEquals(folds[0], RandomHoldoutSplitter.createSplitIndices(data.size(), 0, .7)[0]);
+	}
+
+	@Test
+	public void testThatViewsReflectTheData() throws DatasetCreationException, InterruptedException {
+		IndexBasedDatasetSplitSet<ILabeledDataset<ILabeledInstance>> splitSet = RandomHoldoutSplitter.createViewSplit(data, 0, .7);
+		assertEquals(1, splitSet.getNumberOfSplits());
+		assertEquals(2, splitSet.getNumberOfFoldsPerSplit());
+		for (int foldId = 0; foldId < 2; foldId++) {
+			ILabeledDataset<ILabeledInstance> fold = splitSet.getFolds(0).get(foldId);
+			int[] indices = splitSet.getFoldIndices(0, foldId);
+			assertTrue(fold instanceof LabeledDatasetView);
+			assertSame(data.getInstanceSchema(), fold.getInstanceSchema());
+			assertEquals(indices.length, fold.size());
+			for (int i = 0; i < indices.length; i++) {
+				assertSame(data.get(indices[i]), fold.get(i));
+			}
+
+			/* materializing the view must yield an independent dataset with the same content */
+			ILabeledDataset<ILabeledInstance> copy = (ILabeledDataset<ILabeledInstance>) fold.createCopy();
+			assertFalse(copy instanceof LabeledDatasetView);
+			assertEquals(fold.size(), copy.size());
+			assertArrayEquals(fold.getLabelVector(), copy.getLabelVector());
+		}
+		assertSame(splitSet.getFolds(0), splitSet.getFolds(0));
+	}
+
+	@Test
+	public void testThatViewsAreReadOnly() {
+		ILabeledDataset<ILabeledInstance> fold = RandomHoldoutSplitter.createViewSplit(data, 0, .7).getFolds(0).get(0);
+		assertThrows(UnsupportedOperationException.class, () -> fold.remove(0));
+		assertThrows(UnsupportedOperationException.class, () -> fold.add(data.get(0)));
+		assertThrows(UnsupportedOperationException.class, () -> fold.removeColumn(0));
+	}
+
+	@Test
+	public void testThatViewsOfViewsReferToRootDataset() {
+		LabeledDatasetView<ILabeledInstance> outer = new LabeledDatasetView<>(data, new int[] { 5, 3, 8, 1 });
+		LabeledDatasetView<ILabeledInstance> inner = new LabeledDatasetView<>(outer, new int[] { 2, 0 });
+		assertSame(data, inner.getParent());
+		assertArrayEquals(new int[] { 8, 5 }, inner.getIndicesInParent());
+		assertThrows(IndexOutOfBoundsException.class, () -> new LabeledDatasetView<>(data, new int[] { data.size() }));
+	}
+
+	public static ILabeledDataset<ILabeledInstance> readData() throws DatasetDeserializationFailedException {
+		return new ArffDatasetAdapter().readDataset(new File("testrsc/ml/orig/vowel.arff"));
+	}
+
+	@Test
+	public void testThatViewFoldsAreReconstructible() throws DatasetDeserializationFailedException, NoSuchMethodException, ReconstructionException {
+		ILabeledDataset<ILabeledInstance> reconstructibleData = readData();
+		((IReconstructible) reconstructibleData).addInstruction(new ReconstructionInstruction(IndexBasedDatasetSplitSetTest.class.getMethod("readData")));
+		List<ILabeledDataset<ILabeledInstance>> folds = RandomHoldoutSplitter.createViewSplit(reconstructibleData, 0, .7).getFolds(0);
+		for (ILabeledDataset<ILabeledInstance> fold : folds) {
+			ILabeledDataset<?> reconstructedFold = (ILabeledDataset<?>) ((IReconstructible) fold).getConstructionPlan().reconstructObject();
+			assertEquals(fold.size(), reconstructedFold.size());
+			assertEquals(fold, reconstructedFold);
+		}
+	}
+
+	@Test
+	public void testSplitterInViewMode() throws SplitFailedException, InterruptedException {
+		RandomHoldoutSplitter<ILabeledDataset<ILabeledInstance>> splitter = new RandomHoldoutSplitter<>(new Random(0), true, .7);
+		List<ILabeledDataset<ILabeledInstance>> folds = splitter.split(data);
+		assertEquals(2, folds.size());
+		assertEquals(data.size(), folds.get(0).size() + folds.get(1).size());
+		assertTrue(folds.get(0) instanceof LabeledDatasetView);
+		IDatasetSplitSet<ILabeledDataset<ILabeledInstance>> splitSet = splitter.nextSplitSet(data);
+		assertTrue(splitSet instanceof IndexBasedDatasetSplitSet);
+	}
+}
@@ -0,0 +1,96 @@
+package ai.libs.jaicore.ml.core.evaluation.evaluator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.ai.ml.core.exception.TrainingException;
+import org.api4.java.algorithm.Timeout;
+import org.api4.java.common.attributedobjects.ObjectEvaluationFailedException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.ml.classification.loss.dataset.EAggregatedClassifierMetric;
+import ai.libs.jaicore.ml.classification.singlelabel.learner.MajorityClassifier;
+import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
+import ai.libs.jaicore.ml.core.dataset.splitter.RandomHoldoutSplitter;
+import ai.libs.jaicore.ml.core.evaluation.splitsetgenerator.FixedDataSplitSetGenerator;
+import ai.libs.jaicore.ml.core.evaluation.splitsetgenerator.MonteCarloCrossValidationSplitSetGenerator;
+
+public class TrainPredictionBasedClassifierEvaluatorTest extends ATest {
+
+	private static final int REPEATS = 6;
+	private static final AtomicInteger NUM_FITS = new AtomicInteger();
+
+	private static ILabeledDataset<ILabeledInstance> data;
+
+	/**
+	 * A majority classifier that can be copied by serialization and counts how often it is fitted.
+	 */
+	public static class CountingMajorityClassifier extends MajorityClassifier implements Serializable {
+		private static final long serialVersionUID = 1L;
+		private final long sleepTime;
+
+		public CountingMajorityClassifier(final long sleepTime) {
+			this.sleepTime = sleepTime;
+		}
+
+		@Override
+		public void fit(final ILabeledDataset<? extends ILabeledInstance> dTrain) throws TrainingException, InterruptedException {
+			NUM_FITS.incrementAndGet();
+			Thread.sleep(this.sleepTime);
+			super.fit(dTrain);
+		}
+	}
+
+	@BeforeAll
+	public static void setup() throws DatasetDeserializationFailedException {
+		data = new ArffDatasetAdapter().readDataset(new File("testrsc/ml/orig/vowel.arff"));
+	}
+
+	private TrainPredictionBasedClassifierEvaluator getEvaluator() {
+		RandomHoldoutSplitter<ILabeledDataset<? extends ILabeledInstance>> splitter = new RandomHoldoutSplitter<>(new Random(0), .7);
+		return new TrainPredictionBasedClassifierEvaluator(new FixedDataSplitSetGenerator<ILabeledDataset<? extends ILabeledInstance>>(data, new MonteCarloCrossValidationSplitSetGenerator<>(splitter, REPEATS, new Random(0))),
+				EAggregatedClassifierMetric.MEAN_ERRORRATE);
+	}
+
+	@Test
+	public void testThatConcurrentEvaluationYieldsSequentialScore() throws InterruptedException, ObjectEvaluationFailedException {
+		double sequentialScore = this.getEvaluator().evaluate(new CountingMajorityClassifier(0));
+		TrainPredictionBasedClassifierEvaluator evaluator = this.getEvaluator();
+		evaluator.setNumThreads(3);
+		NUM_FITS.set(0);
+		assertEquals(sequentialScore, evaluator.evaluate(new CountingMajorityClassifier(0)), 1E-10);
+		assertEquals(REPEATS, NUM_FITS.get());
+	}
+
+	@Test
+	public void testThatEvaluationStopsIfIncumbentCannotBeBeaten() throws InterruptedException, ObjectEvaluationFailedException {
+		TrainPredictionBasedClassifierEvaluator evaluator = this.getEvaluator();
+		evaluator.setIncumbentScore(0.0);
+		NUM_FITS.set(0);
+		double score = evaluator.evaluate(new CountingMajorityClassifier(0));
+		assertTrue(score >= 0.0);
+		assertEquals(1, NUM_FITS.get());
+	}
+
+	@Test
+	public void testThatFoldTimeoutIsRespected() {
+		TrainPredictionBasedClassifierEvaluator evaluator = this.getEvaluator();
+		evaluator.setNumThreads(2);
+		evaluator.setFoldTimeout(new Timeout(200, TimeUnit.MILLISECONDS));
+		long start = System.currentTimeMillis();
+		assertThrows(ObjectEvaluationFailedException.class, () -> evaluator.evaluate(new CountingMajorityClassifier(10000)));
+		assertTrue(System.currentTimeMillis() - start < 5000);
+	}
+}
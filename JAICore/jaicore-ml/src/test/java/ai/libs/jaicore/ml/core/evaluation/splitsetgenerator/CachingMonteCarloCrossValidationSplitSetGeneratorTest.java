@@ -0,0 +1,75 @@
+package ai.libs.jaicore.ml.core.evaluation.splitsetgenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.util.Random;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.api4.java.ai.ml.core.dataset.splitter.SplitFailedException;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
+import org.api4.java.ai.ml.core.exception.DatasetCreationException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.ml.core.dataset.LabeledDatasetView;
+import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
+import ai.libs.jaicore.ml.core.dataset.splitter.RandomHoldoutSplitter;
+
+public class CachingMonteCarloCrossValidationSplitSetGeneratorTest extends ATest {
+
+	private static ILabeledDataset<ILabeledInstance> data;
+
+	@BeforeAll
+	public static void setup() throws DatasetDeserializationFailedException {
+		data = new ArffDatasetAdapter().readDataset(new File("testrsc/ml/orig/vowel.arff"));
+	}
+
+	private CachingMonteCarloCrossValidationSplitSetGenerator<ILabeledDataset<ILabeledInstance>> getGenerator(final int cacheSize) {
+		return new CachingMonteCarloCrossValidationSplitSetGenerator<>(new RandomHoldoutSplitter<>(new Random(0), .7), 3, new Random(0), cacheSize);
+	}
+
+	@Test
+	public void testThatSplitSetIsReusedForSameDataset() throws InterruptedException, SplitFailedException {
+		CachingMonteCarloCrossValidationSplitSetGenerator<ILabeledDataset<ILabeledInstance>> generator = this.getGenerator(2);
+		IDatasetSplitSet<ILabeledDataset<ILabeledInstance>> splitSet = generator.nextSplitSet(data);
+		assertEquals(3, splitSet.getNumberOfSplits());
+		assertSame(splitSet, generator.nextSplitSet(data));
+		assertSame(splitSet, generator.nextSplitSet(data));
+		assertEquals(2, generator.getCacheHits());
+		assertEquals(1, generator.getCacheMisses());
+	}
+
+	@Test
+	public void testThatEqualButDistinctDatasetsWithoutPlanAreNotConfused() throws InterruptedException, SplitFailedException {
+		CachingMonteCarloCrossValidationSplitSetGenerator<ILabeledDataset<ILabeledInstance>> generator = this.getGenerator(2);
+		int[] indices = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+		ILabeledDataset<ILabeledInstance> d1 = new LabeledDatasetView<>(data, indices);
+		ILabeledDataset<ILabeledInstance> d2 = new LabeledDatasetView<>(data, indices);
+		assertNotSame(generator.nextSplitSet(d1), generator.nextSplitSet(d2));
+		assertEquals(0, generator.getCacheHits());
+		assertEquals(2, generator.getCacheMisses());
+	}
+
+	@Test
+	public void testThatLeastRecentlyUsedSplitSetIsEvicted() throws InterruptedException, SplitFailedException, DatasetCreationException {
+		CachingMonteCarloCrossValidationSplitSetGenerator<ILabeledDataset<ILabeledInstance>> generator = this.getGenerator(2);
+		ILabeledDataset<ILabeledInstance> d1 = new LabeledDatasetView<>(data, new int[] { 0, 1, 2, 3 });
+		ILabeledDataset<ILabeledInstance> d2 = new LabeledDatasetView<>(data, new int[] { 4, 5, 6, 7 });
+		ILabeledDataset<ILabeledInstance> d3 = new LabeledDatasetView<>(data, new int[] { 8, 9, 10, 11 });
+		IDatasetSplitSet<ILabeledDataset<ILabeledInstance>> s1 = generator.nextSplitSet(d1);
+		generator.nextSplitSet(d2);
+		assertSame(s1, generator.nextSplitSet(d1)); // d2 is now the least recently used one
+		generator.nextSplitSet(d3);
+		assertEquals(2, generator.getCacheSize());
+		assertSame(s1, generator.nextSplitSet(d1));
+		generator.nextSplitSet(d2);
+		assertEquals(2, generator.getCacheHits());
+		assertEquals(4, generator.getCacheMisses());
+	}
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import org.aeonbits.owner.ConfigFactory;
 import org.api4.java.algorithm.exceptions.AlgorithmException;
 import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
 import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
@@ -53,4 +54,16 @@ public class GrammarBasedGeneticProgrammingTest extends ATest {
 		assertTrue(sol.getScore() < 0.01);
 	}
 
+	@Test
+	public void steadyStateEvalTest() throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+		IGrammarBasedGeneticProgrammingConfig config = ConfigFactory.create(IGrammarBasedGeneticProgrammingConfig.class);
+		config.setProperty("ggp.steady_state", "true");
+		config.setProperty(IGrammarBasedGeneticProgrammingConfig.K_CPUS, "4");
+		GrammarBasedGeneticProgramming ggp = new GrammarBasedGeneticProgramming(config, input, 42);
+		GGPSolutionCandidate sol = ggp.call();
+		this.getLogger().info("Found solution with score {}: {}", sol.getScore(), sol.getComponentInstance());
+		assertTrue(sol.getScore() < 0.01);
+		assertTrue(ggp.getLastRatedPopulation().size() <= config.getPopulationSize());
+	}
+
 }
@@ -2,10 +2,16 @@ package ai.libs.jaicore.ml.hpo.hyperband;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.aeonbits.owner.ConfigFactory;
 import org.api4.java.algorithm.exceptions.AlgorithmException;
@@ -22,6 +28,7 @@ import ai.libs.jaicore.components.model.NumericParameterDomain;
 import ai.libs.jaicore.components.model.Parameter;
 import ai.libs.jaicore.ml.core.evaluation.evaluator.IMultiFidelityObjectEvaluator;
 import ai.libs.jaicore.ml.hpo.multifidelity.MultiFidelitySoftwareConfigurationProblem;
+import ai.libs.jaicore.ml.hpo.multifidelity.hyperband.AsynchronousSuccessiveHalving;
 import ai.libs.jaicore.ml.hpo.multifidelity.hyperband.Hyperband;
 import ai.libs.jaicore.ml.hpo.multifidelity.hyperband.Hyperband.HyperbandSolutionCandidate;
 import ai.libs.jaicore.ml.hpo.multifidelity.hyperband.IHyperbandConfig;
@@ -70,6 +77,59 @@ public class HyperBandTest {
 		this.runHyperbandTest(config);
 	}
 
+	@Test
+	public void testAsynchronousSuccessiveHalvingRunSingleThreaded() throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+		this.runAsynchronousSuccessiveHalvingTest(ConfigFactory.create(IHyperbandConfig.class), 1);
+	}
+
+	@Test
+	public void testAsynchronousSuccessiveHalvingRunMultiThreaded() throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+		IHyperbandConfig config = ConfigFactory.create(IHyperbandConfig.class);
+		config.setProperty(IHyperbandConfig.K_MAX_CONCURRENCY, "3");
+		this.runAsynchronousSuccessiveHalvingTest(config, 3);
+	}
+
+	private void runAsynchronousSuccessiveHalvingTest(final IHyperbandConfig config, final int maxConcurrency)
+			throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+		config.setProperty(IHyperbandConfig.K_ETA, "2");
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		AtomicInteger evaluations = new AtomicInteger();
+		Set<List<Object>> evaluatedBudgets = ConcurrentHashMap.newKeySet();
+		IMultiFidelityObjectEvaluator<IComponentInstance, Double> evaluator = new IMultiFidelityObjectEvaluator<IComponentInstance, Double>() {
+			@Override
+			public double getMaxBudget() {
+				return 8.0;
+			}
+
+			@Override
+			public double getMinBudget() {
+				return 1.0;
+			}
+
+			@Override
+			public Double evaluate(final IComponentInstance t, final double budget) throws InterruptedException, ObjectEvaluationFailedException {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				evaluations.incrementAndGet();
+				evaluatedBudgets.add(Arrays.asList(t, budget));
+				Thread.sleep(10);
+				running.decrementAndGet();
+				return Math.abs(Double.parseDouble(t.getParameterValue("p1")) - 30) / budget;
+			}
+		};
+
+		AsynchronousSuccessiveHalving asha = new AsynchronousSuccessiveHalving(config, new MultiFidelitySoftwareConfigurationProblem<>(input.getComponents(), input.getRequiredInterface(), evaluator));
+		HyperbandSolutionCandidate result = asha.call();
+		assertNotNull("Returned candidate is not a solution", result);
+		assertEquals("A", result.getComponentInstance().getComponent().getName());
+		assertEquals("The best candidate has not been promoted to the maximum budget", 8.0, result.getScore().getBudget(), 1E-8);
+		assertTrue("More evaluations ran concurrently than allowed", maxRunning.get() <= maxConcurrency);
+
+		/* HyperBand samples 8 + 6 + 4 + 4 = 22 candidates for eta = 2 and r_max = 8, and ASHA promotes some of them, each at most once per rung */
+		assertTrue("No candidate has been promoted", evaluations.get() > 22);
+		assertEquals("A candidate has been evaluated twice with the same budget", evaluations.get(), evaluatedBudgets.size());
+	}
+
 	private void runHyperbandTest(final IHyperbandConfig config) throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
 		Hyperband hb = new Hyperband(config, input);
 		HyperbandSolutionCandidate result = hb.call();
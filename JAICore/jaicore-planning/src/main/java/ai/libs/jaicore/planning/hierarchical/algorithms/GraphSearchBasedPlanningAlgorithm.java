@@ -6,6 +6,7 @@ import org.api4.java.common.event.IRelaxedEventEmitter;
 
 import com.google.common.eventbus.Subscribe;
 
+import ai.libs.jaicore.basic.algorithm.ISelectiveEventListener;
 import ai.libs.jaicore.basic.algorithm.reduction.AReducingSolutionIterator;
 import ai.libs.jaicore.basic.algorithm.reduction.AlgorithmicProblemReduction;
 import ai.libs.jaicore.graphvisualizer.events.graph.GraphEvent;
@@ -35,7 +36,12 @@ extends AReducingSolutionIterator<I1, O1, I2, O2> {
 	public void runPreCreationHook() {
 		IAlgorithm<I2, O2> algo = this.getBaseAlgorithm();
 		if (algo instanceof IRelaxedEventEmitter) {
-			algo.registerListener(new Object() {
+			algo.registerListener(new ISelectiveEventListener() {
+
+				@Override
+				public boolean isInterestedIn(final Class<?> eventType) {
+					return GraphEvent.class.isAssignableFrom(eventType) && GraphSearchBasedPlanningAlgorithm.this.hasListenerFor(eventType);
+				}
 
 				@Subscribe
 				public void receiveEvent(final GraphEvent e) {
@@ -33,6 +33,7 @@ import ai.libs.jaicore.logic.fol.structure.VariableParam;
 import ai.libs.jaicore.logic.fol.theories.EvaluablePredicate;
 import ai.libs.jaicore.logic.fol.util.ForwardChainer;
 import ai.libs.jaicore.logic.fol.util.ForwardChainingProblem;
+import ai.libs.jaicore.logic.fol.util.IndexedFactBase;
 import ai.libs.jaicore.planning.classical.problems.ceoc.CEOCAction;
 import ai.libs.jaicore.planning.classical.problems.ceoc.CEOCOperation;
 import ai.libs.jaicore.planning.classical.problems.strips.Operation;
@@ -64,9 +65,10 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 			return applicableDerivedMethods;
 		}
 		this.logger.debug("Identified {} methods that are suitable based on their name.", potentiallySuitableMethod.size());
+		IndexedFactBase unitedKnowledge = this.getUnitedKnowledge(knowledge, state);
 		for (Method m : potentiallySuitableMethod) {
 			this.logger.debug("Method {} is potentially suited to solve this task. Checking its applicability.", m.getName());
-			Collection<MethodInstance> additionalInstances = this.getMethodInstancesForTaskThatAreApplicableInState(knowledge, m, task, state, remainingProblems);
+			Collection<MethodInstance> additionalInstances = this.getMethodInstancesForTaskThatAreApplicableInState(unitedKnowledge, m, task, state, remainingProblems);
 			assert !m.isLonely() || additionalInstances.size() <= 1 : "Computed more than one instantiations for lonely method: \n\t" + additionalInstances.stream().map(MethodInstance::toString).collect(Collectors.joining("\n\t"));
 			applicableDerivedMethods.addAll(additionalInstances);
 		}
@@ -75,11 +77,30 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 
 	public Collection<MethodInstance> getMethodInstancesForTaskThatAreApplicableInState(final CNFFormula knowledge, final Method method, final Literal task, final Monom state, final List<Literal> remainingProblems)
 			throws InterruptedException {
+		return this.getMethodInstancesForTaskThatAreApplicableInState(this.getUnitedKnowledge(knowledge, state), method, task, state, remainingProblems);
+	}
+
+	/**
+	 * Creates an index over the state and the given knowledge. The index can be shared among all applicability checks in the same state.
+	 */
+	private IndexedFactBase getUnitedKnowledge(final CNFFormula knowledge, final Monom state) {
+		assert knowledge == null || !knowledge.hasDisjunctions() : "Currently no support for non-factbase knowledge!";
+		if (knowledge == null) {
+			return new IndexedFactBase(state);
+		}
+		Monom unitedKnowledge = new Monom(state, false);
+		unitedKnowledge.addAll(knowledge.extractMonom());
+		return new IndexedFactBase(unitedKnowledge);
+	}
+
+	private Collection<MethodInstance> getMethodInstancesForTaskThatAreApplicableInState(final IndexedFactBase unitedKnowledge, final Method method, final Literal task, final Monom state, final List<Literal> remainingProblems)
+			throws InterruptedException {
 
 		this.logger.info("Determine instances of method {} that are applicable in current state for task {}. Complete agenda: {}. Enable TRACE to see current state.", method.getName(), task, remainingProblems);
 		this.logger.trace("State is {}", state);
 		Collection<MethodInstance> applicableDerivedMethodInstances = new ArrayList<>();
-		Collection<Map<VariableParam, LiteralParam>> maps = this.getMappingsThatMatchTasksAndMakesItApplicable(knowledge, method.getTask(), task, method.getPrecondition(), state);
+		Collection<Map<VariableParam, LiteralParam>> maps = this.getMappingsThatMatchTasksAndMakesItApplicable(unitedKnowledge, method.getTask(), task, method.getPrecondition());
+		Set<ConstantParam> constantsOfState = null;
 		for (Map<VariableParam, LiteralParam> grounding : maps) {
 			this.logger.debug("Now considering partial grounding {}", grounding);
 
@@ -163,7 +184,10 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 			for (Map<VariableParam, ConstantParam> extendedGrounding : extendedGroundings) {
 
 				/* create new objects for unassigned open output variables */
-				Set<ConstantParam> knownConstants = new HashSet<>(state.getConstantParams());
+				if (constantsOfState == null) {
+					constantsOfState = state.getConstantParams();
+				}
+				Set<ConstantParam> knownConstants = new HashSet<>(constantsOfState);
 				knownConstants.addAll(extendedGrounding.values());
 				for (Literal l : remainingProblems) {
 					knownConstants.addAll(l.getConstantParams());
@@ -316,7 +340,7 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 		}
 		sbTaskNameOfOperation.append(")");
 		Literal taskOfOperation = new Literal(sbTaskNameOfOperation.toString());
-		for (Map<VariableParam, LiteralParam> grounding : this.getMappingsThatMatchTasksAndMakesItApplicable(knowledge, taskOfOperation, task, op.getPrecondition(), state)) {
+		for (Map<VariableParam, LiteralParam> grounding : this.getMappingsThatMatchTasksAndMakesItApplicable(this.getUnitedKnowledge(knowledge, state), taskOfOperation, task, op.getPrecondition())) {
 			Map<VariableParam, ConstantParam> constantGrounding = new HashMap<>();
 			for (Entry<VariableParam,LiteralParam> groundingEntry : grounding.entrySet()) {
 				constantGrounding.put(groundingEntry.getKey(), (ConstantParam) groundingEntry.getValue());
@@ -330,8 +354,8 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 		return applicableDerivedActions;
 	}
 
-	private Collection<Map<VariableParam, LiteralParam>> getMappingsThatMatchTasksAndMakesItApplicable(final CNFFormula knowledge, final Literal methodOrPrimitiveTask, final Literal target, final Monom preconditionOfMethodOrPrimitive,
-			final Monom state) throws InterruptedException {
+	private Collection<Map<VariableParam, LiteralParam>> getMappingsThatMatchTasksAndMakesItApplicable(final IndexedFactBase unitedKnowledge, final Literal methodOrPrimitiveTask, final Literal target,
+			final Monom preconditionOfMethodOrPrimitive) throws InterruptedException {
 		assert preconditionOfMethodOrPrimitive != null : "precondition of methode or primitive task " + methodOrPrimitiveTask + " is null";
 		this.logger.info("Now computing the possible applications of method {} for task {}", methodOrPrimitiveTask, target);
 
@@ -373,13 +397,6 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 		}
 		final List<Map<VariableParam, LiteralParam>> groundings = new ArrayList<>();
 
-		/* create knowledge for the check */
-		assert knowledge == null || !knowledge.hasDisjunctions() : "Currently no support for non-factbase knowledge!";
-		Monom unitedKnowledge = new Monom(state);
-		if (knowledge != null) {
-			unitedKnowledge.addAll(knowledge.extractMonom());
-		}
-
 		/* determine potential output parameters of the task */
 		final Collection<VariableParam> outputs = SetUtil.difference(target.getVariableParams(), preconditionOfMethodOrPrimitive.getVariableParams());
 		final Collection<VariableParam> parametersThatNeedGrounding = SetUtil.difference(target.getVariableParams(), outputs);
@@ -411,7 +428,7 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 			Monom positiveRequirements = new Monom(preconditionOfMethodOrPrimitive.stream().filter(Literal::isPositive).collect(Collectors.toList()), groundingForMethodOrPrimitiveTask);
 			Collection<Map<VariableParam, LiteralParam>> restMaps;
 			if (!positiveRequirements.isEmpty()) {
-				ForwardChainer fc = new ForwardChainer(new ForwardChainingProblem(unitedKnowledge, positiveRequirements, true));
+				ForwardChainer fc = new ForwardChainer(new ForwardChainingProblem(unitedKnowledge.getFactbase(), unitedKnowledge, positiveRequirements, true));
 				try {
 					restMaps = fc.call();
 				} catch (AlgorithmExecutionCanceledException | TimeoutException e) {
@@ -440,15 +457,15 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 				}
 				List<Literal> positiveLiterals = precondition.stream().filter(Literal::isPositive).collect(Collectors.toList());
 				List<Literal> negativeLiterals = precondition.stream().filter(Literal::isNegated).map(l -> l.clone().toggleNegation()).collect(Collectors.toList());
-				if (unitedKnowledge.containsAll(positiveLiterals) && SetUtil.intersection(unitedKnowledge, negativeLiterals).isEmpty()) {
+				if (positiveLiterals.stream().allMatch(unitedKnowledge::contains) && negativeLiterals.stream().noneMatch(unitedKnowledge::contains)) {
 					this.logger.debug("Adding the grounding.");
 					groundings.add(completeGroundingMethod);
 				} else if (this.logger.isDebugEnabled()) {
 					for (Literal l : positiveLiterals) {
 						if (!unitedKnowledge.contains(l)) {
-							this.logger.debug("Ignoring this grounding because the united knowledge {} does not contain the positive literal {}", unitedKnowledge, l);
+							this.logger.debug("Ignoring this grounding because the united knowledge {} does not contain the positive literal {}", unitedKnowledge.getFactbase(), l);
 							if (this.logger.isTraceEnabled()) {
-								for (Literal l2 : unitedKnowledge) {
+								for (Literal l2 : unitedKnowledge.getFactbase()) {
 									this.logger.trace("Comparing {} of signature {}{} with {} of signature{}{}: {}/{}", l, l.getClass().getName(), l.getParameters().stream().map(p -> p.getName() + ":" + p.getType()).collect(Collectors.toList()),
 											l2, l2.getClass().getName(), l2.getParameters().stream().map(p -> p.getName() + ":" + p.getType()).collect(Collectors.toList()), l.equals(l2), l2.equals(l));
 								}
@@ -456,8 +473,8 @@ public class TaskPlannerUtil implements ILoggingCustomizable {
 							break;
 						}
 					}
-					if (!SetUtil.intersection(unitedKnowledge, negativeLiterals).isEmpty()) {
-						this.logger.debug("Ignoring this grounding because of an non-empty intersection of the united knowledge {} and the negative literals {}", unitedKnowledge, negativeLiterals);
+					if (negativeLiterals.stream().anyMatch(unitedKnowledge::contains)) {
+						this.logger.debug("Ignoring this grounding because of an non-empty intersection of the united knowledge {} and the negative literals {}", unitedKnowledge.getFactbase(), negativeLiterals);
 					}
 				}
 			}
@@ -18,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ai.libs.jaicore.logging.ToJSONStringUtil;
+import ai.libs.jaicore.logic.fol.structure.DeltaMonom;
 import ai.libs.jaicore.logic.fol.structure.Literal;
 import ai.libs.jaicore.logic.fol.structure.Monom;
 import ai.libs.jaicore.planning.classical.algorithms.strips.forward.StripsUtil;
@@ -46,7 +47,7 @@ public class TFDGraphGenerator implements IGraphGenerator<TFDNode, String>, ILog
 	protected Collection<TFDNode> getSuccessorsResultingFromResolvingPrimitiveTask(final Monom state, final Literal taskToBeResolved, final List<Literal> remainingOtherTasks) throws InterruptedException {
 		Collection<TFDNode> successors = new ArrayList<>();
 		for (Action applicableAction : this.util.getActionsForPrimitiveTaskThatAreApplicableInState(null, this.primitiveTasks.get(taskToBeResolved.getPropertyName()), taskToBeResolved, state)) {
-			Monom stateCopy = new Monom(state);
+			Monom stateCopy = DeltaMonom.derive(state);
 			StripsUtil.updateState(stateCopy, applicableAction);
 			successors.add(this.postProcessPrimitiveTaskNode(new TFDNode(stateCopy, remainingOtherTasks, null, applicableAction)));
 		}
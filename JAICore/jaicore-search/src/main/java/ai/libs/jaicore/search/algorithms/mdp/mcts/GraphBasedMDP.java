@@ -3,10 +3,12 @@ package ai.libs.jaicore.search.algorithms.mdp.mcts;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.api4.java.ai.graphsearch.problem.IPathSearchWithPathEvaluationsInput;
 import org.api4.java.ai.graphsearch.problem.implicit.graphgenerator.IPathGoalTester;
@@ -26,17 +28,36 @@ import ai.libs.jaicore.search.model.ILazyRandomizableSuccessorGenerator;
 import ai.libs.jaicore.search.model.other.SearchGraphPath;
 import ai.libs.jaicore.search.probleminputs.IMDP;
 
+/**
+ * Views a path search problem as an MDP whose states are the nodes of the search graph, which must be a tree.
+ *
+ * The path to a state, which is required to evaluate it, is reconstructed via back pointers from the state to its parent. Only a bounded number of back pointers is kept (see {@link #setMaxNumberOfBackPointers(int)});
+ * the least recently used ones are dropped first. Since every score query re-establishes the back pointer of its successor, the pointers on the paths of the current playouts are always available if the bound is
+ * large enough.
+ *
+ * @param <N>
+ *            Type of states (nodes)
+ * @param <A>
+ *            Type of actions (arc labels)
+ */
 public class GraphBasedMDP<N, A> implements IMDP<N, A, Double>, ILoggingCustomizable {
 
 	private static final int MAX_SUCCESSOR_CACHE_SIZE = 100;
+	public static final int DEFAULT_MAX_NUMBER_OF_BACK_POINTERS = 100000;
 
 	private final IPathSearchWithPathEvaluationsInput<N, A, Double> graph;
 	private final N root;
 	private final ISuccessorGenerator<N, A> succGen;
 	private final IPathGoalTester<N, A> goalTester;
-	private final Map<N, Pair<N, A>> backPointers = new HashMap<>();
+	private int maxNumberOfBackPointers = DEFAULT_MAX_NUMBER_OF_BACK_POINTERS;
+	private final Map<N, Pair<N, A>> backPointers = new LinkedHashMap<N, Pair<N, A>>(16, 0.75f, true) { // access-ordered; accesses are synchronized on the map, because the MDP may be explored by several MCTS workers
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<N, Pair<N, A>> eldest) {
+			return this.size() > GraphBasedMDP.this.maxNumberOfBackPointers;
+		}
+	};
 	private Logger logger = LoggerFactory.getLogger(GraphBasedMDP.class);
-	private final Map<N, Map<A, N>> successorCache = new HashMap<>();
+	private final Map<N, Map<A, N>> successorCache = new ConcurrentHashMap<>();
 	private final boolean lazy;
 	private final ILazySuccessorGenerator<N, A> lazySuccGen;
 
@@ -65,7 +86,7 @@ public class GraphBasedMDP<N, A> implements IMDP<N, A, Double>, ILoggingCustomiz
 		this.logger.debug("Computing applicable actions.");
 		Collection<INewNodeDescription<N, A>> successors = this.succGen.generateSuccessors(state);
 		Collection<A> actions = new ArrayList<>();
-		Map<A, N> cache = new HashMap<>();
+		Map<A, N> cache = new ConcurrentHashMap<>();
 		if (Thread.interrupted()) {
 			throw new InterruptedException("The computation of applicable actions has been interrupted.");
 		}
@@ -82,31 +103,7 @@ public class GraphBasedMDP<N, A> implements IMDP<N, A, Double>, ILoggingCustomiz
 				}
 			}
 
-			if (this.backPointers.containsKey(succ.getTo())) {
-				Pair<N, A> backpointer = this.backPointers.get(succ.getTo());
-				boolean sameParent = backpointer.getX().equals(state);
-				boolean sameAction = backpointer.getY().equals(action);
-				if (!sameParent || !sameAction) {
-					N otherNode = null;
-					for (N key : this.backPointers.keySet()) {
-						now = System.currentTimeMillis();
-						if (lastInterruptCheck < now - 10) {
-							lastInterruptCheck = now;
-							if (Thread.interrupted()) {
-								throw new InterruptedException("The computation of applicable actions has been interrupted.");
-							}
-						}
-						if (key.equals(succ.getTo())) {
-							otherNode = key;
-							break;
-						}
-					}
-					throw new IllegalStateException("Reaching state " + succ.getTo() + " on a second way, which must not be the case in trees!\n\t1st way: " + backpointer.getX() + "; " + backpointer.getY() + "\n\t2nd way: " + state + "; "
-							+ action + "\n\ttoString of existing node: " + otherNode + "\n\tSame parent: " + sameParent + "\n\tSame Action: " + sameAction);
-				}
-			}
-			this.logger.debug("Setting backpointer from {} to {}", succ.getTo(), state);
-			this.backPointers.put(succ.getTo(), new Pair<>(state, action));
+			this.setBackPointer(state, action, succ.getTo());
 		}
 
 		/* clear the cache if we have too many entries */
@@ -121,10 +118,9 @@ public class GraphBasedMDP<N, A> implements IMDP<N, A, Double>, ILoggingCustomiz
 	public Map<N, Double> getProb(final N state, final A action) throws InterruptedException {
 
 		/* first determine the successor node (either by cache or by constructing the successors again) */
-		N successor = null;
-		if (this.successorCache.containsKey(state) && this.successorCache.get(state).containsKey(action)) {
-			successor = this.successorCache.get(state).get(action);
-		} else {
+		Map<A, N> cachedSuccessors = this.successorCache.get(state);
+		N successor = cachedSuccessors != null ? cachedSuccessors.get(action) : null;
+		if (successor == null) {
 			Optional<INewNodeDescription<N, A>> succOpt = this.succGen.generateSuccessors(state).stream().filter(nd -> nd.getArcLabel().equals(action)).findAny();
 			if (!succOpt.isPresent()) {
 				this.logger.error("THERE IS NO SUCCESSOR REACHABLE WITH ACTION {} IN THE MDP!", action);
@@ -149,14 +145,18 @@ public class GraphBasedMDP<N, A> implements IMDP<N, A, Double>, ILoggingCustomiz
 
 		/* now build the whole path using the back-pointer map */
 		this.logger.info("Getting score for SAS-triple ({}, {}, {})", state, action, successor);
+		this.setBackPointer(state, action, successor);
 		N cur = successor;
 		List<N> nodes = new ArrayList<>();
 		List<A> arcs = new ArrayList<>();
 		nodes.add(cur);
 		while (cur != this.root) {
-			Pair<N, A> parentEdge = this.backPointers.get(cur);
+			Pair<N, A> parentEdge;
+			synchronized (this.backPointers) {
+				parentEdge = this.backPointers.get(cur);
+			}
 			if (parentEdge == null) {
-				throw new NullPointerException("No back pointer defined for non-root node " + cur); // this is INTENTIONALLY not done with Object.requireNonNull, because the string shall not be evaluated otherwise!
+				throw new IllegalStateException("No back pointer defined for non-root node " + cur + ". It may have been dropped, because the maximum number of back pointers (" + this.maxNumberOfBackPointers + ") is too small.");
 			}
 			cur = parentEdge.getX();
 			nodes.add(0, cur);
@@ -181,6 +181,45 @@ public class GraphBasedMDP<N, A> implements IMDP<N, A, Double>, ILoggingCustomiz
 
 	}
 
+	/**
+	 * Memorizes that the successor is reached from the state via the action. Since the graph must be a tree, it is an error if another way to the successor is known.
+	 */
+	private void setBackPointer(final N state, final A action, final N successor) {
+		synchronized (this.backPointers) {
+			Pair<N, A> backpointer = this.backPointers.get(successor);
+			if (backpointer != null) {
+				boolean sameParent = backpointer.getX().equals(state);
+				boolean sameAction = backpointer.getY().equals(action);
+				if (!sameParent || !sameAction) {
+					throw new IllegalStateException("Reaching state " + successor + " on a second way, which must not be the case in trees!\n\t1st way: " + backpointer.getX() + "; " + backpointer.getY() + "\n\t2nd way: " + state + "; "
+							+ action + "\n\tSame parent: " + sameParent + "\n\tSame Action: " + sameAction);
+				}
+			}
+			this.logger.debug("Setting backpointer from {} to {}", successor, state);
+			this.backPointers.put(successor, new Pair<>(state, action));
+		}
+	}
+
+	public int getMaxNumberOfBackPointers() {
+		return this.maxNumberOfBackPointers;
+	}
+
+	/**
+	 * Bounds the number of back pointers that are kept to reconstruct the paths to the states. The bound must exceed the number of states on the paths that are explored at the same time.
+	 */
+	public void setMaxNumberOfBackPointers(final int maxNumberOfBackPointers) {
+		if (maxNumberOfBackPointers < 1) {
+			throw new IllegalArgumentException("The number of back pointers must be positive but is " + maxNumberOfBackPointers);
+		}
+		this.maxNumberOfBackPointers = maxNumberOfBackPointers;
+	}
+
+	public int getNumberOfBackPointers() {
+		synchronized (this.backPointers) {
+			return this.backPointers.size();
+		}
+	}
+
 	@Override
 	public boolean isTerminalState(final N state) throws InterruptedException {
 		if (this.lazy) {
@@ -218,8 +257,8 @@ public class GraphBasedMDP<N, A> implements IMDP<N, A, Double>, ILoggingCustomiz
 			if (this.successorCache.size() > MAX_SUCCESSOR_CACHE_SIZE) {
 				this.successorCache.clear();
 			}
-			this.successorCache.computeIfAbsent(state, n -> new HashMap<>()).put(ne.getArcLabel(), ne.getTo());
-			this.backPointers.put(ne.getTo(), new Pair<>(state, ne.getArcLabel()));
+			this.successorCache.computeIfAbsent(state, n -> new ConcurrentHashMap<>()).put(ne.getArcLabel(), ne.getTo());
+			this.setBackPointer(state, ne.getArcLabel(), ne.getTo());
 			return ne.getArcLabel();
 		}
 		this.logger.debug("The successor generator {} does not support lazy AND randomized successor generation. Now computing all successors and drawing one at random.", this.succGen.getClass());
@@ -232,7 +271,8 @@ public class GraphBasedMDP<N, A> implements IMDP<N, A, Double>, ILoggingCustomiz
 
 	@Override
 	public boolean isActionApplicableInState(final N state, final A action) throws InterruptedException {
-		if (this.successorCache.containsKey(state) && this.successorCache.get(state).containsKey(action)) {
+		Map<A, N> cachedSuccessors = this.successorCache.get(state);
+		if (cachedSuccessors != null && cachedSuccessors.containsKey(action)) {
 			return true;
 		}
 		return this.getApplicableActions(state).contains(action);
@@ -0,0 +1,15 @@
+package ai.libs.jaicore.search.algorithms.mdp.mcts;
+
+/**
+ * Tree policies that can forget the statistics of single states. If MCTS runs with a bound on the number of nodes in memory (see {@link MCTS#setMaxNumberOfNodesInMemory(int)}), the policy is told about every state that is
+ * evicted from the tree, so that its memory consumption is bounded as well.
+ *
+ * An evicted state may be reached again later. The policy must then treat it as if it had never seen it before.
+ *
+ * @param <N>
+ *            Type of states (nodes)
+ */
+public interface IEvictablePolicy<N> {
+
+	public void evict(N state);
+}
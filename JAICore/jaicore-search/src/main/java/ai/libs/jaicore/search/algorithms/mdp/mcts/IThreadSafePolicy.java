@@ -0,0 +1,10 @@
+package ai.libs.jaicore.search.algorithms.mdp.mcts;
+
+/**
+ * Marker interface for policies that may be queried (and, if they are updatable, updated) by several MCTS workers at the same time.
+ *
+ * If MCTS runs with more than one worker, all accesses to policies that do not implement this interface are serialized.
+ */
+public interface IThreadSafePolicy {
+
+}
@@ -0,0 +1,20 @@
+package ai.libs.jaicore.search.algorithms.mdp.mcts;
+
+/**
+ * Tree policies that support virtual loss. When MCTS runs with several workers, every action chosen by the tree policy is penalized by a virtual loss until the playout has been back-propagated.
+ * That way, workers that descend the tree at the same time are steered into different subtrees instead of all following the currently best path.
+ *
+ * @param <N>
+ *            Type of states (nodes)
+ * @param <A>
+ *            Type of actions
+ */
+public interface IVirtualLossPolicy<N, A> {
+
+	/**
+	 * @return true if a virtual loss has been applied. Only in that case, {@link #removeVirtualLoss(Object, Object)} will be invoked later for this state and action.
+	 */
+	public boolean addVirtualLoss(N state, A action);
+
+	public void removeVirtualLoss(N state, A action);
+}
@@ -3,14 +3,26 @@ package ai.libs.jaicore.search.algorithms.mdp.mcts;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.api4.java.algorithm.Timeout;
@@ -29,6 +41,8 @@ import org.slf4j.LoggerFactory;
 import com.google.common.eventbus.Subscribe;
 
 import ai.libs.jaicore.basic.algorithm.AAlgorithm;
+import ai.libs.jaicore.basic.algorithm.EAlgorithmState;
+import ai.libs.jaicore.basic.sets.Pair;
 import ai.libs.jaicore.graphvisualizer.events.graph.GraphInitializedEvent;
 import ai.libs.jaicore.graphvisualizer.events.graph.NodeAddedEvent;
 import ai.libs.jaicore.search.model.other.SearchGraphPath;
@@ -37,6 +51,14 @@ import ai.libs.jaicore.search.probleminputs.MDPUtils;
 import ai.libs.jaicore.timing.TimedComputation;
 
 /**
+ * If more than one CPU is configured for the algorithm (see {@link #setNumCPUs(int)}), the playouts are conducted by that many workers that descend the shared tree at the same time (tree parallelization). To diversify the
+ * playouts, the tree policy then puts a virtual loss on every chosen action until the playout has been back-propagated (if it is a {@link IVirtualLossPolicy}). Policies that are not {@link IThreadSafePolicy thread-safe} are
+ * only accessed by one worker at a time. The MDP must support concurrent access in this case.
+ *
+ * The number of states the tree keeps information about can be bounded (see {@link #setMaxNumberOfNodesInMemory(int)}). If the bound is exceeded after a playout, the least recently visited states are evicted from the
+ * tree (and from the tree policy if it is a {@link IEvictablePolicy}) until the bound is met again. Since every playout visits the states of its path from the leaf up to the root, cold subtrees are evicted bottom-up and the
+ * root is never evicted. Evicted states that are reached again are treated like new states. In addition, states that are different objects but represent the same situation can be merged by a transposition key (see
+ * {@link #setTranspositionKeyFunction(Function)}).
  *
  * @author Felix Mohr
  *
@@ -49,6 +71,8 @@ public class MCTS<N, A> extends AAlgorithm<IMDP<N, A, Double>, IPolicy<N, A>> {
 
 	private Logger logger = LoggerFactory.getLogger(MCTS.class);
 	private static final Runtime runtime = Runtime.getRuntime();
+	private static final String MSG_PLAYOUT_FAILED = "Could not create playout due to an exception! MCTS cannot deal with this in general. Please modify your MDP such that this kind of exceptions is resolved to some kind of score.";
+	private static final String MSG_TIMED_COMPUTATION_FAILED = "Observed error during timed computation.";
 
 	private final IMDP<N, A, Double> mdp;
 	private final int maxDepth;
@@ -60,12 +84,31 @@ public class MCTS<N, A> extends AAlgorithm<IMDP<N, A, Double>, IPolicy<N, A>> {
 	private final int maxIterations;
 
 	/* variables describing the state of the search */
-	private int iterations = 0;
-	private final Collection<N> tpReadyStates = new HashSet<>();
-	private final Map<N, Collection<A>> applicableActionsPerState = new HashMap<>();
-	private final Map<N, List<A>> untriedActionsOfIncompleteStates = new HashMap<>();
+	private final AtomicInteger iterations = new AtomicInteger();
+	private final Collection<N> tpReadyStates = ConcurrentHashMap.newKeySet();
+	private final Map<N, Collection<A>> applicableActionsPerState = new ConcurrentHashMap<>();
+	private final Map<N, IncompleteState<A>> incompleteStates = new ConcurrentHashMap<>();
 	private int lastProgressReport = 0;
 
+	/* variables for the parallel conduction of playouts */
+	private ExecutorService pool;
+	private final Collection<Thread> threadsOfPool = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger activeWorkers = new AtomicInteger();
+	private BlockingQueue<MCTSIterationCompletedEvent<N, A, Double>> completedPlayouts;
+	private final AtomicReference<Exception> exceptionOfWorker = new AtomicReference<>();
+	private volatile boolean rootExhausted = false;
+	private boolean useVirtualLoss = false;
+	private final Lock treePolicyLock = new ReentrantLock(); // only used if the tree policy is not thread-safe
+	private final Lock defaultPolicyLock = new ReentrantLock(); // only used if the default policy is not thread-safe
+
+	/* memory management */
+	private int maxNumberOfNodesInMemory = Integer.MAX_VALUE;
+	private final Map<N, Boolean> recentlyVisitedStates = new LinkedHashMap<>(16, 0.75f, true); // the states of the tree in the order of their last visit; accesses are synchronized on the map
+	private final ReadWriteLock treeStoreLock = new ReentrantReadWriteLock(); // playouts hold the read lock, eviction holds the write lock
+	private final AtomicInteger numberOfEvictedNodes = new AtomicInteger();
+	private Function<N, ?> transpositionKeyFunction;
+	private final Map<Object, N> transpositionTable = new ConcurrentHashMap<>();
+
 	/* stats variables */
 	private int msSpentInRollouts;
 	private int msSpentInTreePolicyQueries;
@@ -73,10 +116,23 @@ public class MCTS<N, A> extends AAlgorithm<IMDP<N, A, Double>, IPolicy<N, A>> {
 
 	/* taboo management */
 	private final boolean tabooExhaustedNodes;
-	private Map<N, Collection<A>> tabooActions = new HashMap<>();
+	private Map<N, Collection<A>> tabooActions = new ConcurrentHashMap<>(); // only contains states that are not exhausted themselves (unless transpositions are merged)
 
 	private ILabeledPath<N, A> enforcedPrefixPath = null;
 
+	/**
+	 * A state that is not yet ready for the tree policy. A state becomes ready once each of its actions has been tried and all playouts that tried one of them have been back-propagated, so that the tree policy has some
+	 * information about each action. Accesses are synchronized on the object.
+	 */
+	private static class IncompleteState<A> {
+		private final List<A> untriedActions;
+		private int playoutsInProgress = 0;
+
+		public IncompleteState(final Collection<A> applicableActions) {
+			this.untriedActions = new ArrayList<>(applicableActions);
+		}
+	}
+
 	public MCTS(final IMDP<N, A, Double> input, final IPathUpdatablePolicy<N, A, Double> treePolicy, final IPolicy<N, A> defaultPolicy, final int maxIterations, final double gamma, final double epsilon, final boolean tabooExhaustedNodes) {
 		super(input);
 		Objects.requireNonNull(input);
@@ -135,7 +191,7 @@ public class MCTS<N, A> extends AAlgorithm<IMDP<N, A, Double>, IPolicy<N, A>> {
 			return applicableActions;
 		}
 		catch (InterruptedException e) {
-			this.checkAndConductTermination(); // check whether we have been canceled internally
+			this.checkTerminationOfPlayout(); // check whether we have been canceled internally
 			throw e; // otherwise just throw new Interrupted exception
 		}
 	}
@@ -147,222 +203,572 @@ public class MCTS<N, A> extends AAlgorithm<IMDP<N, A, Double>, IPolicy<N, A>> {
 		try {
 			switch (this.getState()) {
 			case CREATED:
-				this.logger.info("Initialized MCTS algorithm {}.\n\tTree Policy: {}\n\tDefault Policy: {}\n\tMax Iterations: {}\n\tMax Depth: {}\n\tTaboo Exhausted Nodes: {}", this.getClass().getName(), this.treePolicy, this.defaultPolicy,
-						this.maxIterations, this.maxDepth, this.tabooExhaustedNodes);
+				this.logger.info("Initialized MCTS algorithm {}.\n\tTree Policy: {}\n\tDefault Policy: {}\n\tMax Iterations: {}\n\tMax Depth: {}\n\tTaboo Exhausted Nodes: {}\n\tWorkers: {}", this.getClass().getName(), this.treePolicy,
+						this.defaultPolicy, this.maxIterations, this.maxDepth, this.tabooExhaustedNodes, this.getNumCPUs());
 				return this.activate();
 			case ACTIVE:
-				if (this.iterations >= this.maxIterations) {
+				if (this.getNumCPUs() > 1) {
+					return this.getNextPlayoutOfWorkers();
+				}
+				int iteration = this.reserveIteration();
+				if (iteration < 0) {
 					this.logger.info("Number of iterations reached limit of {}.", this.maxIterations);
 					return this.terminate();
+				}
+				IAlgorithmEvent event = this.drawPlayout(iteration);
+				if (event == null) {
+					return this.terminate();
+				}
+				this.post(event);
+				return event;
+			default:
+				throw new IllegalStateException("Don't know what to do in state " + this.getState());
+			}
+		} catch (ActionPredictionFailedException | ObjectEvaluationFailedException e) {
+			throw new AlgorithmException(MSG_PLAYOUT_FAILED, e);
+		} catch (ExecutionException e) {
+			throw new AlgorithmException(MSG_TIMED_COMPUTATION_FAILED, e);
+		}
+		catch (InterruptedException e) {
+			this.checkAndConductTermination(); // if we have been canceled, throw the corresponding exception
+			throw e; // otherwise re-throw the InterruptedException
+		}
+		finally {
+			this.logger.debug("Unregistering thread {}", Thread.currentThread());
+			this.unregisterActiveThread();
+		}
+	}
+
+	/**
+	 * Reserves the next iteration for a playout.
+	 *
+	 * @return The number of the reserved iteration or -1 if the maximum number of iterations has been reached.
+	 */
+	private int reserveIteration() {
+		int current;
+		do {
+			current = this.iterations.get();
+			if (current >= this.maxIterations) {
+				return -1;
+			}
+		} while (!this.iterations.compareAndSet(current, current + 1));
+		return current + 1;
+	}
+
+	/**
+	 * Returns the next playout completed by one of the workers. The workers are started on the first invocation.
+	 *
+	 * The events of the playouts are posted by the thread that steps the algorithm, so that listeners observe them in the order in which they are returned.
+	 */
+	private IAlgorithmEvent getNextPlayoutOfWorkers() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		if (this.pool == null) {
+			this.startWorkers();
+		}
+		while (true) {
+			this.checkAndConductTermination();
+			Exception exceptionOfWorker = this.exceptionOfWorker.get();
+			if (exceptionOfWorker != null) {
+				this.unregisterThreadAndShutdown();
+				throw new AlgorithmException(exceptionOfWorker instanceof ExecutionException ? MSG_TIMED_COMPUTATION_FAILED : MSG_PLAYOUT_FAILED, exceptionOfWorker);
+			}
+			IAlgorithmEvent event = this.completedPlayouts.poll(100, TimeUnit.MILLISECONDS);
+			if (event != null) {
+				this.post(event);
+				return event;
+			}
+			if (this.activeWorkers.get() == 0 && this.completedPlayouts.isEmpty()) { // workers put their last playout before they finish
+				this.logger.info("All workers have finished after {} iterations.", this.iterations.get());
+				return this.terminate();
+			}
+		}
+	}
+
+	private void startWorkers() {
+		int numWorkers = this.getNumCPUs();
+		this.logger.info("Starting {} workers that conduct playouts in parallel.", numWorkers);
+		this.completedPlayouts = new ArrayBlockingQueue<>(numWorkers); // workers wait until their playouts have been consumed, so they do not run ahead of the caller
+		this.useVirtualLoss = this.treePolicy instanceof IVirtualLossPolicy;
+		AtomicInteger counter = new AtomicInteger(0);
+		this.pool = Executors.newFixedThreadPool(numWorkers, r -> {
+			Thread t = new Thread(r);
+			t.setName("MCTS-worker-" + counter.incrementAndGet());
+			this.threadsOfPool.add(t);
+			return t;
+		});
+		this.activeWorkers.set(numWorkers);
+		for (int i = 0; i < numWorkers; i++) {
+			this.pool.submit(this::runWorker);
+		}
+	}
+
+	private void runWorker() {
+		try {
+			while (!this.rootExhausted) {
+				int iteration = this.reserveIteration();
+				if (iteration < 0) {
+					break;
+				}
+				MCTSIterationCompletedEvent<N, A, Double> event = this.drawPlayout(iteration);
+				if (event == null) {
+					this.rootExhausted = true;
 				} else {
-					long timeStart = System.currentTimeMillis();
-					this.iterations++;
-
-					/* if the number of (estimated) remaining rollouts is relevant for the tree policy, tell it */
-					if (this.treePolicy instanceof IRolloutLimitDependentPolicy && this.isTimeoutDefined()) {
-						double avgTimeOfRollouts = this.msSpentInRollouts * 1.0 / this.iterations;
-						int expectedRemainingNumberOfRollouts = (int) Math.floor(this.getRemainingTimeToDeadline().milliseconds() / avgTimeOfRollouts);
-						((IRolloutLimitDependentPolicy) this.treePolicy).setEstimatedNumberOfRemainingRollouts(expectedRemainingNumberOfRollouts);
-					}
+					this.completedPlayouts.put(event);
+				}
+			}
+		} catch (InterruptedException e) {
+			this.logger.debug("Worker {} has been interrupted. Finishing.", Thread.currentThread().getName());
+			Thread.currentThread().interrupt();
+		} catch (AlgorithmTimeoutedException | AlgorithmExecutionCanceledException e) {
+			this.logger.debug("Worker {} has observed that the algorithm has been stopped. Finishing.", Thread.currentThread().getName());
+		} catch (Exception e) {
+			this.logger.error("Worker {} could not complete its playout.", Thread.currentThread().getName(), e);
+			this.exceptionOfWorker.compareAndSet(null, e);
+		} finally {
+			this.activeWorkers.decrementAndGet();
+		}
+	}
 
-					/* draw playout */
-					this.logger.info("Draw next playout: #{}.", this.iterations);
-					int invocationsOfTreePolicyInThisIteration = 0;
-					int invocationsOfDefaultPolicyInThisIteration = 0;
-					long timeSpentInActionApplicabilityComputationThisIteration = 0;
-					long timeSpentInSuccessorGenerationThisIteration = 0;
-					long timeSpentInTreePolicyQueriesThisIteration = 0;
-					long timeSpentInTreePolicyUpdatesThisIteration = 0;
-					long timeSpentInDefaultPolicyThisIteration = 0;
-					List<Double> scores = new ArrayList<>();
-					ILabeledPath<N, A> path = new SearchGraphPath<>(this.mdp.getInitState());
-					N current = path.getRoot();
-					A action = null;
-					int phase = 1;
-					long lastTerminationCheck = 0;
-					int depth = 0;
-					while (path.getNumberOfNodes() < this.maxDepth && !this.mdp.isTerminalState(current)) {
-
-						this.logger.debug("Now extending the roll-out in depth {}", depth);
-						depth++;
-
-						/* make sure that we have not been canceled/timeouted/interrupted */
-						long now = System.currentTimeMillis();
-						if (now - lastTerminationCheck > 1000) {
-							this.checkAndConductTermination();
-							lastTerminationCheck = now;
+	/**
+	 * Draws one playout and updates the tree policy with its scores. This may be invoked by several workers at the same time.
+	 *
+	 * If the number of nodes in memory is bounded, the states are only evicted when no playout is in progress, so that playouts never observe a partially evicted state.
+	 *
+	 * @param iteration
+	 *            The number of the iteration of this playout
+	 * @return The event describing the playout or null if there are no possible actions in the root anymore
+	 */
+	private MCTSIterationCompletedEvent<N, A, Double> drawPlayout(final int iteration) throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, ActionPredictionFailedException,
+	ObjectEvaluationFailedException, ExecutionException {
+		if (!this.isMemoryBounded()) {
+			return this.drawPlayoutInTree(iteration);
+		}
+		MCTSIterationCompletedEvent<N, A, Double> event;
+		this.treeStoreLock.readLock().lock();
+		try {
+			event = this.drawPlayoutInTree(iteration);
+			if (event != null) {
+				this.registerVisitOfPath(event.getRollout());
+			}
+		} finally {
+			this.treeStoreLock.readLock().unlock();
+		}
+		this.evictLeastRecentlyVisitedStates();
+		return event;
+	}
+
+	private MCTSIterationCompletedEvent<N, A, Double> drawPlayoutInTree(final int iteration) throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, ActionPredictionFailedException,
+	ObjectEvaluationFailedException, ExecutionException {
+		long timeStart = System.currentTimeMillis();
+
+		/* if the number of (estimated) remaining rollouts is relevant for the tree policy, tell it */
+		if (this.treePolicy instanceof IRolloutLimitDependentPolicy && this.isTimeoutDefined()) {
+			double avgTimeOfRollouts = this.msSpentInRollouts * 1.0 / iteration;
+			int expectedRemainingNumberOfRollouts = (int) Math.floor(this.getRemainingTimeToDeadline().milliseconds() / avgTimeOfRollouts);
+			this.lockTreePolicy();
+			try {
+				((IRolloutLimitDependentPolicy) this.treePolicy).setEstimatedNumberOfRemainingRollouts(expectedRemainingNumberOfRollouts);
+			} finally {
+				this.unlockTreePolicy();
+			}
+		}
+
+		/* draw playout */
+		this.logger.info("Draw next playout: #{}.", iteration);
+		int invocationsOfTreePolicyInThisIteration = 0;
+		int invocationsOfDefaultPolicyInThisIteration = 0;
+		long timeSpentInActionApplicabilityComputationThisIteration = 0;
+		long timeSpentInSuccessorGenerationThisIteration = 0;
+		long timeSpentInTreePolicyQueriesThisIteration = 0;
+		long timeSpentInTreePolicyUpdatesThisIteration = 0;
+		long timeSpentInDefaultPolicyThisIteration = 0;
+		List<Double> scores = new ArrayList<>();
+		List<Pair<N, A>> virtualLosses = new ArrayList<>();
+		N expandedState = null;
+		N parentOfExpandedState = null;
+		ILabeledPath<N, A> path = new SearchGraphPath<>(this.getCanonicalState(this.mdp.getInitState()));
+		N current = path.getRoot();
+		A action = null;
+		int phase = 1;
+		long lastTerminationCheck = 0;
+		int depth = 0;
+		try {
+			while (path.getNumberOfNodes() < this.maxDepth && !this.mdp.isTerminalState(current)) {
+
+				this.logger.debug("Now extending the roll-out in depth {}", depth);
+				depth++;
+
+				/* make sure that we have not been canceled/timeouted/interrupted */
+				long now = System.currentTimeMillis();
+				if (now - lastTerminationCheck > 1000) {
+					this.checkTerminationOfPlayout();
+					lastTerminationCheck = now;
+				}
+
+				/* first case: Tree policy can be applied */
+				if (phase == 1 && this.tpReadyStates.contains(current)) {
+
+					/* here we assume that the set of applicable actions is stored in memory, and we just compute the subset of them for the case that taboo is active */
+					this.logger.debug("Computing possible actions for node {}", current);
+					assert this.applicableActionsPerState.containsKey(current) && !this.applicableActionsPerState.get(current).isEmpty() : "It makes no sense to apply the TP to a node without applicable actions!";
+					List<A> possibleActions = this.getPotentialActions(path, this.applicableActionsPerState.get(current));
+					if (possibleActions.isEmpty()) {
+						if (path.isPoint()) { // if we are in the root and cannot do anything anymore, then stop the algorithm.
+							this.logger.info("There are no possible actions in the root. Finishing.");
+							this.summarizeIteration(System.currentTimeMillis() - timeStart, timeSpentInActionApplicabilityComputationThisIteration, timeSpentInSuccessorGenerationThisIteration, invocationsOfTreePolicyInThisIteration,
+									invocationsOfDefaultPolicyInThisIteration, timeSpentInTreePolicyQueriesThisIteration, timeSpentInTreePolicyUpdatesThisIteration, timeSpentInDefaultPolicyThisIteration);
+							return null;
 						}
+						break;
+					}
 
-						/* first case: Tree policy can be applied */
-						if (phase == 1 && this.tpReadyStates.contains(current)) {
-
-							/* here we assume that the set of applicable actions is stored in memory, and we just compute the subset of them for the case that taboo is active */
-							this.logger.debug("Computing possible actions for node {}", current);
-							assert this.applicableActionsPerState.containsKey(current) && !this.applicableActionsPerState.get(current).isEmpty() : "It makes no sense to apply the TP to a node without applicable actions!";
-							List<A> possibleActions = this.getPotentialActions(path, this.applicableActionsPerState.get(current));
-							if (possibleActions.isEmpty()) {
-								if (path.isPoint()) { // if we are in the root and cannot do anything anymore, then stop the algorithm.
-									this.logger.info("There are no possible actions in the root. Finishing.");
-									this.summarizeIteration(System.currentTimeMillis() - timeStart, timeSpentInActionApplicabilityComputationThisIteration, timeSpentInSuccessorGenerationThisIteration, invocationsOfTreePolicyInThisIteration,
-											invocationsOfDefaultPolicyInThisIteration, timeSpentInTreePolicyQueriesThisIteration, timeSpentInTreePolicyUpdatesThisIteration, timeSpentInDefaultPolicyThisIteration);
-									return this.terminate();
+					this.logger.debug("Ask tree policy to choose one action of: {}.", possibleActions);
+					long tpStart = System.currentTimeMillis();
+					action = this.queryTreePolicy(current, possibleActions);
+					Objects.requireNonNull(action, "Actions in MCTS must never be null, but tree policy returned null!");
+					if (this.useVirtualLoss && this.addVirtualLoss(current, action)) {
+						virtualLosses.add(new Pair<>(current, action));
+					}
+					timeSpentInTreePolicyQueriesThisIteration += (System.currentTimeMillis() - tpStart);
+					invocationsOfTreePolicyInThisIteration++;
+					this.logger.debug("Tree policy recommended action {}.", action);
+				} else {
+					if (phase == 1) { // switch to next phase
+						this.logger.debug("Switching to roll-out phase 2.");
+						phase = 2;
+					}
+					if (phase == 2) { // this phase is for the first node on the path that is not TP ready. This node has (unless it is a leaf) untried actions
+
+						/* compute the actions that have not been tried for this node */
+						IncompleteState<A> incompleteState = this.incompleteStates.get(current);
+						if (incompleteState == null) {
+
+							/* if the playouts of other workers have completed the state in the meantime, continue with the tree policy */
+							if (this.tpReadyStates.contains(current)) {
+								this.logger.debug("State has become ready for the tree policy in the meantime. Switching back to roll-out phase 1.");
+								phase = 1;
+								continue;
+							}
+
+							/* if this is the first time we see this node, compute *all* its successors. This is done first since this may take long/timeout/interrupt, so that we check afterwards whether we are still active */
+							long startActionTime = System.currentTimeMillis();
+							if (this.getRemainingTimeToDeadline().milliseconds() < 2000) {
+								if (this.getRemainingTimeToDeadline().milliseconds() > 0) {
+									Thread.sleep(this.getRemainingTimeToDeadline().milliseconds());
 								}
-								break;
+								this.checkTerminationOfPlayout();
+							}
+							Collection<A> applicableActions = this.getApplicableActions(current);
+							timeSpentInActionApplicabilityComputationThisIteration += (System.currentTimeMillis() - startActionTime);
+							if (this.applicableActionsPerState.putIfAbsent(current, applicableActions) == null) {
+								this.registerNewState(current);
 							}
 
-							this.logger.debug("Ask tree policy to choose one action of: {}.", possibleActions);
-							long tpStart = System.currentTimeMillis();
-							action = this.treePolicy.getAction(current, possibleActions);
-							timeSpentInTreePolicyQueriesThisIteration += (System.currentTimeMillis() - tpStart);
-							invocationsOfTreePolicyInThisIteration++;
-							Objects.requireNonNull(action, "Actions in MCTS must never be null, but tree policy returned null!");
-							this.logger.debug("Tree policy recommended action {}.", action);
-						} else {
-							if (phase == 1) { // switch to next phase
-								this.logger.debug("Switching to roll-out phase 2.");
-								phase = 2;
+							/* if there are no applicable actions for this node (dead-end) conduct back-propagation */
+							if (applicableActions.isEmpty()) {
+								long tpStart = System.currentTimeMillis();
+								this.removeVirtualLosses(virtualLosses);
+								this.updateTreePolicy(path, scores);
+								timeSpentInTreePolicyUpdatesThisIteration += (System.currentTimeMillis() - tpStart);
+								MCTSIterationCompletedEvent<N, A, Double> event = new MCTSIterationCompletedEvent<>(this, this.treePolicy, new SearchGraphPath<>(path), scores);
+								this.summarizeIteration(System.currentTimeMillis() - timeStart, timeSpentInActionApplicabilityComputationThisIteration, timeSpentInSuccessorGenerationThisIteration,
+										invocationsOfTreePolicyInThisIteration, invocationsOfDefaultPolicyInThisIteration, timeSpentInTreePolicyQueriesThisIteration, timeSpentInTreePolicyUpdatesThisIteration,
+										timeSpentInDefaultPolicyThisIteration);
+								return event;
 							}
-							if (phase == 2) { // this phase is for the first node on the path that is not TP ready. This node has (unless it is a leaf) untried actions
-
-								/* compute the actions that have not been tried for this node */
-								List<A> untriedActions;
-								if (!this.untriedActionsOfIncompleteStates.containsKey(current)) { // if this is the first time we see this node, compute *all* its successors
-
-									/* compute possible actions (this is done first since this may take long/timeout/interrupt, so that we check afterwards whether we are still active */
-									long startActionTime = System.currentTimeMillis();
-									if (this.getRemainingTimeToDeadline().milliseconds() < 2000) {
-										if (this.getRemainingTimeToDeadline().milliseconds() > 0) {
-											Thread.sleep(this.getRemainingTimeToDeadline().milliseconds());
-										}
-										this.checkAndConductTermination();
-									}
-									Collection<A> applicableActions = this.getApplicableActions(current);
-									untriedActions = new ArrayList<>(applicableActions);
-									timeSpentInActionApplicabilityComputationThisIteration += (System.currentTimeMillis() - startActionTime);
-									this.applicableActionsPerState.put(current, applicableActions);
-
-									/* if there are no applicable actions for this node (dead-end) conduct back-propagation */
-									if (untriedActions.isEmpty()) {
-										long tpStart = System.currentTimeMillis();
-										this.treePolicy.updatePath(path, scores);
-										timeSpentInTreePolicyUpdatesThisIteration += (System.currentTimeMillis() - tpStart);
-										IAlgorithmEvent event = new MCTSIterationCompletedEvent<>(this, this.treePolicy, new SearchGraphPath<>(path), scores);
-										this.post(event);
-										this.summarizeIteration(System.currentTimeMillis() - timeStart, timeSpentInActionApplicabilityComputationThisIteration, timeSpentInSuccessorGenerationThisIteration,
-												invocationsOfTreePolicyInThisIteration, invocationsOfDefaultPolicyInThisIteration, timeSpentInTreePolicyQueriesThisIteration, timeSpentInTreePolicyUpdatesThisIteration,
-												timeSpentInDefaultPolicyThisIteration);
-										return event;
-									}
-									this.untriedActionsOfIncompleteStates.put(current, untriedActions);
-								} else {
-									untriedActions = this.untriedActionsOfIncompleteStates.get(current);
-								}
+							IncompleteState<A> newIncompleteState = new IncompleteState<>(applicableActions);
+							incompleteState = this.incompleteStates.putIfAbsent(current, newIncompleteState);
+							if (incompleteState == null) {
+								incompleteState = newIncompleteState;
+							}
+						}
 
-								/* now remove the first untried action from the list */
-								this.logger.debug("There are {} untried actions: {}", untriedActions.size(), untriedActions);
-								assert !untriedActions.isEmpty() : "Untried actions must not be empty!";
-								action = untriedActions.remove(0);
-								this.logger.debug("Choosing untried action {}. There are {} remaining untried actions: {}", action, untriedActions.size(), untriedActions);
-								Objects.requireNonNull(action, "Actions in MCTS must never be null!");
-
-								/* if this was the last untried action, remove it from that field and add it to the tree policy pool */
-								if (untriedActions.isEmpty()) {
-									this.untriedActionsOfIncompleteStates.remove(current);
-									this.tpReadyStates.add(current);
-									if (path.isPoint()) {
-										this.post(new GraphInitializedEvent<>(this, current));
-									} else {
-										this.post(new NodeAddedEvent<>(this, path.getPathToParentOfHead().getHead(), current, "none"));
-									}
-									this.logger.debug("Adding state {} to tree policy domain.", current);
-								}
-								phase = 3;
-								this.logger.debug("Switching to roll-out phase 3.");
-							} else if (phase == 3) {
-
-								long startDP = System.currentTimeMillis();
-
-								/* if the default policy is a uniform sampler, just directly ask the MDP */
-								if (this.uniformSamplingDefaultPolicy) {
-									this.logger.debug("Sample a single action directly from the MDP.");
-									action = this.mdp.getUniformlyRandomApplicableAction(current, this.randomSourceOfUniformSamplyPolicy);
-								} else {
-
-									/* determine possible actions and ask default policy which one to choose */
-									long startActionTime = System.currentTimeMillis();
-									Collection<A> applicableActions = this.getApplicableActions(current);
-									timeSpentInActionApplicabilityComputationThisIteration += (System.currentTimeMillis() - startActionTime);
-									this.logger.debug("Ask default policy to choose one action of: {}.", applicableActions);
-									action = this.defaultPolicy.getAction(current, applicableActions);
-									assert applicableActions.contains(action);
-								}
-								timeSpentInDefaultPolicyThisIteration += (System.currentTimeMillis() - startDP);
-								invocationsOfDefaultPolicyInThisIteration++;
-								Objects.requireNonNull(action, "Actions in MCTS must never be null, but default policy has returned null!");
-								this.logger.debug("Default policy chose action {}.", action);
-							} else {
-								throw new IllegalStateException("Invalid phase " + phase);
+						/* now remove the first untried action from the list */
+						synchronized (incompleteState) {
+							List<A> untriedActions = incompleteState.untriedActions;
+							if (untriedActions.isEmpty()) { // all actions have been tried by other workers, but not all their playouts have been back-propagated, so we cannot use the tree policy yet
+								phase = this.tpReadyStates.contains(current) ? 1 : 3;
+								this.logger.debug("All actions have been tried in the meantime. Switching to roll-out phase {}.", phase);
+								continue;
 							}
+							this.logger.debug("There are {} untried actions: {}", untriedActions.size(), untriedActions);
+							action = untriedActions.remove(0);
+							incompleteState.playoutsInProgress++;
+							this.logger.debug("Choosing untried action {}. There are {} remaining untried actions: {}", action, untriedActions.size(), untriedActions);
+							Objects.requireNonNull(action, "Actions in MCTS must never be null!");
 						}
+						expandedState = current;
+						parentOfExpandedState = path.isPoint() ? null : path.getParentOfHead();
+						phase = 3;
+						this.logger.debug("Switching to roll-out phase 3.");
+					} else if (phase == 3) {
+
+						long startDP = System.currentTimeMillis();
+
+						/* if the default policy is a uniform sampler, just directly ask the MDP */
+						if (this.uniformSamplingDefaultPolicy) {
+							this.logger.debug("Sample a single action directly from the MDP.");
+							action = this.mdp.getUniformlyRandomApplicableAction(current, this.randomSourceOfUniformSamplyPolicy);
+						} else {
 
-						/* we now have the action chosen for this node. Now draw a successor state */
-						long startSuccessorComputation = System.currentTimeMillis();
-						N nextState = this.utils.drawSuccessorState(this.mdp, current, action);
-						timeSpentInSuccessorGenerationThisIteration += System.currentTimeMillis() - startSuccessorComputation;
-						scores.add(this.mdp.getScore(current, action, nextState));
-						current = nextState;
-						path.extend(current, action);
+							/* determine possible actions and ask default policy which one to choose */
+							long startActionTime = System.currentTimeMillis();
+							Collection<A> applicableActions = this.getApplicableActions(current);
+							timeSpentInActionApplicabilityComputationThisIteration += (System.currentTimeMillis() - startActionTime);
+							this.logger.debug("Ask default policy to choose one action of: {}.", applicableActions);
+							action = this.queryDefaultPolicy(current, applicableActions);
+							assert applicableActions.contains(action);
+						}
+						timeSpentInDefaultPolicyThisIteration += (System.currentTimeMillis() - startDP);
+						invocationsOfDefaultPolicyInThisIteration++;
+						Objects.requireNonNull(action, "Actions in MCTS must never be null, but default policy has returned null!");
+						this.logger.debug("Default policy chose action {}.", action);
+					} else {
+						throw new IllegalStateException("Invalid phase " + phase);
 					}
+				}
 
-					/* if we touched the ground with the tree policy, add the last action to the taboo list */
-					if (this.tabooExhaustedNodes && phase == 1) {
-						this.tabooLastActionOfPath(path);
-					}
+				/* we now have the action chosen for this node. Now draw a successor state */
+				long startSuccessorComputation = System.currentTimeMillis();
+				N nextState = this.utils.drawSuccessorState(this.mdp, current, action);
+				timeSpentInSuccessorGenerationThisIteration += System.currentTimeMillis() - startSuccessorComputation;
+				scores.add(this.mdp.getScore(current, action, nextState));
+				current = this.getCanonicalState(nextState);
+				path.extend(current, action);
+			}
 
-					/* decide whether to show a progress report */
-					int progress = (int) Math.round(this.iterations * 100.0 / this.maxIterations);
-					if (progress > this.lastProgressReport && progress % 5 == 0) {
-						this.logger.info("Progress: {}%", Math.round(this.iterations * 100.0 / this.maxIterations));
-						this.lastProgressReport = progress;
-					}
+			/* if we touched the ground with the tree policy, add the last action to the taboo list */
+			if (this.tabooExhaustedNodes && phase == 1) {
+				this.tabooLastActionOfPath(path);
+			}
+
+			/* decide whether to show a progress report */
+			int progress = (int) Math.round(iteration * 100.0 / this.maxIterations);
+			if (progress > this.lastProgressReport && progress % 5 == 0) {
+				this.logger.info("Progress: {}%", Math.round(iteration * 100.0 / this.maxIterations));
+				this.lastProgressReport = progress;
+			}
 
-					boolean hasNullScore = scores.contains(null);
-
-					/* create and publish roll-out event */
-					boolean isGoalPath = this.mdp.isTerminalState(path.getHead());
-					double totalUndiscountedScore = hasNullScore ? Double.NaN : scores.stream().reduce(0.0, (a, b) -> a.doubleValue() + b.doubleValue());
-					this.logger.info("Found playout of length {}. Head is goal: {}. (Undiscounted) score of path is {}.", path.getNumberOfNodes(), isGoalPath, totalUndiscountedScore);
-					this.logger.debug("Found leaf node with score {}. Now propagating this score over the path with actions {}. Leaf state is: {}.", totalUndiscountedScore, path.getArcs(), path.getHead());
-					if (!path.isPoint()) {
-						long tpStart = System.currentTimeMillis();
-						this.treePolicy.updatePath(path, scores);
-						timeSpentInTreePolicyUpdatesThisIteration += (System.currentTimeMillis() - tpStart);
+			boolean hasNullScore = scores.contains(null);
+
+			/* create roll-out event */
+			boolean isGoalPath = this.mdp.isTerminalState(path.getHead());
+			double totalUndiscountedScore = hasNullScore ? Double.NaN : scores.stream().reduce(0.0, (a, b) -> a.doubleValue() + b.doubleValue());
+			this.logger.info("Found playout of length {}. Head is goal: {}. (Undiscounted) score of path is {}.", path.getNumberOfNodes(), isGoalPath, totalUndiscountedScore);
+			this.logger.debug("Found leaf node with score {}. Now propagating this score over the path with actions {}. Leaf state is: {}.", totalUndiscountedScore, path.getArcs(), path.getHead());
+			if (!path.isPoint()) {
+				long tpStart = System.currentTimeMillis();
+				this.removeVirtualLosses(virtualLosses);
+				this.updateTreePolicy(path, scores);
+				timeSpentInTreePolicyUpdatesThisIteration += (System.currentTimeMillis() - tpStart);
+			}
+			if (expandedState != null) {
+				this.completePlayoutOfIncompleteState(expandedState, parentOfExpandedState);
+				expandedState = null;
+			}
+			MCTSIterationCompletedEvent<N, A, Double> event = new MCTSIterationCompletedEvent<>(this, this.treePolicy, new SearchGraphPath<>(path), scores);
+			this.summarizeIteration(System.currentTimeMillis() - timeStart, timeSpentInActionApplicabilityComputationThisIteration, timeSpentInSuccessorGenerationThisIteration, invocationsOfTreePolicyInThisIteration,
+					invocationsOfDefaultPolicyInThisIteration, timeSpentInTreePolicyQueriesThisIteration, timeSpentInTreePolicyUpdatesThisIteration, timeSpentInDefaultPolicyThisIteration);
+			return event;
+		} finally { // if the playout has not been completed
+			this.removeVirtualLosses(virtualLosses);
+			if (expandedState != null) {
+				this.completePlayoutOfIncompleteState(expandedState, parentOfExpandedState);
+			}
+		}
+	}
+
+	/**
+	 * Registers that a playout that has tried an action of the given incomplete state has been back-propagated. If this was the last such playout and there are no untried actions anymore, the state becomes ready for the tree policy.
+	 */
+	private void completePlayoutOfIncompleteState(final N state, final N parent) {
+		IncompleteState<A> incompleteState = this.incompleteStates.get(state);
+		synchronized (incompleteState) {
+			incompleteState.playoutsInProgress--;
+			if (incompleteState.untriedActions.isEmpty() && incompleteState.playoutsInProgress == 0) {
+				this.tpReadyStates.add(state); // add it first, so that the state is always in one of the two collections
+				this.incompleteStates.remove(state);
+				if (parent == null) {
+					this.post(new GraphInitializedEvent<>(this, state));
+				} else {
+					this.post(new NodeAddedEvent<>(this, parent, state, "none"));
+				}
+				this.logger.debug("Adding state {} to tree policy domain.", state);
+			}
+		}
+	}
+
+	/**
+	 * @return The state that represents the given state in the tree. This is the state itself unless a transposition key is defined and another state with the same key is already part of the tree.
+	 */
+	private N getCanonicalState(final N state) {
+		if (this.transpositionKeyFunction == null) {
+			return state;
+		}
+		N canonicalState = this.transpositionTable.get(this.transpositionKeyFunction.apply(state));
+		return canonicalState != null ? canonicalState : state;
+	}
+
+	private boolean isMemoryBounded() {
+		return this.maxNumberOfNodesInMemory < Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Registers a state for which information is stored in the tree from now on.
+	 */
+	private void registerNewState(final N state) {
+		if (this.transpositionKeyFunction != null) {
+			this.transpositionTable.putIfAbsent(this.transpositionKeyFunction.apply(state), state);
+		}
+		if (this.isMemoryBounded()) {
+			synchronized (this.recentlyVisitedStates) {
+				this.recentlyVisitedStates.put(state, Boolean.TRUE);
+			}
+		}
+	}
+
+	/**
+	 * Marks the states of the path that are part of the tree as visited. The states are visited from the head to the root, so that every state is considered more recent than the states below it.
+	 */
+	private void registerVisitOfPath(final ILabeledPath<N, A> path) {
+		List<N> nodes = path.getNodes();
+		synchronized (this.recentlyVisitedStates) {
+			for (int i = nodes.size() - 1; i >= 0; i--) {
+				N state = nodes.get(i);
+				if (this.recentlyVisitedStates.containsKey(state)) {
+					this.recentlyVisitedStates.put(state, Boolean.TRUE);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Evicts the least recently visited states (except the root) until the number of nodes in memory does not exceed the bound anymore. The write lock guarantees that no playout is in progress meanwhile.
+	 */
+	private void evictLeastRecentlyVisitedStates() {
+		if (this.applicableActionsPerState.size() <= this.maxNumberOfNodesInMemory) {
+			return;
+		}
+		this.treeStoreLock.writeLock().lock();
+		try {
+			N root = this.getCanonicalState(this.mdp.getInitState());
+			int evictedStates = 0;
+			synchronized (this.recentlyVisitedStates) {
+				Iterator<N> iterator = this.recentlyVisitedStates.keySet().iterator();
+				while (this.applicableActionsPerState.size() > this.maxNumberOfNodesInMemory && iterator.hasNext()) {
+					N state = iterator.next();
+					if (state.equals(root)) {
+						continue;
 					}
-					IAlgorithmEvent event = new MCTSIterationCompletedEvent<>(this, this.treePolicy, new SearchGraphPath<>(path), scores);
-					this.post(event);
-					this.summarizeIteration(System.currentTimeMillis() - timeStart, timeSpentInActionApplicabilityComputationThisIteration, timeSpentInSuccessorGenerationThisIteration, invocationsOfTreePolicyInThisIteration,
-							invocationsOfDefaultPolicyInThisIteration, timeSpentInTreePolicyQueriesThisIteration, timeSpentInTreePolicyUpdatesThisIteration, timeSpentInDefaultPolicyThisIteration);
-					return event;
+					iterator.remove();
+					this.evictState(state);
+					evictedStates++;
 				}
-			default:
-				throw new IllegalStateException("Don't know what to do in state " + this.getState());
 			}
-		} catch (ActionPredictionFailedException | ObjectEvaluationFailedException e) {
-			throw new AlgorithmException("Could not create playout due to an exception! MCTS cannot deal with this in general. Please modify your MDP such that this kind of exceptions is resolved to some kind of score.", e);
-		} catch (ExecutionException e) {
-			throw new AlgorithmException("Observed error during timed computation.", e);
+			this.numberOfEvictedNodes.addAndGet(evictedStates);
+			this.logger.debug("Evicted {} states. There are {} nodes in memory now.", evictedStates, this.applicableActionsPerState.size());
+		} finally {
+			this.treeStoreLock.writeLock().unlock();
 		}
-		catch (InterruptedException e) {
-			this.checkAndConductTermination(); // if we have been canceled, throw the corresponding exception
-			throw e; // otherwise re-throw the InterruptedException
+	}
+
+	/**
+	 * Removes all information about the state from the tree. Taboo information is kept, because the state would otherwise be explored again once it is reached again. Since the taboo entry of a state is dropped as soon as
+	 * the state is exhausted, only states with exhausted but also non-exhausted successors keep such an entry.
+	 */
+	@SuppressWarnings("unchecked")
+	private void evictState(final N state) {
+		this.tpReadyStates.remove(state);
+		this.incompleteStates.remove(state);
+		this.applicableActionsPerState.remove(state);
+		if (this.transpositionKeyFunction != null) {
+			this.transpositionTable.remove(this.transpositionKeyFunction.apply(state), state);
 		}
-		finally {
-			this.logger.debug("Unregistering thread {}", Thread.currentThread());
-			this.unregisterActiveThread();
+		if (this.treePolicy instanceof IEvictablePolicy) {
+			((IEvictablePolicy<N>) this.treePolicy).evict(state);
+		}
+	}
+
+	/**
+	 * Workers must not shut down the algorithm themselves; this is done by the thread that steps the algorithm.
+	 */
+	private void checkTerminationOfPlayout() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException {
+		this.checkTermination(!this.threadsOfPool.contains(Thread.currentThread()));
+	}
+
+	private void lockTreePolicy() throws InterruptedException {
+		if (!(this.treePolicy instanceof IThreadSafePolicy)) {
+			this.treePolicyLock.lockInterruptibly();
+		}
+	}
+
+	private void unlockTreePolicy() {
+		if (!(this.treePolicy instanceof IThreadSafePolicy)) {
+			this.treePolicyLock.unlock();
+		}
+	}
+
+	private A queryTreePolicy(final N state, final List<A> possibleActions) throws ActionPredictionFailedException, InterruptedException {
+		this.lockTreePolicy();
+		try {
+			return this.treePolicy.getAction(state, possibleActions);
+		} finally {
+			this.unlockTreePolicy();
 		}
 	}
 
-	private void summarizeIteration(final long timeForRolloutThisIteration, final long timeSpentInActionApplicability, final long timeSpentInSuccessorGenerationThisIteration, final int numInvocationsOfTP, final int numInvocationsOfDP,
+	private void updateTreePolicy(final ILabeledPath<N, A> path, final List<Double> scores) throws InterruptedException {
+		this.lockTreePolicy();
+		try {
+			this.treePolicy.updatePath(path, scores);
+		} finally {
+			this.unlockTreePolicy();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean addVirtualLoss(final N state, final A action) throws InterruptedException {
+		this.lockTreePolicy();
+		try {
+			return ((IVirtualLossPolicy<N, A>) this.treePolicy).addVirtualLoss(state, action);
+		} finally {
+			this.unlockTreePolicy();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void removeVirtualLosses(final List<Pair<N, A>> virtualLosses) {
+		if (virtualLosses.isEmpty()) {
+			return;
+		}
+		boolean lock = !(this.treePolicy instanceof IThreadSafePolicy);
+		if (lock) {
+			this.treePolicyLock.lock(); // not interruptible, because the virtual losses must be removed in any case
+		}
+		try {
+			for (Pair<N, A> stateAndAction : virtualLosses) {
+				((IVirtualLossPolicy<N, A>) this.treePolicy).removeVirtualLoss(stateAndAction.getX(), stateAndAction.getY());
+			}
+			virtualLosses.clear();
+		} finally {
+			if (lock) {
+				this.treePolicyLock.unlock();
+			}
+		}
+	}
+
+	private A queryDefaultPolicy(final N state, final Collection<A> applicableActions) throws ActionPredictionFailedException, InterruptedException {
+		if (this.defaultPolicy instanceof IThreadSafePolicy) {
+			return this.defaultPolicy.getAction(state, applicableActions);
+		}
+		this.defaultPolicyLock.lockInterruptibly();
+		try {
+			return this.defaultPolicy.getAction(state, applicableActions);
+		} finally {
+			this.defaultPolicyLock.unlock();
+		}
+	}
+
+	private synchronized void summarizeIteration(final long timeForRolloutThisIteration, final long timeSpentInActionApplicability, final long timeSpentInSuccessorGenerationThisIteration, final int numInvocationsOfTP, final int numInvocationsOfDP,
 			final long timeSpentInTreePolicyQueriesThisIteration, final long timeSpentInTreePolicyUpdatesThisIteration, final long timeSpentInDefaultPolicyThisIteration) {
 		this.msSpentInRollouts += timeForRolloutThisIteration;
 		this.msSpentInTreePolicyQueries += timeSpentInTreePolicyQueriesThisIteration;
@@ -379,18 +785,31 @@ public class MCTS<N, A> extends AAlgorithm<IMDP<N, A, Double>, IPolicy<N, A>> {
 		}
 		N lastStatePriorToEnd = path.getParentOfHead();
 		A lastAction = path.getOutArc(lastStatePriorToEnd);
-		this.tabooActions.computeIfAbsent(lastStatePriorToEnd, n -> new HashSet<>()).add(lastAction);
+		this.tabooActions.computeIfAbsent(lastStatePriorToEnd, n -> ConcurrentHashMap.newKeySet()).add(lastAction);
 		this.logger.debug("Adding action {} to taboo list of state {}", lastAction, lastStatePriorToEnd);
+
+		/* the head is exhausted now. Without transpositions, it can only be reached through the action that has just been tabooed, so its own taboo list is not needed anymore */
+		if (this.transpositionKeyFunction == null) {
+			this.tabooActions.remove(path.getHead());
+		}
 	}
 
 	public int getNumberOfRealizedPlayouts() {
-		return this.iterations;
+		return this.iterations.get();
 	}
 
 	public IPathUpdatablePolicy<N, A, Double> getTreePolicy() {
 		return this.treePolicy;
 	}
 
+	public IPolicy<N, A> getDefaultPolicy() {
+		return this.defaultPolicy;
+	}
+
+	public int getMaxIterations() {
+		return this.maxIterations;
+	}
+
 	@Override
 	public IPolicy<N, A> call() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
 		while (this.hasNext()) {
@@ -399,6 +818,15 @@ public class MCTS<N, A> extends AAlgorithm<IMDP<N, A, Double>, IPolicy<N, A>> {
 		return this.treePolicy;
 	}
 
+	@Override
+	protected void shutdown() {
+		super.shutdown();
+		if (this.pool != null) {
+			this.logger.debug("Shutting down worker pool.");
+			this.pool.shutdownNow();
+		}
+	}
+
 	public void enforcePrefixPathOnAllRollouts(final ILabeledPath<N, A> path) {
 		if (!path.getRoot().equals(this.mdp.getInitState())) {
 			throw new IllegalArgumentException("Illegal prefix, since root does not coincide with algorithm root. Proposed root is: " + path.getRoot());
@@ -456,8 +884,51 @@ public class MCTS<N, A> extends AAlgorithm<IMDP<N, A, Double>, IPolicy<N, A>> {
 		return this.logger.getName();
 	}
 
+	/**
+	 * @return The number of states for which the tree currently stores information (states that are ready for the tree policy and states that have been expanded but are not ready yet)
+	 */
 	public int getNumberOfNodesInMemory() {
-		return this.tpReadyStates.size();
+		return this.applicableActionsPerState.size();
+	}
+
+	public int getMaxNumberOfNodesInMemory() {
+		return this.maxNumberOfNodesInMemory;
+	}
+
+	/**
+	 * Bounds the number of states the tree keeps information about. The bound may be exceeded by the states created in the playouts that are in progress, but it is restored after each playout.
+	 */
+	public void setMaxNumberOfNodesInMemory(final int maxNumberOfNodesInMemory) {
+		if (maxNumberOfNodesInMemory < 1) {
+			throw new IllegalArgumentException("The number of nodes in memory must be positive but is " + maxNumberOfNodesInMemory);
+		}
+		this.requireCreatedState();
+		this.maxNumberOfNodesInMemory = maxNumberOfNodesInMemory;
+	}
+
+	public int getNumberOfEvictedNodes() {
+		return this.numberOfEvictedNodes.get();
+	}
+
+	public Function<N, ?> getTranspositionKeyFunction() {
+		return this.transpositionKeyFunction;
+	}
+
+	/**
+	 * Sets a function that maps states to keys such that states with the same key are considered the same state (transpositions). The first state with some key that is reached in a playout represents all states with that
+	 * key in the tree and is the one that is passed to the MDP and the policies afterwards. The keys must therefore only coincide for states with the same applicable actions, successors, and scores.
+	 *
+	 * Without a key function, only states that are equal are merged.
+	 */
+	public void setTranspositionKeyFunction(final Function<N, ?> transpositionKeyFunction) {
+		this.requireCreatedState();
+		this.transpositionKeyFunction = transpositionKeyFunction;
+	}
+
+	private void requireCreatedState() {
+		if (this.getState() != EAlgorithmState.CREATED) {
+			throw new IllegalStateException("The tree store can only be configured before the algorithm is started.");
+		}
 	}
 
 	public int getMsSpentInRollouts() {
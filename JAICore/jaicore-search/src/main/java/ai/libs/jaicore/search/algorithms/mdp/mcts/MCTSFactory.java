@@ -1,11 +1,12 @@
 package ai.libs.jaicore.search.algorithms.mdp.mcts;
 
 import java.util.Random;
+import java.util.function.Function;
 
 import ai.libs.jaicore.basic.algorithm.AAlgorithmFactory;
 import ai.libs.jaicore.search.probleminputs.IMDP;
 
-public abstract class MCTSFactory<N, A, B extends MCTSFactory<N, A, B>> extends AAlgorithmFactory<IMDP<N, A, Double>, IPolicy<N, A>, MCTS<N, A>> {
+public abstract class MCTSFactory<N, A, B extends MCTSFactory<N, A, B>> extends AAlgorithmFactory<IMDP<N, A, Double>, IPolicy<N, A>, MCTS<N, A>> implements Cloneable {
 
 	private int maxIterations = Integer.MAX_VALUE;
 	private double gamma = 1.0; // a gamma value of 1 means that there is no discount
@@ -14,6 +15,9 @@ public abstract class MCTSFactory<N, A, B extends MCTSFactory<N, A, B>> extends
 	private boolean tabooExhaustedNodes = false;
 	private boolean maximize = false;
 	private IPolicy<N, A> defaultPolicy;
+	private int numWorkers = 1;
+	private int maxNumberOfNodesInMemory = Integer.MAX_VALUE;
+	private Function<N, ?> transpositionKeyFunction;
 
 	public int getMaxIterations() {
 		return this.maxIterations;
@@ -92,6 +96,63 @@ public abstract class MCTSFactory<N, A, B extends MCTSFactory<N, A, B>> extends
 		}
 	}
 
+	public int getNumWorkers() {
+		return this.numWorkers;
+	}
+
+	/**
+	 * @param numWorkers
+	 *            The number of workers that conduct playouts in parallel on the shared tree. With more than one worker, the MDP and the default policy must support concurrent access.
+	 */
+	public B withNumWorkers(final int numWorkers) {
+		if (numWorkers < 1) {
+			throw new IllegalArgumentException("The number of workers must be positive but is " + numWorkers);
+		}
+		this.numWorkers = numWorkers;
+		return this.getSelf();
+	}
+
+	public int getMaxNumberOfNodesInMemory() {
+		return this.maxNumberOfNodesInMemory;
+	}
+
+	/**
+	 * @param maxNumberOfNodesInMemory
+	 *            The maximum number of states the tree keeps information about; least recently visited states are evicted if this number is exceeded (see {@link MCTS#setMaxNumberOfNodesInMemory(int)}).
+	 */
+	public B withMaxNumberOfNodesInMemory(final int maxNumberOfNodesInMemory) {
+		if (maxNumberOfNodesInMemory < 1) {
+			throw new IllegalArgumentException("The number of nodes in memory must be positive but is " + maxNumberOfNodesInMemory);
+		}
+		this.maxNumberOfNodesInMemory = maxNumberOfNodesInMemory;
+		return this.getSelf();
+	}
+
+	public Function<N, ?> getTranspositionKeyFunction() {
+		return this.transpositionKeyFunction;
+	}
+
+	/**
+	 * @param transpositionKeyFunction
+	 *            A function that maps states to keys such that states with the same key are merged in the tree (see {@link MCTS#setTranspositionKeyFunction(Function)}).
+	 */
+	public B withTranspositionKeyFunction(final Function<N, ?> transpositionKeyFunction) {
+		this.transpositionKeyFunction = transpositionKeyFunction;
+		return this.getSelf();
+	}
+
+	/**
+	 * Applies the configuration that is common to all MCTS variants to an algorithm created by the factory.
+	 */
+	protected <M extends MCTS<N, A>> M configure(final M mcts) {
+		mcts.setNumCPUs(this.numWorkers);
+		if (this.maxNumberOfNodesInMemory < Integer.MAX_VALUE) {
+			mcts.setMaxNumberOfNodesInMemory(this.maxNumberOfNodesInMemory);
+		}
+		mcts.setTranspositionKeyFunction(this.transpositionKeyFunction);
+		return mcts;
+	}
+
 	@Override
 	public MCTS<N, A> getAlgorithm() {
 		throw new UnsupportedOperationException();
@@ -101,4 +162,16 @@ public abstract class MCTSFactory<N, A, B extends MCTSFactory<N, A, B>> extends
 	public B getSelf() {
 		return (B) this;
 	}
+
+	/**
+	 * @return A copy of this factory that can be configured without affecting this factory. Policies and random sources are shared with this factory.
+	 */
+	@SuppressWarnings("unchecked")
+	public B copy() {
+		try {
+			return (B) this.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException("Could not copy factory " + this, e);
+		}
+	}
 }
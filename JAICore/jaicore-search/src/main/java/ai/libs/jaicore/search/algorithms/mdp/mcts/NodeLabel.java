@@ -1,60 +1,272 @@
 package ai.libs.jaicore.search.algorithms.mdp.mcts;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
+/**
+ * Statistics of a node in the MCTS tree. All accesses are synchronized, so that labels can be shared among MCTS workers.
+ *
+ * Each action that is seen by the label is assigned a slot, and the statistics of the actions are held in primitive arrays indexed by the slots. Reading and updating the statistics of an action does not allocate any
+ * objects once the action has a slot. Policies that query the same action several times can resolve the slot once via {@link #getSlot(Object)} and use the slot-based accessors.
+ *
+ * @param <A>
+ *            Type of actions
+ */
 public class NodeLabel<A> {
 
+	private static final int INITIAL_CAPACITY = 4;
+	private static final int NO_PULL_ENTRY = -1; // marks actions that have a slot (e.g. due to a reward) but have never been registered as pulled
+
 	private int visits = 0;
-	private Map<A, Integer> numberOfChoicesPerAction = new HashMap<>();
-	private Map<A, Double> accumulatedRewardsOfAction = new HashMap<>();
+	private double minObservedReward = Double.NaN;
+	private double maxObservedReward = Double.NaN;
+	private double accumulatedSquaredRewards = 0;
+
+	/* slot management */
+	private final Map<A, Integer> slotOfAction = new HashMap<>();
+	private Object[] actions = new Object[INITIAL_CAPACITY];
+	private int numSlots = 0;
+
+	/* statistics per slot */
+	private int[] pulls = new int[INITIAL_CAPACITY];
+	private double[] accumulatedRewards = new double[INITIAL_CAPACITY];
+	private double[] values; // free value estimate per action for policies that do not (only) work with averages; created on first use
+	private boolean[] hasValue;
+
+	/* virtual losses that are currently contained in the above statistics */
+	private int[] numberOfVirtualLosses = new int[INITIAL_CAPACITY];
+	private double[] accumulatedVirtualLosses = new double[INITIAL_CAPACITY];
+
+	/**
+	 * @return The slot of the action or -1 if the action has no slot (yet).
+	 */
+	public synchronized int getSlot(final A action) {
+		Integer slot = this.slotOfAction.get(action);
+		return slot != null ? slot : -1;
+	}
+
+	private int getOrCreateSlot(final A action) {
+		Integer slot = this.slotOfAction.get(action);
+		if (slot != null) {
+			return slot;
+		}
+		if (this.numSlots == this.actions.length) {
+			int newCapacity = this.actions.length * 2;
+			this.actions = Arrays.copyOf(this.actions, newCapacity);
+			this.pulls = Arrays.copyOf(this.pulls, newCapacity);
+			this.accumulatedRewards = Arrays.copyOf(this.accumulatedRewards, newCapacity);
+			this.numberOfVirtualLosses = Arrays.copyOf(this.numberOfVirtualLosses, newCapacity);
+			this.accumulatedVirtualLosses = Arrays.copyOf(this.accumulatedVirtualLosses, newCapacity);
+			if (this.values != null) {
+				this.values = Arrays.copyOf(this.values, newCapacity);
+				this.hasValue = Arrays.copyOf(this.hasValue, newCapacity);
+			}
+		}
+		int newSlot = this.numSlots++;
+		this.actions[newSlot] = action;
+		this.pulls[newSlot] = NO_PULL_ENTRY;
+		this.slotOfAction.put(action, newSlot);
+		return newSlot;
+	}
+
+	public synchronized int getNumberOfSlots() {
+		return this.numSlots;
+	}
 
+	@SuppressWarnings("unchecked")
+	public synchronized A getActionOfSlot(final int slot) {
+		this.checkSlot(slot);
+		return (A) this.actions[slot];
+	}
+
+	public synchronized int getNumPullsOfSlot(final int slot) {
+		this.checkSlot(slot);
+		return Math.max(0, this.pulls[slot]);
+	}
+
+	public synchronized double getAccumulatedRewardsOfSlot(final int slot) {
+		this.checkSlot(slot);
+		return this.accumulatedRewards[slot];
+	}
 
-	public int getVisits() {
+	public synchronized boolean isVirginSlot(final int slot) {
+		return slot < 0 || slot >= this.numSlots || this.pulls[slot] == NO_PULL_ENTRY;
+	}
+
+	private void checkSlot(final int slot) {
+		if (slot < 0 || slot >= this.numSlots) {
+			throw new IllegalArgumentException("Invalid slot " + slot + ". There are " + this.numSlots + " slots.");
+		}
+	}
+
+	public synchronized int getVisits() {
 		return this.visits;
 	}
 
-	public void setVisits(final int visits) {
+	public synchronized void setVisits(final int visits) {
 		this.visits = visits;
 	}
 
-	public Map<A, Integer> getNumberOfChoicesPerAction() {
-		return this.numberOfChoicesPerAction;
+	/**
+	 * @return A copy of the number of pulls of all actions that have been registered as pulled.
+	 */
+	public synchronized Map<A, Integer> getNumberOfChoicesPerAction() {
+		Map<A, Integer> numberOfChoicesPerAction = new HashMap<>();
+		for (Entry<A, Integer> entry : this.slotOfAction.entrySet()) {
+			int slot = entry.getValue();
+			if (this.pulls[slot] != NO_PULL_ENTRY) {
+				numberOfChoicesPerAction.put(entry.getKey(), this.pulls[slot]);
+			}
+		}
+		return numberOfChoicesPerAction;
 	}
 
-	public void setNumberOfChoicesPerAction(final Map<A, Integer> numberOfChoicesPerAction) {
-		this.numberOfChoicesPerAction = numberOfChoicesPerAction;
+	public synchronized void setNumberOfChoicesPerAction(final Map<A, Integer> numberOfChoicesPerAction) {
+		for (int slot = 0; slot < this.numSlots; slot++) {
+			this.pulls[slot] = NO_PULL_ENTRY;
+		}
+		numberOfChoicesPerAction.forEach((a, n) -> {
+			int slot = this.getOrCreateSlot(a); // must be resolved before accessing the array, because the array may be replaced
+			this.pulls[slot] = n;
+		});
 	}
 
-	public double getAccumulatedRewardsOfAction(final A action) {
-		return this.accumulatedRewardsOfAction.computeIfAbsent(action, a -> 0.0);
+	public synchronized double getAccumulatedRewardsOfAction(final A action) {
+		int slot = this.getOrCreateSlot(action);
+		return this.accumulatedRewards[slot];
 	}
 
-	public void setAccumulatedRewardsOfAction(final Map<A, Double> accumulatedRewardsOfAction) {
-		this.accumulatedRewardsOfAction = accumulatedRewardsOfAction;
+	public synchronized void setAccumulatedRewardsOfAction(final Map<A, Double> accumulatedRewardsOfAction) {
+		Arrays.fill(this.accumulatedRewards, 0.0);
+		accumulatedRewardsOfAction.forEach((a, r) -> {
+			int slot = this.getOrCreateSlot(a);
+			this.accumulatedRewards[slot] = r;
+		});
 	}
 
-	public int getNumPulls(final A action) {
-		return this.numberOfChoicesPerAction.computeIfAbsent(action, a -> 0);
+	/**
+	 * Returns the number of pulls of the action. Like reading its accumulated rewards, this assigns a slot to the action if it has none.
+	 */
+	public synchronized int getNumPulls(final A action) {
+		int slot = this.getOrCreateSlot(action);
+		if (this.pulls[slot] == NO_PULL_ENTRY) {
+			this.pulls[slot] = 0;
+		}
+		return this.pulls[slot];
 	}
 
-	public boolean isVirgin(final A action) {
-		return !this.numberOfChoicesPerAction.containsKey(action);
+	public synchronized boolean isVirgin(final A action) {
+		return this.isVirginSlot(this.getSlot(action));
 	}
 
-	public double getAverageRewardOfAction(final A action) {
+	public synchronized double getAverageRewardOfAction(final A action) {
 		return this.getAccumulatedRewardsOfAction(action) / this.getNumPulls(action);
 	}
 
-	public void addRewardForAction(final A action, final double reward) {
-		this.accumulatedRewardsOfAction.put(action,  this.getAccumulatedRewardsOfAction(action) + reward);
+	public synchronized void addRewardForAction(final A action, final double reward) {
+		int slot = this.getOrCreateSlot(action);
+		this.accumulatedRewards[slot] += reward;
+		if (!Double.isNaN(reward)) {
+			this.minObservedReward = Double.isNaN(this.minObservedReward) ? reward : Math.min(this.minObservedReward, reward);
+			this.maxObservedReward = Double.isNaN(this.maxObservedReward) ? reward : Math.max(this.maxObservedReward, reward);
+		}
 	}
 
-	public void addVisit() {
+	public synchronized void addVisit() {
 		this.visits ++;
 	}
 
-	public void addPull(final A a) {
-		this.numberOfChoicesPerAction.put(a, this.numberOfChoicesPerAction.computeIfAbsent(a, ac -> 0) + 1);
+	public synchronized void addPull(final A a) {
+		int slot = this.getOrCreateSlot(a);
+		this.pulls[slot] = Math.max(0, this.pulls[slot]) + 1;
+	}
+
+	/**
+	 * @return The smallest reward that has been added for any action of this node or NaN if no (non-NaN) reward has been added yet.
+	 */
+	public synchronized double getMinObservedReward() {
+		return this.minObservedReward;
+	}
+
+	/**
+	 * @return The largest reward that has been added for any action of this node or NaN if no (non-NaN) reward has been added yet.
+	 */
+	public synchronized double getMaxObservedReward() {
+		return this.maxObservedReward;
+	}
+
+	public synchronized void addSquaredReward(final double squaredReward) {
+		this.accumulatedSquaredRewards += squaredReward;
+	}
+
+	/**
+	 * @return The sum of the squared rewards that have been added via {@link #addSquaredReward(double)} for all actions of this node.
+	 */
+	public synchronized double getAccumulatedSquaredRewards() {
+		return this.accumulatedSquaredRewards;
+	}
+
+	public synchronized boolean hasValue(final A action) {
+		int slot = this.getSlot(action);
+		return slot >= 0 && this.hasValue != null && this.hasValue[slot];
+	}
+
+	/**
+	 * @return The value estimate of the action set via {@link #setValue(Object, double)}.
+	 */
+	public synchronized double getValue(final A action) {
+		int slot = this.getSlot(action);
+		if (slot < 0 || this.hasValue == null || !this.hasValue[slot]) {
+			throw new IllegalArgumentException("No value for action " + action);
+		}
+		return this.values[slot];
+	}
+
+	public synchronized void setValue(final A action, final double value) {
+		int slot = this.getOrCreateSlot(action);
+		if (this.values == null) {
+			this.values = new double[this.actions.length];
+			this.hasValue = new boolean[this.actions.length];
+		}
+		this.values[slot] = value;
+		this.hasValue[slot] = true;
+	}
+
+	/**
+	 * Counts a pull of the action with the given (pessimistic) reward until the loss is removed again via {@link #removeVirtualLoss(Object)}.
+	 */
+	public synchronized void addVirtualLoss(final A action, final double reward) {
+		this.addRewardForAction(action, reward);
+		this.addPull(action);
+		this.addVisit();
+		int slot = this.getSlot(action);
+		this.numberOfVirtualLosses[slot]++;
+		this.accumulatedVirtualLosses[slot] += reward;
+	}
+
+	public synchronized void removeVirtualLoss(final A action) {
+		int slot = this.getSlot(action);
+		int numVirtualLosses = slot >= 0 ? this.numberOfVirtualLosses[slot] : 0;
+		if (numVirtualLosses == 0) {
+			throw new IllegalStateException("There is no virtual loss for action " + action);
+		}
+		double lossToRemove = this.accumulatedVirtualLosses[slot] / numVirtualLosses;
+		this.numberOfVirtualLosses[slot]--;
+		this.accumulatedVirtualLosses[slot] = numVirtualLosses == 1 ? 0.0 : this.accumulatedVirtualLosses[slot] - lossToRemove;
+		this.visits--;
+		this.pulls[slot]--;
+		if (this.pulls[slot] == 0) { // restore the virginity of the action
+			this.pulls[slot] = NO_PULL_ENTRY;
+			this.accumulatedRewards[slot] = 0.0;
+		} else {
+			this.accumulatedRewards[slot] -= lossToRemove;
+		}
+	}
+
+	public synchronized int getNumberOfVirtualLosses(final A action) {
+		int slot = this.getSlot(action);
+		return slot >= 0 ? this.numberOfVirtualLosses[slot] : 0;
 	}
 }
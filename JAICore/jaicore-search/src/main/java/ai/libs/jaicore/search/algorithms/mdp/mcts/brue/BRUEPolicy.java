@@ -1,8 +1,6 @@
 package ai.libs.jaicore.search.algorithms.mdp.mcts.brue;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,7 +10,9 @@ import org.api4.java.datastructure.graph.ILabeledPath;
 
 import ai.libs.jaicore.basic.sets.Pair;
 import ai.libs.jaicore.search.algorithms.mdp.mcts.ActionPredictionFailedException;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IEvictablePolicy;
 import ai.libs.jaicore.search.algorithms.mdp.mcts.IPathUpdatablePolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.NodeLabel;
 
 /**
  *
@@ -32,10 +32,9 @@ import ai.libs.jaicore.search.algorithms.mdp.mcts.IPathUpdatablePolicy;
  * @param <N>
  * @param <A>
  */
-public class BRUEPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double> {
+public class BRUEPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, IEvictablePolicy<N> {
 
-	private final Map<Pair<N, A>, Integer> nCounter = new HashMap<>();
-	private final Map<Pair<N, A>, Double> qHat = new HashMap<>();
+	private final Map<N, NodeLabel<A>> labels = new HashMap<>(); // the pulls of an action are the n-counter and its value is the q-hat estimate in the paper
 	private final Random random;
 	private final int timeHorizon; // H in the paper
 	private final boolean maximize;
@@ -58,34 +57,30 @@ public class BRUEPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double> {
 			throw new IllegalArgumentException();
 		}
 
-		/* compute actions that are optimal for this state */
+		/* compute actions that are optimal for this state and draw uniformly from them. Ties are resolved by reservoir sampling, so that no objects are created */
+		NodeLabel<A> label = this.labels.computeIfAbsent(node, n -> new NodeLabel<>());
 		double bestScore = (this.maximize ? -1 : 1) * Double.MAX_VALUE;
 		double worstValue = bestScore;
-		List<A> bestActions = new ArrayList<>();
+		A choice = null;
+		int numberOfBestActions = 0;
 		for (A action: actions) {
-
-			Pair<N, A> pair = new Pair<>(node, action);
-			double score = this.qHat.containsKey(pair) ? this.qHat.get(pair) : worstValue;
+			double score = label.hasValue(action) ? label.getValue(action) : worstValue;
 			if (score < bestScore) {
-				bestActions.clear();
 				bestScore = score;
-				bestActions.add(pair.getY());
+				choice = action;
+				numberOfBestActions = 1;
 			}
 			else if (score == bestScore) {
-				bestActions.add(pair.getY());
+				numberOfBestActions++;
+				if (numberOfBestActions == 1 || this.random.nextInt(numberOfBestActions) == 0) {
+					choice = action;
+				}
 			}
 		}
-
-		/* draw uniformly from them */
-		if (bestActions.isEmpty()) {
+		if (choice == null) {
 			throw new IllegalStateException();
 		}
-		if (bestActions.size() > 1) {
-			Collections.shuffle(bestActions, this.random);
-		}
-		A choice = bestActions.get(0);
-		Pair<N, A> pair = new Pair<>(node, choice);
-		this.nCounter.put(pair, this.nCounter.computeIfAbsent(pair, p -> 0) + 1);
+		label.addPull(choice);
 		return choice;
 	}
 
@@ -111,20 +106,25 @@ public class BRUEPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double> {
 		List<A> arcs = path.getArcs();
 		N node = nodes.get(sigmaN - 1); // where we come from
 		A arc = arcs.get(sigmaN - 1); // the action we take
-		Pair<N, A> updatedPair = new Pair<>(node, arc);
 
 		/* update the state */
-		double worstValue = (this.maximize ? (-1) : 1) * Double.MAX_VALUE;
-		double currentScore = this.qHat.containsKey(updatedPair) ? this.qHat.get(updatedPair) : worstValue;
-		if (!this.nCounter.containsKey(updatedPair)) {
-			throw new IllegalStateException("No visit stats for updated pair " + updatedPair + " available.");
+		NodeLabel<A> label = this.labels.get(node);
+		if (label == null || label.isVirgin(arc)) {
+			throw new IllegalStateException("No visit stats for updated pair " + new Pair<>(node, arc) + " available.");
 		}
+		double worstValue = (this.maximize ? (-1) : 1) * Double.MAX_VALUE;
+		double currentScore = label.hasValue(arc) ? label.getValue(arc) : worstValue;
 		double observedRewardsFromTheUpdatedAction = 0;
 		for (int i = l - 2; i >= sigmaN - 1; i --) {
 			observedRewardsFromTheUpdatedAction += scores.get(i); // BRUE does not use discounting!
 		}
-		double newScore = currentScore + (observedRewardsFromTheUpdatedAction - currentScore) / this.nCounter.get(updatedPair);
-		this.qHat.put(updatedPair, newScore);
+		double newScore = currentScore + (observedRewardsFromTheUpdatedAction - currentScore) / label.getNumPulls(arc);
+		label.setValue(arc, newScore);
+	}
+
+	@Override
+	public void evict(final N state) {
+		this.labels.remove(state);
 	}
 
 	public int getSwitchingPoint(final int n) {
@@ -0,0 +1,135 @@
+package ai.libs.jaicore.search.algorithms.mdp.mcts.ensemble;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.api4.java.common.control.ILoggingCustomizable;
+import org.api4.java.datastructure.graph.ILabeledPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.libs.jaicore.search.algorithms.mdp.mcts.ActionPredictionFailedException;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IPathUpdatablePolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IThreadSafePolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.NodeLabel;
+
+/**
+ * Holds the visit and reward statistics of the states close to the root that have been merged from the playouts of several independent MCTS trees.
+ *
+ * Only the first {@link #getMergeDepth()} actions of a path are recorded. The rewards of the remaining actions are accumulated into the reward of the last recorded action, so the statistics of a state are the same as in a
+ * (transposition-based) tree that has seen all merged playouts.
+ *
+ * The policy recommends the action that has been pulled most often (robust child) and breaks ties by the average reward.
+ *
+ * @param <N>
+ *            Type of states (nodes)
+ * @param <A>
+ *            Type of actions
+ */
+public class MergedStatisticsPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, IThreadSafePolicy, ILoggingCustomizable {
+
+	private Logger logger = LoggerFactory.getLogger(MergedStatisticsPolicy.class);
+
+	private final double gamma;
+	private final boolean maximize;
+	private final int mergeDepth;
+	private final Map<N, NodeLabel<A>> labels = new ConcurrentHashMap<>();
+
+	public MergedStatisticsPolicy(final double gamma, final boolean maximize, final int mergeDepth) {
+		super();
+		if (mergeDepth < 1) {
+			throw new IllegalArgumentException("The merge depth must be positive but is " + mergeDepth);
+		}
+		this.gamma = gamma;
+		this.maximize = maximize;
+		this.mergeDepth = mergeDepth;
+	}
+
+	@Override
+	public void updatePath(final ILabeledPath<N, A> path, final List<Double> scores) {
+		if (path.isPoint()) {
+			throw new IllegalArgumentException("Cannot update path consisting only of the root.");
+		}
+		List<N> nodes = path.getNodes();
+		List<A> arcs = path.getArcs();
+		int l = arcs.size();
+		double accumulatedDiscountedReward = 0;
+		for (int i = l - 1; i >= 0; i--) { // update bottom up
+			double rewardForThisAction = scores.get(i) != null ? scores.get(i) : Double.NaN;
+			accumulatedDiscountedReward = rewardForThisAction + this.gamma * accumulatedDiscountedReward;
+			if (i < this.mergeDepth) {
+				NodeLabel<A> label = this.labels.computeIfAbsent(nodes.get(i), n -> new NodeLabel<>());
+				A action = arcs.get(i);
+				label.addRewardForAction(action, accumulatedDiscountedReward);
+				label.addPull(action);
+				label.addVisit();
+			}
+		}
+	}
+
+	@Override
+	public A getAction(final N node, final Collection<A> allowedActions) throws ActionPredictionFailedException {
+		NodeLabel<A> label = this.labels.get(node);
+		if (label == null) {
+			throw new ActionPredictionFailedException("No merged statistics available for node " + node, null);
+		}
+		A bestAction = null;
+		int mostPulls = 0;
+		double bestAverage = Double.NaN;
+		for (A action : allowedActions) {
+			int pulls = label.getNumPulls(action);
+			if (pulls == 0) {
+				continue;
+			}
+			double average = label.getAverageRewardOfAction(action);
+			if (pulls > mostPulls || (pulls == mostPulls && this.isBetter(average, bestAverage))) {
+				bestAction = action;
+				mostPulls = pulls;
+				bestAverage = average;
+			}
+		}
+		if (bestAction == null) {
+			throw new ActionPredictionFailedException("None of the actions " + allowedActions + " has been played in node " + node, null);
+		}
+		this.logger.debug("Recommending action {} with {} pulls and average reward {}.", bestAction, mostPulls, bestAverage);
+		return bestAction;
+	}
+
+	private boolean isBetter(final double average, final double reference) {
+		if (Double.isNaN(reference)) {
+			return !Double.isNaN(average);
+		}
+		return this.maximize ? average > reference : average < reference;
+	}
+
+	public boolean hasLabelOfNode(final N node) {
+		return this.labels.containsKey(node);
+	}
+
+	public NodeLabel<A> getLabelOfNode(final N node) {
+		if (!this.labels.containsKey(node)) {
+			throw new IllegalArgumentException("No label for node " + node);
+		}
+		return this.labels.get(node);
+	}
+
+	public int getMergeDepth() {
+		return this.mergeDepth;
+	}
+
+	public boolean isMaximize() {
+		return this.maximize;
+	}
+
+	@Override
+	public String getLoggerName() {
+		return this.logger.getName();
+	}
+
+	@Override
+	public void setLoggerName(final String name) {
+		this.logger = LoggerFactory.getLogger(name);
+	}
+}
@@ -0,0 +1,233 @@
+package ai.libs.jaicore.search.algorithms.mdp.mcts.ensemble;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.api4.java.algorithm.Timeout;
+import org.api4.java.algorithm.events.IAlgorithmEvent;
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.eventbus.Subscribe;
+
+import ai.libs.jaicore.basic.algorithm.EAlgorithmState;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IPolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTS;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTSIterationCompletedEvent;
+import ai.libs.jaicore.search.probleminputs.IMDP;
+
+/**
+ * Root parallelization of MCTS. Several independent MCTS trees are grown at the same time, each by its own thread, so that the trees never contend for locks. The playouts of all trees are returned by this algorithm.
+ *
+ * The statistics of every playout are merged into a {@link MergedStatisticsPolicy} for the states close to the root, which is the result of the algorithm. The trees do not share any information, i.e., each tree only
+ * learns from its own playouts. The trees should be configured with different random sources (see {@link RootParallelMCTSFactory}), because they would otherwise conduct the same playouts.
+ *
+ * The playouts are handed over from the trees through a bounded buffer, so trees whose playouts are not consumed fast enough wait instead of piling up playouts in memory.
+ *
+ * @param <N>
+ *            Type of states (nodes)
+ * @param <A>
+ *            Type of actions
+ */
+public class RootParallelMCTS<N, A> extends MCTS<N, A> {
+
+	private static final int BUFFERED_PLAYOUTS_PER_TREE = 16;
+
+	private Logger logger = LoggerFactory.getLogger(RootParallelMCTS.class);
+
+	private final List<MCTS<N, A>> trees;
+
+	/* variables for the parallel growth of the trees */
+	private ExecutorService pool;
+	private final AtomicInteger activeTrees = new AtomicInteger();
+	private final BlockingQueue<MCTSIterationCompletedEvent<N, A, Double>> completedPlayouts;
+	private final AtomicReference<Exception> exceptionOfTree = new AtomicReference<>();
+	private int playouts;
+
+	/**
+	 * @param input
+	 *            The MDP in which the trees act. It must support concurrent access.
+	 * @param trees
+	 *            The MCTS algorithms that grow the trees. They must have been created for the same MDP.
+	 * @param mergeDepth
+	 *            The number of actions on each path (starting at the root) for which statistics are merged.
+	 */
+	public RootParallelMCTS(final IMDP<N, A, Double> input, final List<? extends MCTS<N, A>> trees, final int mergeDepth, final double gamma, final double epsilon) {
+		super(input, new MergedStatisticsPolicy<>(gamma, input.isMaximizing(), mergeDepth), getDefaultPolicyOfTrees(trees), getMaxIterationsOfTrees(trees), gamma, epsilon, false);
+		this.trees = new ArrayList<>(trees);
+		this.completedPlayouts = new ArrayBlockingQueue<>(BUFFERED_PLAYOUTS_PER_TREE * trees.size());
+	}
+
+	/**
+	 * The playouts are drawn by the trees, so this algorithm only reports the default policy of the trees (which, if created by a {@link RootParallelMCTSFactory}, coincide in their type and configuration).
+	 */
+	private static <N, A> IPolicy<N, A> getDefaultPolicyOfTrees(final List<? extends MCTS<N, A>> trees) {
+		if (trees.isEmpty()) {
+			throw new IllegalArgumentException("Root parallelization requires at least one tree.");
+		}
+		return trees.get(0).getDefaultPolicy();
+	}
+
+	private static int getMaxIterationsOfTrees(final List<? extends MCTS<?, ?>> trees) {
+		long maxIterations = trees.stream().mapToLong(t -> t.getMaxIterations()).sum();
+		return (int) Math.min(maxIterations, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public IAlgorithmEvent nextWithException() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		if (this.getState() != EAlgorithmState.ACTIVE) {
+			return super.nextWithException();
+		}
+		this.registerActiveThread();
+		try {
+			return this.getNextPlayoutOfTrees();
+		} finally {
+			this.unregisterActiveThread();
+		}
+	}
+
+	/**
+	 * Returns the next playout of any of the trees. The trees are started on the first invocation.
+	 */
+	private IAlgorithmEvent getNextPlayoutOfTrees() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		if (this.pool == null) {
+			this.startTrees();
+		}
+		while (true) {
+			this.checkAndConductTermination();
+			Exception exception = this.exceptionOfTree.get();
+			if (exception != null) {
+				this.unregisterThreadAndShutdown();
+				throw new AlgorithmException("One of the trees has failed.", exception);
+			}
+			MCTSIterationCompletedEvent<N, A, Double> playout = this.completedPlayouts.poll(100, TimeUnit.MILLISECONDS);
+			if (playout != null) {
+				this.playouts++;
+				if (!playout.getRollout().isPoint()) {
+					this.getTreePolicy().updatePath(playout.getRollout(), playout.getScores());
+				}
+				MCTSIterationCompletedEvent<N, A, Double> event = new MCTSIterationCompletedEvent<>(this, this.getTreePolicy(), playout.getRollout(), playout.getScores());
+				this.post(event);
+				return event;
+			}
+			if (this.activeTrees.get() == 0 && this.completedPlayouts.isEmpty()) { // trees put their last playout before they finish
+				this.logger.info("All trees have finished after {} playouts.", this.playouts);
+				return this.terminate();
+			}
+		}
+	}
+
+	private void startTrees() {
+		this.logger.info("Starting {} trees.", this.trees.size());
+		AtomicInteger counter = new AtomicInteger(0);
+		this.pool = Executors.newFixedThreadPool(this.trees.size(), r -> {
+			Thread t = new Thread(r);
+			t.setName("MCTS-tree-" + counter.incrementAndGet());
+			return t;
+		});
+		this.activeTrees.set(this.trees.size());
+		for (MCTS<N, A> tree : this.trees) {
+			tree.registerListener(new Object() {
+
+				@Subscribe
+				public void receivePlayout(final MCTSIterationCompletedEvent<N, A, Double> playout) {
+					try {
+						RootParallelMCTS.this.completedPlayouts.put(playout); // blocks the tree while the buffer is full
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt(); // the pool is being shut down, so the tree stops and the playout is not needed anymore
+					}
+				}
+			});
+			this.pool.submit(() -> this.growTree(tree));
+		}
+	}
+
+	private void growTree(final MCTS<N, A> tree) {
+		try {
+			while (tree.hasNext()) {
+				tree.nextWithException(); // playouts are handed over by the listener registered on the tree
+			}
+		} catch (InterruptedException e) {
+			this.logger.debug("Tree {} has been interrupted. Finishing.", tree.getId());
+			Thread.currentThread().interrupt();
+		} catch (AlgorithmTimeoutedException | AlgorithmExecutionCanceledException e) {
+			this.logger.debug("Tree {} has been stopped. Finishing.", tree.getId());
+		} catch (Exception e) {
+			this.logger.error("Tree {} could not complete its playout.", tree.getId(), e);
+			this.exceptionOfTree.compareAndSet(null, e);
+		} finally {
+			this.activeTrees.decrementAndGet();
+		}
+	}
+
+	@Override
+	protected void shutdown() {
+		super.shutdown();
+		for (MCTS<N, A> tree : this.trees) {
+			if (tree.getState() == EAlgorithmState.ACTIVE) {
+				tree.cancel();
+			}
+		}
+		if (this.pool != null) {
+			this.logger.debug("Shutting down pool of trees.");
+			this.pool.shutdownNow();
+		}
+	}
+
+	@Override
+	public MergedStatisticsPolicy<N, A> getTreePolicy() {
+		return (MergedStatisticsPolicy<N, A>) super.getTreePolicy();
+	}
+
+	@Override
+	public MergedStatisticsPolicy<N, A> call() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		return (MergedStatisticsPolicy<N, A>) super.call();
+	}
+
+	@Override
+	public void setTimeout(final Timeout timeout) {
+		super.setTimeout(timeout);
+		for (MCTS<N, A> tree : this.trees) {
+			tree.setTimeout(timeout);
+		}
+	}
+
+	@Override
+	public void setLoggerName(final String name) {
+		super.setLoggerName(name);
+		this.logger = LoggerFactory.getLogger(name);
+		for (int i = 0; i < this.trees.size(); i++) {
+			this.trees.get(i).setLoggerName(name + ".tree" + i);
+		}
+	}
+
+	@Override
+	public String getLoggerName() {
+		return this.logger.getName();
+	}
+
+	public List<MCTS<N, A>> getTrees() {
+		return Collections.unmodifiableList(this.trees);
+	}
+
+	@Override
+	public int getNumberOfRealizedPlayouts() {
+		return this.playouts;
+	}
+
+	@Override
+	public int getNumberOfNodesInMemory() {
+		return this.trees.stream().mapToInt(MCTS::getNumberOfNodesInMemory).sum();
+	}
+}
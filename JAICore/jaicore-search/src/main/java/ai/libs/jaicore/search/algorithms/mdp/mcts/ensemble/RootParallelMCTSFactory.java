@@ -0,0 +1,82 @@
+package ai.libs.jaicore.search.algorithms.mdp.mcts.ensemble;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTS;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTSFactory;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.uct.UCTFactory;
+import ai.libs.jaicore.search.probleminputs.IMDP;
+
+/**
+ * Creates a {@link RootParallelMCTS} whose trees are obtained from another MCTS factory (UCT by default).
+ *
+ * The maximum number of iterations, gamma, epsilon, the taboo flag, and the tree store configuration of this factory are propagated to a copy of the tree factory, and the iterations and nodes in memory are split among the trees. Each tree gets its own random source
+ * derived from the random source of this factory. A default policy, if needed, must be configured in the tree factory and must then support concurrent access.
+ *
+ * @param <N>
+ *            Type of states (nodes)
+ * @param <A>
+ *            Type of actions
+ */
+public class RootParallelMCTSFactory<N, A> extends MCTSFactory<N, A, RootParallelMCTSFactory<N, A>> {
+
+	private MCTSFactory<N, A, ?> treeFactory = new UCTFactory<>();
+	private int numTrees = Runtime.getRuntime().availableProcessors();
+	private int mergeDepth = 2;
+
+	public MCTSFactory<N, A, ?> getTreeFactory() {
+		return this.treeFactory;
+	}
+
+	public RootParallelMCTSFactory<N, A> withTreeFactory(final MCTSFactory<N, A, ?> treeFactory) {
+		this.treeFactory = Objects.requireNonNull(treeFactory);
+		return this;
+	}
+
+	public int getNumTrees() {
+		return this.numTrees;
+	}
+
+	public RootParallelMCTSFactory<N, A> withNumTrees(final int numTrees) {
+		if (numTrees < 1) {
+			throw new IllegalArgumentException("The number of trees must be positive but is " + numTrees);
+		}
+		this.numTrees = numTrees;
+		return this;
+	}
+
+	public int getMergeDepth() {
+		return this.mergeDepth;
+	}
+
+	public RootParallelMCTSFactory<N, A> withMergeDepth(final int mergeDepth) {
+		if (mergeDepth < 1) {
+			throw new IllegalArgumentException("The merge depth must be positive but is " + mergeDepth);
+		}
+		this.mergeDepth = mergeDepth;
+		return this;
+	}
+
+	@Override
+	public RootParallelMCTS<N, A> getAlgorithm(final IMDP<N, A, Double> input) {
+		int maxIterations = this.getMaxIterations();
+		MCTSFactory<N, A, ?> factoryOfTrees = this.treeFactory.copy();
+		factoryOfTrees.withGamma(this.getGamma()).withEpsilon(this.getEpsilon()).withTabooExhaustedNodes(this.isTabooExhaustedNodes()).withTranspositionKeyFunction(this.getTranspositionKeyFunction());
+		if (this.getMaxNumberOfNodesInMemory() < Integer.MAX_VALUE) {
+			factoryOfTrees.withMaxNumberOfNodesInMemory(Math.max(1, this.getMaxNumberOfNodesInMemory() / this.numTrees));
+		}
+		List<MCTS<N, A>> trees = new ArrayList<>(this.numTrees);
+		for (int i = 0; i < this.numTrees; i++) {
+			int maxIterationsOfTree = maxIterations == Integer.MAX_VALUE ? maxIterations : (maxIterations / this.numTrees + (i < maxIterations % this.numTrees ? 1 : 0));
+			if (maxIterationsOfTree == 0) {
+				break;
+			}
+			factoryOfTrees.withMaxIterations(maxIterationsOfTree).withRandom(new Random(this.getRandom().nextLong()));
+			trees.add(factoryOfTrees.getAlgorithm(input));
+		}
+		return new RootParallelMCTS<>(input, trees, this.mergeDepth, this.getGamma(), this.getEpsilon());
+	}
+}
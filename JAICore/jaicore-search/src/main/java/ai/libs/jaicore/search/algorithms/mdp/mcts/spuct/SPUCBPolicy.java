@@ -1,8 +1,6 @@
 package ai.libs.jaicore.search.algorithms.mdp.mcts.spuct;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.api4.java.common.control.ILoggingCustomizable;
 import org.api4.java.datastructure.graph.ILabeledPath;
@@ -16,7 +14,6 @@ public class SPUCBPolicy<N, A> extends UCBPolicy<N, A> implements ILoggingCustom
 	private String loggerName;
 	private Logger logger = LoggerFactory.getLogger(SPUCBPolicy.class);
 	private final double bigD;
-	private Map<NodeLabel<A>, Double> squaredObservations = new HashMap<>();
 
 	public SPUCBPolicy(final double gamma, final double bigD) {
 		this(gamma, true, bigD);
@@ -53,7 +50,7 @@ public class SPUCBPolicy<N, A> extends UCBPolicy<N, A> implements ILoggingCustom
 			else if (!Double.isNaN(accumulatedScores)) {
 				accumulatedScores = Double.NaN;
 			}
-			this.squaredObservations.put(nl, this.squaredObservations.computeIfAbsent(nl, label -> 0.0) + Math.pow(accumulatedScores, 2));
+			nl.addSquaredReward(accumulatedScores * accumulatedScores);
 		}
 	}
 
@@ -68,11 +65,13 @@ public class SPUCBPolicy<N, A> extends UCBPolicy<N, A> implements ILoggingCustom
 		/* get single player term added */
 		NodeLabel<A> labelOfNode = this.getLabelOfNode(node);
 		int visitsOfChild = labelOfNode.getNumPulls(action); // the t-parameter in the paper
-		double squaredResults = this.squaredObservations.containsKey(labelOfNode) ? this.squaredObservations.get(labelOfNode) : 0.0;
+		double squaredResults = labelOfNode.getAccumulatedSquaredRewards();
 		double expectedResults = visitsOfChild * Math.pow(ucbMean, 2);
 		double spTerm = (this.isMaximize() ? 1 : -1) * Math.sqrt((squaredResults - expectedResults + this.bigD) / visitsOfChild);
 		double score = ucb + spTerm;
-		this.logger.debug("Computed score for action {}: {} = {} + {}", action, score, ucb, spTerm);
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Computed score for action {}: {} = {} + {}", action, score, ucb, spTerm);
+		}
 		return score;
 	}
 }
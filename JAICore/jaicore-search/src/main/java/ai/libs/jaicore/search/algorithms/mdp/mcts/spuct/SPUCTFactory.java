@@ -18,7 +18,7 @@ public class SPUCTFactory<N, A> extends MCTSFactory<N, A, SPUCTFactory<N, A>> {
 
 	@Override
 	public MCTS<N, A> getAlgorithm(final IMDP<N, A, Double> input) {
-		return new SPUCT<>(input, this.getDefaultPolicy(true), this.bigD, this.getMaxIterations(), this.getGamma(), this.getEpsilon(), this.isTabooExhaustedNodes());
+		return this.configure(new SPUCT<>(input, this.getDefaultPolicy(true), this.bigD, this.getMaxIterations(), this.getGamma(), this.getEpsilon(), this.isTabooExhaustedNodes()));
 	}
 
 }
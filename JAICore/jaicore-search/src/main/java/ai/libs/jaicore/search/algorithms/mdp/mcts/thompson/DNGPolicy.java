@@ -2,14 +2,14 @@ package ai.libs.jaicore.search.algorithms.mdp.mcts.thompson;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.apache.commons.math3.distribution.GammaDistribution;
-import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.api4.java.common.attributedobjects.ObjectEvaluationFailedException;
 import org.api4.java.common.control.ILoggingCustomizable;
 import org.api4.java.common.event.IRelaxedEventEmitter;
@@ -21,7 +21,10 @@ import com.google.common.eventbus.EventBus;
 
 import ai.libs.jaicore.basic.sets.Pair;
 import ai.libs.jaicore.search.algorithms.mdp.mcts.ActionPredictionFailedException;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IEvictablePolicy;
 import ai.libs.jaicore.search.algorithms.mdp.mcts.IPathUpdatablePolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IThreadSafePolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.NodeLabel;
 
 /**
  * This is the implementation of the DNG-algorithm (for MDPs) presented in
@@ -32,13 +35,14 @@ import ai.libs.jaicore.search.algorithms.mdp.mcts.IPathUpdatablePolicy;
  *                            Implementation details: - the time horizon H is irrelevant for the policy, because, if a horizon is used, the MCTS algorithm would not call the tree policy for cases of d >= H - we add another parameter for a
  *                            factor that will be multiplied to the sampled variance \tau
  *
+ *                            The policy can be shared among several MCTS workers. Updates are serialized while the sampling only reads the model.
  *
  * @author Felix Mohr
  *
  * @param <N>
  * @param <A>
  */
-public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILoggingCustomizable, IRelaxedEventEmitter {
+public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, IEvictablePolicy<N>, IThreadSafePolicy, ILoggingCustomizable, IRelaxedEventEmitter {
 
 	private Logger logger = LoggerFactory.getLogger(DNGPolicy.class);
 	private EventBus eventBus = new EventBus();
@@ -52,20 +56,38 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 	private static final double INIT_MU = 0.5; // we set this to .5 since we already know that scores are in [0,1]
 
 	/* DNG model parameters */
-	private final Map<N, Double> alpha = new HashMap<>();
-	private final Map<N, Double> beta = new HashMap<>();
-	private final Map<N, Double> mu = new HashMap<>();
-	private final Map<N, Double> lambda = new HashMap<>();
-	private final Map<N, Map<A, Map<N, Integer>>> rho = new HashMap<>();
+	private final NormalGammaBelief priorBelief;
+	private final Map<N, NormalGammaBelief> beliefs = new ConcurrentHashMap<>();
+	private final Map<N, Map<A, Map<N, Integer>>> rho = new ConcurrentHashMap<>();
 
 	/* MDP-related variables */
 	private final double gammaMDP; // the discount factor of the MDP
 	private final Predicate<N> terminalStatePredicate; // this policy needs to know a bit of the MDP: it needs to know whether or not a state is terminal
-	private final Map<N, Map<A, Double>> rewardsMDP = new HashMap<>(); // memorizes the rewards observed for an action in the MDP
+	private final Map<N, NodeLabel<A>> rewardsMDP = new ConcurrentHashMap<>(); // memorizes the rewards observed for an action in the MDP as the value of the action
+
+	/* the random source for sampling; the distributions would otherwise create and seed a new generator for every sample */
+	private static final ThreadLocal<RandomGenerator> RANDOM_GENERATOR = ThreadLocal.withInitial(Well19937c::new);
 
 	private final double varianceFactor;
 	private boolean sampling = true; // can be deactivated after using the policy to only use the final model
 
+	/**
+	 * The parameters of the Normal-Gamma distribution of a state. Beliefs are immutable, so that they can be read while being updated by another worker.
+	 */
+	private static final class NormalGammaBelief {
+		private final double alpha;
+		private final double beta;
+		private final double mu;
+		private final double lambda;
+
+		private NormalGammaBelief(final double alpha, final double beta, final double mu, final double lambda) {
+			this.alpha = alpha;
+			this.beta = beta;
+			this.mu = mu;
+			this.lambda = lambda;
+		}
+	}
+
 	public DNGPolicy(final double gammaMDP, final Predicate<N> terminalStatePredicate, final double varianceFactor, final double lambda, final boolean maximize) {
 		super();
 		this.gammaMDP = gammaMDP;
@@ -74,6 +96,7 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 		this.initLambda = lambda;
 		this.initBeta = 1 / this.initLambda;
 		this.maximize = maximize;
+		this.priorBelief = new NormalGammaBelief(INIT_ALPHA, this.initBeta, INIT_MU, this.initLambda);
 	}
 
 	public boolean isSampling() {
@@ -106,8 +129,14 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 		this.logger.info("Determining best action for state {}", state);
 		double bestScore = (this.maximize ? -1 : 1) * Double.MAX_VALUE;
 		for (A action : actions) {
+			if (!this.hasModelForAction(state, action)) { // this can only happen if the playout that tried this action has not been back-propagated yet by another worker
+				this.logger.debug("Ignoring action {}, because there is no model for it yet.", action);
+				continue;
+			}
 			double score = this.getQValue(state, action);
-			this.logger.debug("Score for action {} is {}", action, score);
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("Score for action {} is {}", action, score);
+			}
 			this.eventBus.post(new DNGQSampleEvent<N, A>(null, state, action, score));
 			if (bestAction == null || (score < bestScore || (this.maximize && score > bestScore))) {
 				bestAction = action;
@@ -115,11 +144,23 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 				this.logger.debug("Considering this as the new best action.");
 			}
 		}
-		Objects.requireNonNull(bestAction, "Best action cannot be null if there were " + actions.size() + " options!");
+		if (bestAction == null) {
+			if (actions.isEmpty()) {
+				throw new IllegalArgumentException("Cannot choose an action if no actions are given!");
+			}
+			bestAction = actions.iterator().next();
+			this.logger.info("There is no model for any of the {} actions yet, choosing the first one.", actions.size());
+			return bestAction;
+		}
 		this.logger.info("Recommending action {}", bestAction);
 		return bestAction;
 	}
 
+	private boolean hasModelForAction(final N state, final A action) {
+		Map<A, Map<N, Integer>> rhoForState = this.rho.get(state);
+		return rhoForState != null && rhoForState.containsKey(action) && this.rewardsMDP.get(state).hasValue(action);
+	}
+
 	/**
 	 * In the deterministic case (and when transitions are clear), without discounts, and inner rewards = 0, the QValue function in the paper degenerates to just returning the value of the successor state of the given state.
 	 *
@@ -137,6 +178,14 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 		if (rhoForThisPair == null) {
 			throw new IllegalStateException("Have no rho vector for state/action pair " + state + "/" + action);
 		}
+		double reward = this.rewardsMDP.get(state).getValue(action);
+
+		/* in deterministic MDPs, there is only one successor, which gets all the weight, so there is no need to sample the weights */
+		if (rhoForThisPair.size() == 1) {
+			double r = this.sampling ? this.getValue(rhoForThisPair.keySet().iterator().next()) : 1.0;
+			return reward + this.gammaMDP * r;
+		}
+
 		List<N> possibleSuccessors = new ArrayList<>(rhoForThisPair.keySet());
 		int numSuccessors = possibleSuccessors.size();
 		if (rhoForThisPair.size() < numSuccessors) {
@@ -151,7 +200,7 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 			double totalGammas = 0;
 			for (int i = 0; i < numSuccessors; i++)  {
 				N succ = possibleSuccessors.get(i);
-				double gamma = new GammaDistribution(rhoForThisPair.get(succ), 1).sample();
+				double gamma = new GammaDistribution(RANDOM_GENERATOR.get(), rhoForThisPair.get(succ), 1).sample();
 				gammaVector[i] = gamma;
 				totalGammas += gamma;
 			}
@@ -168,17 +217,32 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 				r += rhoForThisPair.get(succ) / denominator;
 			}
 		}
-		double reward = this.rewardsMDP.get(state).get(action);
 		double totalReward = reward + this.gammaMDP * r;
 		this.logger.debug("Considering a reward of {} + {} * {} = {}", reward, this.gammaMDP, r, totalReward);
 		return totalReward;
 	}
 
+	/**
+	 * @return The belief about the value of the state or the prior belief if the state has not been updated yet or has been evicted.
+	 */
+	private NormalGammaBelief getBelief(final N state) {
+		NormalGammaBelief belief = this.beliefs.get(state);
+		return belief != null ? belief : this.priorBelief;
+	}
+
 	public Pair<Double, Double> sampleWithNormalGamma(final N state) {
-		double tau = new GammaDistribution(this.alpha.get(state), this.beta.get(state)).sample();
-		double std = 1 / (this.lambda.get(state) * tau);
-		double muNew = std > 0 ? new NormalDistribution(this.mu.get(state), std).sample() : this.mu.get(state);
-		return new Pair<>(muNew, tau);
+		NormalGammaBelief belief = this.getBelief(state);
+		double tau = this.sampleTau(belief);
+		return new Pair<>(this.sampleMu(belief, tau), tau);
+	}
+
+	private double sampleTau(final NormalGammaBelief belief) {
+		return new GammaDistribution(RANDOM_GENERATOR.get(), belief.alpha, belief.beta).sample();
+	}
+
+	private double sampleMu(final NormalGammaBelief belief, final double tau) {
+		double std = 1 / (belief.lambda * tau);
+		return std > 0 ? belief.mu + std * RANDOM_GENERATOR.get().nextGaussian() : belief.mu; // this is how the normal distribution samples
 	}
 
 	/**
@@ -197,13 +261,14 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 			this.logger.debug("Returning value of 0 for terminal state {}", state);
 			return 0;
 		} else if (this.sampling) {
-			Pair<Double, Double> meanAndVariance = this.sampleWithNormalGamma(state);
-			double val = meanAndVariance.getX() - this.varianceFactor * Math.sqrt(meanAndVariance.getY());
+			NormalGammaBelief belief = this.getBelief(state);
+			double tau = this.sampleTau(belief);
+			double val = this.sampleMu(belief, tau) - this.varianceFactor * Math.sqrt(tau);
 			this.logger.debug("Returning sampled value of {}", val);
 			return val;
 		}
 		else {
-			double val = this.mu.get(state);
+			double val = this.getBelief(state).mu;
 			this.logger.debug("Returning fixed value of {}", val);
 			return val;
 		}
@@ -213,7 +278,7 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 	/**
 	 * This is the update section of the algorithm, which can be found in the ELSE-branch on the left of Fig. 1 (lines 21-25)
 	 */
-	public void updatePath(final ILabeledPath<N, A> path, final List<Double> scores) {
+	public synchronized void updatePath(final ILabeledPath<N, A> path, final List<Double> scores) {
 		List<N> nodes = path.getNodes();
 		List<A> actions = path.getArcs();
 		int l = path.getNumberOfNodes();
@@ -224,44 +289,62 @@ public class DNGPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILog
 			N node = nodes.get(i);
 			A action = actions.get(i);
 			double rewardOfThisAction = scores.get(i) != null ? scores.get(i) : Double.NaN;
-			this.rewardsMDP.computeIfAbsent(node, n -> new HashMap<>()).putIfAbsent(action, rewardOfThisAction);
+			NodeLabel<A> rewardsOfNode = this.rewardsMDP.computeIfAbsent(node, n -> new NodeLabel<>());
+			if (!rewardsOfNode.hasValue(action)) {
+				rewardsOfNode.setValue(action, rewardOfThisAction);
+			}
 			accumulatedScores = rewardOfThisAction + this.gammaMDP * accumulatedScores;
 			this.logger.debug("Updating statistics for {}-th node with accumulated score {}. State here is: {}", i, accumulatedScores, node);
 
 			/* if we had no model for this node yet, create an empty one */
-			if (!this.lambda.containsKey(node)) {
+			NormalGammaBelief belief = this.beliefs.get(node);
+			if (belief == null) {
 
 				/* NormalGamma parameters */
-				this.lambda.put(node, this.initLambda);
-				this.mu.put(node, INIT_MU);
-				this.alpha.put(node, INIT_ALPHA);
-				this.beta.put(node, this.initBeta);
+				this.beliefs.put(node, this.priorBelief);
 
 				/* rho-parameter */
 				N succNode = nodes.get(i + 1);
-				Map<N, Integer> rhoForNodeActionPair = new HashMap<>();
+				Map<N, Integer> rhoForNodeActionPair = new ConcurrentHashMap<>();
 				rhoForNodeActionPair.put(succNode, 1);
-				Map<A, Map<N, Integer>> mapForAction = new HashMap<>();
+				Map<A, Map<N, Integer>> mapForAction = new ConcurrentHashMap<>();
 				mapForAction.put(action, rhoForNodeActionPair);
 				this.rho.put(node, mapForAction);
 			}
 			else {
 
 				/* update model parameters */
-				double lambdaOfN = this.lambda.get(node);
-				double muOfN = this.mu.get(node);
-				this.alpha.put(node, this.alpha.get(node) + 0.5);
-				this.beta.put(node, this.beta.get(node) + (lambdaOfN * Math.pow(accumulatedScores - muOfN, 2) / (lambdaOfN + 1)) / 2);
-				this.mu.put(node, (muOfN * lambdaOfN + accumulatedScores) / (lambdaOfN + 1));
-				this.lambda.put(node, lambdaOfN + 1);
+				double lambdaOfN = belief.lambda;
+				double muOfN = belief.mu;
+				double deviation = accumulatedScores - muOfN;
+				belief = new NormalGammaBelief(belief.alpha + 0.5, belief.beta + (lambdaOfN * deviation * deviation / (lambdaOfN + 1)) / 2, (muOfN * lambdaOfN + accumulatedScores) / (lambdaOfN + 1), lambdaOfN + 1);
+				this.beliefs.put(node, belief);
 				N succNode = nodes.get(i + 1);
-				this.rho.get(node).computeIfAbsent(action, a -> new HashMap<>()).put(succNode, this.rho.get(node).get(action).computeIfAbsent(succNode, n -> 0) + 1);
+				Map<A, Map<N, Integer>> rhoForNode = this.rho.get(node);
+				Map<N, Integer> rhoForNodeActionPair = rhoForNode.get(action);
+				if (rhoForNodeActionPair == null) { // only publish the vector when it is complete, because it may be read concurrently
+					rhoForNodeActionPair = new ConcurrentHashMap<>();
+					rhoForNodeActionPair.put(succNode, 1);
+					rhoForNode.put(action, rhoForNodeActionPair);
+				} else {
+					rhoForNodeActionPair.merge(succNode, 1, Integer::sum);
+				}
 
-				this.eventBus.post(new DNGBeliefUpdateEvent<N>(null, node, this.mu.get(node), this.alpha.get(node), this.beta.get(node), this.lambda.get(node)));
+				this.eventBus.post(new DNGBeliefUpdateEvent<N>(null, node, belief.mu, belief.alpha, belief.beta, belief.lambda));
 			}
 		}
 	}
 
+	/**
+	 * Forgets the model of the state. The state may still occur as a successor in the transition counts of its predecessors, and its value is then estimated by the prior belief.
+	 */
+	@Override
+	public synchronized void evict(final N state) {
+		this.beliefs.remove(state);
+		this.rho.remove(state);
+		this.rewardsMDP.remove(state);
+	}
+
 	@Override
 	public String getLoggerName() {
 		return this.logger.getName();
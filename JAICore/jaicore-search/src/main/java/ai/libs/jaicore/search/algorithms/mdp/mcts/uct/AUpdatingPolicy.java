@@ -1,11 +1,9 @@
 package ai.libs.jaicore.search.algorithms.mdp.mcts.uct;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.api4.java.common.control.ILoggingCustomizable;
 import org.api4.java.datastructure.graph.ILabeledPath;
@@ -14,10 +12,13 @@ import org.slf4j.LoggerFactory;
 
 import ai.libs.jaicore.basic.sets.SetUtil;
 import ai.libs.jaicore.search.algorithms.mdp.mcts.EBehaviorForNotFullyExploredStates;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IEvictablePolicy;
 import ai.libs.jaicore.search.algorithms.mdp.mcts.IPathUpdatablePolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IThreadSafePolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.IVirtualLossPolicy;
 import ai.libs.jaicore.search.algorithms.mdp.mcts.NodeLabel;
 
-public abstract class AUpdatingPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, ILoggingCustomizable {
+public abstract class AUpdatingPolicy<N, A> implements IPathUpdatablePolicy<N, A, Double>, IVirtualLossPolicy<N, A>, IEvictablePolicy<N>, IThreadSafePolicy, ILoggingCustomizable {
 
 	private Logger logger = LoggerFactory.getLogger(AUpdatingPolicy.class);
 
@@ -26,7 +27,7 @@ public abstract class AUpdatingPolicy<N, A> implements IPathUpdatablePolicy<N, A
 
 	private EBehaviorForNotFullyExploredStates behaviorWhenActionForNotFullyExploredStateIsRequested;
 
-	private final Map<N, NodeLabel<A>> labels = new HashMap<>();
+	private final Map<N, NodeLabel<A>> labels = new ConcurrentHashMap<>();
 
 	public AUpdatingPolicy(final double gamma, final boolean maximize) {
 		super();
@@ -43,8 +44,6 @@ public abstract class AUpdatingPolicy<N, A> implements IPathUpdatablePolicy<N, A
 
 	public abstract double getScore(N node, A action);
 
-	public abstract A getActionBasedOnScores(Map<A, Double> scores);
-
 	/**
 	 * Note that this is a transposition-based and hence, only partially path-dependent, update. The labels are associated to nodes of the original MDP (states) and not to nodes in the MCTS search tree (paths)! This means that, in fact,
 	 * several paths are (partially) updated simultanously. However, on all other paths crossing the nodes on the updated paths, only those situations are updated and not the situations in higher nodes of the search tree.
@@ -70,54 +69,88 @@ public abstract class AUpdatingPolicy<N, A> implements IPathUpdatablePolicy<N, A
 			label.addRewardForAction(action, accumulatedDiscountedReward);
 			label.addPull(action);
 			label.addVisit();
-			this.logger.trace("Updated label of node {}. Visits now {}. Action pulls of {} now {}. Observed total rewards for this action: {}", node, label.getVisits(), action, label.getNumPulls(action),
-					label.getAccumulatedRewardsOfAction(action));
+			if (this.logger.isTraceEnabled()) {
+				this.logger.trace("Updated label of node {}. Visits now {}. Action pulls of {} now {}. Observed total rewards for this action: {}", node, label.getVisits(), action, label.getNumPulls(action),
+						label.getAccumulatedRewardsOfAction(action));
+			}
 		}
 		this.logger.debug("Path update completed.");
 	}
 
 	@Override
 	public A getAction(final N node, final Collection<A> possibleActions) {
-		this.logger.debug("Deriving action for node {}. The {} options are: {}", node, possibleActions.size(), possibleActions);
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Deriving action for node {}. The {} options are: {}", node, possibleActions.size(), possibleActions);
+		}
 
-		/* if an applicable action has not been tried, play it to get some initial idea */
-		List<A> actionsThatHaveNotBeenTriedYet = possibleActions.stream().filter(a -> !this.labels.containsKey(node)).collect(Collectors.toList());
-		if (!actionsThatHaveNotBeenTriedYet.isEmpty()) {
+		/* if the node has not been labeled yet, no action has been tried, so play the first one to get some initial idea */
+		NodeLabel<A> labelOfNode = this.labels.get(node);
+		if (labelOfNode == null && !possibleActions.isEmpty()) {
 			if (this.behaviorWhenActionForNotFullyExploredStateIsRequested == EBehaviorForNotFullyExploredStates.EXCEPTION) {
 				throw new IllegalStateException("Tree policy should only be consulted for nodes for which each child has been used at least once.");
 			}
 			else if (this.behaviorWhenActionForNotFullyExploredStateIsRequested == EBehaviorForNotFullyExploredStates.BEST) {
 				throw new UnsupportedOperationException("Can currently only work with RANDOM or EXCEPTION");
 			}
-			A action = actionsThatHaveNotBeenTriedYet.get(0);
+			A action = possibleActions.iterator().next();
 			this.logger.info("Dictating action {}, because this was never played before.", action);
 			return action;
 		}
 
-		/* otherwise, play best action */
-		NodeLabel<A> labelOfNode = this.labels.get(node);
+		/* otherwise, play best action. The scores are compared on the fly, so that no objects are created for them */
 		this.logger.debug("All actions have been tried. Label is: {}", labelOfNode);
-		Map<A, Double> scores = new HashMap<>();
+		A choice = null;
+		double bestScore = Double.NaN;
 		for (A action : possibleActions) {
 			assert labelOfNode.getVisits() != 0 : "Visits of action " + action + " cannot be 0 if we already used this action before!";
-			this.logger.trace("Considering action {}, which has {} visits and cummulative rewards {}.", action, labelOfNode.getNumPulls(action), labelOfNode.getAccumulatedRewardsOfAction(action));
-			Double score = this.getScore(node, action);
-			if (!score.isNaN()) {
-				scores.put(action, score);
+			double score = this.getScore(node, action);
+			if (this.logger.isTraceEnabled()) {
+				this.logger.trace("Considering action {}, which has {} visits and cummulative rewards {}. Score is {}.", action, labelOfNode.getNumPulls(action), labelOfNode.getAccumulatedRewardsOfAction(action), score);
+			}
+			if (!Double.isNaN(score) && (choice == null || (this.maximize ? score > bestScore : score < bestScore))) {
+				choice = action;
+				bestScore = score;
 			}
 		}
 
 		/* finalize the choice */
-		if (scores.isEmpty()) {
+		if (choice == null) {
 			this.logger.warn("All children have score NaN. Returning a random one.");
 			return SetUtil.getRandomElement(possibleActions, 0);
 		}
-		A choice = this.getActionBasedOnScores(scores);
-		Objects.requireNonNull(choice, "Would return null, but this must not be the case! Check the method that chooses an action given the scores.");
 		this.logger.info("Recommending action {}.", choice);
 		return choice;
 	}
 
+	/**
+	 * The virtual loss of an action is the worst reward observed so far in the node. If no reward has been observed in the node yet, no virtual loss is applied.
+	 */
+	@Override
+	public boolean addVirtualLoss(final N node, final A action) {
+		NodeLabel<A> label = this.labels.get(node);
+		if (label == null) {
+			return false;
+		}
+		synchronized (label) {
+			double worstReward = this.maximize ? label.getMinObservedReward() : label.getMaxObservedReward();
+			if (Double.isNaN(worstReward)) {
+				return false;
+			}
+			label.addVirtualLoss(action, worstReward);
+			return true;
+		}
+	}
+
+	@Override
+	public void removeVirtualLoss(final N node, final A action) {
+		this.getLabelOfNode(node).removeVirtualLoss(action);
+	}
+
+	@Override
+	public void evict(final N state) {
+		this.labels.remove(state);
+	}
+
 	public boolean isMaximize() {
 		return this.maximize;
 	}
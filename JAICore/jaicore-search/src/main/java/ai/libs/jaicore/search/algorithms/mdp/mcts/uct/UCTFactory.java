@@ -8,6 +8,6 @@ public class UCTFactory<N, A> extends MCTSFactory<N, A, UCTFactory<N, A>> {
 
 	@Override
 	public MCTS<N, A> getAlgorithm(final IMDP<N, A, Double> input) {
-		return new UCT<>(input, this.getDefaultPolicy(true), this.getMaxIterations(), this.getGamma(), this.getEpsilon(), this.isTabooExhaustedNodes());
+		return this.configure(new UCT<>(input, this.getDefaultPolicy(true), this.getMaxIterations(), this.getGamma(), this.getEpsilon(), this.isTabooExhaustedNodes()));
 	}
 }
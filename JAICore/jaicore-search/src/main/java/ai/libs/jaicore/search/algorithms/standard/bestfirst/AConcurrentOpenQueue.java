@@ -0,0 +1,66 @@
+package ai.libs.jaicore.search.algorithms.standard.bestfirst;
+
+import java.util.AbstractQueue;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for thread-safe OPEN queues of {@link BestFirst}. If OPEN is such a queue, the threads attaching new nodes insert them without acquiring the global lock on OPEN.
+ *
+ * Unlike a {@link java.util.PriorityQueue}, these queues contain every element at most once (identified via equals), and an element must not be removed while it is being offered by another thread. Both is naturally satisfied by the
+ * nodes of a best-first search. Iterators are weakly consistent.
+ *
+ * @param <T>
+ *            Type of the elements
+ */
+public abstract class AConcurrentOpenQueue<T> extends AbstractQueue<T> {
+
+	protected final Comparator<? super T> comparator;
+	protected final AtomicInteger size = new AtomicInteger();
+
+	protected AConcurrentOpenQueue(final Comparator<? super T> comparator) {
+		super();
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Creates a concurrent OPEN queue for the given relaxation level.
+	 *
+	 * @param comparator
+	 *            The comparator defining the order of the elements
+	 * @param relaxation
+	 *            0 for a strictly ordered queue, or the number of sub-queues per thread for a relaxed queue
+	 * @param numThreads
+	 *            The number of threads that concurrently access the queue
+	 * @return The queue
+	 */
+	public static <T> AConcurrentOpenQueue<T> create(final Comparator<? super T> comparator, final int relaxation, final int numThreads) {
+		if (relaxation < 0) {
+			throw new IllegalArgumentException("The relaxation of OPEN must not be negative but is " + relaxation);
+		}
+		if (relaxation == 0) {
+			return new StrictConcurrentOpenQueue<>(comparator);
+		}
+		return new RelaxedConcurrentOpenQueue<>(comparator, relaxation * Math.max(1, numThreads));
+	}
+
+	@Override
+	public int size() {
+		return this.size.get();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size.get() == 0;
+	}
+
+	protected void checkOfferedElement(final T e) {
+		if (e == null) {
+			throw new IllegalArgumentException("Cannot add NULL to OPEN.");
+		}
+	}
+
+	protected IllegalArgumentException getDuplicateElementException(final T e) {
+		return new IllegalArgumentException("Element " + e + " is already contained in OPEN.");
+	}
+}
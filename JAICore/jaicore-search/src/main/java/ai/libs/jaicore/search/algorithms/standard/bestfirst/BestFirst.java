@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -111,12 +110,12 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 	/* automatically derived auxiliary variables */
 	private final boolean solutionReportingNodeEvaluator;
 	private final boolean cancelableNodeEvaluator;
+	private final Thread shutdownHook;
 
 	/* general algorithm state and statistics */
-	private int createdCounter;
+	private final AtomicInteger createdCounter = new AtomicInteger();
 	private int expandedCounter;
 	private boolean initialized = false;
-	private final List<INewNodeDescription<N, A>> lastExpansion = new ArrayList<>();
 	protected final Queue<EvaluatedSearchGraphPath<N, A, V>> solutions = new LinkedBlockingQueue<>();
 	protected final Queue<EvaluatedSearchSolutionCandidateFoundEvent<N, A, V>> pendingSolutionFoundEvents = new LinkedBlockingQueue<>();
 	private boolean shutdownComplete = false;
@@ -126,9 +125,10 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 
 	/* search graph model */
 	protected Queue<BackPointerPath<N, A, V>> open = new PriorityQueue<>((n1, n2) -> n1.getScore().compareTo(n2.getScore()));
+	private boolean openCustomized = false; // true if OPEN has been set from outside
 	private BackPointerPath<N, A, V> nodeSelectedForExpansion; // the node that will be expanded next
-	private final Map<N, Thread> expanding = new HashMap<>(); // EXPANDING contains the nodes being expanded and the threads doing this job
-	private final Set<N> closed = new HashSet<>(); // CLOSED contains only node but not paths
+	private final Map<N, Thread> expanding = new ConcurrentHashMap<>(); // EXPANDING contains the nodes being expanded and the threads doing this job
+	private final Set<N> closed = ConcurrentHashMap.newKeySet(); // CLOSED contains only node but not paths
 
 	/* parallelization */
 	protected int additionalThreadsForNodeAttachment = 0;
@@ -199,7 +199,8 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 		 * add shutdown hook so as to cancel the search once the overall program is
 		 * shutdown
 		 */
-		Runtime.getRuntime().addShutdownHook(new Thread(() -> BestFirst.this.cancel(), "Shutdown hook thread for " + BestFirst.this));
+		this.shutdownHook = new Thread(() -> BestFirst.this.cancel(), "Shutdown hook thread for " + BestFirst.this);
+		Runtime.getRuntime().addShutdownHook(this.shutdownHook);
 	}
 
 	/** BLOCK A: Internal behavior of the algorithm **/
@@ -237,7 +238,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 			synchronized (this.todoList) {
 				this.todoList.remove(this.successorDescription.getTo());
 				if (this.todoList.isEmpty()) {
-					BestFirst.this.post(new NodeExpansionCompletedEvent<>(BestFirst.this, this.expandedNodeInternal));
+					BestFirst.this.post(NodeExpansionCompletedEvent.class, () -> new NodeExpansionCompletedEvent<>(BestFirst.this, this.expandedNodeInternal));
 				}
 			}
 		}
@@ -251,7 +252,6 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 					this.communicateJobFinished();
 					return;
 				}
-				BestFirst.this.lastExpansion.add(this.successorDescription);
 
 				/* create node */
 				BackPointerPath<N, A, V> newNode = BestFirst.this.newNode(this.expandedNodeInternal, this.successorDescription.getTo(), this.successorDescription.getArcLabel());
@@ -262,22 +262,22 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 					V currentUpperBound = BestFirst.this.getBestScoreKnownToExist();
 					if (currentUpperBound != null && lowerBound.compareTo(currentUpperBound) >= 0) {
 						BestFirst.this.bfLogger.debug("Pruning node due to lower bound {} >= {}", lowerBound, currentUpperBound);
-						BestFirst.this.post(new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
+						BestFirst.this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
 						return;
 					}
 				}
 
 				/* update creation counter */
-				BestFirst.this.createdCounter++;
+				BestFirst.this.createdCounter.incrementAndGet();
 
 				/* compute node label */
 				try {
 					BestFirst.this.labelNode(newNode);
 					if (newNode.getScore() == null) {
-						BestFirst.this.post(new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
+						BestFirst.this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
 						return;
 					} else {
-						BestFirst.this.post(new NodeInfoAlteredEvent<>(BestFirst.this, newNode));
+						BestFirst.this.post(NodeInfoAlteredEvent.class, () -> new NodeInfoAlteredEvent<>(BestFirst.this, newNode));
 					}
 					if (BestFirst.this.isStopCriterionSatisfied()) {
 						this.communicateJobFinished();
@@ -288,25 +288,25 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 						BestFirst.this.bfLogger.warn("Leaving node building routine due to interrupt. This leaves the search inconsistent; the node should be attached again!");
 					}
 					BestFirst.this.bfLogger.debug("Worker has been interrupted, exiting.");
-					BestFirst.this.post(new NodeAnnotationEvent<>(BestFirst.this, newNode, ENodeAnnotation.F_ERROR.toString(), e));
-					BestFirst.this.post(new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
-					BestFirst.this.post(new NodeInfoAlteredEvent<>(BestFirst.this, newNode));
+					BestFirst.this.post(NodeAnnotationEvent.class, () -> new NodeAnnotationEvent<>(BestFirst.this, newNode, ENodeAnnotation.F_ERROR.toString(), e));
+					BestFirst.this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
+					BestFirst.this.post(NodeInfoAlteredEvent.class, () -> new NodeInfoAlteredEvent<>(BestFirst.this, newNode));
 					Thread.currentThread().interrupt();
 					return;
 				} catch (TimeoutException e) {
 					BestFirst.this.bfLogger.debug("Node evaluation of {} has timed out.", newNode.hashCode());
 					newNode.setAnnotation(ENodeAnnotation.F_ERROR.toString(), e);
-					BestFirst.this.post(new NodeAnnotationEvent<>(BestFirst.this, newNode, ENodeAnnotation.F_ERROR.toString(), e));
-					BestFirst.this.post(new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_TIMEDOUT.toString()));
-					BestFirst.this.post(new NodeInfoAlteredEvent<>(BestFirst.this, newNode));
+					BestFirst.this.post(NodeAnnotationEvent.class, () -> new NodeAnnotationEvent<>(BestFirst.this, newNode, ENodeAnnotation.F_ERROR.toString(), e));
+					BestFirst.this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_TIMEDOUT.toString()));
+					BestFirst.this.post(NodeInfoAlteredEvent.class, () -> new NodeInfoAlteredEvent<>(BestFirst.this, newNode));
 					return;
 				} catch (Exception e) {
 					BestFirst.this.bfLogger.debug("Observed an exception during computation of f:\n{}", LoggerUtil.getExceptionInfo(e));
 					newNode.setAnnotation(ENodeAnnotation.F_ERROR.toString(), e);
-					BestFirst.this.post(new NodeAnnotationEvent<>(BestFirst.this, newNode, ENodeAnnotation.F_ERROR.toString(), e));
-					BestFirst.this.post(new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
+					BestFirst.this.post(NodeAnnotationEvent.class, () -> new NodeAnnotationEvent<>(BestFirst.this, newNode, ENodeAnnotation.F_ERROR.toString(), e));
+					BestFirst.this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
 
-					BestFirst.this.post(new NodeInfoAlteredEvent<>(BestFirst.this, newNode));
+					BestFirst.this.post(NodeInfoAlteredEvent.class, () -> new NodeInfoAlteredEvent<>(BestFirst.this, newNode));
 					return;
 				}
 
@@ -314,32 +314,38 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 				V bestKnownAchievableScore = BestFirst.this.getBestScoreKnownToExist();
 				if (BestFirst.this.considerNodeEvaluationOptimistic && bestKnownAchievableScore != null && bestKnownAchievableScore.compareTo(newNode.getScore()) <= 0) {
 					BestFirst.this.bfLogger.info("Pruning newly generated node, since its optimistic estimate is {} and hence not better than the best already known solution score {}.", newNode.getScore(), bestKnownAchievableScore);
-					BestFirst.this.post(new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
+					BestFirst.this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(BestFirst.this, newNode, ENodeType.OR_PRUNED.toString()));
 					return;
 				}
 
 				/* depending on the algorithm setup, now decide how to proceed with the node */
 
-				/* if we discard (either only on OPEN or on both OPEN and CLOSED) */
+				/*
+				 * if we discard (either only on OPEN or on both OPEN and CLOSED), checking OPEN and inserting the node must be atomic, so the lock on OPEN
+				 * is held for both; in that case, addToOpen also takes the lock for concurrent OPEN queues
+				 */
 				boolean nodeProcessed = false;
-				if (BestFirst.this.getConfig().parentDiscarding() != ParentDiscarding.NONE) {
+				boolean discarding = BestFirst.this.getConfig().parentDiscarding() != ParentDiscarding.NONE;
+				if (discarding) {
 					BestFirst.this.openLock.lockInterruptibly();
-					try {
+				}
+				try {
+					if (discarding) {
 
 						/* determine whether we already have the node AND it is worse than the one we want to insert */
 						Optional<BackPointerPath<N, A, V>> existingIdenticalNodeOnOpen = BestFirst.this.open.stream().filter(n -> n.getHead().equals(newNode.getHead())).findFirst();
 						if (existingIdenticalNodeOnOpen.isPresent()) {
 							BackPointerPath<N, A, V> existingNode = existingIdenticalNodeOnOpen.get();
 							if (newNode.getScore().compareTo(existingNode.getScore()) < 0) {
-								BestFirst.this.post(new NodeTypeSwitchEvent<>(BestFirst.this, newNode, (newNode.isGoal() ? ENodeType.OR_SOLUTION.toString() : ENodeType.OR_OPEN.toString())));
-								BestFirst.this.post(new NodeRemovedEvent<>(BestFirst.this, existingNode));
+								BestFirst.this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(BestFirst.this, newNode, (newNode.isGoal() ? ENodeType.OR_SOLUTION.toString() : ENodeType.OR_OPEN.toString())));
+								BestFirst.this.post(NodeRemovedEvent.class, () -> new NodeRemovedEvent<>(BestFirst.this, existingNode));
 								BestFirst.this.open.remove(existingNode);
 								if (newNode.getScore() == null) {
 									throw new IllegalArgumentException("Cannot insert nodes with value NULL into OPEN!");
 								}
 								BestFirst.this.open.add(newNode);
 							} else {
-								BestFirst.this.post(new NodeRemovedEvent<>(BestFirst.this, newNode));
+								BestFirst.this.post(NodeRemovedEvent.class, () -> new NodeRemovedEvent<>(BestFirst.this, newNode));
 							}
 							nodeProcessed = true;
 						}
@@ -358,43 +364,36 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 									node.setScore(newNode.getScore());
 									BestFirst.this.closed.remove(node.getHead());
 									BestFirst.this.open.add(node);
-									BestFirst.this.post(new NodeParentSwitchEvent<BackPointerPath<N, A, V>>(BestFirst.this, node, node.getParent(), newNode.getParent()));
+									BestFirst.this.post(NodeParentSwitchEvent.class, () -> new NodeParentSwitchEvent<BackPointerPath<N, A, V>>(BestFirst.this, node, node.getParent(), newNode.getParent()));
 								}
-								BestFirst.this.post(new NodeRemovedEvent<BackPointerPath<N, A, V>>(BestFirst.this, newNode));
+								BestFirst.this.post(NodeRemovedEvent.class, () -> new NodeRemovedEvent<BackPointerPath<N, A, V>>(BestFirst.this, newNode));
 								nodeProcessed = true;
 							}
 						}
-					} finally {
-						BestFirst.this.openLock.unlock();
 					}
-				}
 
-				/*
-				 * if parent discarding is turned off OR if the node was node processed by a
-				 * parent discarding rule, just insert it on OPEN
-				 */
-				if (!nodeProcessed) {
-					if (!newNode.isGoal()) {
-						BestFirst.this.openLock.lockInterruptibly();
-						synchronized (BestFirst.this.expanding) {
-							try {
-								assert !BestFirst.this.closed.contains(newNode.getHead()) : "Currently only tree search is supported. But now we add a node to OPEN whose point has already been expanded before.";
-								BestFirst.this.expanding.keySet().forEach(node -> {
-									assert !node.equals(newNode.getHead()) : Thread.currentThread() + " cannot add node to OPEN that is currently being expanded by " + BestFirst.this.expanding.get(node) + ".\n\tFrom: "
-											+ newNode.getParent().getHead() + "\n\tTo: " + node;
-								});
-								if (newNode.getScore() == null) {
-									throw new IllegalArgumentException("Cannot insert nodes with value NULL into OPEN!");
-								}
-								BestFirst.this.bfLogger.debug("Inserting successor {} of {} to OPEN. F-Value is {}", newNode.hashCode(), this.expandedNodeInternal.hashCode(), newNode.getScore());
-								BestFirst.this.open.add(newNode);
-							} finally {
-								BestFirst.this.openLock.unlock();
+					/*
+					 * if parent discarding is turned off OR if the node was node processed by a
+					 * parent discarding rule, just insert it on OPEN
+					 */
+					if (!nodeProcessed) {
+						if (!newNode.isGoal()) {
+							assert !BestFirst.this.closed.contains(newNode.getHead()) : "Currently only tree search is supported. But now we add a node to OPEN whose point has already been expanded before.";
+							assert !BestFirst.this.expanding.containsKey(newNode.getHead()) : Thread.currentThread() + " cannot add node to OPEN that is currently being expanded by " + BestFirst.this.expanding.get(newNode.getHead())
+									+ ".\n\tFrom: " + newNode.getParent().getHead() + "\n\tTo: " + newNode.getHead();
+							if (newNode.getScore() == null) {
+								throw new IllegalArgumentException("Cannot insert nodes with value NULL into OPEN!");
 							}
+							BestFirst.this.bfLogger.debug("Inserting successor {} of {} to OPEN. F-Value is {}", newNode.hashCode(), this.expandedNodeInternal.hashCode(), newNode.getScore());
+							BestFirst.this.addToOpen(newNode);
 						}
+						BestFirst.this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(BestFirst.this, newNode, (newNode.isGoal() ? ENodeType.OR_SOLUTION.toString() : ENodeType.OR_OPEN.toString())));
+						BestFirst.this.createdCounter.incrementAndGet();
+					}
+				} finally {
+					if (discarding) {
+						BestFirst.this.openLock.unlock();
 					}
-					BestFirst.this.post(new NodeTypeSwitchEvent<>(BestFirst.this, newNode, (newNode.isGoal() ? ENodeType.OR_SOLUTION.toString() : ENodeType.OR_OPEN.toString())));
-					BestFirst.this.createdCounter++;
 				}
 
 				/* Recognize solution in cache together with annotation */
@@ -442,13 +441,37 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 		return this.newNode(parent, t2, arc, null);
 	}
 
-	protected BackPointerPath<N, A, V> newNode(final BackPointerPath<N, A, V> parent, final N t2, final A arc, final V evaluation) throws InterruptedException {
+	/**
+	 * Inserts a node into OPEN. If OPEN is a concurrent queue and no parent discarding is used, this does not acquire the lock on OPEN, so that node builders do not contend with each other. With parent discarding, node
+	 * builders check OPEN for identical nodes under the lock, so all insertions must take the lock as well.
+	 */
+	protected void addToOpen(final BackPointerPath<N, A, V> node) throws InterruptedException {
+		if (this.open instanceof AConcurrentOpenQueue && this.getConfig().parentDiscarding() == ParentDiscarding.NONE) {
+			this.open.add(node);
+			return;
+		}
 		this.openLock.lockInterruptibly();
 		try {
-			assert !this.open.contains(parent) : "Parent node " + parent + " is still on OPEN, which must not be the case! OPEN class: " + this.open.getClass().getName() + ". OPEN size: " + this.open.size();
+			this.open.add(node);
 		} finally {
 			this.openLock.unlock();
 		}
+	}
+
+	private boolean isNotOnOpen(final BackPointerPath<N, A, V> node) {
+		this.openLock.lock();
+		try {
+			return !this.open.contains(node);
+		} finally {
+			this.openLock.unlock();
+		}
+	}
+
+	protected BackPointerPath<N, A, V> newNode(final BackPointerPath<N, A, V> parent, final N t2, final A arc, final V evaluation) throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException("Thread has been interrupted prior to the creation of a new node.");
+		}
+		assert this.isNotOnOpen(parent) : "Parent node " + parent + " is still on OPEN, which must not be the case! OPEN class: " + this.open.getClass().getName() + ". OPEN size: " + this.open.size();
 
 		/* create new node and check whether it is a goal */
 		BackPointerPath<N, A, V> newNode = new BackPointerPath<>(parent, t2, arc);
@@ -474,9 +497,9 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 
 		/* send events for this new node */
 		if (parent == null) {
-			this.post(new GraphInitializedEvent<BackPointerPath<N, A, V>>(this, newNode));
+			this.post(GraphInitializedEvent.class, () -> new GraphInitializedEvent<BackPointerPath<N, A, V>>(this, newNode));
 		} else {
-			this.post(new NodeAddedEvent<BackPointerPath<N, A, V>>(this, parent, newNode, (newNode.isGoal() ? ENodeType.OR_SOLUTION.toString() : ENodeType.OR_CREATED.toString())));
+			this.post(NodeAddedEvent.class, () -> new NodeAddedEvent<BackPointerPath<N, A, V>>(this, parent, newNode, (newNode.isGoal() ? ENodeType.OR_SOLUTION.toString() : ENodeType.OR_CREATED.toString())));
 			this.bfLogger.debug("Sent message for creation of node {} as a successor of {}", newNode.hashCode(), parent.hashCode());
 		}
 		return newNode;
@@ -521,7 +544,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 			this.bfLogger.info("Thread {} received interrupt in node evaluation. Timeout flag is {}", Thread.currentThread(), timedout.get());
 			if (timedout.get()) {
 				BestFirst.this.bfLogger.debug("Received interrupt during computation of f.");
-				this.post(new NodeTypeSwitchEvent<>(this, node, ENodeType.OR_TIMEDOUT.toString()));
+				this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<>(this, node, ENodeType.OR_TIMEDOUT.toString()));
 				node.setAnnotation(ENodeAnnotation.F_ERROR.toString(), "Timeout");
 				computationTimedout = true;
 				Thread.interrupted(); // set interrupt state of thread to FALSE, because interrupt
@@ -571,7 +594,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 		node.setScore(label);
 		assert node.getScore() != null : "Node label must not be NULL";
 
-		this.post(new NodeInfoAlteredEvent<BackPointerPath<N, A, V>>(this, node));
+		this.post(NodeInfoAlteredEvent.class, () -> new NodeInfoAlteredEvent<BackPointerPath<N, A, V>>(this, node));
 	}
 
 	/**
@@ -629,7 +652,9 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 				this.open.remove(this.nodeSelectedForExpansion);
 				int openSizeAfter = this.open.size();
 				assert this.ext2int.containsKey(this.nodeSelectedForExpansion.getHead()) : "A node chosen for expansion has no entry in the ext2int map!";
-				assert openSizeAfter == openSizeBefore - 1 : "OPEN size must descrease by one when selecting node for expansion";
+
+				/* node builders may insert into a concurrent OPEN in the meantime */
+				assert this.open instanceof AConcurrentOpenQueue || openSizeAfter == openSizeBefore - 1 : "OPEN size must descrease by one when selecting node for expansion";
 			} finally {
 				this.openLock.unlock();
 			}
@@ -713,7 +738,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 
 			/* Step 2: compute the successors in the underlying graph */
 			this.beforeExpansion(actualNodeSelectedForExpansion);
-			this.post(new NodeTypeSwitchEvent<BackPointerPath<N, A, V>>(this, actualNodeSelectedForExpansion, "or_expanding"));
+			this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<BackPointerPath<N, A, V>>(this, actualNodeSelectedForExpansion, "or_expanding"));
 			this.bfLogger.debug("Expanding node {} with f-value {}", actualNodeSelectedForExpansion.hashCode(), actualNodeSelectedForExpansion.getScore());
 			this.bfLogger.debug("Start computation of successors");
 			final List<INewNodeDescription<N, A>> successorDescriptions;
@@ -731,7 +756,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 			successorDescriptions = tmpSuccessorDescriptions;
 			this.checkTerminationAndUnregisterFromExpand(actualNodeSelectedForExpansion);
 			this.bfLogger.debug("Finished computation of successors. Sending SuccessorComputationCompletedEvent with {} successors for {}", successorDescriptions.size(), actualNodeSelectedForExpansion.hashCode());
-			this.post(new SuccessorComputationCompletedEvent<>(this, actualNodeSelectedForExpansion, successorDescriptions));
+			this.post(SuccessorComputationCompletedEvent.class, () -> new SuccessorComputationCompletedEvent<>(this, actualNodeSelectedForExpansion, successorDescriptions));
 
 			/*
 			 * step 3: trigger node builders that compute node details and decide whether
@@ -789,7 +814,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 		}
 		this.closed.add(actualNodeSelectedForExpansion.getHead());
 		assert this.closed.contains(actualNodeSelectedForExpansion.getHead()) : "Expanded node " + actualNodeSelectedForExpansion + " was not inserted into CLOSED!";
-		this.post(new NodeTypeSwitchEvent<BackPointerPath<N, A, V>>(this, actualNodeSelectedForExpansion, ENodeType.OR_CLOSED.toString()));
+		this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<BackPointerPath<N, A, V>>(this, actualNodeSelectedForExpansion, ENodeType.OR_CLOSED.toString()));
 		this.afterExpansion(actualNodeSelectedForExpansion);
 		this.checkAndConductTermination();
 		this.openLock.lockInterruptibly();
@@ -941,6 +966,15 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 		}
 		assert this.pool == null || this.pool.isShutdown() : "The pool has not been shutdown correctly at the end of the routine.";
 		this.shutdownComplete = true;
+
+		/* the hook is not needed anymore, and keeping it registered would keep the whole search graph in memory until the program exits */
+		if (Thread.currentThread() != this.shutdownHook) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+			} catch (IllegalStateException e) {
+				this.bfLogger.debug("Could not remove shutdown hook, because the JVM is already shutting down.");
+			}
+		}
 		this.bfLogger.info("Shutdown completed");
 	}
 
@@ -999,7 +1033,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 				assert this.ext2int.containsKey(nodeOnPath.getParent().getHead()) : "Want to insert a node whose parent is unknown locally";
 				BackPointerPath<N, A, V> newNode = this.newNode(localVersionOfParent, nodeOnPath.getHead(), nodeOnPath.getEdgeLabelToParent(), nodeOnPath.getScore());
 				if (!newNode.isGoal() && !newNode.getHead().equals(leaf.getHead())) {
-					this.post(new NodeTypeSwitchEvent<BackPointerPath<N, A, V>>(this, newNode, "or_closed"));
+					this.post(NodeTypeSwitchEvent.class, () -> new NodeTypeSwitchEvent<BackPointerPath<N, A, V>>(this, newNode, "or_closed"));
 				}
 				localVersionOfParent = newNode;
 			} else {
@@ -1076,6 +1110,12 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 				if (additionalCPUs > 0) {
 					this.parallelizeNodeExpansion(additionalCPUs);
 				}
+
+				/* if desired and OPEN has not been customized, use an OPEN queue into which the node builders can insert without locking */
+				if (this.getConfig().concurrentOpen() && !this.openCustomized) {
+					this.open = AConcurrentOpenQueue.create((n1, n2) -> n1.getScore().compareTo(n2.getScore()), this.getConfig().openRelaxation(), this.getConfig().cpus());
+					this.bfLogger.info("Using {} as OPEN.", this.open.getClass().getSimpleName());
+				}
 				this.initGraph();
 				this.bfLogger.info("Search initialized, returning activation event.");
 				return initEvent;
@@ -1291,6 +1331,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 			collection.clear();
 			collection.addAll(this.open);
 			this.open = collection;
+			this.openCustomized = true;
 		} finally {
 			this.openLock.unlock();
 		}
@@ -1338,7 +1379,7 @@ public class BestFirst<I extends IPathSearchWithPathEvaluationsInput<N, A, V>, N
 	}
 
 	public int getCreatedCounter() {
-		return this.createdCounter;
+		return this.createdCounter.get();
 	}
 
 	public V getFValue(final N node) {
@@ -7,6 +7,8 @@ public interface IBestFirstConfig extends IOwnerBasedAlgorithmConfig {
 
 	public static final String K_PD = "bestfirst.parentdiscarding";
 	public static final String K_OE = "bestfirst.optimisticheuristic";
+	public static final String K_CONCURRENT_OPEN = "bestfirst.open.concurrent";
+	public static final String K_OPEN_RELAXATION = "bestfirst.open.relaxation";
 
 	/**
 	 * @return Whether or not parent discarding should be used
@@ -18,4 +20,19 @@ public interface IBestFirstConfig extends IOwnerBasedAlgorithmConfig {
 	@Key(K_OE)
 	@DefaultValue("false")
 	public boolean optimisticHeuristic();
+
+	/**
+	 * @return Whether OPEN should be a concurrent queue, so that the threads attaching new nodes do not contend for a global lock on OPEN.
+	 */
+	@Key(K_CONCURRENT_OPEN)
+	@DefaultValue("false")
+	public boolean concurrentOpen();
+
+	/**
+	 * @return The relaxation of the order of a concurrent OPEN. For 0, nodes are expanded in the exact order of their scores. For r > 0, OPEN is split into r sub-queues per CPU, and the node expanded next is the better one of the heads of
+	 *         two random sub-queues. Higher values scale better with the number of CPUs but deviate more from the best-first order.
+	 */
+	@Key(K_OPEN_RELAXATION)
+	@DefaultValue("0")
+	public int openRelaxation();
 }
@@ -0,0 +1,230 @@
+package ai.libs.jaicore.search.algorithms.standard.bestfirst;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A relaxed OPEN queue in the style of a MultiQueue. The elements are spread over several priority queues, each of which has its own lock. New elements are inserted into a random sub-queue, so that inserting threads hardly ever
+ * contend. {@link #peek()} and {@link #poll()} compare the heads of two random sub-queues and return the better one.
+ *
+ * The returned element is hence not necessarily the best one in the queue, but it is among the best ones with high probability; the more sub-queues there are, the weaker the order.
+ *
+ * @param <T>
+ *            Type of the elements
+ */
+public class RelaxedConcurrentOpenQueue<T> extends AConcurrentOpenQueue<T> {
+
+	private final List<PriorityQueue<T>> queues;
+	private final ReentrantLock[] locks;
+	private final AtomicReferenceArray<T> heads; // the head of each sub-queue, readable without locking
+	private final Map<Object, Integer> queueOfElement = new ConcurrentHashMap<>();
+
+	public RelaxedConcurrentOpenQueue(final Comparator<? super T> comparator, final int numQueues) {
+		super(comparator);
+		if (numQueues < 1) {
+			throw new IllegalArgumentException("Number of sub-queues must be positive but is " + numQueues);
+		}
+		this.queues = new ArrayList<>(numQueues);
+		this.locks = new ReentrantLock[numQueues];
+		for (int i = 0; i < numQueues; i++) {
+			this.queues.add(new PriorityQueue<>(comparator));
+			this.locks[i] = new ReentrantLock();
+		}
+		this.heads = new AtomicReferenceArray<>(numQueues);
+	}
+
+	public int getNumberOfQueues() {
+		return this.queues.size();
+	}
+
+	@Override
+	public boolean offer(final T e) {
+		this.checkOfferedElement(e);
+		int i = this.lockRandomQueue();
+		try {
+			if (this.queueOfElement.putIfAbsent(e, i) != null) {
+				throw this.getDuplicateElementException(e);
+			}
+			this.size.incrementAndGet(); // before the element becomes visible, so that the size never gets negative
+			this.queues.get(i).add(e);
+			this.heads.set(i, this.queues.get(i).peek());
+		} finally {
+			this.locks[i].unlock();
+		}
+		return true;
+	}
+
+	/**
+	 * Locks a random sub-queue. Sub-queues whose lock is held by another thread are skipped, and only if all of them appear to be locked, the method blocks.
+	 */
+	private int lockRandomQueue() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int attempt = 0; attempt < this.queues.size(); attempt++) {
+			int i = random.nextInt(this.queues.size());
+			if (this.locks[i].tryLock()) {
+				return i;
+			}
+		}
+		int i = random.nextInt(this.queues.size());
+		this.locks[i].lock();
+		return i;
+	}
+
+	/**
+	 * @return The index of the better sub-queue among two random ones, or of the best non-empty sub-queue if both are empty; -1 if all sub-queues are empty.
+	 */
+	private int getCandidateQueue() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int i = random.nextInt(this.queues.size());
+		int j = random.nextInt(this.queues.size());
+		T headOfI = this.heads.get(i);
+		T headOfJ = this.heads.get(j);
+		if (headOfI != null && headOfJ != null) {
+			return this.comparator.compare(headOfI, headOfJ) <= 0 ? i : j;
+		}
+		if (headOfI != null) {
+			return i;
+		}
+		if (headOfJ != null) {
+			return j;
+		}
+		int best = -1;
+		T bestHead = null;
+		for (int k = 0; k < this.queues.size(); k++) {
+			T head = this.heads.get(k);
+			if (head != null && (bestHead == null || this.comparator.compare(head, bestHead) < 0)) {
+				best = k;
+				bestHead = head;
+			}
+		}
+		return best;
+	}
+
+	@Override
+	public T peek() {
+		while (!this.isEmpty()) {
+			int i = this.getCandidateQueue();
+			T head = i >= 0 ? this.heads.get(i) : null;
+			if (head != null) {
+				return head;
+			}
+			Thread.yield(); // the remaining elements are being inserted or removed concurrently
+		}
+		return null;
+	}
+
+	@Override
+	public T poll() {
+		while (!this.isEmpty()) {
+			int i = this.getCandidateQueue();
+			if (i < 0) {
+				Thread.yield();
+				continue;
+			}
+			T element;
+			this.locks[i].lock();
+			try {
+				element = this.queues.get(i).poll();
+				this.heads.set(i, this.queues.get(i).peek());
+			} finally {
+				this.locks[i].unlock();
+			}
+			if (element != null) {
+				this.queueOfElement.remove(element);
+				this.size.decrementAndGet();
+				return element;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean remove(final Object o) {
+		Integer i = o != null ? this.queueOfElement.remove(o) : null;
+		if (i == null) {
+			return false;
+		}
+		boolean removed;
+		this.locks[i].lock();
+		try {
+			removed = this.queues.get(i).remove(o);
+			this.heads.set(i, this.queues.get(i).peek());
+		} finally {
+			this.locks[i].unlock();
+		}
+		if (removed) {
+			this.size.decrementAndGet();
+		}
+		return removed;
+	}
+
+	@Override
+	public boolean contains(final Object o) {
+		return o != null && this.queueOfElement.containsKey(o);
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < this.queues.size(); i++) {
+			this.locks[i].lock();
+			try {
+				for (T element : this.queues.get(i)) {
+					this.queueOfElement.remove(element);
+					this.size.decrementAndGet();
+				}
+				this.queues.get(i).clear();
+				this.heads.set(i, null);
+			} finally {
+				this.locks[i].unlock();
+			}
+		}
+	}
+
+	/**
+	 * Returns an iterator over a snapshot of the sub-queues. Elements are not returned in any particular order.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		List<T> snapshot = new ArrayList<>(this.size());
+		for (int i = 0; i < this.queues.size(); i++) {
+			this.locks[i].lock();
+			try {
+				snapshot.addAll(this.queues.get(i));
+			} finally {
+				this.locks[i].unlock();
+			}
+		}
+		Iterator<T> it = snapshot.iterator();
+		return new Iterator<T>() {
+			private T last;
+
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public T next() {
+				this.last = it.next();
+				return this.last;
+			}
+
+			@Override
+			public void remove() {
+				if (this.last == null) {
+					throw new IllegalStateException();
+				}
+				RelaxedConcurrentOpenQueue.this.remove(this.last);
+				this.last = null;
+			}
+		};
+	}
+}
@@ -0,0 +1,133 @@
+package ai.libs.jaicore.search.algorithms.standard.bestfirst;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free OPEN queue that keeps the elements in the exact order of the comparator. Elements are stored in a skip list; ties are broken by insertion order.
+ *
+ * @param <T>
+ *            Type of the elements
+ */
+public class StrictConcurrentOpenQueue<T> extends AConcurrentOpenQueue<T> {
+
+	private static class Entry<T> {
+		private final T element;
+		private final long sequenceNumber;
+
+		public Entry(final T element, final long sequenceNumber) {
+			super();
+			this.element = element;
+			this.sequenceNumber = sequenceNumber;
+		}
+	}
+
+	private final AtomicLong sequence = new AtomicLong();
+	private final ConcurrentSkipListSet<Entry<T>> entries;
+	private final Map<Object, Entry<T>> entryOfElement = new ConcurrentHashMap<>();
+
+	public StrictConcurrentOpenQueue(final Comparator<? super T> comparator) {
+		super(comparator);
+		this.entries = new ConcurrentSkipListSet<>((e1, e2) -> {
+			int comparison = comparator.compare(e1.element, e2.element);
+			return comparison != 0 ? comparison : Long.compare(e1.sequenceNumber, e2.sequenceNumber);
+		});
+	}
+
+	@Override
+	public boolean offer(final T e) {
+		this.checkOfferedElement(e);
+		Entry<T> entry = new Entry<>(e, this.sequence.getAndIncrement());
+		if (this.entryOfElement.putIfAbsent(e, entry) != null) {
+			throw this.getDuplicateElementException(e);
+		}
+		this.size.incrementAndGet(); // before the element becomes visible, so that the size never gets negative
+		this.entries.add(entry);
+		return true;
+	}
+
+	@Override
+	public T poll() {
+		Entry<T> entry = this.entries.pollFirst();
+		if (entry == null) {
+			return null;
+		}
+		this.entryOfElement.remove(entry.element, entry);
+		this.size.decrementAndGet();
+		return entry.element;
+	}
+
+	@Override
+	public T peek() {
+		while (true) {
+			Entry<T> entry = this.firstOrNull();
+			if (entry == null) {
+				return null;
+			}
+			if (this.entryOfElement.get(entry.element) == entry) {
+				return entry.element;
+			}
+			Thread.yield(); // the entry is being removed concurrently
+		}
+	}
+
+	private Entry<T> firstOrNull() {
+		Iterator<Entry<T>> it = this.entries.iterator();
+		return it.hasNext() ? it.next() : null;
+	}
+
+	@Override
+	public boolean remove(final Object o) {
+		Entry<T> entry = o != null ? this.entryOfElement.remove(o) : null;
+		if (entry != null && this.entries.remove(entry)) {
+			this.size.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean contains(final Object o) {
+		return o != null && this.entryOfElement.containsKey(o);
+	}
+
+	@Override
+	public void clear() {
+		T element;
+		do {
+			element = this.poll();
+		} while (element != null);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		Iterator<Entry<T>> it = this.entries.iterator();
+		return new Iterator<T>() {
+			private T last;
+
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public T next() {
+				this.last = it.next().element;
+				return this.last;
+			}
+
+			@Override
+			public void remove() {
+				if (this.last == null) {
+					throw new IllegalStateException();
+				}
+				StrictConcurrentOpenQueue.this.remove(this.last);
+				this.last = null;
+			}
+		};
+	}
+}
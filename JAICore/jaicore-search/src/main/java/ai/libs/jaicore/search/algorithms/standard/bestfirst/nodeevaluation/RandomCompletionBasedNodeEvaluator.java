@@ -9,8 +9,15 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -70,8 +77,8 @@ implements IPotentiallyGraphDependentPathEvaluator<T, A, V>, IPotentiallySolutio
 	private final int timeoutForSingleCompletionEvaluationInMS;
 
 	protected Set<List<T>> unsuccessfulPaths = Collections.synchronizedSet(new HashSet<>());
-	protected Set<ILabeledPath<T, A>> postedSolutions = new HashSet<>();
-	protected Map<List<T>, Integer> timesToComputeEvaluations = new HashMap<>();
+	protected Set<ILabeledPath<T, A>> postedSolutions = Collections.synchronizedSet(new HashSet<>());
+	protected Map<List<T>, Integer> timesToComputeEvaluations = new ConcurrentHashMap<>();
 
 	protected Map<List<T>, V> scoresOfSolutionPaths = new ConcurrentHashMap<>();
 	protected Map<ILabeledPath<T, A>, V> fValues = new ConcurrentHashMap<>();
@@ -96,9 +103,13 @@ implements IPotentiallyGraphDependentPathEvaluator<T, A, V>, IPotentiallySolutio
 	protected IUncertaintySource<T, A, V> uncertaintySource;
 	protected SolutionEventBus<T> eventBus = new SolutionEventBus<>();
 	private final List<Object> solutionListeners = new ArrayList<>();
-	private final Map<List<T>, V> bestKnownScoreUnderNodeInCompleterGraph = new HashMap<>();
+	private final Map<List<T>, V> bestKnownScoreUnderNodeInCompleterGraph = new ConcurrentHashMap<>();
 	private boolean visualizeSubSearch;
 
+	/* parallel evaluation of the samples of a node */
+	private int numberOfParallelSampleEvaluations = 1;
+	private ExecutorService sampleEvaluationPool;
+
 	public RandomCompletionBasedNodeEvaluator(final Random random, final int samples, final IObjectEvaluator<ILabeledPath<T, A>, V> solutionEvaluator) {
 		this(random, samples, samples, solutionEvaluator, -1, -1);
 	}
@@ -211,88 +222,14 @@ implements IPotentiallyGraphDependentPathEvaluator<T, A, V>, IPotentiallySolutio
 				/* draw random completions and determine best solution */
 				AtomicInteger drawnSamples = new AtomicInteger();
 				AtomicInteger successfulSamples = new AtomicInteger();
-				int countedExceptions = 0;
-				List<V> evaluations = new ArrayList<>();
+				List<V> evaluations = Collections.synchronizedList(new ArrayList<>());
 				List<ILabeledPath<T, A>> completedPaths = new ArrayList<>();
 				this.logger.debug("Now drawing {} successful examples but no more than {}", this.desiredNumberOfSuccesfulSamples, this.maxSamples);
-				while (successfulSamples.get() < this.desiredNumberOfSuccesfulSamples) {
-					this.logger.debug("Drawing next sample. {} samples have been drawn already, {} have been successful. Thread interruption state is: {}", drawnSamples, successfulSamples, Thread.currentThread().isInterrupted());
-					this.checkInterruption();
-					if (deadline > 0 && deadline < System.currentTimeMillis()) {
-						this.logger.info("Deadline for random completions hit! Finishing node evaluation.");
-						break;
-					}
-
-					/* determine time that is available to conduct next computation */
-					long remainingTimeForNodeEvaluation = deadline > 0 ? deadline - System.currentTimeMillis() : -1; // this value is positive or -1 due to the previous check
-					long timeoutForJob;
-					if (remainingTimeForNodeEvaluation >= 0 && this.timeoutForSingleCompletionEvaluationInMS >= 0) {
-						timeoutForJob = Math.min(remainingTimeForNodeEvaluation, this.timeoutForSingleCompletionEvaluationInMS);
-					} else if (remainingTimeForNodeEvaluation >= 0) {
-						timeoutForJob = remainingTimeForNodeEvaluation;
-					} else if (this.timeoutForSingleCompletionEvaluationInMS >= 0) {
-						timeoutForJob = this.timeoutForSingleCompletionEvaluationInMS;
-					} else {
-						timeoutForJob = -1;
-					}
-
-					/* complete the current path by the dfs-solution; we assume that this goes quickly */
-					ILabeledPath<T, A> tmpCompletedPath = null;
-					try {
-						this.logger.debug("Computed remaining time for evaluation: {}ms. Timeout for the job is hence {}ms. Now drawing new solution.", remainingTimeForNodeEvaluation, timeoutForJob);
-						tmpCompletedPath = this.getNextRandomPathCompletionForNode(n);
-					} catch (RCNEPathCompletionFailedException e1) {
-						if (e1.getCause() instanceof InterruptedException) {
-							throw (InterruptedException) e1.getCause();
-						}
-						this.logger.info("Stopping sampling.");
-						break;
-					}
-					final ILabeledPath<T, A> completedPath = tmpCompletedPath;
-					completedPaths.add(completedPath);
-					final int evaluationId = this.random.nextInt(1000000);
-					this.logger.debug("Identified complete path with {} nodes. Now evaluating the path; assigning evaluation id {}", completedPath.getNumberOfNodes(), evaluationId);
-
-					/* evaluate the found solution and update internal value model */
-					try {
-						this.logger.debug("Enqueuing timed computation with timeout {} and evaluation id {}", timeoutForJob, evaluationId);
-						TimedComputation.compute(() -> {
-							this.logger.debug("Starting timed computation with timeout {} and evaluation id {}", timeoutForJob, evaluationId);
-							drawnSamples.incrementAndGet();
-							V val = this.getFValueOfSolutionPath(completedPath);
-							this.logger.debug("Completed path evaluation with id {}. Score is {}", evaluationId, val);
-							successfulSamples.incrementAndGet();
-							this.eventBus.post(new RolloutEvent<>(ALGORITHM, n.path(), val));
-							if (val != null) {
-								evaluations.add(val);
-								this.updateMapOfBestScoreFoundSoFar(completedPath, val);
-							} else {
-								this.logger.warn("Got NULL result as score for evaluation with id {}", evaluationId);
-							}
-							return true;
-						}, new Timeout(timeoutForJob, TimeUnit.MILLISECONDS), "RCNE-timeout for evaluation with id " + evaluationId);
-					} catch (InterruptedException e) { // Interrupts are directly re-thrown
-						this.logger.debug("Path evaluation has been interrupted.");
-						throw e;
-					} catch (Exception ex) {
-						if (countedExceptions == this.maxSamples) {
-							this.logger.warn("Too many retry attempts, giving up. {} samples were drawn, {} were successful. Head of path is: {}.", drawnSamples, successfulSamples, path.getHead());
-							throw new PathEvaluationException("Error in the evaluation of a node!", ex);
-						} else {
-							countedExceptions++;
-							if (ex instanceof AlgorithmTimeoutedException) {
-								this.logger.debug("Candidate evaluation failed due to timeout (either for this candidate or for the whole node).");
-							} else {
-								if (LOG_FAILURES_AS_ERRORS) {
-									this.logger.error("Could not evaluate solution candidate ... retry another completion. {}", LoggerUtil.getExceptionInfo(ex));
-								} else {
-									this.logger.warn("Could not evaluate solution candidate ... retry another completion. {}", LoggerUtil.getExceptionInfo(ex));
-								}
-							}
-						}
-					} finally { // make sure that the abortion task is definitely killed
-						this.logger.debug("Finished process for sample {}.", drawnSamples);
-					}
+				int countedExceptions;
+				if (this.numberOfParallelSampleEvaluations > 1) {
+					countedExceptions = this.drawAndEvaluateSamplesInParallel(n, deadline, drawnSamples, successfulSamples, evaluations, completedPaths);
+				} else {
+					countedExceptions = this.drawAndEvaluateSamplesSequentially(n, deadline, drawnSamples, successfulSamples, evaluations, completedPaths);
 				}
 
 				/* the only reason why we have no score at this point is that all evaluations have failed with exception or were interrupted */
@@ -352,6 +289,213 @@ implements IPotentiallyGraphDependentPathEvaluator<T, A, V>, IPotentiallySolutio
 		return f;
 	}
 
+	private int drawAndEvaluateSamplesSequentially(final BackPointerPath<T, A, V> n, final long deadline, final AtomicInteger drawnSamples, final AtomicInteger successfulSamples, final List<V> evaluations,
+			final List<ILabeledPath<T, A>> completedPaths) throws InterruptedException, PathEvaluationException {
+		int countedExceptions = 0;
+		while (successfulSamples.get() < this.desiredNumberOfSuccesfulSamples) {
+			this.logger.debug("Drawing next sample. {} samples have been drawn already, {} have been successful. Thread interruption state is: {}", drawnSamples, successfulSamples, Thread.currentThread().isInterrupted());
+			this.checkInterruption();
+			if (deadline > 0 && deadline < System.currentTimeMillis()) {
+				this.logger.info("Deadline for random completions hit! Finishing node evaluation.");
+				break;
+			}
+
+			/* complete the current path by the dfs-solution; we assume that this goes quickly */
+			long timeoutForJob = this.getTimeoutForNextSample(deadline);
+			ILabeledPath<T, A> completedPath = this.drawNextSample(n);
+			if (completedPath == null) {
+				break;
+			}
+			completedPaths.add(completedPath);
+			final int evaluationId = this.random.nextInt(1000000);
+			this.logger.debug("Identified complete path with {} nodes. Now evaluating the path; assigning evaluation id {}", completedPath.getNumberOfNodes(), evaluationId);
+
+			/* evaluate the found solution and update internal value model */
+			try {
+				this.evaluateSample(n, completedPath, timeoutForJob, evaluationId, drawnSamples, successfulSamples, evaluations);
+			} catch (InterruptedException e) { // Interrupts are directly re-thrown
+				this.logger.debug("Path evaluation has been interrupted.");
+				throw e;
+			} catch (Exception ex) {
+				countedExceptions = this.registerFailedSample(ex, countedExceptions, n, drawnSamples, successfulSamples);
+			} finally { // make sure that the abortion task is definitely killed
+				this.logger.debug("Finished process for sample {}.", drawnSamples);
+			}
+		}
+		return countedExceptions;
+	}
+
+	/**
+	 * Draws the completions on the calling thread (the completer is not thread-safe anyway) but evaluates up to {@link #getNumberOfParallelSampleEvaluations()} of them at the same time. No more evaluations are started than
+	 * are needed to reach the desired number of successful samples, and evaluations that are still running once this number is reached (or the deadline for the node has passed) are canceled.
+	 */
+	private int drawAndEvaluateSamplesInParallel(final BackPointerPath<T, A, V> n, final long deadline, final AtomicInteger drawnSamples, final AtomicInteger successfulSamples, final List<V> evaluations,
+			final List<ILabeledPath<T, A>> completedPaths) throws InterruptedException, PathEvaluationException {
+		int countedExceptions = 0;
+		CompletionService<Boolean> completionService = new ExecutorCompletionService<>(this.getSampleEvaluationPool());
+		List<Future<Boolean>> runningEvaluations = new ArrayList<>();
+		boolean completionsExhausted = false;
+		try {
+			while (successfulSamples.get() < this.desiredNumberOfSuccesfulSamples) {
+				this.checkInterruption();
+				if (deadline > 0 && deadline < System.currentTimeMillis()) {
+					this.logger.info("Deadline for random completions hit! Finishing node evaluation.");
+					break;
+				}
+
+				/* fill the pool with new samples */
+				while (!completionsExhausted && runningEvaluations.size() < this.numberOfParallelSampleEvaluations && successfulSamples.get() + runningEvaluations.size() < this.desiredNumberOfSuccesfulSamples) {
+					long timeoutForJob = this.getTimeoutForNextSample(deadline);
+					ILabeledPath<T, A> completedPath = this.drawNextSample(n);
+					if (completedPath == null) {
+						completionsExhausted = true;
+						break;
+					}
+					completedPaths.add(completedPath);
+					final int evaluationId = this.random.nextInt(1000000);
+					this.logger.debug("Identified complete path with {} nodes. Submitting its evaluation with id {}", completedPath.getNumberOfNodes(), evaluationId);
+					runningEvaluations.add(completionService.submit(() -> this.evaluateSample(n, completedPath, timeoutForJob, evaluationId, drawnSamples, successfulSamples, evaluations)));
+				}
+				if (runningEvaluations.isEmpty()) {
+					break;
+				}
+
+				/* wait for the next evaluation to finish */
+				Future<Boolean> finishedEvaluation;
+				if (deadline > 0) {
+					finishedEvaluation = completionService.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+					if (finishedEvaluation == null) {
+						continue; // the deadline check at the beginning of the loop ends the sampling
+					}
+				} else {
+					finishedEvaluation = completionService.take();
+				}
+				runningEvaluations.remove(finishedEvaluation);
+				try {
+					finishedEvaluation.get();
+				} catch (ExecutionException ex) {
+					countedExceptions = this.registerFailedSample(ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex, countedExceptions, n, drawnSamples, successfulSamples);
+				}
+			}
+		} finally {
+			if (!runningEvaluations.isEmpty()) {
+				this.logger.debug("Canceling {} evaluations that are not needed anymore.", runningEvaluations.size());
+				runningEvaluations.forEach(f -> f.cancel(true));
+			}
+		}
+		return countedExceptions;
+	}
+
+	/**
+	 * @return The timeout for the evaluation of the next sample, which respects both the timeout for single evaluations and the deadline for the node (-1 if there is none of them).
+	 */
+	private long getTimeoutForNextSample(final long deadline) {
+		long remainingTimeForNodeEvaluation = deadline > 0 ? Math.max(0, deadline - System.currentTimeMillis()) : -1;
+		long timeoutForJob;
+		if (remainingTimeForNodeEvaluation >= 0 && this.timeoutForSingleCompletionEvaluationInMS >= 0) {
+			timeoutForJob = Math.min(remainingTimeForNodeEvaluation, this.timeoutForSingleCompletionEvaluationInMS);
+		} else if (remainingTimeForNodeEvaluation >= 0) {
+			timeoutForJob = remainingTimeForNodeEvaluation;
+		} else if (this.timeoutForSingleCompletionEvaluationInMS >= 0) {
+			timeoutForJob = this.timeoutForSingleCompletionEvaluationInMS;
+		} else {
+			timeoutForJob = -1;
+		}
+		this.logger.debug("Computed remaining time for evaluation: {}ms. Timeout for the job is hence {}ms.", remainingTimeForNodeEvaluation, timeoutForJob);
+		return timeoutForJob;
+	}
+
+	/**
+	 * @return The next random completion of the node or null if no further completion can be drawn
+	 */
+	private ILabeledPath<T, A> drawNextSample(final BackPointerPath<T, A, V> n) throws InterruptedException {
+		try {
+			this.logger.debug("Now drawing new solution.");
+			return this.getNextRandomPathCompletionForNode(n);
+		} catch (RCNEPathCompletionFailedException e1) {
+			if (e1.getCause() instanceof InterruptedException) {
+				throw (InterruptedException) e1.getCause();
+			}
+			this.logger.info("Stopping sampling.");
+			return null;
+		}
+	}
+
+	private boolean evaluateSample(final BackPointerPath<T, A, V> n, final ILabeledPath<T, A> completedPath, final long timeoutForJob, final int evaluationId, final AtomicInteger drawnSamples, final AtomicInteger successfulSamples,
+			final List<V> evaluations) throws ExecutionException, AlgorithmTimeoutedException, InterruptedException {
+		this.logger.debug("Enqueuing timed computation with timeout {} and evaluation id {}", timeoutForJob, evaluationId);
+		return TimedComputation.compute(() -> {
+			this.logger.debug("Starting timed computation with timeout {} and evaluation id {}", timeoutForJob, evaluationId);
+			drawnSamples.incrementAndGet();
+			V val = this.getFValueOfSolutionPath(completedPath);
+			this.logger.debug("Completed path evaluation with id {}. Score is {}", evaluationId, val);
+			successfulSamples.incrementAndGet();
+			this.eventBus.post(new RolloutEvent<>(ALGORITHM, n.path(), val));
+			if (val != null) {
+				evaluations.add(val);
+				this.updateMapOfBestScoreFoundSoFar(completedPath, val);
+			} else {
+				this.logger.warn("Got NULL result as score for evaluation with id {}", evaluationId);
+			}
+			return true;
+		}, new Timeout(timeoutForJob, TimeUnit.MILLISECONDS), "RCNE-timeout for evaluation with id " + evaluationId);
+	}
+
+	/**
+	 * @return The number of failed samples including the given one
+	 * @throws PathEvaluationException
+	 *             if too many samples have failed
+	 */
+	private int registerFailedSample(final Exception ex, final int countedExceptions, final ILabeledPath<T, A> path, final AtomicInteger drawnSamples, final AtomicInteger successfulSamples) throws PathEvaluationException {
+		if (countedExceptions == this.maxSamples) {
+			this.logger.warn("Too many retry attempts, giving up. {} samples were drawn, {} were successful. Head of path is: {}.", drawnSamples, successfulSamples, path.getHead());
+			throw new PathEvaluationException("Error in the evaluation of a node!", ex);
+		}
+		if (ex instanceof AlgorithmTimeoutedException) {
+			this.logger.debug("Candidate evaluation failed due to timeout (either for this candidate or for the whole node).");
+		} else {
+			if (LOG_FAILURES_AS_ERRORS) {
+				this.logger.error("Could not evaluate solution candidate ... retry another completion. {}", LoggerUtil.getExceptionInfo(ex));
+			} else {
+				this.logger.warn("Could not evaluate solution candidate ... retry another completion. {}", LoggerUtil.getExceptionInfo(ex));
+			}
+		}
+		return countedExceptions + 1;
+	}
+
+	private synchronized ExecutorService getSampleEvaluationPool() {
+		if (this.sampleEvaluationPool == null) {
+			AtomicInteger counter = new AtomicInteger(0);
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(this.numberOfParallelSampleEvaluations, this.numberOfParallelSampleEvaluations, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread t = new Thread(r);
+				t.setName("RCNE-sample-evaluator-" + counter.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			});
+			pool.allowCoreThreadTimeOut(true); // threads are released when no node is evaluated
+			this.sampleEvaluationPool = pool;
+		}
+		return this.sampleEvaluationPool;
+	}
+
+	public int getNumberOfParallelSampleEvaluations() {
+		return this.numberOfParallelSampleEvaluations;
+	}
+
+	/**
+	 * Sets the number of random completions of a node that are evaluated at the same time. The solution evaluator must support concurrent invocations if this is greater than 1. The default is 1, i.e., completions are
+	 * evaluated one after the other.
+	 */
+	public synchronized void setNumberOfParallelSampleEvaluations(final int numberOfParallelSampleEvaluations) {
+		if (numberOfParallelSampleEvaluations < 1) {
+			throw new IllegalArgumentException("The number of parallel sample evaluations must be positive but is " + numberOfParallelSampleEvaluations);
+		}
+		if (this.sampleEvaluationPool != null) {
+			throw new IllegalStateException("The number of parallel sample evaluations cannot be changed after the first parallel evaluation.");
+		}
+		this.numberOfParallelSampleEvaluations = numberOfParallelSampleEvaluations;
+	}
+
 	public ILabeledPath<T, A> getNextRandomPathCompletionForNode(final BackPointerPath<T, A, ?> n) throws InterruptedException, RCNEPathCompletionFailedException {
 
 		/* make sure that the completer has the path from the root to the node in question and that the f-values of the nodes above are added to the map */
@@ -403,7 +547,7 @@ implements IPotentiallyGraphDependentPathEvaluator<T, A, V>, IPotentiallySolutio
 
 
 
-	private void updateMapOfBestScoreFoundSoFar(final ILabeledPath<T, A> nodeInCompleterGraph, final V scoreOnOriginalBenchmark) {
+	private synchronized void updateMapOfBestScoreFoundSoFar(final ILabeledPath<T, A> nodeInCompleterGraph, final V scoreOnOriginalBenchmark) {
 		V bestKnownScore = this.bestKnownScoreUnderNodeInCompleterGraph.get(nodeInCompleterGraph.getNodes());
 		if (bestKnownScore == null || scoreOnOriginalBenchmark.compareTo(bestKnownScore) < 0) {
 			this.logger.debug("Updating best score of path, because score {} is better than previously observed best score {}", scoreOnOriginalBenchmark, bestKnownScore);
@@ -542,6 +686,11 @@ implements IPotentiallyGraphDependentPathEvaluator<T, A, V>, IPotentiallySolutio
 	public void cancelActiveTasks() {
 		this.logger.info("Receive cancel signal. Canceling the completer.");
 		this.completer.cancel();
+		synchronized (this) {
+			if (this.sampleEvaluationPool != null) {
+				this.sampleEvaluationPool.shutdownNow();
+			}
+		}
 	}
 
 	@Override
@@ -31,6 +31,7 @@ public class GraphSearchProblemInputToGraphSearchWithSubpathEvaluationInputTrans
 	private final int numSamples;
 	private final int timeoutForSingleCompletionEvaluationInMS;
 	private final int timeoutForNodeEvaluationInMS;
+	private int numberOfParallelSampleEvaluations = 1;
 
 	/**
 	 *
@@ -76,6 +77,7 @@ public class GraphSearchProblemInputToGraphSearchWithSubpathEvaluationInputTrans
 		IPathEvaluator<N, A, V> mainEvaluator;
 		RandomCompletionBasedNodeEvaluator<N, A, V> rdfsNodeEvaluator = new RandomCompletionBasedNodeEvaluator<>(this.random, this.numSamples, this.numSamples * 2, cProblem.getPathEvaluator(),
 				this.timeoutForSingleCompletionEvaluationInMS, this.timeoutForNodeEvaluationInMS, this.prioritizedNodesInRandomCompletion);
+		rdfsNodeEvaluator.setNumberOfParallelSampleEvaluations(this.numberOfParallelSampleEvaluations);
 
 		/* first check whether we have a covering node evaluator */
 		if (this.coveringNodeEvaluator != null) {
@@ -93,6 +95,17 @@ public class GraphSearchProblemInputToGraphSearchWithSubpathEvaluationInputTrans
 		return super.encodeProblem(problem);
 	}
 
+	public int getNumberOfParallelSampleEvaluations() {
+		return this.numberOfParallelSampleEvaluations;
+	}
+
+	/**
+	 * @param numberOfParallelSampleEvaluations The number of random completions of a node that are evaluated at the same time (the path evaluator must then support concurrent invocations)
+	 */
+	public void setNumberOfParallelSampleEvaluations(final int numberOfParallelSampleEvaluations) {
+		this.numberOfParallelSampleEvaluations = numberOfParallelSampleEvaluations;
+	}
+
 	public IPathEvaluator<N, A, V> getCoveringNodeEvaluator() {
 		return this.coveringNodeEvaluator;
 	}
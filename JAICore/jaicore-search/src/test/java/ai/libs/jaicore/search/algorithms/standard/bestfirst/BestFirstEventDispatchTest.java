@@ -0,0 +1,110 @@
+package ai.libs.jaicore.search.algorithms.standard.bestfirst;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.api4.java.algorithm.events.IAlgorithmEvent;
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.basic.algorithm.ISelectiveEventListener;
+import ai.libs.jaicore.graphvisualizer.events.graph.GraphEvent;
+import ai.libs.jaicore.graphvisualizer.events.graph.NodeAddedEvent;
+import ai.libs.jaicore.graphvisualizer.events.graph.NodeTypeSwitchEvent;
+import ai.libs.jaicore.problems.nqueens.NQueensProblem;
+import ai.libs.jaicore.search.exampleproblems.nqueens.NQueensToGraphSearchReducer;
+import ai.libs.jaicore.search.exampleproblems.nqueens.QueenNode;
+import ai.libs.jaicore.search.problemtransformers.GraphSearchProblemInputToGraphSearchWithSubpathEvaluationViaUninformedness;
+
+public class BestFirstEventDispatchTest extends ATest {
+
+	private static class GraphEventRecorder {
+		protected final List<GraphEvent> events = new ArrayList<>();
+
+		@Subscribe
+		public void receiveGraphEvent(final GraphEvent e) {
+			this.events.add(e);
+		}
+
+		public long count(final Class<?> eventType) {
+			return this.events.stream().filter(eventType::isInstance).count();
+		}
+	}
+
+	private static class NodeAddedEventRecorder extends GraphEventRecorder implements ISelectiveEventListener {
+
+		@Override
+		public boolean isInterestedIn(final Class<?> eventType) {
+			return NodeAddedEvent.class.isAssignableFrom(eventType);
+		}
+	}
+
+	private StandardBestFirst<QueenNode, String, Double> getSearch() {
+		return new StandardBestFirst<>(new GraphSearchProblemInputToGraphSearchWithSubpathEvaluationViaUninformedness<QueenNode, String>().encodeProblem(new NQueensToGraphSearchReducer().encodeProblem(new NQueensProblem(6))));
+	}
+
+	@Test
+	public void testThatListenersAreDetectedBySubscribedEventType() {
+		StandardBestFirst<QueenNode, String, Double> bf = this.getSearch();
+		assertFalse(bf.hasListenerFor(NodeAddedEvent.class));
+		bf.registerListener(new Object() {
+			@Subscribe
+			public void receive(final NodeTypeSwitchEvent<?> e) {
+				/* not relevant here */
+			}
+		});
+		assertFalse(bf.hasListenerFor(NodeAddedEvent.class));
+		assertTrue(bf.hasListenerFor(NodeTypeSwitchEvent.class));
+		bf.registerListener(new Object() {
+			@Subscribe
+			public void receive(final IAlgorithmEvent e) {
+				/* not relevant here */
+			}
+		});
+		assertTrue(bf.hasListenerFor(NodeAddedEvent.class));
+
+		/* a listener for dead events must receive the events nobody else listens to */
+		StandardBestFirst<QueenNode, String, Double> bf2 = this.getSearch();
+		bf2.registerListener(new Object() {
+			@Subscribe
+			public void receive(final DeadEvent e) {
+				/* not relevant here */
+			}
+		});
+		assertTrue(bf2.hasListenerFor(NodeAddedEvent.class));
+	}
+
+	@Test
+	public void testThatOnlyEventsOfInterestAreCreated() throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+
+		/* without listeners, the search runs headless and finds all solutions */
+		StandardBestFirst<QueenNode, String, Double> headless = this.getSearch();
+		headless.call();
+		assertEquals(4, headless.getSolutionQueue().size()); // the 6-queens problem has 4 solutions
+
+		/* a selective listener only receives the events it is interested in, and as many of them as a listener for all graph events */
+		StandardBestFirst<QueenNode, String, Double> bf = this.getSearch();
+		GraphEventRecorder allEvents = new GraphEventRecorder();
+		NodeAddedEventRecorder nodeAddedEvents = new NodeAddedEventRecorder();
+		bf.registerListener(nodeAddedEvents);
+		bf.call();
+		assertTrue(nodeAddedEvents.count(NodeAddedEvent.class) > 0);
+		assertEquals(nodeAddedEvents.events.size(), nodeAddedEvents.count(NodeAddedEvent.class));
+
+		StandardBestFirst<QueenNode, String, Double> bf2 = this.getSearch();
+		bf2.registerListener(allEvents);
+		bf2.call();
+		assertEquals(nodeAddedEvents.count(NodeAddedEvent.class), allEvents.count(NodeAddedEvent.class));
+		assertTrue(allEvents.count(NodeTypeSwitchEvent.class) > 0);
+	}
+}
@@ -0,0 +1,168 @@
+package ai.libs.jaicore.search.algorithms.standard.bestfirst;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.aeonbits.owner.ConfigFactory;
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.problems.nqueens.NQueensProblem;
+import ai.libs.jaicore.search.exampleproblems.nqueens.NQueensToGraphSearchReducer;
+import ai.libs.jaicore.search.exampleproblems.nqueens.QueenNode;
+import ai.libs.jaicore.search.probleminputs.GraphSearchWithSubpathEvaluationsInput;
+import ai.libs.jaicore.search.problemtransformers.GraphSearchProblemInputToGraphSearchWithSubpathEvaluationViaUninformedness;
+
+public class ConcurrentOpenQueueTest extends ATest {
+
+	private static final int NUM_THREADS = 8;
+	private static final int ELEMENTS_PER_THREAD = 10000;
+
+	/* the elements are distinct objects whose order is given by their value */
+	private static class Element {
+		private final double value;
+
+		public Element(final double value) {
+			this.value = value;
+		}
+	}
+
+	private static final Comparator<Element> COMPARATOR = (e1, e2) -> Double.compare(e1.value, e2.value);
+
+	public static Stream<Arguments> getQueues() {
+		return Stream.of(Arguments.of("strict", new StrictConcurrentOpenQueue<>(COMPARATOR)), Arguments.of("relaxed with one sub-queue", new RelaxedConcurrentOpenQueue<>(COMPARATOR, 1)),
+				Arguments.of("relaxed", new RelaxedConcurrentOpenQueue<>(COMPARATOR, 2 * NUM_THREADS)));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("getQueues")
+	public void testThatConcurrentlyInsertedElementsArePolledExactlyOnce(final String name, final AConcurrentOpenQueue<Element> queue) throws Exception {
+		List<Element> elements = new ArrayList<>();
+		Random random = new Random(0);
+		for (int i = 0; i < NUM_THREADS * ELEMENTS_PER_THREAD; i++) {
+			elements.add(new Element(random.nextInt(1000)));
+		}
+
+		/* insert concurrently */
+		ExecutorService pool = Executors.newFixedThreadPool(NUM_THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < NUM_THREADS; t++) {
+				List<Element> share = elements.subList(t * ELEMENTS_PER_THREAD, (t + 1) * ELEMENTS_PER_THREAD);
+				futures.add(pool.submit(() -> share.forEach(queue::add)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			assertEquals(elements.size(), queue.size());
+			assertTrue(elements.stream().allMatch(queue::contains));
+
+			/* poll concurrently */
+			List<Future<List<Element>>> pollFutures = new ArrayList<>();
+			for (int t = 0; t < NUM_THREADS; t++) {
+				pollFutures.add(pool.submit(() -> {
+					List<Element> polled = new ArrayList<>();
+					Element e;
+					while ((e = queue.poll()) != null) {
+						polled.add(e);
+					}
+					return polled;
+				}));
+			}
+			Set<Element> polled = new HashSet<>();
+			int numPolled = 0;
+			for (Future<List<Element>> future : pollFutures) {
+				List<Element> polledByThread = future.get();
+				polled.addAll(polledByThread);
+				numPolled += polledByThread.size();
+			}
+			assertEquals(elements.size(), numPolled);
+			assertEquals(new HashSet<>(elements), polled);
+			assertTrue(queue.isEmpty());
+			assertNull(queue.peek());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testThatStrictQueueReturnsElementsInOrder() {
+		StrictConcurrentOpenQueue<Element> queue = new StrictConcurrentOpenQueue<>(COMPARATOR);
+		Random random = new Random(0);
+		List<Element> elements = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Element e = new Element(random.nextInt(100));
+			elements.add(e);
+			queue.add(e);
+		}
+
+		/* remove some elements, which must then not be returned anymore */
+		for (int i = 0; i < elements.size(); i += 10) {
+			assertTrue(queue.remove(elements.get(i)));
+			assertFalse(queue.contains(elements.get(i)));
+			assertFalse(queue.remove(elements.get(i)));
+		}
+		assertEquals(900, queue.size());
+		double last = Double.NEGATIVE_INFINITY;
+		while (!queue.isEmpty()) {
+			Element peeked = queue.peek();
+			Element polled = queue.poll();
+			assertTrue(peeked == polled);
+			assertTrue(polled.value >= last);
+			last = polled.value;
+		}
+	}
+
+	@Test
+	public void testThatRelaxedQueueWithOneSubQueueIsStrict() {
+		RelaxedConcurrentOpenQueue<Element> queue = new RelaxedConcurrentOpenQueue<>(COMPARATOR, 1);
+		Random random = new Random(0);
+		for (int i = 0; i < 1000; i++) {
+			queue.add(new Element(random.nextDouble()));
+		}
+		double last = Double.NEGATIVE_INFINITY;
+		while (!queue.isEmpty()) {
+			Element polled = queue.poll();
+			assertTrue(polled.value >= last);
+			last = polled.value;
+		}
+	}
+
+	public static Stream<Arguments> getRelaxations() {
+		return Stream.of(Arguments.of(0), Arguments.of(2));
+	}
+
+	@ParameterizedTest(name = "relaxation {0}")
+	@MethodSource("getRelaxations")
+	public void testThatBestFirstWithConcurrentOpenFindsAllSolutions(final int relaxation) throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+		GraphSearchWithSubpathEvaluationsInput<QueenNode, String, Double> problem = new GraphSearchProblemInputToGraphSearchWithSubpathEvaluationViaUninformedness<QueenNode, String>()
+				.encodeProblem(new NQueensToGraphSearchReducer().encodeProblem(new NQueensProblem(7)));
+		IBestFirstConfig config = ConfigFactory.create(IBestFirstConfig.class);
+		config.setProperty(IBestFirstConfig.K_CONCURRENT_OPEN, "true");
+		config.setProperty(IBestFirstConfig.K_OPEN_RELAXATION, String.valueOf(relaxation));
+		StandardBestFirst<QueenNode, String, Double> bf = new StandardBestFirst<>(config, problem);
+		bf.setNumCPUs(4);
+		bf.call();
+		assertTrue(bf.getOpen().isEmpty());
+		assertEquals(40, bf.getSolutionQueue().size()); // the 7-queens problem has 40 solutions
+	}
+}
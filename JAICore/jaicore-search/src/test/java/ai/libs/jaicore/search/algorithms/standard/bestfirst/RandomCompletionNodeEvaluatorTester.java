@@ -258,6 +258,45 @@ public class RandomCompletionNodeEvaluatorTester extends TimeAwareNodeEvaluatorT
 		assertEquals(numRepetitions, observedSolutions.get());
 	}
 
+	@Test
+	public void testThatSamplesAreEvaluatedInParallel() throws AlgorithmTimeoutedException, AlgorithmExecutionCanceledException, InterruptedException, AlgorithmException, PathEvaluationException {
+		final int numSamples = 4;
+		final int evaluationTimeInMS = 500;
+		StandardBestFirst<EnhancedTTSPState, String, Double> bf = this.getBF(5, node -> 0.0);
+		bf.initGraph();
+		BackPointerPath<EnhancedTTSPState, String, ?> root = bf.getOpen().get(0);
+
+		/* the evaluator memorizes the largest number of evaluations that have been running at the same time */
+		AtomicInteger runningEvaluations = new AtomicInteger(0);
+		AtomicInteger maxRunningEvaluations = new AtomicInteger(0);
+		RandomCompletionBasedNodeEvaluator<EnhancedTTSPState, String, Double> ne = this.getNodeEvaluator(5, n -> {
+			maxRunningEvaluations.accumulateAndGet(runningEvaluations.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(evaluationTimeInMS);
+			} finally {
+				runningEvaluations.decrementAndGet();
+			}
+			return n.getHead().getTime();
+		}, 0, numSamples, numSamples, -1);
+		ne.setNumberOfParallelSampleEvaluations(numSamples);
+		AtomicInteger observedSolutions = new AtomicInteger(0);
+		ne.registerSolutionListener(new Object() {
+
+			@Subscribe
+			public void receiveSolutionEvent(final EvaluatedSearchSolutionCandidateFoundEvent<?, ?, ?> e) {
+				observedSolutions.incrementAndGet();
+			}
+		});
+
+		/* start evaluation */
+		long start = System.currentTimeMillis();
+		assertTrue(ne.evaluate(root) >= 0);
+		long runtime = System.currentTimeMillis() - start;
+		assertEquals(numSamples, observedSolutions.get());
+		assertTrue("Only " + maxRunningEvaluations.get() + " evaluations have been running at the same time.", maxRunningEvaluations.get() > 1);
+		assertTrue("Evaluation took " + runtime + "ms.", runtime < numSamples * evaluationTimeInMS);
+	}
+
 	public RandomCompletionBasedNodeEvaluator<EnhancedTTSPState, String, Double> getNodeEvaluator(final int problemDifficulty, final IObjectEvaluator<ILabeledPath<EnhancedTTSPState, String>, Double> oe, final int seed, final int numSamples,
 			final int maxSamples, final int timeoutForNodeEvaluationInMs) {
 
@@ -0,0 +1,142 @@
+package ai.libs.jaicore.search.algorithms.standard.mcts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.api4.java.algorithm.events.IAlgorithmEvent;
+import org.api4.java.algorithm.events.result.ISolutionCandidateFoundEvent;
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.api4.java.datastructure.graph.implicit.IGraphGenerator;
+import org.api4.java.datastructure.graph.implicit.INewNodeDescription;
+import org.api4.java.datastructure.graph.implicit.IRootGenerator;
+import org.api4.java.datastructure.graph.implicit.ISingleRootGenerator;
+import org.api4.java.datastructure.graph.implicit.ISuccessorGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.problems.nqueens.NQueensProblem;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.GraphBasedMDP;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTS;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTSFactory;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.brue.BRUEFactory;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.thompson.DNGMCTSFactory;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.uct.UCTFactory;
+import ai.libs.jaicore.search.exampleproblems.nqueens.NQueensToGraphSearchReducer;
+import ai.libs.jaicore.search.exampleproblems.nqueens.QueenNode;
+import ai.libs.jaicore.search.model.NodeExpansionDescription;
+import ai.libs.jaicore.search.model.other.AgnosticPathEvaluator;
+import ai.libs.jaicore.search.model.other.SearchGraphPath;
+import ai.libs.jaicore.search.probleminputs.GraphSearchWithPathEvaluationsInput;
+import ai.libs.jaicore.test.MediumTest;
+
+public class MemoryBoundedMCTSTest extends ATest {
+
+	private static final int MAX_NODES_IN_MEMORY = 20;
+	private static final int MAX_BACK_POINTERS = 100;
+	private static final int TARGET_SUM = 10;
+
+	public static Stream<Arguments> getFactories() {
+		return Stream.of(Arguments.of("UCT", new UCTFactory<QueenNode, String>()), Arguments.of("DNG", new DNGMCTSFactory<QueenNode, String>()), Arguments.of("BRUE", new BRUEFactory<QueenNode, String>()));
+	}
+
+	private GraphSearchWithPathEvaluationsInput<QueenNode, String, Double> getProblem(final int numQueens) {
+		return new GraphSearchWithPathEvaluationsInput<>(new NQueensToGraphSearchReducer().encodeProblem(new NQueensProblem(numQueens)), new AgnosticPathEvaluator<>());
+	}
+
+	private static int getSum(final List<Integer> summands) {
+		return summands.stream().mapToInt(Integer::intValue).sum();
+	}
+
+	/**
+	 * A tree whose nodes are the sequences of the summands 1 and 2 that do not exceed the target sum. Sequences with the same sum are different nodes but represent the same state.
+	 */
+	private GraphSearchWithPathEvaluationsInput<List<Integer>, Integer, Double> getSummationProblem() {
+		IGraphGenerator<List<Integer>, Integer> graphGenerator = new IGraphGenerator<List<Integer>, Integer>() {
+
+			@Override
+			public IRootGenerator<List<Integer>> getRootGenerator() {
+				return (ISingleRootGenerator<List<Integer>>) ArrayList::new;
+			}
+
+			@Override
+			public ISuccessorGenerator<List<Integer>, Integer> getSuccessorGenerator() {
+				return n -> IntStream.of(1, 2).filter(i -> getSum(n) + i <= TARGET_SUM).<INewNodeDescription<List<Integer>, Integer>>mapToObj(i -> {
+					List<Integer> successor = new ArrayList<>(n);
+					successor.add(i);
+					return new NodeExpansionDescription<>(successor, i);
+				}).collect(Collectors.toList());
+			}
+		};
+		return new GraphSearchWithPathEvaluationsInput<>(graphGenerator, p -> getSum(p.getHead()) == TARGET_SUM, new AgnosticPathEvaluator<>());
+	}
+
+	@MediumTest
+	@ParameterizedTest(name = "Number of nodes in memory stays within the bound with {0}")
+	@MethodSource("getFactories")
+	public void testThatNumberOfNodesInMemoryStaysWithinBound(final String name, final MCTSFactory<QueenNode, String, ?> factory)
+			throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		GraphBasedMDP<QueenNode, String> mdp = new GraphBasedMDP<>(this.getProblem(8));
+		mdp.setMaxNumberOfBackPointers(MAX_BACK_POINTERS);
+		MCTS<QueenNode, String> mcts = factory.withMaxIterations(500).withTabooExhaustedNodes(true).withMaxNumberOfNodesInMemory(MAX_NODES_IN_MEMORY).getAlgorithm(mdp);
+		while (mcts.hasNext()) {
+			mcts.nextWithException();
+			assertTrue(mcts.getNumberOfNodesInMemory() <= MAX_NODES_IN_MEMORY, "There are " + mcts.getNumberOfNodesInMemory() + " nodes in memory.");
+			assertTrue(mdp.getNumberOfBackPointers() <= MAX_BACK_POINTERS, "There are " + mdp.getNumberOfBackPointers() + " back pointers in memory.");
+		}
+		assertEquals(500, mcts.getNumberOfRealizedPlayouts());
+		assertTrue(mcts.getNumberOfEvictedNodes() > 0);
+	}
+
+	@Test
+	@MediumTest
+	public void testThatNumberOfNodesInMemoryStaysWithinBoundWithParallelWorkers() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		MCTS<QueenNode, String> mcts = new UCTFactory<QueenNode, String>().withMaxIterations(500).withTabooExhaustedNodes(true).withNumWorkers(4).withMaxNumberOfNodesInMemory(MAX_NODES_IN_MEMORY).getAlgorithm(new GraphBasedMDP<>(this.getProblem(8)));
+		mcts.call();
+		assertEquals(500, mcts.getNumberOfRealizedPlayouts());
+		assertTrue(mcts.getNumberOfNodesInMemory() <= MAX_NODES_IN_MEMORY, "There are " + mcts.getNumberOfNodesInMemory() + " nodes in memory.");
+		assertTrue(mcts.getNumberOfEvictedNodes() > 0);
+	}
+
+	@Test
+	@MediumTest
+	public void testThatAllSolutionsAreFoundDespiteEviction() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		UCTFactory<QueenNode, String> factory = new UCTFactory<QueenNode, String>().withTabooExhaustedNodes(true).withMaxNumberOfNodesInMemory(10);
+		MCTSPathSearch<GraphSearchWithPathEvaluationsInput<QueenNode, String, Double>, QueenNode, String> search = new MCTSPathSearch<>(this.getProblem(6), factory);
+		Set<List<String>> solutions = new HashSet<>();
+		while (search.hasNext()) {
+			IAlgorithmEvent e = search.nextWithException();
+			if (e instanceof ISolutionCandidateFoundEvent) {
+				solutions.add(((SearchGraphPath<?, String>) ((ISolutionCandidateFoundEvent<?>) e).getSolutionCandidate()).getArcs());
+			}
+		}
+		assertEquals(4, solutions.size());
+	}
+
+	@Test
+	@MediumTest
+	public void testThatTranspositionsAreMerged() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+
+		/* the sum determines the applicable actions, the successors, and the score, so sequences with the same sum are identical states */
+		Function<List<Integer>, Object> sumKey = MemoryBoundedMCTSTest::getSum;
+		MCTS<List<Integer>, Integer> mctsWithoutTranspositions = new UCTFactory<List<Integer>, Integer>().withTabooExhaustedNodes(true).getAlgorithm(new GraphBasedMDP<>(this.getSummationProblem()));
+		mctsWithoutTranspositions.call();
+		MCTS<List<Integer>, Integer> mctsWithTranspositions = new UCTFactory<List<Integer>, Integer>().withTabooExhaustedNodes(true).withTranspositionKeyFunction(sumKey).getAlgorithm(new GraphBasedMDP<>(this.getSummationProblem()));
+		mctsWithTranspositions.call();
+		assertTrue(mctsWithTranspositions.getNumberOfNodesInMemory() <= TARGET_SUM + 1, "There are " + mctsWithTranspositions.getNumberOfNodesInMemory() + " nodes in memory.");
+		assertTrue(mctsWithTranspositions.getNumberOfNodesInMemory() < mctsWithoutTranspositions.getNumberOfNodesInMemory());
+	}
+}
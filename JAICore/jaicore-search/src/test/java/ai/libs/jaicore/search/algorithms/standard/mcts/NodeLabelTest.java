@@ -0,0 +1,71 @@
+package ai.libs.jaicore.search.algorithms.standard.mcts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.NodeLabel;
+
+public class NodeLabelTest extends ATest {
+
+	@Test
+	public void testThatStatisticsSurviveGrowthOfSlots() {
+		NodeLabel<Integer> label = new NodeLabel<>();
+		final int numActions = 100;
+		for (int a = 0; a < numActions; a++) {
+			for (int i = 0; i <= a; i++) {
+				label.addRewardForAction(a, 0.5);
+				label.addPull(a);
+				label.addVisit();
+			}
+		}
+		assertEquals(numActions, label.getNumberOfSlots());
+		assertEquals(numActions * (numActions + 1) / 2, label.getVisits());
+		for (int a = 0; a < numActions; a++) {
+			int slot = label.getSlot(a);
+			assertEquals(a, (int) label.getActionOfSlot(slot));
+			assertEquals(a + 1, label.getNumPulls(a));
+			assertEquals(a + 1, label.getNumPullsOfSlot(slot));
+			assertEquals(0.5 * (a + 1), label.getAccumulatedRewardsOfSlot(slot), 1E-8);
+			assertEquals(0.5, label.getAverageRewardOfAction(a), 1E-8);
+		}
+		Map<Integer, Integer> choices = label.getNumberOfChoicesPerAction();
+		assertEquals(numActions, choices.size());
+		assertEquals(numActions, (int) choices.get(numActions - 1));
+	}
+
+	@Test
+	public void testVirginity() {
+		NodeLabel<String> label = new NodeLabel<>();
+		assertTrue(label.isVirgin("a"));
+		assertEquals(-1, label.getSlot("a"));
+
+		/* rewards alone do not make an action non-virgin, but pulls do */
+		label.addRewardForAction("a", 1.0);
+		assertTrue(label.isVirgin("a"));
+		assertTrue(label.getNumberOfChoicesPerAction().isEmpty());
+		label.addPull("a");
+		assertFalse(label.isVirgin("a"));
+		assertEquals(1, (int) label.getNumberOfChoicesPerAction().get("a"));
+	}
+
+	@Test
+	public void testValues() {
+		NodeLabel<String> label = new NodeLabel<>();
+		label.addPull("a");
+		assertFalse(label.hasValue("a"));
+		assertThrows(IllegalArgumentException.class, () -> label.getValue("a"));
+		label.setValue("a", Double.NaN);
+		label.setValue("b", 2.0);
+		assertTrue(label.hasValue("a"));
+		assertTrue(Double.isNaN(label.getValue("a")));
+		assertEquals(2.0, label.getValue("b"), 1E-8);
+		assertTrue(label.isVirgin("b"));
+	}
+}
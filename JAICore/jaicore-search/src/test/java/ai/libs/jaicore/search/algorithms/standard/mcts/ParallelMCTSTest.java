@@ -0,0 +1,125 @@
+package ai.libs.jaicore.search.algorithms.standard.mcts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.api4.java.algorithm.events.IAlgorithmEvent;
+import org.api4.java.algorithm.events.result.ISolutionCandidateFoundEvent;
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.google.common.eventbus.Subscribe;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.problems.nqueens.NQueensProblem;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.GraphBasedMDP;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTS;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTSFactory;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.MCTSIterationCompletedEvent;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.NodeLabel;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.comparison.PlackettLuceMCTSFactory;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.comparison.preferencekernel.bootstrapping.BootstrappingPreferenceKernel;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.comparison.preferencekernel.bootstrapping.DefaultBootsrapConfigurator;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.thompson.DNGMCTSFactory;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.uct.UCBPolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.uct.UCTFactory;
+import ai.libs.jaicore.search.model.other.AgnosticPathEvaluator;
+import ai.libs.jaicore.search.model.other.SearchGraphPath;
+import ai.libs.jaicore.search.exampleproblems.nqueens.NQueensToGraphSearchReducer;
+import ai.libs.jaicore.search.exampleproblems.nqueens.QueenNode;
+import ai.libs.jaicore.search.probleminputs.GraphSearchWithPathEvaluationsInput;
+import ai.libs.jaicore.test.MediumTest;
+
+public class ParallelMCTSTest extends ATest {
+
+	private static final int NUM_QUEENS = 6;
+	private static final int NUM_SOLUTIONS = 4;
+	private static final int NUM_WORKERS = 4;
+
+	public static Stream<Arguments> getFactories() {
+		PlackettLuceMCTSFactory<QueenNode, String> plFactory = new PlackettLuceMCTSFactory<>();
+		plFactory.withPreferenceKernel(new BootstrappingPreferenceKernel<>(DescriptiveStatistics::getMean, new DefaultBootsrapConfigurator(), 10));
+		return Stream.of(Arguments.of("UCT", new UCTFactory<QueenNode, String>()), Arguments.of("DNG", new DNGMCTSFactory<QueenNode, String>()), Arguments.of("PL", plFactory));
+	}
+
+	private GraphSearchWithPathEvaluationsInput<QueenNode, String, Double> getProblem() {
+		return new GraphSearchWithPathEvaluationsInput<>(new NQueensToGraphSearchReducer().encodeProblem(new NQueensProblem(NUM_QUEENS)), new AgnosticPathEvaluator<>());
+	}
+
+	@MediumTest
+	@ParameterizedTest(name = "Parallel MCTS finds all solutions with {0}")
+	@MethodSource("getFactories")
+	public void testThatAllSolutionsAreFound(final String name, final MCTSFactory<QueenNode, String, ?> factory)
+			throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		factory.withTabooExhaustedNodes(true).withNumWorkers(NUM_WORKERS);
+		MCTSPathSearch<GraphSearchWithPathEvaluationsInput<QueenNode, String, Double>, QueenNode, String> search = new MCTSPathSearch<>(this.getProblem(), factory);
+		Set<List<String>> solutions = new HashSet<>();
+		while (search.hasNext()) {
+			IAlgorithmEvent e = search.nextWithException();
+			if (e instanceof ISolutionCandidateFoundEvent) {
+				SearchGraphPath<?, String> solution = (SearchGraphPath<?, String>) ((ISolutionCandidateFoundEvent<?>) e).getSolutionCandidate();
+				assertTrue(solutions.add(solution.getArcs()), "Solution " + solution.getArcs() + " has been returned twice.");
+			}
+		}
+		assertEquals(NUM_SOLUTIONS, solutions.size());
+	}
+
+	@MediumTest
+	@ParameterizedTest(name = "Parallel MCTS respects the number of iterations with {0}")
+	@MethodSource("getFactories")
+	public void testThatNumberOfPlayoutsIsRespected(final String name, final MCTSFactory<QueenNode, String, ?> factory)
+			throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		final int iterations = 200;
+		MCTS<QueenNode, String> mcts = factory.withMaxIterations(iterations).withNumWorkers(NUM_WORKERS).getAlgorithm(new GraphBasedMDP<>(this.getProblem()));
+		assertEquals(NUM_WORKERS, mcts.getNumCPUs());
+		AtomicInteger playoutEvents = new AtomicInteger();
+		mcts.registerListener(new Object() {
+
+			@Subscribe
+			public void receiveEvent(final MCTSIterationCompletedEvent<?, ?, ?> event) {
+				playoutEvents.incrementAndGet();
+			}
+		});
+		mcts.call();
+		assertEquals(iterations, mcts.getNumberOfRealizedPlayouts());
+		assertEquals(iterations, playoutEvents.get());
+	}
+
+	@Test
+	public void testThatVirtualLossIsRemovedWithoutTrace() {
+		UCBPolicy<String, String> policy = new UCBPolicy<>(1.0, false);
+		policy.updatePath(new SearchGraphPath<>(Arrays.asList("r", "a"), Arrays.asList("toA")), Arrays.asList(0.2));
+		policy.updatePath(new SearchGraphPath<>(Arrays.asList("r", "b"), Arrays.asList("toB")), Arrays.asList(0.6));
+		double scoreBefore = policy.getScore("r", "toA");
+		NodeLabel<String> label = policy.getLabelOfNode("r");
+
+		/* the virtual loss of a minimizing policy is the highest observed score and makes the action less attractive */
+		assertTrue(policy.addVirtualLoss("r", "toA"));
+		assertEquals(2, label.getNumPulls("toA"));
+		assertEquals(0.8, label.getAccumulatedRewardsOfAction("toA"), 1E-8);
+		assertTrue(policy.getScore("r", "toA") > scoreBefore);
+
+		policy.removeVirtualLoss("r", "toA");
+		assertEquals(1, label.getNumPulls("toA"));
+		assertEquals(2, label.getVisits());
+		assertEquals(0, label.getNumberOfVirtualLosses("toA"));
+		assertEquals(scoreBefore, policy.getScore("r", "toA"), 1E-8);
+
+		/* no virtual loss can be applied in nodes without observations */
+		assertFalse(policy.addVirtualLoss("a", "toC"));
+	}
+}
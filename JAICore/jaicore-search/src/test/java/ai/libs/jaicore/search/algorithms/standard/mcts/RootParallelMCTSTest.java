@@ -0,0 +1,97 @@
+package ai.libs.jaicore.search.algorithms.standard.mcts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.api4.java.algorithm.events.IAlgorithmEvent;
+import org.api4.java.algorithm.events.result.ISolutionCandidateFoundEvent;
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.junit.jupiter.api.Test;
+
+import ai.libs.jaicore.basic.ATest;
+import ai.libs.jaicore.problems.nqueens.NQueensProblem;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.ActionPredictionFailedException;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.GraphBasedMDP;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.NodeLabel;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.ensemble.MergedStatisticsPolicy;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.ensemble.RootParallelMCTS;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.ensemble.RootParallelMCTSFactory;
+import ai.libs.jaicore.search.algorithms.mdp.mcts.thompson.DNGMCTSFactory;
+import ai.libs.jaicore.search.exampleproblems.nqueens.NQueensToGraphSearchReducer;
+import ai.libs.jaicore.search.exampleproblems.nqueens.QueenNode;
+import ai.libs.jaicore.search.model.other.AgnosticPathEvaluator;
+import ai.libs.jaicore.search.model.other.SearchGraphPath;
+import ai.libs.jaicore.search.probleminputs.GraphSearchWithPathEvaluationsInput;
+import ai.libs.jaicore.test.MediumTest;
+
+public class RootParallelMCTSTest extends ATest {
+
+	private static final int NUM_QUEENS = 6;
+	private static final int NUM_SOLUTIONS = 4;
+	private static final int NUM_TREES = 3;
+
+	private GraphSearchWithPathEvaluationsInput<QueenNode, String, Double> getProblem() {
+		return new GraphSearchWithPathEvaluationsInput<>(new NQueensToGraphSearchReducer().encodeProblem(new NQueensProblem(NUM_QUEENS)), new AgnosticPathEvaluator<>());
+	}
+
+	@Test
+	@MediumTest
+	public void testThatAllSolutionsAreFound() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException {
+		RootParallelMCTSFactory<QueenNode, String> factory = new RootParallelMCTSFactory<QueenNode, String>().withNumTrees(NUM_TREES).withTabooExhaustedNodes(true);
+		MCTSPathSearch<GraphSearchWithPathEvaluationsInput<QueenNode, String, Double>, QueenNode, String> search = new MCTSPathSearch<>(this.getProblem(), factory);
+		Set<List<String>> solutions = new HashSet<>();
+		while (search.hasNext()) {
+			IAlgorithmEvent e = search.nextWithException();
+			if (e instanceof ISolutionCandidateFoundEvent) {
+				solutions.add(((SearchGraphPath<?, String>) ((ISolutionCandidateFoundEvent<?>) e).getSolutionCandidate()).getArcs());
+			}
+		}
+		assertEquals(NUM_SOLUTIONS, solutions.size());
+	}
+
+	@Test
+	@MediumTest
+	public void testThatPlayoutsOfAllTreesAreMerged() throws InterruptedException, AlgorithmExecutionCanceledException, AlgorithmTimeoutedException, AlgorithmException, ActionPredictionFailedException {
+		final int iterations = 200;
+		GraphBasedMDP<QueenNode, String> mdp = new GraphBasedMDP<>(this.getProblem());
+		DNGMCTSFactory<QueenNode, String> treeFactory = new DNGMCTSFactory<>();
+		RootParallelMCTS<QueenNode, String> mcts = new RootParallelMCTSFactory<QueenNode, String>().withTreeFactory(treeFactory).withNumTrees(NUM_TREES).withMaxIterations(iterations).getAlgorithm(mdp);
+		assertEquals(NUM_TREES, mcts.getTrees().size());
+		assertEquals(Integer.MAX_VALUE, treeFactory.getMaxIterations()); // the factory of the trees is not modified
+		assertEquals(iterations, mcts.getMaxIterations());
+		MergedStatisticsPolicy<QueenNode, String> policy = mcts.call();
+		assertEquals(iterations, mcts.getNumberOfRealizedPlayouts());
+		assertEquals(iterations, mcts.getTrees().stream().mapToInt(t -> t.getNumberOfRealizedPlayouts()).sum());
+
+		/* the root label must contain every playout, and the recommended action must be the most frequently played one */
+		QueenNode root = mdp.getInitState();
+		NodeLabel<String> rootLabel = policy.getLabelOfNode(root);
+		assertEquals(iterations, rootLabel.getVisits());
+		String recommendation = policy.getAction(root, mdp.getApplicableActions(root));
+		for (String action : mdp.getApplicableActions(root)) {
+			assertTrue(rootLabel.getNumPulls(action) <= rootLabel.getNumPulls(recommendation));
+		}
+	}
+
+	@Test
+	public void testThatStatisticsBeyondMergeDepthAreAccumulated() throws ActionPredictionFailedException {
+		MergedStatisticsPolicy<String, String> policy = new MergedStatisticsPolicy<>(1.0, false, 1);
+		policy.updatePath(new SearchGraphPath<>(Arrays.asList("r", "a", "aa"), Arrays.asList("toA", "toAA")), Arrays.asList(1.0, 2.0));
+		policy.updatePath(new SearchGraphPath<>(Arrays.asList("r", "b"), Arrays.asList("toB")), Arrays.asList(1.0));
+		policy.updatePath(new SearchGraphPath<>(Arrays.asList("r", "b"), Arrays.asList("toB")), Arrays.asList(2.0));
+		assertFalse(policy.hasLabelOfNode("a"));
+		NodeLabel<String> rootLabel = policy.getLabelOfNode("r");
+		assertEquals(3, rootLabel.getVisits());
+		assertEquals(3.0, rootLabel.getAccumulatedRewardsOfAction("toA"), 1E-8);
+		assertEquals("toB", policy.getAction("r", Arrays.asList("toA", "toB")));
+		assertEquals("toA", policy.getAction("r", Arrays.asList("toA", "toC")));
+	}
+}
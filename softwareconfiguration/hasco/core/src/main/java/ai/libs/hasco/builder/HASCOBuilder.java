@@ -26,6 +26,7 @@ import ai.libs.jaicore.components.api.IComponent;
 import ai.libs.jaicore.components.api.IComponentInstance;
 import ai.libs.jaicore.components.api.INumericParameterRefinementConfigurationMap;
 import ai.libs.jaicore.components.api.IRequiredInterfaceDefinition;
+import ai.libs.jaicore.components.cache.PersistentComponentInstanceEvaluationCache;
 import ai.libs.jaicore.components.model.RefinementConfiguredSoftwareConfigurationProblem;
 import ai.libs.jaicore.components.model.SoftwareConfigurationProblem;
 import ai.libs.jaicore.components.optimizingfactory.SoftwareConfigurationAlgorithmFactory;
@@ -63,6 +64,7 @@ public abstract class HASCOBuilder<N, A, V extends Comparable<V>, B extends HASC
 	private IHASCOPlanningReduction<N, A> planningGraphGeneratorDeriver;
 	private IOptimalPathInORGraphSearchFactory<IPathSearchWithPathEvaluationsInput<N, A, V>, EvaluatedSearchGraphPath<N, A, V>, N, A, V, ?> searchFactory;
 	private HASCOConfig hascoConfig;
+	private PersistentComponentInstanceEvaluationCache<V> evaluationCache;
 
 	public static HASCOViaFDBuilder<Double, ?> withForwardDecomposition() {
 		return withForwardDecomposition(Double.class);
@@ -105,6 +107,7 @@ public abstract class HASCOBuilder<N, A, V extends Comparable<V>, B extends HASC
 		this.planningGraphGeneratorDeriver = builder.planningGraphGeneratorDeriver;
 		this.searchFactory = builder.searchFactory;
 		this.hascoConfig = builder.hascoConfig;
+		this.evaluationCache = builder.evaluationCache;
 	}
 
 	@Override
@@ -127,7 +130,9 @@ public abstract class HASCOBuilder<N, A, V extends Comparable<V>, B extends HASC
 		if (this.hascoConfig == null) {
 			throw new IllegalStateException("Cannot create HASCO, because no hasco configuration been specified.");
 		}
-		return new HASCO<>(this.hascoConfig, problem, this.planningGraphGeneratorDeriver, this.searchFactory);
+		HASCO<N, A, V> hasco = new HASCO<>(this.hascoConfig, problem, this.planningGraphGeneratorDeriver, this.searchFactory);
+		hasco.setEvaluationCache(this.evaluationCache);
+		return hasco;
 	}
 
 	public IHASCOPlanningReduction<N, A> getPlanningGraphGeneratorDeriver() {
@@ -270,6 +275,15 @@ public abstract class HASCOBuilder<N, A, V extends Comparable<V>, B extends HASC
 		return HASCOUtil.getSearchProblem(this.components, this.requiredInterface, this.paramRefinementConfig, this.planningGraphGeneratorDeriver);
 	}
 
+	public PersistentComponentInstanceEvaluationCache<V> getEvaluationCache() {
+		return this.evaluationCache;
+	}
+
+	public B withEvaluationCache(final PersistentComponentInstanceEvaluationCache<V> evaluationCache) {
+		this.evaluationCache = evaluationCache;
+		return this.getSelf();
+	}
+
 	public B withTimeout(final Timeout to) {
 		this.hascoConfig.setProperty(IOwnerBasedAlgorithmConfig.K_TIMEOUT, "" + to.milliseconds());
 		return this.getSelf();
@@ -55,6 +55,7 @@ public class HASCOViaFDAndBestFirstBuilder<V extends Comparable<V>, B extends HA
 		factory.setReduction(this.reduction);
 		HASCOViaFD<V> hasco = new HASCOViaFD<>(super.getProblem(), factory);
 		hasco.setConfig(this.getHascoConfig());
+		hasco.setEvaluationCache(this.getEvaluationCache());
 		return hasco;
 	}
 
@@ -19,6 +19,7 @@ public class HASCOViaFDAndBestFirstWithRandomCompletionsBuilder extends HASCOVia
 	private int numSamples = 10;
 	private int timeoutForSingleCompletionEvaluationInMS = -1;
 	private int timeoutForNodeEvaluationInMS = -1;
+	private int numParallelSampleEvaluations = 1;
 
 	public HASCOViaFDAndBestFirstWithRandomCompletionsBuilder(final HASCOBuilder<TFDNode, String, Double, ?> builder) {
 		super(builder);
@@ -47,6 +48,14 @@ public class HASCOViaFDAndBestFirstWithRandomCompletionsBuilder extends HASCOVia
 		return this.getSelf();
 	}
 
+	/**
+	 * Sets the number of random completions of a node that are evaluated at the same time. The evaluator of the problem must support concurrent invocations if this is greater than 1.
+	 */
+	public HASCOViaFDAndBestFirstWithRandomCompletionsBuilder withNumParallelSampleEvaluations(final int numParallelSampleEvaluations) {
+		this.numParallelSampleEvaluations = numParallelSampleEvaluations;
+		return this.getSelf();
+	}
+
 	public HASCOViaFDAndBestFirstWithRandomCompletionsBuilder withTimeoutForNode(final Timeout to) {
 		this.timeoutForNodeEvaluationInMS = (int)to.milliseconds();
 		return this.getSelf();
@@ -75,7 +84,10 @@ public class HASCOViaFDAndBestFirstWithRandomCompletionsBuilder extends HASCOVia
 
 		/* create node evaluator */
 		this.requireThatProblemHasBeenDefined();
-		this.withReduction(new GraphSearchProblemInputToGraphSearchWithSubpathEvaluationInputTransformerViaRDFS<>(this.preferredNodeEvaluator, this.priorizingPredicate, this.random, this.numSamples, this.timeoutForSingleCompletionEvaluationInMS, this.timeoutForNodeEvaluationInMS));
+		GraphSearchProblemInputToGraphSearchWithSubpathEvaluationInputTransformerViaRDFS<TFDNode, String, Double> reduction = new GraphSearchProblemInputToGraphSearchWithSubpathEvaluationInputTransformerViaRDFS<>(this.preferredNodeEvaluator,
+				this.priorizingPredicate, this.random, this.numSamples, this.timeoutForSingleCompletionEvaluationInMS, this.timeoutForNodeEvaluationInMS);
+		reduction.setNumberOfParallelSampleEvaluations(this.numParallelSampleEvaluations);
+		this.withReduction(reduction);
 
 		/* now get algorithm and tell some of its components about it */
 		HASCOViaFD<Double> hasco = super.getAlgorithm();
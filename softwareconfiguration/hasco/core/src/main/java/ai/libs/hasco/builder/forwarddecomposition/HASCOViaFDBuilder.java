@@ -40,6 +40,7 @@ public class HASCOViaFDBuilder<V extends Comparable<V>, B extends HASCOViaFDBuil
 		this.requireThatProblemHasBeenDefined();
 		HASCOViaFD<V> hasco = new HASCOViaFD<>(this.getProblem(), this.getSearchFactory());
 		hasco.setConfig(this.getHascoConfig());
+		hasco.setEvaluationCache(this.getEvaluationCache());
 		return hasco;
 	}
 }
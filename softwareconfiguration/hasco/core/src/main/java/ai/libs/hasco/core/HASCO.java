@@ -31,7 +31,9 @@ import ai.libs.hasco.core.reduction.planning2search.IHASCOPlanningReduction;
 import ai.libs.hasco.core.reduction.softcomp2planning.HASCOReductionSolutionEvaluator;
 import ai.libs.jaicore.basic.algorithm.AlgorithmFinishedEvent;
 import ai.libs.jaicore.basic.algorithm.AlgorithmInitializedEvent;
+import ai.libs.jaicore.basic.algorithm.ISelectiveEventListener;
 import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.cache.PersistentComponentInstanceEvaluationCache;
 import ai.libs.jaicore.components.model.ComponentInstance;
 import ai.libs.jaicore.components.model.ComponentUtil;
 import ai.libs.jaicore.components.model.CompositionProblemUtil;
@@ -163,7 +165,12 @@ public class HASCO<N, A, V extends Comparable<V>> extends SoftwareConfigurationA
 			}
 
 			/* register a listener on the search that will forward all events to HASCO's event bus */
-			this.search.registerListener(new Object() {
+			this.search.registerListener(new ISelectiveEventListener() {
+
+				@Override
+				public boolean isInterestedIn(final Class<?> eventType) {
+					return EvaluatedSearchSolutionCandidateFoundEvent.class.isAssignableFrom(eventType) || HASCO.this.hasListenerFor(eventType);
+				}
 
 				@Subscribe
 				public void receiveSearchEvent(final IAlgorithmEvent event) {
@@ -336,6 +343,22 @@ public class HASCO<N, A, V extends Comparable<V>> extends SoftwareConfigurationA
 		this.createComponentInstancesFromNodesInsteadOfPlans = cIsFromNodes;
 	}
 
+	@SuppressWarnings("unchecked")
+	public PersistentComponentInstanceEvaluationCache<V> getEvaluationCache() {
+		return ((HASCOReductionSolutionEvaluator<V>) this.planningProblem.getPlanEvaluator()).getEvaluationCache();
+	}
+
+	/**
+	 * Sets a cache that is consulted before solutions are evaluated. Solutions found in the cache are not evaluated again, and the evaluation time reported for them is the one of their original evaluation.
+	 *
+	 * @param evaluationCache
+	 *            The cache or NULL to evaluate every solution.
+	 */
+	@SuppressWarnings("unchecked")
+	public void setEvaluationCache(final PersistentComponentInstanceEvaluationCache<V> evaluationCache) {
+		((HASCOReductionSolutionEvaluator<V>) this.planningProblem.getPlanEvaluator()).setEvaluationCache(evaluationCache);
+	}
+
 	@Override
 	public String toString() {
 		Map<String, Object> fields = new HashMap<>();
@@ -1,7 +1,10 @@
 package ai.libs.hasco.core.reduction.softcomp2planning;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.api4.java.common.attributedobjects.IObjectEvaluator;
@@ -11,8 +14,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.cache.CachedComponentInstanceEvaluation;
+import ai.libs.jaicore.components.cache.PersistentComponentInstanceEvaluationCache;
 import ai.libs.jaicore.components.model.ComponentInstance;
 import ai.libs.jaicore.components.model.RefinementConfiguredSoftwareConfigurationProblem;
+import ai.libs.jaicore.interrupt.UndeclaredInterruptedException;
 import ai.libs.jaicore.logging.ToJSONStringUtil;
 import ai.libs.jaicore.planning.core.Action;
 import ai.libs.jaicore.planning.core.interfaces.IPlan;
@@ -25,6 +31,7 @@ public class HASCOReductionSolutionEvaluator<V extends Comparable<V>> implements
 	private final HASCOReduction<V> reduction;
 	private final IObjectEvaluator<IComponentInstance, V> evaluator;
 	private final TimeRecordingObjectEvaluator<IComponentInstance, V> timedEvaluator;
+	private PersistentComponentInstanceEvaluationCache<V> evaluationCache;
 
 	public HASCOReductionSolutionEvaluator(final RefinementConfiguredSoftwareConfigurationProblem<V> configurationProblem, final HASCOReduction<V> reduction) {
 		super();
@@ -44,8 +51,58 @@ public class HASCOReductionSolutionEvaluator<V extends Comparable<V>> implements
 		if (solution == null) {
 			throw new IllegalArgumentException("The following plan yields a null solution: \n\t" + plan.getActions().stream().map(Action::getEncoding).collect(Collectors.joining("\n\t")));
 		}
+		if (this.evaluationCache == null) {
+			this.logger.info("Forwarding evaluation request for CI {} to evaluator {}", solution, this.evaluator.getClass().getName());
+			return this.timedEvaluator.evaluate(solution);
+		}
+
+		/* if the solution has been evaluated before (possibly in another run), return the known result */
+		Optional<CachedComponentInstanceEvaluation<V>> cachedEvaluation = this.evaluationCache.get(solution);
+		if (cachedEvaluation.isPresent()) {
+			CachedComponentInstanceEvaluation<V> evaluation = cachedEvaluation.get();
+			this.logger.info("Taking evaluation of CI {} from the cache: {}", solution, evaluation);
+			if (evaluation.isFailed()) {
+				throw new ObjectEvaluationFailedException("Evaluation has failed before: " + evaluation.getFailureMessage());
+			}
+			this.timedEvaluator.registerEvaluationTime(solution, evaluation.getRuntime());
+			return evaluation.getScore();
+		}
+
+		/* otherwise evaluate the solution and memorize the result */
 		this.logger.info("Forwarding evaluation request for CI {} to evaluator {}", solution, this.evaluator.getClass().getName());
-		return this.timedEvaluator.evaluate(solution);
+		long start = System.currentTimeMillis();
+		V score;
+		try {
+			score = this.timedEvaluator.evaluate(solution);
+		} catch (ObjectEvaluationFailedException e) {
+			if (isDeterministicFailure(e)) {
+				this.evaluationCache.put(solution, CachedComponentInstanceEvaluation.ofFailure(e.getMessage(), (int) (System.currentTimeMillis() - start)));
+			} else {
+				this.logger.info("Not caching the failed evaluation of CI {}, because the failure may not occur again.", solution);
+			}
+			throw e;
+		}
+		if (score != null) {
+			this.evaluationCache.put(solution, CachedComponentInstanceEvaluation.ofScore(score, this.timedEvaluator.getEvaluationTimeForComponentInstance(solution)));
+		}
+		return score;
+	}
+
+	/**
+	 * Decides whether an evaluation failure would occur again in another evaluation of the same solution. This is not the case for failures that are caused by timeouts, interrupts, I/O problems, or problems of the JVM
+	 * (e.g. lack of memory), since they depend on the circumstances of the evaluation.
+	 *
+	 * @param e
+	 *            The failure of an evaluation.
+	 * @return true iff no exception in the chain of causes of the failure depends on the circumstances of the evaluation.
+	 */
+	public static boolean isDeterministicFailure(final Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof TimeoutException || cause instanceof InterruptedException || cause instanceof UndeclaredInterruptedException || cause instanceof IOException || cause instanceof VirtualMachineError) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -78,4 +135,16 @@ public class HASCOReductionSolutionEvaluator<V extends Comparable<V>> implements
 	public TimeRecordingObjectEvaluator<IComponentInstance, V> getTimedEvaluator() {
 		return this.timedEvaluator;
 	}
+
+	public PersistentComponentInstanceEvaluationCache<V> getEvaluationCache() {
+		return this.evaluationCache;
+	}
+
+	/**
+	 * @param evaluationCache
+	 *            A cache that is consulted before a solution is evaluated and that memorizes the results of the evaluations; NULL to evaluate every solution.
+	 */
+	public void setEvaluationCache(final PersistentComponentInstanceEvaluationCache<V> evaluationCache) {
+		this.evaluationCache = evaluationCache;
+	}
 }
@@ -42,6 +42,7 @@ import ai.libs.hasco.core.events.TwoPhaseHASCOSolutionEvaluationEvent;
 import ai.libs.jaicore.basic.MathExt;
 import ai.libs.jaicore.basic.algorithm.AlgorithmFinishedEvent;
 import ai.libs.jaicore.basic.algorithm.AlgorithmInitializedEvent;
+import ai.libs.jaicore.basic.algorithm.ISelectiveEventListener;
 import ai.libs.jaicore.basic.sets.SetUtil;
 import ai.libs.jaicore.components.api.IComponentInstance;
 import ai.libs.jaicore.components.optimizingfactory.SoftwareConfigurationAlgorithm;
@@ -109,7 +110,12 @@ public class TwoPhaseHASCO<N, A> extends SoftwareConfigurationAlgorithm<TwoPhase
 		this.hasco = hasco;
 		this.setHASCOLoggerNameIfPossible();
 		this.hasco.setConfig(this.getConfig());
-		this.hasco.registerListener(new Object() {
+		this.hasco.registerListener(new ISelectiveEventListener() {
+
+			@Override
+			public boolean isInterestedIn(final Class<?> eventType) {
+				return HASCOSolutionEvent.class.isAssignableFrom(eventType) || TwoPhaseHASCO.this.hasListenerFor(eventType);
+			}
 
 			@Subscribe
 			public void receiveHASCOEvent(final IAlgorithmEvent event) {
@@ -0,0 +1,93 @@
+package ai.libs.hasco.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.api4.java.algorithm.exceptions.AlgorithmException;
+import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.api4.java.common.attributedobjects.ObjectEvaluationFailedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ai.libs.hasco.builder.HASCOBuilder;
+import ai.libs.hasco.core.HASCO;
+import ai.libs.hasco.core.HASCOSolutionCandidate;
+import ai.libs.hasco.core.reduction.softcomp2planning.HASCOReductionSolutionEvaluator;
+import ai.libs.jaicore.basic.algorithm.AlgorithmTestProblemSetCreationException;
+import ai.libs.jaicore.components.cache.PersistentComponentInstanceEvaluationCache;
+import ai.libs.jaicore.components.model.ComponentInstanceUtil;
+import ai.libs.jaicore.components.model.RefinementConfiguredSoftwareConfigurationProblem;
+import ai.libs.jaicore.components.model.SoftwareConfigurationProblem;
+
+public class HASCOEvaluationCacheTest {
+
+	private static final int NUM_SOLUTIONS = 8;
+
+	private final RefinementConfiguredSoftwareConfigurationProblem<Double> problemWithTwoComponents;
+
+	public HASCOEvaluationCacheTest() throws AlgorithmTestProblemSetCreationException {
+		this.problemWithTwoComponents = new SoftwareConfigurationProblemSet().getSimpleProblemInputWithTwoComponents();
+	}
+
+	private Map<String, Double> runHASCO(final PersistentComponentInstanceEvaluationCache<Double> cache, final AtomicInteger numberOfEvaluations)
+			throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+		SoftwareConfigurationProblem<Double> coreProblem = new SoftwareConfigurationProblem<>(this.problemWithTwoComponents.getComponents(), this.problemWithTwoComponents.getRequiredInterface(), ci -> {
+			numberOfEvaluations.incrementAndGet();
+			return (double) Math.abs(ComponentInstanceUtil.getCanonicalComponentInstanceString(ci).hashCode() % 100);
+		});
+		RefinementConfiguredSoftwareConfigurationProblem<Double> problem = new RefinementConfiguredSoftwareConfigurationProblem<>(coreProblem, this.problemWithTwoComponents.getParamRefinementConfig());
+		HASCO<?, ?, Double> hasco = HASCOBuilder.get(problem).withDFS().withEvaluationCache(cache).getAlgorithm();
+		Map<String, Double> scores = new HashMap<>();
+		hasco.registerSolutionEventListener(e -> {
+			HASCOSolutionCandidate<Double> solution = e.getSolutionCandidate();
+			scores.put(ComponentInstanceUtil.getCanonicalComponentInstanceString(solution.getComponentInstance()), solution.getScore());
+		});
+		hasco.call();
+		return scores;
+	}
+
+	@Test
+	public void testThatWarmRestartDoesNotEvaluateKnownSolutions(@TempDir final Path cacheDir)
+			throws IOException, AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
+
+		/* run HASCO with an empty cache */
+		AtomicInteger numberOfEvaluationsInFirstRun = new AtomicInteger();
+		PersistentComponentInstanceEvaluationCache<Double> cache = PersistentComponentInstanceEvaluationCache.forDoubleScores(cacheDir.toFile(), "dataset", "evaluator", 100);
+		Map<String, Double> scoresOfFirstRun = this.runHASCO(cache, numberOfEvaluationsInFirstRun);
+		assertEquals(NUM_SOLUTIONS, scoresOfFirstRun.size());
+		assertEquals(NUM_SOLUTIONS, numberOfEvaluationsInFirstRun.get());
+		assertEquals(NUM_SOLUTIONS, cache.size());
+
+		/* run HASCO again with a fresh cache object on the same directory; no solution should be evaluated */
+		AtomicInteger numberOfEvaluationsInSecondRun = new AtomicInteger();
+		PersistentComponentInstanceEvaluationCache<Double> warmCache = PersistentComponentInstanceEvaluationCache.forDoubleScores(cacheDir.toFile(), "dataset", "evaluator", 100);
+		Map<String, Double> scoresOfSecondRun = this.runHASCO(warmCache, numberOfEvaluationsInSecondRun);
+		assertEquals(0, numberOfEvaluationsInSecondRun.get());
+		assertEquals(NUM_SOLUTIONS, warmCache.getNumberOfHits());
+		assertEquals(scoresOfFirstRun, scoresOfSecondRun);
+
+		/* with another evaluator configuration, nothing can be reused */
+		AtomicInteger numberOfEvaluationsInThirdRun = new AtomicInteger();
+		PersistentComponentInstanceEvaluationCache<Double> otherCache = PersistentComponentInstanceEvaluationCache.forDoubleScores(cacheDir.toFile(), "dataset", "another evaluator", 100);
+		this.runHASCO(otherCache, numberOfEvaluationsInThirdRun);
+		assertEquals(NUM_SOLUTIONS, numberOfEvaluationsInThirdRun.get());
+		assertEquals(2 * NUM_SOLUTIONS, otherCache.size());
+	}
+
+	@Test
+	public void testThatTransientFailuresAreNotConsideredDeterministic() {
+		assertTrue(HASCOReductionSolutionEvaluator.isDeterministicFailure(new ObjectEvaluationFailedException("Invalid parameter value.")));
+		assertTrue(HASCOReductionSolutionEvaluator.isDeterministicFailure(new ObjectEvaluationFailedException(new IllegalArgumentException("Invalid parameter value."))));
+		assertFalse(HASCOReductionSolutionEvaluator.isDeterministicFailure(new ObjectEvaluationFailedException("Timed object evaluation failed", new AlgorithmTimeoutedException(100))));
+		assertFalse(HASCOReductionSolutionEvaluator.isDeterministicFailure(new ObjectEvaluationFailedException(new IllegalStateException(new InterruptedException()))));
+		assertFalse(HASCOReductionSolutionEvaluator.isDeterministicFailure(new ObjectEvaluationFailedException(new OutOfMemoryError())));
+	}
+}
@@ -37,6 +37,7 @@ import ai.libs.jaicore.basic.algorithm.AAlgorithm;
 import ai.libs.jaicore.basic.algorithm.AlgorithmFinishedEvent;
 import ai.libs.jaicore.basic.algorithm.AlgorithmInitializedEvent;
 import ai.libs.jaicore.basic.algorithm.EAlgorithmState;
+import ai.libs.jaicore.basic.algorithm.ISelectiveEventListener;
 import ai.libs.jaicore.basic.reconstruction.ReconstructionUtil;
 import ai.libs.jaicore.basic.sets.Pair;
 import ai.libs.jaicore.components.api.IComponentInstance;
@@ -206,7 +207,13 @@ public class MLPlan<L extends ISupervisedLearner<ILabeledInstance, ILabeledDatas
 				this.optimizingFactory.setLoggerName(this.loggerName + ".optimizingfactory");
 			}
 			final double dataPortionUsedForSelection = this.getConfig().dataPortionForSelection();
-			this.optimizingFactory.registerListener(new Object() {
+			this.optimizingFactory.registerListener(new ISelectiveEventListener() {
+
+				@Override
+				public boolean isInterestedIn(final Class<?> eventType) {
+					return TwoPhaseHASCOPhaseSwitchEvent.class.isAssignableFrom(eventType) || HASCOSolutionEvent.class.isAssignableFrom(eventType) || MLPlan.this.hasListenerFor(eventType);
+				}
+
 				@Subscribe
 				public void receiveEventFromFactory(final IEvent event) throws InterruptedException {
 					if (event instanceof AlgorithmInitializedEvent || event instanceof AlgorithmFinishedEvent) {